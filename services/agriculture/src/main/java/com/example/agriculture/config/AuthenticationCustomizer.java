@@ -0,0 +1,65 @@
+package com.example.agriculture.config;
+
+import com.example.agriculture.service.TokenRenewalService;
+import com.hashjosh.jwtshareable.security.JwtAuthenticationCustomizer;
+import com.hashjosh.jwtshareable.security.JwtPrincipal;
+import com.hashjosh.jwtshareable.security.RenewedTokens;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Agriculture service rules for the shared jwtshareable {@code JwtAuthenticationFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthenticationCustomizer implements JwtAuthenticationCustomizer {
+
+    private final TokenRenewalService tokenRenewalService;
+    private final TrustedConfig trustedConfig;
+
+    @Override
+    public Collection<String> publicEndpoints() {
+        return List.of(
+                "/api/v1/agriculture/auth/login",
+                "/api/v1/agriculture/auth/registration"
+        );
+    }
+
+    @Override
+    public boolean isTrustedService(String serviceId) {
+        List<String> ids = trustedConfig.getInternalServiceIds();
+        return ids != null && ids.contains(serviceId);
+    }
+
+    @Override
+    public Object internalServicePrincipal(String serviceId, String userId, Set<SimpleGrantedAuthority> authorities) {
+        return new CustomUserDetails(serviceId, userId, authorities);
+    }
+
+    @Override
+    public Object userPrincipal(JwtPrincipal principal) {
+        return new CustomUserDetails(principal.getClaims(), principal.getAuthorities());
+    }
+
+    @Override
+    public RenewedTokens renewTokens(Claims expiredClaims, String refreshToken, HttpServletRequest request) {
+        String userId = expiredClaims.get("userId", String.class);
+        Map<String, Object> claimsMap = new HashMap<>();
+        claimsMap.put("userId", userId);
+
+        Map<String, String> newTokens = tokenRenewalService.refreshTokens(
+                UUID.fromString(userId), refreshToken, expiredClaims.getSubject(),
+                claimsMap, request.getRemoteAddr(), request.getHeader("User-Agent"), false);
+        return new RenewedTokens(newTokens.get("accessToken"), newTokens.get("refreshToken"));
+    }
+}
@@ -8,6 +8,7 @@ import com.example.agriculture.service.AuthService;
 import com.example.agriculture.service.InvitationService;
 import com.example.agriculture.service.RefreshTokenService;
 import com.example.agriculture.service.RoleService;
+import com.hashjosh.jwtshareable.revocation.TokenRevocationService;
 import com.hashjosh.jwtshareable.service.JwtService;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.Cookie;
@@ -16,6 +17,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -36,6 +38,8 @@ public class AuthController {
     private final AuthService authService;
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
+    // Absent when token.revocation.enabled is false
+    private final ObjectProvider<TokenRevocationService> tokenRevocationService;
     private final RoleService roleService;
     private final InvitationService invitationService;
 
@@ -106,6 +110,9 @@ public class AuthController {
             return ResponseEntity.badRequest().body("Missing or invalid access token");
         }
 
+        // 🚫 Reject the access token everywhere until it expires
+        tokenRevocationService.ifAvailable(revocations -> revocations.revokeAccessToken(authorization.substring(7)));
+
         // ❌ Delete refresh token from DB (always do this)
         if (refreshToken != null && !refreshToken.isEmpty()) {
             refreshTokenService.deleteByToken(refreshToken);
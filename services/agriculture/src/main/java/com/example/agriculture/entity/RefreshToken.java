@@ -9,6 +9,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 
@@ -19,7 +20,7 @@ import java.time.Instant;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class RefreshToken {
+public class RefreshToken implements Persistable<String> {
 
     @Id
     @Column(columnDefinition = "TEXT", name = "token")
@@ -40,4 +41,18 @@ public class RefreshToken {
     @CreationTimestamp
     @Column(name = "created_at")
     private Instant createdAt;
+
+    @Override
+    public String getId() {
+        return token;
+    }
+
+    /**
+     * Tokens are never updated in place, so a row without a creation timestamp is always an insert.
+     * Saves can then be batched without Hibernate selecting each id first.
+     */
+    @Override
+    public boolean isNew() {
+        return createdAt == null;
+    }
 }
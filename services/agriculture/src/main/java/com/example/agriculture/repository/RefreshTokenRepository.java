@@ -2,6 +2,9 @@ package com.example.agriculture.repository;
 
 import com.example.agriculture.entity.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
@@ -9,8 +12,18 @@ import java.util.Optional;
 
 @Repository
 public interface   RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
-    void deleteByUserRef(String userRef);
-    void deleteByExpiryBefore(Instant time);
+    @Modifying
+    @Query("delete from RefreshToken r where r.userRef = :userRef")
+    void deleteByUserRef(@Param("userRef") String userRef);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiry < :time")
+    void deleteByExpiryBefore(@Param("time") Instant time);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.token = :token")
+    int deleteToken(@Param("token") String token);
+
     void deleteByToken(String token);
 
     Optional<RefreshToken> findByToken(String token);
@@ -9,9 +9,12 @@ import com.example.agriculture.entity.Role;
 import com.example.agriculture.mapper.UserMapper;
 import com.example.agriculture.repository.AgricultureRepository;
 import com.example.agriculture.repository.PermissionRepository;
+import com.hashjosh.jwtshareable.revocation.TokenRevocationService;
+import com.hashjosh.jwtshareable.service.RefreshTokenStore;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -28,6 +31,9 @@ public class AgricultureService {
     private final AgricultureRepository agricultureRepository;
     private final PermissionRepository permissionRepository;
     private final UserMapper userMapper;
+    // Absent when token.revocation.enabled is false
+    private final ObjectProvider<TokenRevocationService> tokenRevocationService;
+    private final RefreshTokenStore refreshTokenStore;
 
     private Agriculture getUserById(UUID userId){
         return agricultureRepository.findById(userId)
@@ -71,6 +77,9 @@ public class AgricultureService {
             throw new EntityNotFoundException("Agriculture user not found");
         }
         agricultureRepository.deleteById(id);
+        // A deleted account must not keep working until its tokens expire
+        tokenRevocationService.ifAvailable(revocations -> revocations.revokeUser(id.toString()));
+        refreshTokenStore.removeAllUserTokens(id.toString());
     }
 
     public String getAgricultureName(UUID id) {
@@ -14,6 +14,7 @@ import com.example.agriculture.mapper.UserMapper;
 import com.example.agriculture.repository.RoleRepository;
 import com.example.agriculture.repository.AgricultureRepository;
 import com.hashjosh.jwtshareable.service.JwtService;
+import com.hashjosh.jwtshareable.service.RefreshTokenStore;
 import com.hashjosh.kafkacommon.agriculture.AgricultureRegistrationContract;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +26,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -39,6 +41,7 @@ public class AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final AuthMapper authMapper;
+    private final RefreshTokenStore refreshTokenStore;
 
     @Transactional
     public Agriculture register(RegistrationRequest request) {
@@ -101,6 +104,8 @@ public class AuthService {
                 userAgent,
                 jwtService.getRefreshTokenExpiry(request.isRememberMe())
         );
+        refreshTokenStore.save(refreshToken, String.valueOf(agriculture.getId()), clientIp, userAgent,
+                Instant.now().plusMillis(jwtService.getRefreshTokenExpiry(request.isRememberMe())));
 
         String webSocketToken = jwtService.generateWebSocketToken(
                 userDetails.getUsername(),
@@ -1,25 +1,19 @@
 package com.example.agriculture.service;
 
-import com.example.agriculture.repository.RefreshTokenRepository;
+import com.hashjosh.jwtshareable.service.RefreshTokenStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RefreshTokenService {
 
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
 
-    @Transactional
     public void deleteByToken(String token) {
         log.debug("Deleting refresh token: {}", token);
-        refreshTokenRepository.findByToken(token)
-                .ifPresent(refreshToken -> {
-                    refreshTokenRepository.delete(refreshToken);
-                    log.debug("Deleted refresh token: {}", token);
-                });
+        refreshTokenStore.remove(token);
     }
 }
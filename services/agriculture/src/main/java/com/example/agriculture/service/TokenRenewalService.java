@@ -1,9 +1,8 @@
 package com.example.agriculture.service;
 
-import com.example.agriculture.entity.RefreshToken;
 import com.example.agriculture.exception.ApiException;
-import com.example.agriculture.repository.RefreshTokenRepository;
 import com.hashjosh.jwtshareable.service.JwtService;
+import com.hashjosh.jwtshareable.service.RefreshTokenStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -16,20 +15,20 @@ import java.util.UUID;
 public class TokenRenewalService {
 
     private final JwtService jwtService;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
 
     public Map<String, String> refreshTokens(
             UUID userId, String oldRefreshToken, String username,
-             Map<String,Object> claims, String clientIp, String userAgent,
+            Map<String,Object> claims, String clientIp, String userAgent,
             boolean rememberMe) {
 
-
-        // 1️⃣ Validate old refresh token
-        RefreshToken refreshToken = refreshTokenRepository.findByUserRefAndToken(String.valueOf(userId), oldRefreshToken)
+        // 1️⃣ Validate and retire the old refresh token in one step, so it can only be rotated once
+        String userRef = String.valueOf(userId);
+        refreshTokenStore.getUserRef(oldRefreshToken)
+                .filter(userRef::equals)
+                .flatMap(ref -> refreshTokenStore.consume(oldRefreshToken, clientIp, userAgent))
                 .orElseThrow(() -> ApiException.badRequest("Invalid refresh token"));
 
-
-        refreshTokenRepository.delete(refreshToken);
         // 2️⃣ Generate new tokens
         String newAccessToken = jwtService.generateAccessToken(
                 username,
@@ -42,15 +41,9 @@ public class TokenRenewalService {
                 jwtService.getRefreshTokenExpiry(rememberMe)
         );
 
-        RefreshToken saveRefreshToken = RefreshToken.builder()
-                .token(newRefreshToken)
-                .userRef(String.valueOf(userId))
-                .clientIp(clientIp)
-                .userAgent(userAgent)
-                .expiry(Instant.now())
-                .build();
-
-        refreshTokenRepository.save(saveRefreshToken);
+        // 3️⃣ Save new refresh token
+        refreshTokenStore.save(newRefreshToken, userRef, clientIp, userAgent,
+                Instant.now().plusMillis(jwtService.getRefreshTokenExpiry(rememberMe)));
 
         return Map.of(
                 "accessToken", newAccessToken,
@@ -58,4 +51,3 @@ public class TokenRenewalService {
         );
     }
 }
-
@@ -0,0 +1,42 @@
+package com.hashjosh.application.configs;
+
+import com.hashjosh.application.geo.AdminAreaIndex;
+import com.hashjosh.application.geo.GeoJsonAdminAreaLoader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Loads the {@link AdminAreaIndex} used by {@code LocationValidator} when {@code admin-areas.file} is set.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "admin-areas", name = "file")
+@EnableConfigurationProperties(AdminAreaProperties.class)
+public class AdminAreaConfiguration {
+
+    @Bean
+    public AdminAreaIndex adminAreaIndex(AdminAreaProperties properties, ResourceLoader resourceLoader) {
+        Resource resource = resourceLoader.getResource(properties.getFile());
+        GeoJsonAdminAreaLoader loader = new GeoJsonAdminAreaLoader(
+                properties.getLevelProperty(), properties.getCodeProperty(), properties.getNameProperty());
+
+        long started = System.nanoTime();
+        try (InputStream in = resource.getInputStream()) {
+            AdminAreaIndex index = loader.load(in);
+            log.info("Loaded {} administrative areas from {} in {} ms", index.size(), properties.getFile(),
+                    (System.nanoTime() - started) / 1_000_000);
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load administrative areas from " + properties.getFile(), e);
+        }
+    }
+}
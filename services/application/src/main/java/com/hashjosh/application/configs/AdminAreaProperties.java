@@ -0,0 +1,20 @@
+package com.hashjosh.application.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "admin-areas")
+@Data
+public class AdminAreaProperties {
+    /**
+     * GeoJSON FeatureCollection of administrative boundaries, as a Spring resource location; the index is
+     * only registered when this is set.
+     */
+    private String file;
+    /**
+     * Feature properties holding the area's level (province, municipality or barangay), code and name.
+     */
+    private String levelProperty = "level";
+    private String codeProperty = "code";
+    private String nameProperty = "name";
+}
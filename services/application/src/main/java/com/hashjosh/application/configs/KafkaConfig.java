@@ -1,5 +1,6 @@
 package com.hashjosh.application.configs;
 
+import com.hashjosh.kafkacommon.EdgeCacheInvalidationEvent;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -89,4 +90,13 @@ public class KafkaConfig {
                 .build();
     }
 
+    @Bean
+    public NewTopic edgeCacheInvalidations(){
+        return TopicBuilder
+                .name(EdgeCacheInvalidationEvent.TOPIC)
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+
 }
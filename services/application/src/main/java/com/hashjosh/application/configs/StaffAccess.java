@@ -0,0 +1,41 @@
+package com.hashjosh.application.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Roles that may act on or read other users' applications, from {@code application-import.staff-roles}.
+ * Usable in {@code @PreAuthorize("@staffAccess.isStaff(authentication.authorities)")}.
+ */
+@Component("staffAccess")
+public class StaffAccess {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final Set<String> staffRoles;
+
+    public StaffAccess(@Value("${application-import.staff-roles:ADMIN}") String[] staffRoles) {
+        this.staffRoles = Arrays.stream(staffRoles)
+                .map(role -> role.trim().toUpperCase(Locale.ROOT))
+                .filter(role -> !role.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public boolean isStaff(Collection<? extends GrantedAuthority> authorities) {
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith(ROLE_PREFIX)
+                    && staffRoles.contains(name.substring(ROLE_PREFIX.length()).toUpperCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,18 +1,24 @@
 package com.hashjosh.application.controller;
 
 import com.hashjosh.constant.application.ApplicationResponseDto;
-import com.hashjosh.application.dto.submission.ApplicationSubmissionDto;
+import com.hashjosh.application.dto.imports.ApplicationImportJobResponse;
+import com.hashjosh.application.dto.page.ApplicationPageResponse;
 import com.hashjosh.application.dto.submission.ApplicationSubmissionResponse;
-import com.hashjosh.application.model.Application;
+import com.hashjosh.application.service.ApplicationImportService;
+import com.hashjosh.application.service.ApplicationSearchService;
 import com.hashjosh.application.service.ApplicationService;
-import jakarta.validation.Valid;
+import jakarta.servlet.http.Part;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,21 +29,43 @@ import java.util.UUID;
 public class ApplicationController {
 
     private final ApplicationService applicationService;
+    private final ApplicationSearchService applicationSearchService;
+    private final ApplicationImportService applicationImportService;
 
     @PostMapping(value = "/submit",consumes = {"multipart/form-data"})
     public ResponseEntity<ApplicationSubmissionResponse> submitApplication(
-            @Valid @RequestPart(value = "submission") ApplicationSubmissionDto submission,
+            @RequestPart(value = "submission") Part submission,
             @RequestPart(value = "files", required = false) List<MultipartFile> files
-    ) {
+    ) throws IOException {
 
-        Application application = applicationService.processSubmission(submission,files);
+        UUID applicationId;
+        try (InputStream submissionJson = submission.getInputStream()) {
+            applicationId = applicationService.processSubmission(submissionJson, files);
+        }
         return ResponseEntity.ok(ApplicationSubmissionResponse.builder()
-                        .applicationId(application.getId())
+                        .applicationId(applicationId)
                         .success(true)
                         .message("Application submitted successfully")
                         .build());
     }
 
+    // Bulk import of one application type from a CSV or NDJSON file; poll the returned job for progress
+    @PostMapping(value = "/import", consumes = {"multipart/form-data"})
+    public ResponseEntity<ApplicationImportJobResponse> importApplications(
+            @RequestParam("applicationTypeId") UUID applicationTypeId,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestPart("file") MultipartFile file
+    ){
+        return new ResponseEntity<>(applicationImportService.startImport(applicationTypeId, file, format), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/import/{job-id}")
+    public ResponseEntity<ApplicationImportJobResponse> findImportJob(
+            @PathVariable("job-id") UUID jobId
+    ){
+        return ResponseEntity.ok(applicationImportService.getJob(jobId));
+    }
+
     // Return all applications by provider name
     @GetMapping("/provider/{provider}")
     public ResponseEntity<List<ApplicationResponseDto>> findAllProviderApplication(
@@ -46,6 +74,52 @@ public class ApplicationController {
         return new ResponseEntity<>(applicationService.findAllProviderApplication(provider),HttpStatus.OK);
     }
 
+    // Paginated list of a provider's applications, newest first
+    @GetMapping("/provider/{provider}/page")
+    public ResponseEntity<ApplicationPageResponse> findProviderApplicationPage(
+            @PathVariable("provider") String provider,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean includeDocuments
+    ){
+        return ResponseEntity.ok(applicationService.findPage(provider, cursor, limit, includeDocuments));
+    }
+
+    // Paginated list of the signed-in user's own applications, newest first
+    @GetMapping("/me/page")
+    public ResponseEntity<ApplicationPageResponse> findOwnPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean includeDocuments
+    ){
+        return ResponseEntity.ok(applicationService.findOwnPage(cursor, limit, includeDocuments));
+    }
+
+    // Paginated list of all applications, newest first - for the admin side
+    @GetMapping("/page")
+    public ResponseEntity<ApplicationPageResponse> findPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean includeDocuments
+    ){
+        return ResponseEntity.ok(applicationService.findPage(null, cursor, limit, includeDocuments));
+    }
+
+    // Applications matching every filter on searchable fields, e.g. ?filter=crop_type:eq:Rice&filter=lot_1_area:range:1..5
+    // Searches every user's applications, so staff only
+    @GetMapping("/search")
+    @PreAuthorize("@staffAccess.isStaff(authentication.authorities)")
+    public ResponseEntity<ApplicationPageResponse> search(
+            @RequestParam(required = false) UUID applicationTypeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam MultiValueMap<String, String> params
+    ){
+        // Read from the raw parameters so a comma inside a value is not taken as a list separator
+        List<String> filters = params.getOrDefault("filter", List.of());
+        return ResponseEntity.ok(applicationSearchService.search(applicationTypeId, filters, cursor, limit));
+    }
+
     // We get a specific application by its id
     @GetMapping("/{application-id}")
     public ResponseEntity<ApplicationResponseDto> findById(
@@ -2,13 +2,19 @@ package com.hashjosh.application.controller;
 
 import com.hashjosh.application.dto.fields.ApplicationFieldsRequestDto;
 import com.hashjosh.application.service.ApplicationFieldsService;
+import com.hashjosh.application.service.ApplicationSchemaCache;
+import com.hashjosh.application.service.ApplicationSchemaCache.SchemaVersion;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -18,6 +24,14 @@ import java.util.UUID;
 public class ApplicationFieldController {
 
     private final ApplicationFieldsService applicationFieldService;
+    private final ApplicationSchemaCache applicationSchemaCache;
+
+    @GetMapping("/{field-id}")
+    public ResponseEntity<byte[]> getById(@PathVariable("field-id") UUID fieldId, WebRequest request){
+        SchemaVersion version = applicationSchemaCache.fieldVersion(fieldId);
+        return SchemaResponses.conditional(request, version.etag(),
+                () -> applicationSchemaCache.field(version, fieldId));
+    }
 
     @PostMapping("/{section-id}")
     public ResponseEntity<String> create(
@@ -27,4 +41,14 @@ public class ApplicationFieldController {
         applicationFieldService.create(dto,sectionId);
         return new ResponseEntity<>("Application field created successfully", HttpStatus.CREATED);
     }
+
+    // Searchable fields can be filtered on through /api/v1/applications/search; admins only, see SecurityConfiguration
+    @PatchMapping("/{field-id}/searchable")
+    public ResponseEntity<String> updateSearchable(
+            @PathVariable("field-id") UUID fieldId,
+            @RequestParam("searchable") boolean searchable
+    ){
+        applicationFieldService.updateSearchable(fieldId, searchable);
+        return new ResponseEntity<>("Application field updated successfully", HttpStatus.OK);
+    }
 }
@@ -1,9 +1,17 @@
 package com.hashjosh.application.controller;
 
+import com.hashjosh.application.service.ApplicationSchemaCache;
+import com.hashjosh.application.service.ApplicationSchemaCache.SchemaVersion;
 import com.hashjosh.application.service.ApplicationSectionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/application/sections")
@@ -11,5 +19,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class ApplicationSectionController {
 
     private final ApplicationSectionService applicationSectionService;
+    private final ApplicationSchemaCache applicationSchemaCache;
 
+    @GetMapping("/{section-id}")
+    public ResponseEntity<byte[]> getById(@PathVariable("section-id") UUID sectionId, WebRequest request){
+        SchemaVersion version = applicationSchemaCache.sectionVersion(sectionId);
+        return SchemaResponses.conditional(request, version.etag(),
+                () -> applicationSchemaCache.section(version, sectionId));
+    }
 }
@@ -2,11 +2,15 @@ package com.hashjosh.application.controller;
 
 import com.hashjosh.application.dto.type.ApplicationTypeRequestDto;
 import com.hashjosh.application.dto.type.ApplicationTypeResponseDto;
+import com.hashjosh.application.service.ApplicationSchemaCache;
+import com.hashjosh.application.service.ApplicationSchemaCache.SchemaBody;
+import com.hashjosh.application.service.ApplicationSchemaCache.SchemaVersion;
 import com.hashjosh.application.service.ApplicationTypeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -17,6 +21,7 @@ import java.util.UUID;
 public class ApplicationTypeController {
 
     private final ApplicationTypeService applicationTypeService;
+    private final ApplicationSchemaCache applicationSchemaCache;
 
     @PostMapping()
     public ResponseEntity<ApplicationTypeResponseDto> create(
@@ -27,23 +32,24 @@ public class ApplicationTypeController {
         return new ResponseEntity<>(responseDto, HttpStatus.CREATED);
     }
 
+    // The GETs serve pre-serialized JSON with a schema-version ETag; see ApplicationSchemaCache
     @GetMapping()
-    public ResponseEntity<List<ApplicationTypeResponseDto>> getAll(){
-        List<ApplicationTypeResponseDto> allApplicationType = applicationTypeService.findAll();
-        return new ResponseEntity<>(allApplicationType,HttpStatus.OK);
+    public ResponseEntity<byte[]> getAll(WebRequest request){
+        return list(applicationSchemaCache.allVersions(), request);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApplicationTypeResponseDto> getById(@PathVariable UUID id){
-       return new ResponseEntity<>(applicationTypeService.findById(id),HttpStatus.OK);
+    public ResponseEntity<byte[]> getById(@PathVariable UUID id, WebRequest request){
+        SchemaVersion version = applicationSchemaCache.typeVersion(id);
+        return SchemaResponses.conditional(request, version.etag(), () -> applicationSchemaCache.type(version));
     }
 
     // Return all application types by provider name
     @GetMapping("/provider/{providerName}")
-    public ResponseEntity<List<ApplicationTypeResponseDto>> getByProviderName(
-            @PathVariable("providerName") String provider)
+    public ResponseEntity<byte[]> getByProviderName(
+            @PathVariable("providerName") String provider, WebRequest request)
     {
-        return ResponseEntity.ok(applicationTypeService.findByProviderName(provider));
+        return list(applicationSchemaCache.providerVersions(provider), request);
     }
 
     @DeleteMapping("/{id}")
@@ -52,5 +58,11 @@ public class ApplicationTypeController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    private ResponseEntity<byte[]> list(List<SchemaVersion> versions, WebRequest request) {
+        String etag = ApplicationSchemaCache.listEtag(versions);
+        return SchemaResponses.conditional(request, etag,
+                () -> new SchemaBody(etag, applicationSchemaCache.list(versions)));
+    }
+
 }
 
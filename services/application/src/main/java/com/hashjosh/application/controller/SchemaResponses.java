@@ -0,0 +1,39 @@
+package com.hashjosh.application.controller;
+
+import com.hashjosh.application.service.ApplicationSchemaCache.SchemaBody;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional responses for the schema endpoints, which serve JSON already serialized by
+ * {@code ApplicationSchemaCache}. Clients may keep a schema but revalidate it on every use, which costs a
+ * 304 while it is unchanged.
+ */
+final class SchemaResponses {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache();
+
+    private SchemaResponses() {
+    }
+
+    /**
+     * @param body only called when the client does not already hold {@code etag}; its own ETag is sent,
+     *             which is newer than {@code etag} when the schema was edited in between
+     */
+    static ResponseEntity<byte[]> conditional(WebRequest request, String etag, Supplier<SchemaBody> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CACHE_CONTROL).build();
+        }
+        SchemaBody served = body.get();
+        return ResponseEntity.ok()
+                .eTag(served.etag())
+                .cacheControl(CACHE_CONTROL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(served.json());
+    }
+}
@@ -9,6 +9,7 @@ public record ApplicationFieldsRequestDto(
         Boolean required,
         String defaultValue,
         JsonNode choices,
-        String validationRegex
+        String validationRegex,
+        Boolean searchable
 ) {
 }
@@ -13,6 +13,7 @@ public record ApplicationFieldsResponseDto(
         Boolean required,
         String defaultValue,
         JsonNode choices,
-        String validationRegex
+        String validationRegex,
+        Boolean searchable
 ) {
 }
@@ -0,0 +1,32 @@
+package com.hashjosh.application.dto.imports;
+
+import com.hashjosh.application.enums.ImportFormat;
+import com.hashjosh.application.enums.ImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationImportJobResponse {
+    private UUID id;
+    private UUID applicationTypeId;
+    private String fileName;
+    private ImportFormat format;
+    private ImportStatus status;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private List<ImportRowError> errors;
+    private String failureMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
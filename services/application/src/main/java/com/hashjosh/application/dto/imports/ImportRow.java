@@ -0,0 +1,12 @@
+package com.hashjosh.application.dto.imports;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * One row of a bulk import as read from the file.
+ *
+ * @param values the row's values, or null when the row could not be read
+ * @param error  why the row could not be read
+ */
+public record ImportRow(long row, ObjectNode values, String error) {
+}
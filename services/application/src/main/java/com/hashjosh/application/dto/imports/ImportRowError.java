@@ -0,0 +1,19 @@
+package com.hashjosh.application.dto.imports;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A rejected row; {@code row} counts data rows from 1, not counting a CSV header.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+    private long row;
+    private String field;
+    private String message;
+}
@@ -0,0 +1,21 @@
+package com.hashjosh.application.dto.page;
+
+import com.hashjosh.constant.application.ApplicationResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationPageResponse {
+    private List<ApplicationResponseDto> applications;
+    private String nextCursor;
+    private boolean hasMore;
+    // Matching applications across all pages; only set by the search
+    private Long total;
+}
@@ -0,0 +1,22 @@
+package com.hashjosh.application.dto.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hashjosh.application.enums.FieldType;
+import com.hashjosh.application.enums.FilterOperator;
+
+import java.util.List;
+
+/**
+ * A parsed filter on a searchable field, with its values already typed for that field. {@code values}
+ * holds the value of {@code EQ} and {@code PREFIX} as well; {@code min} and {@code max} are only used by
+ * {@code RANGE}, and either may be null for an open end.
+ */
+public record SearchFilter(
+        String key,
+        FieldType fieldType,
+        FilterOperator operator,
+        List<JsonNode> values,
+        JsonNode min,
+        JsonNode max
+) {
+}
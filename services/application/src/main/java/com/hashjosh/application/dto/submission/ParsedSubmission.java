@@ -0,0 +1,20 @@
+package com.hashjosh.application.dto.submission;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hashjosh.application.dto.validation.ValidationError;
+import com.hashjosh.application.model.ApplicationType;
+
+import java.util.List;
+
+/**
+ * A submission read by {@code StreamingSubmissionReader}.
+ *
+ * @param dynamicFields the submitted field values as one UTF-8 JSON object, ready for the jsonb column
+ * @param adminAreas    the administrative areas of the submission's location, or null when none resolved
+ */
+public record ParsedSubmission(ApplicationType applicationType,
+                               String coordinates,
+                               byte[] dynamicFields,
+                               JsonNode adminAreas,
+                               List<ValidationError> errors) {
+}
@@ -0,0 +1,8 @@
+package com.hashjosh.application.enums;
+
+public enum FilterOperator {
+    EQ,
+    IN,
+    RANGE,
+    PREFIX
+}
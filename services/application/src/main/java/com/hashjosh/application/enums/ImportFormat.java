@@ -0,0 +1,6 @@
+package com.hashjosh.application.enums;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
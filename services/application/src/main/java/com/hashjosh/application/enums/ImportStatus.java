@@ -0,0 +1,8 @@
+package com.hashjosh.application.enums;
+
+public enum ImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -30,6 +30,10 @@ public class ApiException extends RuntimeException {
         return new ApiException(message, HttpStatus.UNAUTHORIZED);
     }
 
+    public static ApiException forbidden(String message) {
+        return new ApiException(message, HttpStatus.FORBIDDEN);
+    }
+
     public static ApiException internalError(String message) {
         return new ApiException(message, HttpStatus.INTERNAL_SERVER_ERROR);
     }
@@ -0,0 +1,7 @@
+package com.hashjosh.application.geo;
+
+/**
+ * @param code the area's code in the boundary file, such as its PSGC code
+ */
+public record AdminArea(String code, String name, AdminLevel level) {
+}
@@ -0,0 +1,201 @@
+package com.hashjosh.application.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves a position to the province, municipality and barangay containing it.
+ * <p>
+ * Each level keeps its boundaries in flat arrays and indexes the bounding box of every polygon part in a
+ * {@link PackedRTree}; a lookup runs the exact point-in-polygon test only on the few parts whose box holds
+ * the point. Vertices are stored as floats, which is well under a metre of error at these coordinates.
+ * The index is immutable once built and safe to share between threads.
+ */
+public final class AdminAreaIndex {
+
+    private final Map<AdminLevel, Layer> layers;
+
+    private AdminAreaIndex(Map<AdminLevel, Layer> layers) {
+        this.layers = layers;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public ResolvedArea resolve(double latitude, double longitude) {
+        return new ResolvedArea(
+                locate(AdminLevel.PROVINCE, latitude, longitude),
+                locate(AdminLevel.MUNICIPALITY, latitude, longitude),
+                locate(AdminLevel.BARANGAY, latitude, longitude));
+    }
+
+    public ResolvedArea resolve(GeoPoint point) {
+        return resolve(point.latitude(), point.longitude());
+    }
+
+    /**
+     * @return the area of the given level containing the position, or null when there is none
+     */
+    public AdminArea locate(AdminLevel level, double latitude, double longitude) {
+        Layer layer = layers.get(level);
+        return layer == null ? null : layer.locate(longitude, latitude);
+    }
+
+    /**
+     * Number of areas across all levels.
+     */
+    public int size() {
+        return layers.values().stream().mapToInt(layer -> layer.areas.length).sum();
+    }
+
+    private static final class Layer {
+
+        private final AdminArea[] areas;
+        private final int[] partArea;
+        /** Rings of part {@code p} are {@code partFirstRing[p]} until {@code partFirstRing[p + 1]}. */
+        private final int[] partFirstRing;
+        /** Vertices of ring {@code r} are {@code ringStart[r]} until {@code ringStart[r + 1]}. */
+        private final int[] ringStart;
+        /** Longitude and latitude of each vertex, interleaved. */
+        private final float[] coordinates;
+        private final PackedRTree tree;
+
+        private Layer(LayerBuilder builder) {
+            this.areas = builder.areas.toArray(AdminArea[]::new);
+            this.partArea = Arrays.copyOf(builder.partArea, builder.parts);
+            this.partFirstRing = Arrays.copyOf(builder.partFirstRing, builder.parts + 1);
+            this.ringStart = Arrays.copyOf(builder.ringStart, builder.rings + 1);
+            this.coordinates = Arrays.copyOf(builder.coordinates, builder.vertices * 2);
+            this.tree = new PackedRTree(Arrays.copyOf(builder.partBoxes, builder.parts * 4));
+        }
+
+        AdminArea locate(double x, double y) {
+            AdminArea[] found = new AdminArea[1];
+            tree.search(x, y, part -> {
+                if (contains(part, x, y)) {
+                    found[0] = areas[partArea[part]];
+                    return true;
+                }
+                return false;
+            });
+            return found[0];
+        }
+
+        /**
+         * Even-odd ray casting over all rings of the part, so holes are excluded without telling outer and
+         * inner rings apart.
+         */
+        private boolean contains(int part, double x, double y) {
+            boolean inside = false;
+            for (int ring = partFirstRing[part]; ring < partFirstRing[part + 1]; ring++) {
+                int from = ringStart[ring];
+                int to = ringStart[ring + 1];
+                for (int i = from, j = to - 1; i < to; j = i++) {
+                    double xi = coordinates[i * 2], yi = coordinates[i * 2 + 1];
+                    double xj = coordinates[j * 2], yj = coordinates[j * 2 + 1];
+                    if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi) {
+                        inside = !inside;
+                    }
+                }
+            }
+            return inside;
+        }
+    }
+
+    public static final class Builder {
+
+        private final Map<AdminLevel, LayerBuilder> layers = new EnumMap<>(AdminLevel.class);
+
+        private Builder() {
+        }
+
+        /**
+         * Adds an area made of one or more polygons. A polygon is a list of rings, the outer ring first,
+         * and a ring holds longitude and latitude pairs, interleaved.
+         */
+        public Builder add(AdminArea area, List<List<double[]>> polygons) {
+            layers.computeIfAbsent(area.level(), level -> new LayerBuilder()).add(area, polygons);
+            return this;
+        }
+
+        public AdminAreaIndex build() {
+            Map<AdminLevel, Layer> built = new EnumMap<>(AdminLevel.class);
+            layers.forEach((level, layer) -> built.put(level, new Layer(layer)));
+            return new AdminAreaIndex(built);
+        }
+    }
+
+    private static final class LayerBuilder {
+
+        private final List<AdminArea> areas = new ArrayList<>();
+        private int[] partArea = new int[64];
+        private int[] partFirstRing = new int[65];
+        private float[] partBoxes = new float[256];
+        private int[] ringStart = new int[129];
+        private float[] coordinates = new float[4096];
+        private int parts;
+        private int rings;
+        private int vertices;
+
+        void add(AdminArea area, List<List<double[]>> polygons) {
+            int areaIndex = -1;
+            for (List<double[]> polygon : polygons) {
+                if (polygon.isEmpty() || polygon.get(0).length < 6) {
+                    continue;
+                }
+                if (areaIndex < 0) {
+                    areaIndex = areas.size();
+                    areas.add(area);
+                }
+                addPart(areaIndex, polygon);
+            }
+        }
+
+        private void addPart(int areaIndex, List<double[]> polygon) {
+            if (parts + 1 >= partArea.length) {
+                partArea = Arrays.copyOf(partArea, partArea.length * 2);
+                partFirstRing = Arrays.copyOf(partFirstRing, partArea.length + 1);
+                partBoxes = Arrays.copyOf(partBoxes, partArea.length * 4);
+            }
+            partArea[parts] = areaIndex;
+            partFirstRing[parts] = rings;
+
+            float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+            float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+            for (double[] ring : polygon) {
+                int points = ring.length / 2;
+                if (rings + 2 >= ringStart.length) {
+                    ringStart = Arrays.copyOf(ringStart, ringStart.length * 2);
+                }
+                if ((vertices + points) * 2 > coordinates.length) {
+                    coordinates = Arrays.copyOf(coordinates, Math.max(coordinates.length * 2, (vertices + points) * 2));
+                }
+                ringStart[rings] = vertices;
+                for (int i = 0; i < points; i++) {
+                    float x = (float) ring[i * 2];
+                    float y = (float) ring[i * 2 + 1];
+                    coordinates[vertices * 2] = x;
+                    coordinates[vertices * 2 + 1] = y;
+                    vertices++;
+                    minX = Math.min(minX, x);
+                    minY = Math.min(minY, y);
+                    maxX = Math.max(maxX, x);
+                    maxY = Math.max(maxY, y);
+                }
+                rings++;
+                ringStart[rings] = vertices;
+            }
+
+            partBoxes[parts * 4] = minX;
+            partBoxes[parts * 4 + 1] = minY;
+            partBoxes[parts * 4 + 2] = maxX;
+            partBoxes[parts * 4 + 3] = maxY;
+            parts++;
+            partFirstRing[parts] = rings;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.hashjosh.application.geo;
+
+import java.util.Locale;
+
+public enum AdminLevel {
+    PROVINCE,
+    MUNICIPALITY,
+    BARANGAY;
+
+    /**
+     * Maps the level names boundary datasets use; cities count as municipalities.
+     *
+     * @return null for levels the index does not keep
+     */
+    public static AdminLevel of(String name) {
+        if (name == null) {
+            return null;
+        }
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "province", "prov" -> PROVINCE;
+            case "municipality", "mun", "city", "municity" -> MUNICIPALITY;
+            case "barangay", "brgy", "bgy" -> BARANGAY;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.hashjosh.application.geo;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds an {@link AdminAreaIndex} from a GeoJSON FeatureCollection of Polygon and MultiPolygon features.
+ * <p>
+ * The collection is streamed and only one feature is held in memory at a time, so country-wide barangay
+ * boundaries load without materializing the whole document. Features whose level property is missing or
+ * not one the index keeps are skipped.
+ */
+public class GeoJsonAdminAreaLoader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String levelProperty;
+    private final String codeProperty;
+    private final String nameProperty;
+
+    public GeoJsonAdminAreaLoader(String levelProperty, String codeProperty, String nameProperty) {
+        this.levelProperty = levelProperty;
+        this.codeProperty = codeProperty;
+        this.nameProperty = nameProperty;
+    }
+
+    public AdminAreaIndex load(InputStream in) throws IOException {
+        AdminAreaIndex.Builder builder = AdminAreaIndex.builder();
+        try (JsonParser parser = MAPPER.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a GeoJSON FeatureCollection");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"features".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    add(builder, MAPPER.readTree(parser));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private void add(AdminAreaIndex.Builder builder, JsonNode feature) {
+        JsonNode properties = feature.path("properties");
+        AdminLevel level = AdminLevel.of(properties.path(levelProperty).asText(null));
+        if (level == null) {
+            return;
+        }
+        JsonNode geometry = feature.path("geometry");
+        JsonNode coordinates = geometry.path("coordinates");
+        List<List<double[]>> polygons = new ArrayList<>();
+        switch (geometry.path("type").asText()) {
+            case "Polygon" -> polygons.add(polygon(coordinates));
+            case "MultiPolygon" -> coordinates.forEach(polygon -> polygons.add(polygon(polygon)));
+            default -> {
+                return;
+            }
+        }
+        AdminArea area = new AdminArea(
+                properties.path(codeProperty).asText(null),
+                properties.path(nameProperty).asText(null),
+                level);
+        builder.add(area, polygons);
+    }
+
+    private static List<double[]> polygon(JsonNode rings) {
+        List<double[]> polygon = new ArrayList<>(rings.size());
+        for (JsonNode ring : rings) {
+            double[] points = new double[ring.size() * 2];
+            for (int i = 0; i < ring.size(); i++) {
+                points[i * 2] = ring.get(i).path(0).asDouble();
+                points[i * 2 + 1] = ring.get(i).path(1).asDouble();
+            }
+            polygon.add(points);
+        }
+        return polygon;
+    }
+}
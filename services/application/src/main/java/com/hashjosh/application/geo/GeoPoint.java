@@ -0,0 +1,69 @@
+package com.hashjosh.application.geo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A WGS84 position as clients send it.
+ */
+public record GeoPoint(double latitude, double longitude) {
+
+    public boolean inRange() {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
+    /**
+     * Reads {@code {"lat": .., "lng": ..}} (also {@code latitude}, {@code lon} and {@code longitude}), a
+     * GeoJSON Point, or a {@code "lat,lng"} string.
+     *
+     * @return null when the value has none of these shapes
+     */
+    public static GeoPoint parse(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (value.isTextual()) {
+            return parse(value.textValue());
+        }
+        if (!value.isObject()) {
+            return null;
+        }
+        if ("Point".equals(value.path("type").asText())) {
+            JsonNode coordinates = value.path("coordinates");
+            // GeoJSON puts longitude first
+            return coordinates.size() >= 2 && coordinates.get(0).isNumber() && coordinates.get(1).isNumber()
+                    ? new GeoPoint(coordinates.get(1).doubleValue(), coordinates.get(0).doubleValue())
+                    : null;
+        }
+        JsonNode latitude = first(value, "lat", "latitude");
+        JsonNode longitude = first(value, "lng", "lon", "longitude");
+        return latitude != null && longitude != null
+                ? new GeoPoint(latitude.doubleValue(), longitude.doubleValue())
+                : null;
+    }
+
+    public static GeoPoint parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        int comma = value.indexOf(',');
+        if (comma < 0 || value.indexOf(',', comma + 1) >= 0) {
+            return null;
+        }
+        try {
+            return new GeoPoint(Double.parseDouble(value.substring(0, comma).trim()),
+                    Double.parseDouble(value.substring(comma + 1).trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static JsonNode first(JsonNode value, String... names) {
+        for (String name : names) {
+            JsonNode node = value.get(name);
+            if (node != null && node.isNumber()) {
+                return node;
+            }
+        }
+        return null;
+    }
+}
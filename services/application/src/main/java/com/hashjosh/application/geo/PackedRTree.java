@@ -0,0 +1,122 @@
+package com.hashjosh.application.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * A static R-tree over item bounding boxes, bulk-loaded with Sort-Tile-Recursive packing.
+ * <p>
+ * Every level is kept as flat arrays: four floats per entry ({@code minX, minY, maxX, maxY}) and one int,
+ * which is the item id on the leaf level and the first child's position on the level below otherwise. The
+ * children of a node are the {@link #NODE_CAPACITY} consecutive entries from that position, so a lookup
+ * touches a few contiguous arrays instead of chasing node objects.
+ */
+final class PackedRTree {
+
+    static final int NODE_CAPACITY = 16;
+
+    /** Leaf level first, the root level last. */
+    private final float[][] boxes;
+    private final int[][] refs;
+
+    /**
+     * @param itemBoxes four floats per item, in item id order
+     */
+    PackedRTree(float[] itemBoxes) {
+        List<float[]> levelBoxes = new ArrayList<>();
+        List<int[]> levelRefs = new ArrayList<>();
+
+        float[] entries = itemBoxes;
+        int[] entryRefs = new int[itemBoxes.length / 4];
+        Arrays.setAll(entryRefs, i -> i);
+        while (true) {
+            int count = entryRefs.length;
+            Integer[] order = strOrder(entries, count);
+            float[] sortedBoxes = new float[count * 4];
+            int[] sortedRefs = new int[count];
+            for (int i = 0; i < count; i++) {
+                System.arraycopy(entries, order[i] * 4, sortedBoxes, i * 4, 4);
+                sortedRefs[i] = entryRefs[order[i]];
+            }
+            levelBoxes.add(sortedBoxes);
+            levelRefs.add(sortedRefs);
+            if (count <= NODE_CAPACITY) {
+                break;
+            }
+
+            int parents = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+            entries = new float[parents * 4];
+            entryRefs = new int[parents];
+            for (int p = 0; p < parents; p++) {
+                int from = p * NODE_CAPACITY;
+                int to = Math.min(count, from + NODE_CAPACITY);
+                float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+                float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+                for (int c = from; c < to; c++) {
+                    minX = Math.min(minX, sortedBoxes[c * 4]);
+                    minY = Math.min(minY, sortedBoxes[c * 4 + 1]);
+                    maxX = Math.max(maxX, sortedBoxes[c * 4 + 2]);
+                    maxY = Math.max(maxY, sortedBoxes[c * 4 + 3]);
+                }
+                entries[p * 4] = minX;
+                entries[p * 4 + 1] = minY;
+                entries[p * 4 + 2] = maxX;
+                entries[p * 4 + 3] = maxY;
+                entryRefs[p] = from;
+            }
+        }
+        this.boxes = levelBoxes.toArray(float[][]::new);
+        this.refs = levelRefs.toArray(int[][]::new);
+    }
+
+    /**
+     * Offers the ids of the items whose box contains the point to {@code visitor} until it returns true.
+     *
+     * @return whether the visitor accepted an item
+     */
+    boolean search(double x, double y, IntPredicate visitor) {
+        int top = boxes.length - 1;
+        return search(top, 0, refs[top].length, x, y, visitor);
+    }
+
+    private boolean search(int level, int from, int to, double x, double y, IntPredicate visitor) {
+        float[] levelBoxes = boxes[level];
+        int[] levelRefs = refs[level];
+        for (int i = from; i < to; i++) {
+            int b = i * 4;
+            if (x < levelBoxes[b] || y < levelBoxes[b + 1] || x > levelBoxes[b + 2] || y > levelBoxes[b + 3]) {
+                continue;
+            }
+            boolean found = level == 0
+                    ? visitor.test(levelRefs[i])
+                    : search(level - 1, levelRefs[i],
+                            Math.min(refs[level - 1].length, levelRefs[i] + NODE_CAPACITY), x, y, visitor);
+            if (found) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sorts the entries by centre x, cuts them into vertical slices of whole nodes, and sorts each slice by
+     * centre y, so that consecutive runs of {@link #NODE_CAPACITY} entries are spatially compact.
+     */
+    private static Integer[] strOrder(float[] entries, int count) {
+        Integer[] order = new Integer[count];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparingDouble(i -> entries[i * 4] + entries[i * 4 + 2]));
+
+        int nodes = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int slices = (int) Math.ceil(Math.sqrt(nodes));
+        int sliceSize = NODE_CAPACITY * ((nodes + slices - 1) / Math.max(1, slices));
+        for (int from = 0; from < count; from += sliceSize) {
+            Arrays.sort(order, from, Math.min(count, from + sliceSize),
+                    Comparator.comparingDouble(i -> entries[i * 4 + 1] + entries[i * 4 + 3]));
+        }
+        return order;
+    }
+}
@@ -0,0 +1,12 @@
+package com.hashjosh.application.geo;
+
+/**
+ * The areas containing a point, one per level; a level is null when no area of it contains the point or
+ * the boundary file has none of that level.
+ */
+public record ResolvedArea(AdminArea province, AdminArea municipality, AdminArea barangay) {
+
+    public boolean isEmpty() {
+        return province == null && municipality == null && barangay == null;
+    }
+}
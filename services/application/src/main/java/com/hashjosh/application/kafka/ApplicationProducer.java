@@ -1,33 +1,25 @@
 package com.hashjosh.application.kafka;
 
-import com.hashjosh.kafkacommon.ApplicationDomainEvent;
+import com.hashjosh.kafkacommon.outbox.OutboxPublisher;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+
+/**
+ * Events are written to the outbox in the caller's transaction and sent by the relay after it commits.
+ */
 @Service
 @RequiredArgsConstructor
-@Slf4j
 public class ApplicationProducer {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxPublisher outboxPublisher;
 
-    public <T> void publishEvent(String topic,T event) {
-        log.info("submitting application::: {}", event);
+    public <T> void publishEvent(String topic, T event) {
+        outboxPublisher.publish(topic, event);
+    }
 
-        kafkaTemplate.send(MessageBuilder
-                        .withPayload(event)
-                        .setHeader(KafkaHeaders.TOPIC, topic)
-                        .build())
-                .whenComplete((result, ex) -> {
-                    if (ex == null) {
-                        log.info("Message sent successfully to topic {} with offset {}", result.getRecordMetadata().topic(), result.getRecordMetadata().offset());
-                    } else {
-                        log.error("Failed to send message: {}", ex.getMessage());
-                    }
-                });
+    public void publishEvents(String topic, Collection<?> events) {
+        outboxPublisher.publishAll(topic, events);
     }
 }
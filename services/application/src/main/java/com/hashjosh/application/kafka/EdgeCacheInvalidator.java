@@ -0,0 +1,26 @@
+package com.hashjosh.application.kafka;
+
+import com.hashjosh.kafkacommon.EdgeCacheInvalidationEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the gateway to drop cached responses for paths this service just changed. The event goes through
+ * the outbox, so inside a transaction it is only sent once the change is committed and the gateway never
+ * re-caches the old rows in between.
+ */
+@Component
+@RequiredArgsConstructor
+public class EdgeCacheInvalidator {
+
+    public static final String APPLICATION_TYPES = "/api/v1/application/types/**";
+    public static final String PROVIDERS = "/api/v1/providers/**";
+
+    private final ApplicationProducer applicationProducer;
+
+    public void invalidate(String... pathPatterns) {
+        for (String pathPattern : pathPatterns) {
+            applicationProducer.publishEvent(EdgeCacheInvalidationEvent.TOPIC, new EdgeCacheInvalidationEvent(pathPattern));
+        }
+    }
+}
@@ -17,6 +17,7 @@ public class ApplicationFieldMapper {
                 .required(dto.required())
                 .defaultValue(dto.defaultValue())
                 .validationRegex(dto.validationRegex())
+                .searchable(Boolean.TRUE.equals(dto.searchable()))
                 .applicationSection(applicationSection)
                 .build();
     }
@@ -30,7 +31,8 @@ public class ApplicationFieldMapper {
                 applicationFields.getRequired(),
                 applicationFields.getDefaultValue(),
                 applicationFields.getChoices(),
-                applicationFields.getValidationRegex()
+                applicationFields.getValidationRegex(),
+                Boolean.TRUE.equals(applicationFields.getSearchable())
         );
     }
 }
@@ -0,0 +1,27 @@
+package com.hashjosh.application.mapper;
+
+import com.hashjosh.application.dto.imports.ApplicationImportJobResponse;
+import com.hashjosh.application.model.ApplicationImportJob;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ApplicationImportJobMapper {
+
+    public ApplicationImportJobResponse toResponse(ApplicationImportJob job) {
+        return ApplicationImportJobResponse.builder()
+                .id(job.getId())
+                .applicationTypeId(job.getApplicationTypeId())
+                .fileName(job.getFileName())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .processedRows(job.getProcessedRows())
+                .importedRows(job.getImportedRows())
+                .failedRows(job.getFailedRows())
+                .errors(job.getErrors())
+                .failureMessage(job.getFailureMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -1,26 +1,73 @@
 package com.hashjosh.application.mapper;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.hashjosh.application.clients.DocumentServiceClient;
 import com.hashjosh.application.model.Document;
 import com.hashjosh.constant.application.ApplicationResponseDto;
-import com.hashjosh.application.dto.submission.ApplicationSubmissionDto;
 import com.hashjosh.application.model.Application;
 import com.hashjosh.application.model.ApplicationType;
+import com.hashjosh.application.repository.ApplicationRepository.ApplicationSummaryView;
+import com.hashjosh.documentclient.PresignedUrlClient;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class ApplicationMapper {
 
-    private final DocumentServiceClient documentServiceClient;
+    private static final int FILE_URL_EXPIRY_MINUTES = 30;
+
+    private final PresignedUrlClient presignedUrlClient;
+
     public ApplicationResponseDto toApplicationResponseDto(Application entity) {
+        return toApplicationResponseDto(entity, fileUrls(List.of(entity)));
+    }
+
+    /**
+     * Signs the file URLs of every application with one call to the document service.
+     */
+    public List<ApplicationResponseDto> toApplicationResponseDtos(List<Application> entities) {
+        Map<UUID, String> fileUrls = fileUrls(entities);
+        return entities.stream()
+                .map(entity -> toApplicationResponseDto(entity, fileUrls))
+                .toList();
+    }
+
+    /**
+     * Maps a listing page. {@code documentIds} holds the documents of each application when they were
+     * requested, otherwise it is null and the file uploads are left out.
+     */
+    public List<ApplicationResponseDto> toApplicationResponseDtos(List<ApplicationSummaryView> rows,
+                                                                  Map<UUID, List<UUID>> documentIds) {
+        Map<UUID, String> fileUrls = documentIds == null ? Map.of() : presignedUrlClient.urls(
+                documentIds.values().stream().flatMap(List::stream).toList(), FILE_URL_EXPIRY_MINUTES);
+
+        return rows.stream()
+                .map(row -> {
+                    ApplicationResponseDto dto = new ApplicationResponseDto();
+                    dto.setId(row.getId());
+                    dto.setApplicationName(row.getApplicationName());
+                    dto.setUserId(row.getUserId());
+                    dto.setSubmittedAt(row.getSubmittedAt());
+                    dto.setUpdatedAt(row.getUpdatedAt());
+                    dto.setVersion(row.getVersion());
+                    dto.setJsonDynamicFields(row.getDynamicFields());
+                    if (documentIds != null) {
+                        dto.setFileUploads(documentIds.getOrDefault(row.getId(), List.of()).stream()
+                                .map(fileUrls::get)
+                                .filter(Objects::nonNull)
+                                .toList());
+                    }
+                    return dto;
+                })
+                .toList();
+    }
+
+    private ApplicationResponseDto toApplicationResponseDto(Application entity, Map<UUID, String> fileUrls) {
 
         ApplicationType applicationType = entity.getType();
 
@@ -35,27 +82,24 @@ public class ApplicationMapper {
         List<String> generatedUrl = new ArrayList<>();
 
         entity.getDocuments().forEach(document -> {
-            generatedUrl.add(documentServiceClient
-                    .generatePresignedUrl(String.valueOf(entity.getUserId()),document.getDocumentId(),30));
+            String url = fileUrls.get(document.getDocumentId());
+            if (url != null) {
+                generatedUrl.add(url);
+            }
         });
 
 
         dto.setFileUploads(generatedUrl);
         dto.setJsonDynamicFields(entity.getDynamicFields());
+        dto.setAdminAreas(entity.getAdminAreas());
         return dto;
     }
 
-
-    public Application toEntity(ApplicationSubmissionDto submission,ApplicationType type) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        JsonNode dynamicFieldsNode = objectMapper.valueToTree(submission.getFieldValues());
-
-        return Application.builder()
-                .type(type)
-                .userId(submission.getUseId())
-                .dynamicFields(dynamicFieldsNode)
-                .documents(submission.getDocuments())
-                .submittedAt(LocalDateTime.now())
-                .build();
+    private Map<UUID, String> fileUrls(List<Application> entities) {
+        List<UUID> documentIds = entities.stream()
+                .flatMap(entity -> entity.getDocuments().stream())
+                .map(Document::getDocumentId)
+                .toList();
+        return presignedUrlClient.urls(documentIds, FILE_URL_EXPIRY_MINUTES);
     }
 }
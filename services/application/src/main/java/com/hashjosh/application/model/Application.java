@@ -19,7 +19,12 @@ import java.util.UUID;
 @AllArgsConstructor
 @Getter
 @Setter
-@Table(name = "applications")
+@Table(name = "applications", indexes = {
+        // Keyset pagination of the listings, see ApplicationRepository
+        @Index(name = "idx_applications_submitted_at_id", columnList = "submitted_at, id"),
+        @Index(name = "idx_applications_type_submitted_at_id", columnList = "applicationType_id, submitted_at, id"),
+        @Index(name = "idx_applications_user_submitted_at_id", columnList = "user_id, submitted_at, id")
+})
 public class Application implements Serializable {
 
     @Id
@@ -49,6 +54,14 @@ public class Application implements Serializable {
     @JsonProperty("dynamicFields")
     private JsonNode dynamicFields;
 
+    /**
+     * Province, municipality and barangay the submitted location falls in, resolved when it was submitted.
+     */
+    @Type(JsonBinaryType.class)
+    @Column(name = "admin_areas", columnDefinition = "jsonb")
+    @JsonProperty("adminAreas")
+    private JsonNode adminAreas;
+
     @CreationTimestamp
     @Column(name = "submitted_at", updatable = false)
     private LocalDateTime submittedAt;
@@ -46,6 +46,11 @@ public class ApplicationField {
     @Column(name = "validation_regex", length = 255)
     private String validationRegex;
 
+    // Filterable through the application search; see DynamicFieldIndexService
+    @Column(name = "searchable")
+    @Builder.Default
+    private Boolean searchable = false;
+
     @ManyToOne
     @JoinColumn(name = "application_section_id")
     private ApplicationSection applicationSection;
@@ -0,0 +1,83 @@
+package com.hashjosh.application.model;
+
+import com.hashjosh.application.dto.imports.ImportRowError;
+import com.hashjosh.application.enums.ImportFormat;
+import com.hashjosh.application.enums.ImportStatus;
+import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Type;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A bulk import and its progress, updated after every batch so any instance can report it.
+ */
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Table(name = "application_import_jobs")
+public class ApplicationImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "application_type_id", nullable = false)
+    private UUID applicationTypeId;
+
+    // The staff member who uploaded the file
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "file_name", length = 255)
+    private String fileName;
+
+    @Column(name = "format", length = 16, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ImportFormat format;
+
+    @Column(name = "status", length = 16, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ImportStatus status;
+
+    @Column(name = "processed_rows", nullable = false)
+    private long processedRows;
+
+    @Column(name = "imported_rows", nullable = false)
+    private long importedRows;
+
+    @Column(name = "failed_rows", nullable = false)
+    private long failedRows;
+
+    // The first rejected rows only; failedRows has the full count
+    @Type(JsonBinaryType.class)
+    @Column(name = "errors", columnDefinition = "jsonb")
+    @Builder.Default
+    private List<ImportRowError> errors = new ArrayList<>();
+
+    @Column(name = "failure_message", length = 1000)
+    private String failureMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Bumped with every batch; a queued or running job that stops moving was lost with its instance
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
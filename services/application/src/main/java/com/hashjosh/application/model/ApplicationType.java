@@ -43,6 +43,11 @@ public class ApplicationType {
     @UpdateTimestamp
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    // Raised by every schema edit and never written through the entity; see ApplicationSchemaCache
+    @Column(name = "schema_version", columnDefinition = "bigint not null default 1", updatable = false)
+    @Builder.Default
+    private Long schemaVersion = 1L;
+
     @OneToMany(mappedBy = "applicationType", fetch = FetchType.EAGER , cascade = CascadeType.ALL)
     private List<ApplicationSection> sections;
 
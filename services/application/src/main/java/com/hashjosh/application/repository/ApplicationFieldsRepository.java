@@ -1,9 +1,35 @@
 package com.hashjosh.application.repository;
 
+import com.hashjosh.application.enums.FieldType;
 import com.hashjosh.application.model.ApplicationField;
+import com.hashjosh.application.repository.ApplicationTypeRepository.SchemaVersionView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ApplicationFieldsRepository extends JpaRepository<ApplicationField, UUID> {
+
+    @Query("""
+    SELECT f.key AS fieldKey, f.fieldType AS fieldType, t.id AS applicationTypeId
+    FROM ApplicationField f JOIN f.applicationSection s JOIN s.applicationType t
+    WHERE f.searchable = true AND f.fieldType IS NOT NULL
+""")
+    List<SearchableFieldView> findSearchable();
+
+    @Query("""
+    SELECT t.id AS id, t.schemaVersion AS schemaVersion
+    FROM ApplicationField f JOIN f.applicationSection s JOIN s.applicationType t
+    WHERE f.id = :id
+""")
+    Optional<SchemaVersionView> findTypeSchemaVersion(@Param("id") UUID fieldId);
+
+    interface SearchableFieldView {
+        String getFieldKey();
+        FieldType getFieldType();
+        UUID getApplicationTypeId();
+    }
 }
@@ -0,0 +1,29 @@
+package com.hashjosh.application.repository;
+
+import com.hashjosh.application.enums.ImportStatus;
+import com.hashjosh.application.model.ApplicationImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+public interface ApplicationImportJobRepository extends JpaRepository<ApplicationImportJob, UUID> {
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update ApplicationImportJob j
+            set j.status = com.hashjosh.application.enums.ImportStatus.FAILED,
+                j.failureMessage = :message, j.finishedAt = :now, j.updatedAt = :now
+            where j.status in :statuses and coalesce(j.updatedAt, j.createdAt) < :before
+            """)
+    int failStale(@Param("statuses") Collection<ImportStatus> statuses,
+                  @Param("before") LocalDateTime before,
+                  @Param("now") LocalDateTime now,
+                  @Param("message") String message);
+}
@@ -0,0 +1,75 @@
+package com.hashjosh.application.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hashjosh.application.model.Document;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Inserts a submitted application with its dynamic fields passed to Postgres as the JSON text that was
+ * validated, instead of going through a {@code JsonNode} that Hibernate would serialize and deep-copy.
+ * Joins the caller's transaction; documents must already be flushed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ApplicationIngestRepository {
+
+    private static final String INSERT_APPLICATION = """
+            INSERT INTO applications (id, application_type_id, user_id, dynamic_fields, admin_areas, submitted_at, updated_at, version)
+            VALUES (?, ?, ?, CAST(? AS jsonb), CAST(? AS jsonb), ?, ?, 0)
+            """;
+    private static final String INSERT_DOCUMENT = """
+            INSERT INTO application_documents (application_id, document_id) VALUES (?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UUID insert(UUID applicationTypeId, UUID userId, byte[] dynamicFields, JsonNode adminAreas,
+                       List<Document> documents) {
+        UUID id = UUID.randomUUID();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(INSERT_APPLICATION, id, applicationTypeId, userId,
+                new String(dynamicFields, StandardCharsets.UTF_8), json(adminAreas), now, now);
+        if (documents != null && !documents.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DOCUMENT, documents, documents.size(), (statement, document) -> {
+                statement.setObject(1, id);
+                statement.setObject(2, document.getId());
+            });
+        }
+        return id;
+    }
+
+    /**
+     * Inserts imported applications of one type in a single JDBC batch.
+     *
+     * @return the new ids, in the order of {@code rows}
+     */
+    public List<UUID> insertAll(UUID applicationTypeId, List<IngestRow> rows) {
+        List<UUID> ids = new ArrayList<>(rows.size());
+        List<Object[]> args = new ArrayList<>(rows.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (IngestRow row : rows) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            args.add(new Object[]{id, applicationTypeId, row.userId(),
+                    new String(row.dynamicFields(), StandardCharsets.UTF_8), json(row.adminAreas()), now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_APPLICATION, args);
+        return ids;
+    }
+
+    private static String json(JsonNode value) {
+        return value == null ? null : value.toString();
+    }
+
+    public record IngestRow(UUID userId, byte[] dynamicFields, JsonNode adminAreas) {
+    }
+}
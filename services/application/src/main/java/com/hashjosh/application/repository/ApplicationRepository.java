@@ -1,10 +1,14 @@
 package com.hashjosh.application.repository;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.hashjosh.application.model.Application;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,7 +20,94 @@ public interface ApplicationRepository extends JpaRepository<Application, UUID>
 """)
     List<Application> findAllByApplicationTypeId(@Param("applicationTypeId") UUID applicationTypeId);
 
+    /*
+     * Listing pages, newest first. They select only the columns a list shows, so neither the application type
+     * with its sections and fields nor the documents are loaded. Pages after the first continue from the
+     * (submitted_at, id) of the previous page's last row, which the index on those columns serves directly.
+     */
 
+    @Query("""
+    SELECT a.id AS id, a.userId AS userId, t.name AS applicationName, a.dynamicFields AS dynamicFields,
+           a.submittedAt AS submittedAt, a.updatedAt AS updatedAt, a.version AS version
+    FROM Application a JOIN a.type t
+    ORDER BY a.submittedAt DESC, a.id DESC
+""")
+    List<ApplicationSummaryView> findFirstPage(Pageable pageable);
+
+    @Query("""
+    SELECT a.id AS id, a.userId AS userId, t.name AS applicationName, a.dynamicFields AS dynamicFields,
+           a.submittedAt AS submittedAt, a.updatedAt AS updatedAt, a.version AS version
+    FROM Application a JOIN a.type t
+    WHERE (a.submittedAt, a.id) < (:submittedAt, :id)
+    ORDER BY a.submittedAt DESC, a.id DESC
+""")
+    List<ApplicationSummaryView> findPageAfter(@Param("submittedAt") LocalDateTime submittedAt,
+                                               @Param("id") UUID id,
+                                               Pageable pageable);
+
+    @Query("""
+    SELECT a.id AS id, a.userId AS userId, t.name AS applicationName, a.dynamicFields AS dynamicFields,
+           a.submittedAt AS submittedAt, a.updatedAt AS updatedAt, a.version AS version
+    FROM Application a JOIN a.type t JOIN t.provider p
+    WHERE p.name = :provider
+    ORDER BY a.submittedAt DESC, a.id DESC
+""")
+    List<ApplicationSummaryView> findFirstProviderPage(@Param("provider") String provider, Pageable pageable);
+
+    @Query("""
+    SELECT a.id AS id, a.userId AS userId, t.name AS applicationName, a.dynamicFields AS dynamicFields,
+           a.submittedAt AS submittedAt, a.updatedAt AS updatedAt, a.version AS version
+    FROM Application a JOIN a.type t JOIN t.provider p
+    WHERE p.name = :provider
+      AND (a.submittedAt, a.id) < (:submittedAt, :id)
+    ORDER BY a.submittedAt DESC, a.id DESC
+""")
+    List<ApplicationSummaryView> findProviderPageAfter(@Param("provider") String provider,
+                                                       @Param("submittedAt") LocalDateTime submittedAt,
+                                                       @Param("id") UUID id,
+                                                       Pageable pageable);
+
+    @Query("""
+    SELECT a.id AS id, a.userId AS userId, t.name AS applicationName, a.dynamicFields AS dynamicFields,
+           a.submittedAt AS submittedAt, a.updatedAt AS updatedAt, a.version AS version
+    FROM Application a JOIN a.type t
+    WHERE a.userId = :userId
+    ORDER BY a.submittedAt DESC, a.id DESC
+""")
+    List<ApplicationSummaryView> findFirstUserPage(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query("""
+    SELECT a.id AS id, a.userId AS userId, t.name AS applicationName, a.dynamicFields AS dynamicFields,
+           a.submittedAt AS submittedAt, a.updatedAt AS updatedAt, a.version AS version
+    FROM Application a JOIN a.type t
+    WHERE a.userId = :userId
+      AND (a.submittedAt, a.id) < (:submittedAt, :id)
+    ORDER BY a.submittedAt DESC, a.id DESC
+""")
+    List<ApplicationSummaryView> findUserPageAfter(@Param("userId") UUID userId,
+                                                   @Param("submittedAt") LocalDateTime submittedAt,
+                                                   @Param("id") UUID id,
+                                                   Pageable pageable);
+
+    @Query("""
+    SELECT a.id AS applicationId, d.documentId AS documentId
+    FROM Application a JOIN a.documents d
+    WHERE a.id IN :applicationIds
+""")
+    List<ApplicationDocumentView> findDocumentIds(@Param("applicationIds") Collection<UUID> applicationIds);
 
+    interface ApplicationSummaryView {
+        UUID getId();
+        UUID getUserId();
+        String getApplicationName();
+        JsonNode getDynamicFields();
+        LocalDateTime getSubmittedAt();
+        LocalDateTime getUpdatedAt();
+        Long getVersion();
+    }
 
+    interface ApplicationDocumentView {
+        UUID getApplicationId();
+        UUID getDocumentId();
+    }
 }
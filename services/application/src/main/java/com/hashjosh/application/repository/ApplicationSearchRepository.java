@@ -0,0 +1,156 @@
+package com.hashjosh.application.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.application.dto.page.ApplicationCursor;
+import com.hashjosh.application.dto.search.SearchFilter;
+import com.hashjosh.application.enums.FieldType;
+import com.hashjosh.application.repository.ApplicationRepository.ApplicationSummaryView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Filters applications on their dynamic fields. Equality and IN become jsonb containment, served by the
+ * GIN index on {@code dynamic_fields}; ranges and prefixes compare the expressions the per-key btree
+ * indexes are built on. SELECT values are validated case-insensitively, so every filter on them compares
+ * lower-cased values through their own btree index instead. See {@link DynamicFieldIndexRepository}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ApplicationSearchRepository {
+
+    private static final String SELECT = """
+            SELECT a.id, a.user_id, t.name AS application_name, a.dynamic_fields,
+                   a.submitted_at, a.updated_at, a.version
+            FROM applications a JOIN application_types t ON t.id = a.application_type_id
+            """;
+    private static final String COUNT = "SELECT count(*) FROM applications a";
+    private static final String COLUMN = "a.dynamic_fields";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Up to {@code limit} matching applications after {@code after}, newest first like the listings.
+     */
+    public List<ApplicationSummaryView> find(UUID applicationTypeId, List<SearchFilter> filters,
+                                             ApplicationCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>();
+        where(applicationTypeId, filters, sql, args);
+        if (after != null) {
+            sql.append(args.isEmpty() ? " WHERE " : " AND ").append("(a.submitted_at, a.id) < (?, ?)");
+            args.add(Timestamp.valueOf(after.submittedAt()));
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY a.submitted_at DESC, a.id DESC LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new SummaryRow(
+                rs.getObject("id", UUID.class),
+                rs.getObject("user_id", UUID.class),
+                rs.getString("application_name"),
+                readTree(rs.getString("dynamic_fields")),
+                rs.getObject("submitted_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class),
+                rs.getObject("version", Long.class)), args.toArray());
+    }
+
+    public long count(UUID applicationTypeId, List<SearchFilter> filters) {
+        StringBuilder sql = new StringBuilder(COUNT);
+        List<Object> args = new ArrayList<>();
+        where(applicationTypeId, filters, sql, args);
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        return count == null ? 0 : count;
+    }
+
+    private void where(UUID applicationTypeId, List<SearchFilter> filters, StringBuilder sql, List<Object> args) {
+        List<String> conditions = new ArrayList<>();
+        if (applicationTypeId != null) {
+            conditions.add("a.application_type_id = ?");
+            args.add(applicationTypeId);
+        }
+        for (SearchFilter filter : filters) {
+            conditions.add(condition(filter, args));
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
+
+    private String condition(SearchFilter filter, List<Object> args) {
+        String key = filter.key();
+        return switch (filter.operator()) {
+            case EQ, IN -> {
+                if (filter.fieldType() == FieldType.SELECT) {
+                    List<String> placeholders = new ArrayList<>();
+                    for (JsonNode value : filter.values()) {
+                        placeholders.add("lower(?)");
+                        args.add(value.asText());
+                    }
+                    yield DynamicFieldSql.folded(COLUMN, key) + " IN (" + String.join(", ", placeholders) + ")";
+                }
+                List<String> any = new ArrayList<>();
+                for (JsonNode value : filter.values()) {
+                    any.add(COLUMN + " @> CAST(? AS jsonb)");
+                    args.add(objectMapper.createObjectNode().set(key, value).toString());
+                }
+                yield any.size() == 1 ? any.get(0) : "(" + String.join(" OR ", any) + ")";
+            }
+            case RANGE -> {
+                boolean numeric = filter.fieldType() == FieldType.NUMBER;
+                String expression = numeric ? DynamicFieldSql.numeric(COLUMN, key) : DynamicFieldSql.text(COLUMN, key);
+                List<String> bounds = new ArrayList<>();
+                if (filter.min() != null) {
+                    bounds.add(expression + " >= ?");
+                    args.add(numeric ? filter.min().decimalValue() : filter.min().asText());
+                }
+                if (filter.max() != null) {
+                    bounds.add(expression + " <= ?");
+                    args.add(numeric ? filter.max().decimalValue() : filter.max().asText());
+                }
+                yield String.join(" AND ", bounds);
+            }
+            case PREFIX -> {
+                args.add(escapeLike(filter.values().get(0).asText()) + "%");
+                yield filter.fieldType() == FieldType.SELECT
+                        ? DynamicFieldSql.folded(COLUMN, key) + " LIKE lower(?)"
+                        : DynamicFieldSql.text(COLUMN, key) + " LIKE ?";
+            }
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return json == null ? null : objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored dynamic fields are not valid JSON", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class SummaryRow implements ApplicationSummaryView {
+        private final UUID id;
+        private final UUID userId;
+        private final String applicationName;
+        private final JsonNode dynamicFields;
+        private final LocalDateTime submittedAt;
+        private final LocalDateTime updatedAt;
+        private final Long version;
+    }
+}
@@ -1,9 +1,20 @@
 package com.hashjosh.application.repository;
 
 import com.hashjosh.application.model.ApplicationSection;
+import com.hashjosh.application.repository.ApplicationTypeRepository.SchemaVersionView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ApplicationSectionRepository  extends JpaRepository<ApplicationSection, UUID> {
+
+    @Query("""
+    SELECT t.id AS id, t.schemaVersion AS schemaVersion
+    FROM ApplicationSection s JOIN s.applicationType t
+    WHERE s.id = :id
+""")
+    Optional<SchemaVersionView> findTypeSchemaVersion(@Param("id") UUID sectionId);
 }
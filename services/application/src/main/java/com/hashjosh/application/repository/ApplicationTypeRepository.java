@@ -2,6 +2,7 @@ package com.hashjosh.application.repository;
 
 import com.hashjosh.application.model.ApplicationType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -14,4 +15,26 @@ public interface ApplicationTypeRepository extends JpaRepository<ApplicationType
 
     Optional<ApplicationType> findByProvider_Name(String name);
 
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE application_types SET schema_version = schema_version + 1 WHERE id = :id", nativeQuery = true)
+    int incrementSchemaVersion(@Param("id") UUID id);
+
+    @Query("SELECT t.id AS id, t.schemaVersion AS schemaVersion FROM ApplicationType t WHERE t.id = :id")
+    Optional<SchemaVersionView> findSchemaVersion(@Param("id") UUID id);
+
+    @Query("SELECT t.id AS id, t.schemaVersion AS schemaVersion FROM ApplicationType t ORDER BY t.id")
+    List<SchemaVersionView> findSchemaVersions();
+
+    @Query("""
+    SELECT t.id AS id, t.schemaVersion AS schemaVersion
+    FROM ApplicationType t
+    WHERE t.provider.name = :provider
+    ORDER BY t.id
+""")
+    List<SchemaVersionView> findSchemaVersionsByProvider(@Param("provider") String provider);
+
+    interface SchemaVersionView {
+        UUID getId();
+        Long getSchemaVersion();
+    }
 }
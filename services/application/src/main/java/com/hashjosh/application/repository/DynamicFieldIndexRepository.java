@@ -0,0 +1,118 @@
+package com.hashjosh.application.repository;
+
+import com.hashjosh.application.repository.ApplicationFieldsRepository.SearchableFieldView;
+import com.hashjosh.application.repository.DynamicFieldSql.IndexKind;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the indexes behind the application search in line with the searchable fields: one GIN index for
+ * equality and IN lookups on any key, and a btree expression index per searchable key for ranges and
+ * prefixes. Indexes are built and dropped {@code CONCURRENTLY} so submissions are not blocked while a large
+ * table is indexed; that cannot run in a transaction, so this must be called outside one.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class DynamicFieldIndexRepository {
+
+    private static final String CREATE_NUMERIC_FUNCTION = """
+            CREATE OR REPLACE FUNCTION %s(value jsonb) RETURNS numeric
+            LANGUAGE sql IMMUTABLE PARALLEL SAFE
+            AS $$ SELECT CASE WHEN jsonb_typeof(value) = 'number' THEN (value #>> '{}')::numeric END $$
+            """.formatted(DynamicFieldSql.NUMERIC_FUNCTION);
+    private static final String MANAGED_INDEXES = """
+            SELECT c.relname, i.indisvalid
+            FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+            WHERE i.indrelid = '%s'::regclass AND c.relname LIKE '%s%%'
+            """.formatted(DynamicFieldSql.TABLE, DynamicFieldSql.INDEX_PREFIX.replace("_", "\\_"));
+    private static final String LOCK_KEY = "hashtext('" + DynamicFieldSql.INDEX_PREFIX + "')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Builds missing indexes, rebuilds ones a failed concurrent build left invalid, and drops those no
+     * searchable field needs anymore. Instances take turns through an advisory lock, and the fields are
+     * read once the lock is held, so a change committed while another instance was reconciling is not lost.
+     */
+    public void reconcile(Supplier<List<SearchableFieldView>> searchableFields) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT pg_advisory_lock(" + LOCK_KEY + ")");
+                try {
+                    reconcile(statement, wanted(searchableFields.get()));
+                } finally {
+                    statement.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+                }
+            }
+            return null;
+        });
+    }
+
+    private void reconcile(Statement statement, Map<String, String> wanted) throws SQLException {
+        statement.execute(CREATE_NUMERIC_FUNCTION);
+
+        Map<String, Boolean> existing = new HashMap<>();
+        try (ResultSet rs = statement.executeQuery(MANAGED_INDEXES)) {
+            while (rs.next()) {
+                existing.put(rs.getString(1), rs.getBoolean(2));
+            }
+        }
+
+        for (Map.Entry<String, Boolean> index : existing.entrySet()) {
+            if (!wanted.containsKey(index.getKey()) || !index.getValue()) {
+                run(statement, "DROP INDEX CONCURRENTLY IF EXISTS " + index.getKey());
+            }
+        }
+        for (Map.Entry<String, String> index : wanted.entrySet()) {
+            if (!Boolean.TRUE.equals(existing.get(index.getKey())) && run(statement, index.getValue())) {
+                log.info("Created search index {}", index.getKey());
+            }
+        }
+    }
+
+    private static Map<String, String> wanted(List<SearchableFieldView> fields) {
+        Map<String, String> wanted = new LinkedHashMap<>();
+        if (fields.isEmpty()) {
+            return wanted;
+        }
+        wanted.put(DynamicFieldSql.CONTAINMENT_INDEX, "CREATE INDEX CONCURRENTLY IF NOT EXISTS "
+                + DynamicFieldSql.CONTAINMENT_INDEX + " ON " + DynamicFieldSql.TABLE
+                + " USING gin (dynamic_fields jsonb_path_ops)");
+        for (SearchableFieldView field : fields) {
+            IndexKind kind = DynamicFieldSql.indexKind(field.getFieldType());
+            if (kind != null) {
+                String name = DynamicFieldSql.indexName(kind, field.getFieldKey());
+                wanted.putIfAbsent(name, "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " ON "
+                        + DynamicFieldSql.TABLE + " " + kind.definition(field.getFieldKey()));
+            }
+        }
+        return wanted;
+    }
+
+    /**
+     * One failed build must not keep the other indexes from being built; what it left behind is invalid
+     * and is dropped and built again on the next pass.
+     */
+    private static boolean run(Statement statement, String sql) {
+        try {
+            statement.execute(sql);
+            return true;
+        } catch (SQLException e) {
+            log.warn("Search index statement failed: {}: {}", sql, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.hashjosh.application.repository;
+
+import com.hashjosh.application.enums.FieldType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * SQL expressions over {@code applications.dynamic_fields}. The search and the indexes behind it must use
+ * the same expressions, or Postgres will not match a filter to its index, so both build them here.
+ * <p>
+ * Field keys are written into the SQL as literals rather than bound: an expression index only serves a
+ * query whose expression has the same constant key. Callers only pass keys of declared searchable fields.
+ */
+final class DynamicFieldSql {
+
+    static final String TABLE = "applications";
+    static final String INDEX_PREFIX = "idx_applications_df_";
+    static final String CONTAINMENT_INDEX = INDEX_PREFIX + "gin";
+    /** Numeric value of a jsonb number, null for anything else, so one bad row cannot break the index. */
+    static final String NUMERIC_FUNCTION = "applications_jsonb_numeric";
+    private static final int MAX_IDENTIFIER_LENGTH = 63;
+
+    private DynamicFieldSql() {
+    }
+
+    /**
+     * The btree index kept for a searchable field of this type, or null when equality and IN lookups
+     * through the containment index are all the type supports.
+     */
+    static IndexKind indexKind(FieldType fieldType) {
+        return switch (fieldType) {
+            case NUMBER -> IndexKind.NUMERIC;
+            case DATE -> IndexKind.TEXT;
+            case TEXT -> IndexKind.PREFIX;
+            case SELECT -> IndexKind.FOLDED;
+            default -> null;
+        };
+    }
+
+    static String numeric(String column, String key) {
+        return NUMERIC_FUNCTION + "(" + column + " -> " + literal(key) + ")";
+    }
+
+    static String text(String column, String key) {
+        return "(" + column + " ->> " + literal(key) + ")";
+    }
+
+    /**
+     * SELECT values are accepted in any case, so they are compared lower-cased.
+     */
+    static String folded(String column, String key) {
+        return "lower" + text(column, key);
+    }
+
+    /**
+     * Stays within the 63 character identifier limit; the checksum keeps keys that only differ in
+     * characters the name cannot hold apart.
+     */
+    static String indexName(IndexKind kind, String key) {
+        String kindName = kind.name().toLowerCase(Locale.ROOT);
+        // Postgres cuts longer names short, and a cut name would never match the one reconciled against
+        int room = MAX_IDENTIFIER_LENGTH - INDEX_PREFIX.length() - kindName.length() - 10;
+        String readable = key.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9_]", "_");
+        if (readable.length() > room) {
+            readable = readable.substring(0, room);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(key.getBytes(StandardCharsets.UTF_8));
+        return INDEX_PREFIX + kindName + "_" + readable + "_" + String.format("%08x", crc.getValue());
+    }
+
+    private static String literal(String key) {
+        return "'" + key.replace("'", "''") + "'";
+    }
+
+    enum IndexKind {
+        /** Range filters on numbers. */
+        NUMERIC,
+        /** Range filters on ISO dates, which order correctly as text. */
+        TEXT,
+        /** Prefix filters, which need the pattern operator class under a non-C collation. */
+        PREFIX,
+        /** Case-insensitive equality, IN and prefix filters on SELECT values. */
+        FOLDED;
+
+        String definition(String key) {
+            return switch (this) {
+                case NUMERIC -> "(" + numeric("dynamic_fields", key) + ")";
+                case TEXT -> "(" + text("dynamic_fields", key) + ")";
+                case PREFIX -> "(" + text("dynamic_fields", key) + " text_pattern_ops)";
+                case FOLDED -> "(" + folded("dynamic_fields", key) + " text_pattern_ops)";
+            };
+        }
+    }
+}
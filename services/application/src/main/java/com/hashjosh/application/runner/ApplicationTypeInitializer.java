@@ -18,12 +18,17 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ApplicationTypeInitializer implements CommandLineRunner {
 
+    // Keys staff filter the seeded forms by
+    private static final Set<String> SEARCHABLE_KEYS = Set.of(
+            "last_name", "crop_type", "lot_1_area", "area_insured", "farm_location", "date_of_loss");
+
     private final EntityManager entityManager;
     private final ApplicationTypeRepository applicationTypeRepository;
     private final ObjectMapper objectMapper;
@@ -256,6 +261,7 @@ public class ApplicationTypeInitializer implements CommandLineRunner {
     private ApplicationField createField(String key, String fieldName, FieldType fieldType, boolean required, JsonNode choices, ApplicationSection section) {
         return ApplicationField.builder()
                 .key(key)
+                .searchable(SEARCHABLE_KEYS.contains(key))
                 .fieldName(fieldName)
                 .fieldType(fieldType)
                 .required(required)
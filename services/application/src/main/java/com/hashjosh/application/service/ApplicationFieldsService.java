@@ -6,6 +6,7 @@ import com.hashjosh.application.model.ApplicationField;
 import com.hashjosh.application.model.ApplicationSection;
 import com.hashjosh.application.repository.ApplicationFieldsRepository;
 import com.hashjosh.application.repository.ApplicationSectionRepository;
+import com.hashjosh.application.validators.ValidationPlanCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,13 +19,22 @@ public class ApplicationFieldsService {
     private final ApplicationFieldMapper applicationFieldMapper;
     private final ApplicationFieldsRepository applicationFieldsRepository;
     private final ApplicationSectionRepository applicationSectionRepository;
+    private final ValidationPlanCache validationPlanCache;
+    private final DynamicFieldIndexService dynamicFieldIndexService;
+    private final ApplicationSchemaCache applicationSchemaCache;
 
     public ApplicationFieldsService(ApplicationFieldMapper applicationFieldMapper,
                                     ApplicationFieldsRepository applicationFieldsRepository,
-                                    ApplicationSectionRepository applicationSectionRepository) {
+                                    ApplicationSectionRepository applicationSectionRepository,
+                                    ValidationPlanCache validationPlanCache,
+                                    DynamicFieldIndexService dynamicFieldIndexService,
+                                    ApplicationSchemaCache applicationSchemaCache) {
         this.applicationFieldMapper = applicationFieldMapper;
         this.applicationFieldsRepository = applicationFieldsRepository;
         this.applicationSectionRepository = applicationSectionRepository;
+        this.validationPlanCache = validationPlanCache;
+        this.dynamicFieldIndexService = dynamicFieldIndexService;
+        this.applicationSchemaCache = applicationSchemaCache;
     }
 
     @Transactional(propagation = Propagation.REQUIRED)
@@ -32,6 +42,29 @@ public class ApplicationFieldsService {
         ApplicationSection applicationSection = applicationSectionRepository.findById(sectionId)
                 .orElseThrow(() -> new RuntimeException("Application section not found"));
         ApplicationField applicationFields = applicationFieldMapper.toApplicationField(dto, applicationSection);
-        return applicationFieldsRepository.save(applicationFields);
+        ApplicationField saved = applicationFieldsRepository.save(applicationFields);
+        if (applicationSection.getApplicationType() != null) {
+            validationPlanCache.invalidate(applicationSection.getApplicationType().getId());
+            applicationSchemaCache.schemaChanged(applicationSection.getApplicationType().getId());
+        }
+        if (Boolean.TRUE.equals(saved.getSearchable())) {
+            dynamicFieldIndexService.refreshAfterCommit();
+        }
+        return saved;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRED)
+    public ApplicationField updateSearchable(UUID fieldId, boolean searchable) {
+        ApplicationField field = applicationFieldsRepository.findById(fieldId)
+                .orElseThrow(() -> new RuntimeException("Application field not found"));
+        if (searchable != Boolean.TRUE.equals(field.getSearchable())) {
+            field.setSearchable(searchable);
+            applicationFieldsRepository.save(field);
+            dynamicFieldIndexService.refreshAfterCommit();
+            if (field.getApplicationSection() != null && field.getApplicationSection().getApplicationType() != null) {
+                applicationSchemaCache.schemaChanged(field.getApplicationSection().getApplicationType().getId());
+            }
+        }
+        return field;
     }
 }
\ No newline at end of file
@@ -0,0 +1,382 @@
+package com.hashjosh.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hashjosh.application.configs.CustomUserDetails;
+import com.hashjosh.application.configs.StaffAccess;
+import com.hashjosh.application.dto.imports.ApplicationImportJobResponse;
+import com.hashjosh.application.dto.imports.ImportRow;
+import com.hashjosh.application.dto.imports.ImportRowError;
+import com.hashjosh.application.dto.validation.ValidationError;
+import com.hashjosh.application.enums.ImportFormat;
+import com.hashjosh.application.enums.ImportStatus;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.kafka.ApplicationProducer;
+import com.hashjosh.application.mapper.ApplicationImportJobMapper;
+import com.hashjosh.application.model.ApplicationImportJob;
+import com.hashjosh.application.model.ApplicationType;
+import com.hashjosh.application.repository.ApplicationImportJobRepository;
+import com.hashjosh.application.repository.ApplicationIngestRepository;
+import com.hashjosh.application.repository.ApplicationIngestRepository.IngestRow;
+import com.hashjosh.application.repository.ApplicationTypeRepository;
+import com.hashjosh.application.validators.CompiledField;
+import com.hashjosh.application.validators.ImportRowReader;
+import com.hashjosh.application.validators.LocationValidator;
+import com.hashjosh.application.validators.ValidationPlan;
+import com.hashjosh.application.validators.ValidationPlanCache;
+import com.hashjosh.kafkacommon.application.ApplicationSubmittedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Imports many applications of one type from a CSV or NDJSON file.
+ * <p>
+ * The upload is spooled to a temporary file and imported in the background while the caller polls the
+ * job. Rows are read one at a time and validated against the type's compiled {@link ValidationPlan}, the
+ * same checks a single submission goes through. Valid rows are inserted {@code application-import.batch-size}
+ * at a time, each batch in one transaction with its {@link ApplicationSubmittedEvent}s, which go to the
+ * outbox in one JDBC batch as well. Rejected rows are counted and the first of them reported with their
+ * errors; they do not stop the import. Batches already committed stay when a later one fails.
+ * <p>
+ * A row may carry a {@code userId} for the applicant; without one the application is filed under the
+ * staff member who uploaded the file. Since that files applications for other people, only callers with
+ * one of the {@code application-import.staff-roles} may import, and a job is reported only to its uploader.
+ * <p>
+ * Jobs run in this instance's memory. At startup, queued or running jobs that have not moved for
+ * {@code application-import.stale-after} are marked failed: their instance went down with them.
+ */
+@Slf4j
+@Service
+public class ApplicationImportService {
+
+    private static final String TOPIC = "application-submitted";
+    private static final String USER_ID = "userId";
+    private static final String COORDINATES = "coordinates";
+    /** Submission properties that are not field values; see StreamingSubmissionReader. */
+    private static final Set<String> NOT_FIELDS = Set.of(USER_ID, "applicationTypeId", COORDINATES, "documents", "useId");
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ApplicationImportJobRepository applicationImportJobRepository;
+    private final ApplicationTypeRepository applicationTypeRepository;
+    private final ApplicationIngestRepository applicationIngestRepository;
+    private final ValidationPlanCache validationPlanCache;
+    private final ImportRowReader importRowReader;
+    private final LocationValidator locationValidator;
+    private final ApplicationProducer applicationProducer;
+    private final ApplicationImportJobMapper applicationImportJobMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final StaffAccess staffAccess;
+    private final Duration staleAfter;
+    private final ExecutorService executor;
+
+    public ApplicationImportService(ApplicationImportJobRepository applicationImportJobRepository,
+                                    ApplicationTypeRepository applicationTypeRepository,
+                                    ApplicationIngestRepository applicationIngestRepository,
+                                    ValidationPlanCache validationPlanCache,
+                                    ImportRowReader importRowReader,
+                                    LocationValidator locationValidator,
+                                    ApplicationProducer applicationProducer,
+                                    ApplicationImportJobMapper applicationImportJobMapper,
+                                    TransactionTemplate transactionTemplate,
+                                    ObjectMapper objectMapper,
+                                    @Value("${application-import.batch-size:500}") int batchSize,
+                                    @Value("${application-import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                                    StaffAccess staffAccess,
+                                    @Value("${application-import.stale-after:30m}") Duration staleAfter) {
+        this.applicationImportJobRepository = applicationImportJobRepository;
+        this.applicationTypeRepository = applicationTypeRepository;
+        this.applicationIngestRepository = applicationIngestRepository;
+        this.validationPlanCache = validationPlanCache;
+        this.importRowReader = importRowReader;
+        this.locationValidator = locationValidator;
+        this.applicationProducer = applicationProducer;
+        this.applicationImportJobMapper = applicationImportJobMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.staffAccess = staffAccess;
+        this.staleAfter = staleAfter;
+        this.executor = Executors.newFixedThreadPool(maxConcurrentJobs,
+                Thread.ofPlatform().daemon().name("application-import-", 0).factory());
+    }
+
+    public ApplicationImportJobResponse startImport(UUID applicationTypeId, MultipartFile file, String format) {
+        CustomUserDetails userDetails = caller();
+        if (!staffAccess.isStaff(userDetails.getAuthorities())) {
+            throw ApiException.forbidden("Only staff may import applications");
+        }
+        if (file == null || file.isEmpty()) {
+            throw ApiException.badRequest("The import file is empty");
+        }
+        if (!applicationTypeRepository.existsById(applicationTypeId)) {
+            throw ApiException.badRequest("Invalid application type ID");
+        }
+        ImportFormat importFormat = format(format, file);
+
+        Path spooled;
+        try {
+            spooled = Files.createTempFile("application-import-", "." + importFormat.name().toLowerCase(Locale.ROOT));
+            file.transferTo(spooled);
+        } catch (IOException e) {
+            throw ApiException.internalError("Failed to store the import file: " + e.getMessage());
+        }
+
+        ApplicationImportJob job = applicationImportJobRepository.save(ApplicationImportJob.builder()
+                .applicationTypeId(applicationTypeId)
+                .userId(UUID.fromString(userDetails.getUserId()))
+                .fileName(file.getOriginalFilename())
+                .format(importFormat)
+                .status(ImportStatus.QUEUED)
+                .createdAt(LocalDateTime.now())
+                .build());
+        // Mapped before the job thread starts changing it
+        ApplicationImportJobResponse response = applicationImportJobMapper.toResponse(job);
+        executor.execute(() -> run(job, spooled));
+        return response;
+    }
+
+    public ApplicationImportJobResponse getJob(UUID jobId) {
+        UUID userId = UUID.fromString(caller().getUserId());
+        // Someone else's job is reported as missing rather than forbidden, so ids cannot be probed
+        return applicationImportJobRepository.findById(jobId)
+                .filter(job -> job.getUserId().equals(userId))
+                .map(applicationImportJobMapper::toResponse)
+                .orElseThrow(() -> ApiException.notFound("Import job not found with id " + jobId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void failAbandonedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = applicationImportJobRepository.failStale(List.of(ImportStatus.QUEUED, ImportStatus.RUNNING),
+                now.minus(staleAfter), now, "Import interrupted by a service restart; upload the file again");
+        if (failed > 0) {
+            log.warn("Marked {} abandoned import jobs as failed", failed);
+        }
+    }
+
+    private static CustomUserDetails caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
+            throw ApiException.unauthorized("Authentication required");
+        }
+        return userDetails;
+    }
+
+    private void run(ApplicationImportJob queued, Path file) {
+        Progress progress = new Progress(queued);
+        try {
+            ApplicationType type = applicationTypeRepository.findById(queued.getApplicationTypeId())
+                    .orElseThrow(() -> ApiException.badRequest("Invalid application type ID"));
+            progress.start(type, validationPlanCache.planFor(type));
+            try (InputStream in = Files.newInputStream(file)) {
+                importRowReader.read(in, queued.getFormat(), progress.plan, progress::add);
+            }
+            progress.finish(ImportStatus.COMPLETED, null);
+        } catch (ApiException e) {
+            progress.finish(ImportStatus.FAILED, e.getMessage());
+        } catch (Exception e) {
+            log.error("Import job {} failed", queued.getId(), e);
+            progress.finish(ImportStatus.FAILED, "Import failed: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete spooled import file {}", file, e);
+            }
+        }
+    }
+
+    private static ImportFormat format(String format, MultipartFile file) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return ImportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw ApiException.badRequest("Unknown import format '" + format + "'; use csv or ndjson");
+            }
+        }
+        String name = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase(Locale.ROOT);
+        String contentType = file.getContentType() == null ? "" : file.getContentType().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv") || contentType.startsWith("text/csv")) {
+            return ImportFormat.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || contentType.contains("ndjson")) {
+            return ImportFormat.NDJSON;
+        }
+        throw ApiException.badRequest("Cannot tell the import format from the file; pass format=csv or format=ndjson");
+    }
+
+    /**
+     * The running state of one job. Counters and reported errors are written to the job row with every
+     * batch, so a poll never sees more than one batch behind.
+     */
+    private final class Progress {
+
+        private ApplicationImportJob job;
+        private ApplicationType type;
+        private ValidationPlan plan;
+        private final List<IngestRow> pending = new ArrayList<>();
+        private int sinceFlush;
+
+        Progress(ApplicationImportJob job) {
+            this.job = job;
+        }
+
+        void start(ApplicationType type, ValidationPlan plan) {
+            this.type = type;
+            this.plan = plan;
+            job.setStatus(ImportStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            job = applicationImportJobRepository.save(job);
+        }
+
+        void add(ImportRow row) {
+            job.setProcessedRows(job.getProcessedRows() + 1);
+            if (row.error() != null) {
+                reject(row.row(), List.of(new ValidationError(null, row.error())));
+            } else {
+                accept(row.row(), row.values());
+            }
+            if (++sinceFlush >= batchSize) {
+                flush();
+            }
+        }
+
+        private void accept(long rowNumber, ObjectNode values) {
+            UUID userId = job.getUserId();
+            JsonNode applicant = values.get(USER_ID);
+            if (applicant != null && !applicant.isNull() && !applicant.asText().isBlank()) {
+                try {
+                    userId = UUID.fromString(applicant.asText().trim());
+                } catch (IllegalArgumentException e) {
+                    reject(rowNumber, List.of(new ValidationError(USER_ID, "Not a valid user id")));
+                    return;
+                }
+            }
+            JsonNode location = values.get(COORDINATES);
+            if (location != null && (location.isNull() || location.isTextual() && location.textValue().isBlank())) {
+                location = null;
+            }
+            values.remove(NOT_FIELDS);
+
+            Map<String, Object> fields = new LinkedHashMap<>();
+            values.fields().forEachRemaining(field -> fields.put(field.getKey(), field.getValue()));
+            List<ValidationError> errors = plan.validate(fields, objectMapper);
+            if (location != null) {
+                locationValidator.check(COORDINATES, location).forEach(error ->
+                        errors.add(new ValidationError(COORDINATES, error.message())));
+            } else {
+                location = firstLocation(values);
+            }
+            if (!errors.isEmpty()) {
+                reject(rowNumber, errors);
+                return;
+            }
+            try {
+                pending.add(new IngestRow(userId, objectMapper.writeValueAsBytes(values),
+                        locationValidator.adminAreas(location)));
+            } catch (JsonProcessingException e) {
+                reject(rowNumber, List.of(new ValidationError(null, "Unreadable values: " + e.getOriginalMessage())));
+            }
+        }
+
+        private JsonNode firstLocation(ObjectNode values) {
+            for (Map.Entry<String, JsonNode> value : values.properties()) {
+                CompiledField field = plan.field(value.getKey());
+                if (field != null && field.strategy() instanceof LocationValidator && !value.getValue().isNull()) {
+                    return value.getValue();
+                }
+            }
+            return null;
+        }
+
+        private void reject(long rowNumber, List<ValidationError> errors) {
+            job.setFailedRows(job.getFailedRows() + 1);
+            for (ValidationError error : errors) {
+                if (job.getErrors().size() >= MAX_REPORTED_ERRORS) {
+                    return;
+                }
+                job.getErrors().add(new ImportRowError(rowNumber, error.getField(), error.getMessage()));
+            }
+        }
+
+        private void flush() {
+            sinceFlush = 0;
+            List<IngestRow> batch = List.copyOf(pending);
+            pending.clear();
+            long imported = job.getImportedRows();
+            try {
+                job = transactionTemplate.execute(status -> saveBatch(batch));
+            } catch (RuntimeException e) {
+                // The batch rolled back; keep the count in line with what is stored
+                job.setImportedRows(imported);
+                throw e;
+            }
+        }
+
+        private ApplicationImportJob saveBatch(List<IngestRow> batch) {
+            if (!batch.isEmpty()) {
+                List<UUID> ids = applicationIngestRepository.insertAll(type.getId(), batch);
+                LocalDateTime now = LocalDateTime.now();
+                List<ApplicationSubmittedEvent> events = new ArrayList<>(ids.size());
+                for (int i = 0; i < ids.size(); i++) {
+                    events.add(ApplicationSubmittedEvent.builder()
+                            .submissionId(ids.get(i))
+                            .provider(type.getProvider().getName())
+                            .userId(batch.get(i).userId())
+                            .submittedAt(now)
+                            .build());
+                }
+                applicationProducer.publishEvents(TOPIC, events);
+                job.setImportedRows(job.getImportedRows() + batch.size());
+            }
+            return applicationImportJobRepository.save(job);
+        }
+
+        void finish(ImportStatus status, String failureMessage) {
+            if (status == ImportStatus.COMPLETED) {
+                flush();
+            }
+            job.setStatus(status);
+            job.setFailureMessage(failureMessage);
+            job.setFinishedAt(LocalDateTime.now());
+            try {
+                job = applicationImportJobRepository.save(job);
+            } catch (RuntimeException e) {
+                log.error("Failed to record the end of import job {}", job.getId(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
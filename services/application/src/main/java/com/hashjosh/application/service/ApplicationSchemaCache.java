@@ -0,0 +1,285 @@
+package com.hashjosh.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.application.dto.fields.ApplicationFieldsResponseDto;
+import com.hashjosh.application.dto.sections.ApplicationSectionResponseDto;
+import com.hashjosh.application.dto.type.ApplicationTypeResponseDto;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.kafka.EdgeCacheInvalidator;
+import com.hashjosh.application.mapper.ApplicationTypeMapper;
+import com.hashjosh.application.repository.ApplicationFieldsRepository;
+import com.hashjosh.application.repository.ApplicationSectionRepository;
+import com.hashjosh.application.repository.ApplicationTypeRepository;
+import com.hashjosh.application.repository.ApplicationTypeRepository.SchemaVersionView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application-type schemas as the form clients fetch them, serialized once per schema version.
+ * <p>
+ * Every transaction that edits a type's schema raises {@code application_types.schema_version} once,
+ * together with the edit, so the version changes exactly when the rendered schema does and is the same on
+ * every instance. Reads look the version up by primary key first: a client that already holds it gets a
+ * 304 without the entity graph being loaded, and otherwise the cached bytes are served as long as their
+ * version is current. An entry is only rebuilt after the schema was edited.
+ */
+@Slf4j
+@Component
+public class ApplicationSchemaCache {
+
+    private static final String TRANSACTION_KEY_PREFIX = ApplicationSchemaCache.class.getName() + ":";
+
+    private final ApplicationTypeRepository applicationTypeRepository;
+    private final ApplicationSectionRepository applicationSectionRepository;
+    private final ApplicationFieldsRepository applicationFieldsRepository;
+    private final ApplicationTypeMapper applicationTypeMapper;
+    private final EdgeCacheInvalidator edgeCacheInvalidator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    public ApplicationSchemaCache(ApplicationTypeRepository applicationTypeRepository,
+                                  ApplicationSectionRepository applicationSectionRepository,
+                                  ApplicationFieldsRepository applicationFieldsRepository,
+                                  ApplicationTypeMapper applicationTypeMapper,
+                                  EdgeCacheInvalidator edgeCacheInvalidator,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper) {
+        this.applicationTypeRepository = applicationTypeRepository;
+        this.applicationSectionRepository = applicationSectionRepository;
+        this.applicationFieldsRepository = applicationFieldsRepository;
+        this.applicationTypeMapper = applicationTypeMapper;
+        this.edgeCacheInvalidator = edgeCacheInvalidator;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Current schema version of a type, of the type a section belongs to, or of the type a field belongs
+     * to. Each is a single lookup by primary key.
+     */
+    public SchemaVersion typeVersion(UUID typeId) {
+        return applicationTypeRepository.findSchemaVersion(typeId)
+                .map(SchemaVersion::of)
+                .orElseThrow(() -> ApiException.notFound("Application type not found"));
+    }
+
+    public SchemaVersion sectionVersion(UUID sectionId) {
+        return applicationSectionRepository.findTypeSchemaVersion(sectionId)
+                .map(SchemaVersion::of)
+                .orElseThrow(() -> ApiException.notFound("Application section not found"));
+    }
+
+    public SchemaVersion fieldVersion(UUID fieldId) {
+        return applicationFieldsRepository.findTypeSchemaVersion(fieldId)
+                .map(SchemaVersion::of)
+                .orElseThrow(() -> ApiException.notFound("Application field not found"));
+    }
+
+    /**
+     * The serialized type, section or field at {@code version} or newer, with the ETag of the version it
+     * was actually serialized at.
+     */
+    public SchemaBody type(SchemaVersion version) {
+        Entry entry = entry(version);
+        return new SchemaBody(entry.etag(version.typeId()), entry.type());
+    }
+
+    public SchemaBody section(SchemaVersion version, UUID sectionId) {
+        Entry entry = entry(version);
+        byte[] section = entry.sections().get(sectionId);
+        if (section == null) {
+            throw ApiException.notFound("Application section not found");
+        }
+        return new SchemaBody(entry.etag(version.typeId()), section);
+    }
+
+    public SchemaBody field(SchemaVersion version, UUID fieldId) {
+        Entry entry = entry(version);
+        byte[] field = entry.fields().get(fieldId);
+        if (field == null) {
+            throw ApiException.notFound("Application field not found");
+        }
+        return new SchemaBody(entry.etag(version.typeId()), field);
+    }
+
+    /**
+     * Versions of all types, or of one provider's types, for a listing; ordered by type id.
+     */
+    public List<SchemaVersion> allVersions() {
+        return applicationTypeRepository.findSchemaVersions().stream().map(SchemaVersion::of).toList();
+    }
+
+    public List<SchemaVersion> providerVersions(String provider) {
+        return applicationTypeRepository.findSchemaVersionsByProvider(provider).stream().map(SchemaVersion::of).toList();
+    }
+
+    /**
+     * Strong ETag of a listing: a digest over the ids and versions it contains, so it changes when a type
+     * is added, removed or edited.
+     */
+    public static String listEtag(List<SchemaVersion> versions) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocate(24);
+            for (SchemaVersion version : versions) {
+                buffer.clear();
+                buffer.putLong(version.typeId().getMostSignificantBits())
+                        .putLong(version.typeId().getLeastSignificantBits())
+                        .putLong(version.version());
+                digest.update(buffer.array());
+            }
+            return "\"l" + HexFormat.of().formatHex(digest.digest(), 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The types of a listing as one JSON array, spliced from their cached bytes.
+     */
+    public byte[] list(List<SchemaVersion> versions) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(versions.size() * 2048 + 2);
+        out.write('[');
+        boolean first = true;
+        for (SchemaVersion version : versions) {
+            Entry entry = entries.get(version.typeId());
+            if (entry == null || entry.version() < version.version()) {
+                entry = rebuild(version.typeId());
+            }
+            if (entry == null) {
+                // Deleted since the versions were read
+                continue;
+            }
+            if (!first) {
+                out.write(',');
+            }
+            out.writeBytes(entry.type());
+            first = false;
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    /**
+     * Records a schema edit of the type in the current transaction: the version is raised once per
+     * transaction, and the cached entry and the gateway's copies are dropped once it completes.
+     */
+    public void schemaChanged(UUID typeId) {
+        if (typeId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applicationTypeRepository.incrementSchemaVersion(typeId);
+            entries.remove(typeId);
+            edgeCacheInvalidator.invalidate(EdgeCacheInvalidator.APPLICATION_TYPES);
+            return;
+        }
+        String key = TRANSACTION_KEY_PREFIX + typeId;
+        if (TransactionSynchronizationManager.hasResource(key)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(key, Boolean.TRUE);
+        applicationTypeRepository.incrementSchemaVersion(typeId);
+        edgeCacheInvalidator.invalidate(EdgeCacheInvalidator.APPLICATION_TYPES);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                entries.remove(typeId);
+            }
+        });
+    }
+
+    public void evict(UUID typeId) {
+        if (typeId != null) {
+            entries.remove(typeId);
+        }
+    }
+
+    private Entry entry(SchemaVersion version) {
+        Entry entry = entries.get(version.typeId());
+        if (entry == null || entry.version() < version.version()) {
+            entry = rebuild(version.typeId());
+        }
+        if (entry == null) {
+            throw ApiException.notFound("Application type not found");
+        }
+        return entry;
+    }
+
+    /**
+     * Loads and serializes the type as it is now. The entry carries the version read with the rows, which
+     * may be newer than the one asked for; an older entry never replaces a newer one.
+     */
+    private Entry rebuild(UUID typeId) {
+        Entry built = transactionTemplate.execute(status -> applicationTypeRepository.findById(typeId)
+                .map(type -> serialize(type.getSchemaVersion(), applicationTypeMapper.toApplicationResponse(type)))
+                .orElse(null));
+        if (built == null) {
+            entries.remove(typeId);
+            return null;
+        }
+        log.debug("Serialized schema of application type {} at version {}", typeId, built.version());
+        return entries.merge(typeId, built, (current, fresh) -> current.version() >= fresh.version() ? current : fresh);
+    }
+
+    private Entry serialize(long version, ApplicationTypeResponseDto type) {
+        try {
+            Map<UUID, byte[]> sections = new HashMap<>();
+            Map<UUID, byte[]> fields = new HashMap<>();
+            for (ApplicationSectionResponseDto section : type.sections()) {
+                sections.put(section.id(), objectMapper.writeValueAsBytes(section));
+                for (ApplicationFieldsResponseDto field : section.fields()) {
+                    fields.put(field.id(), objectMapper.writeValueAsBytes(field));
+                }
+            }
+            return new Entry(version, objectMapper.writeValueAsBytes(type), Map.copyOf(sections), Map.copyOf(fields));
+        } catch (JsonProcessingException e) {
+            throw ApiException.internalError("Failed to serialize application type " + type.id());
+        }
+    }
+
+    /**
+     * The schema version of one application type.
+     */
+    public record SchemaVersion(UUID typeId, long version) {
+
+        static SchemaVersion of(SchemaVersionView view) {
+            return new SchemaVersion(view.getId(), view.getSchemaVersion() != null ? view.getSchemaVersion() : 0L);
+        }
+
+        /**
+         * Strong ETag for the type and everything in it. Sections and fields share their type's tag; they
+         * are separate resources, so that is unambiguous.
+         */
+        public String etag() {
+            return "\"" + typeId + "-" + version + "\"";
+        }
+    }
+
+    public record SchemaBody(String etag, byte[] json) {
+    }
+
+    private record Entry(long version, byte[] type, Map<UUID, byte[]> sections, Map<UUID, byte[]> fields) {
+
+        String etag(UUID typeId) {
+            return new SchemaVersion(typeId, version).etag();
+        }
+    }
+}
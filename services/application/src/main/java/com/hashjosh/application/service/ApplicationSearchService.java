@@ -0,0 +1,193 @@
+package com.hashjosh.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.hashjosh.application.dto.page.ApplicationCursor;
+import com.hashjosh.application.dto.page.ApplicationPageResponse;
+import com.hashjosh.application.dto.search.SearchFilter;
+import com.hashjosh.application.enums.FieldType;
+import com.hashjosh.application.enums.FilterOperator;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.mapper.ApplicationMapper;
+import com.hashjosh.application.repository.ApplicationFieldsRepository;
+import com.hashjosh.application.repository.ApplicationFieldsRepository.SearchableFieldView;
+import com.hashjosh.application.repository.ApplicationRepository.ApplicationSummaryView;
+import com.hashjosh.application.repository.ApplicationSearchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Searches applications by filter expressions on their searchable dynamic fields. An expression is
+ * {@code field:op:value}:
+ * <ul>
+ *     <li>{@code crop_type:eq:Rice}</li>
+ *     <li>{@code crop_type:in:Rice|Corn}</li>
+ *     <li>{@code lot_1_area:range:0.5..2}, with either end left open as in {@code 2..}</li>
+ *     <li>{@code last_name:prefix:Dela}</li>
+ * </ul>
+ * Values are read as the field's type, so {@code 2} matches a NUMBER field holding {@code 2.0}, and SELECT
+ * values match in any case, as they are accepted on submission.
+ */
+@Service
+@RequiredArgsConstructor
+public class ApplicationSearchService {
+
+    private static final int MAX_FILTERS = 10;
+    private static final int MAX_IN_VALUES = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<FieldType> RANGE_TYPES = EnumSet.of(FieldType.NUMBER, FieldType.DATE);
+    private static final Set<FieldType> PREFIX_TYPES = EnumSet.of(FieldType.TEXT, FieldType.SELECT);
+
+    private final ApplicationSearchRepository applicationSearchRepository;
+    private final ApplicationFieldsRepository applicationFieldsRepository;
+    private final ApplicationMapper applicationMapper;
+
+    public ApplicationPageResponse search(UUID applicationTypeId, List<String> expressions, String cursor, int limit) {
+        List<SearchFilter> filters = parse(applicationTypeId, expressions);
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        ApplicationCursor after = cursor == null || cursor.isBlank() ? null : ApplicationCursor.decode(cursor);
+
+        // One extra row tells whether another page follows
+        List<ApplicationSummaryView> rows = applicationSearchRepository.find(applicationTypeId, filters, after, size + 1);
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+
+        ApplicationSummaryView last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        return ApplicationPageResponse.builder()
+                .applications(applicationMapper.toApplicationResponseDtos(rows, null))
+                .nextCursor(hasMore ? new ApplicationCursor(last.getSubmittedAt(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .total(applicationSearchRepository.count(applicationTypeId, filters))
+                .build();
+    }
+
+    private List<SearchFilter> parse(UUID applicationTypeId, List<String> expressions) {
+        if (expressions.size() > MAX_FILTERS) {
+            throw ApiException.badRequest("At most " + MAX_FILTERS + " filters are allowed");
+        }
+        if (expressions.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, FieldType> searchable = new HashMap<>();
+        Set<String> ambiguous = new HashSet<>();
+        for (SearchableFieldView field : applicationFieldsRepository.findSearchable()) {
+            if (applicationTypeId != null && !applicationTypeId.equals(field.getApplicationTypeId())) {
+                continue;
+            }
+            FieldType previous = searchable.putIfAbsent(field.getFieldKey(), field.getFieldType());
+            if (previous != null && previous != field.getFieldType()) {
+                ambiguous.add(field.getFieldKey());
+            }
+        }
+
+        List<SearchFilter> filters = new ArrayList<>(expressions.size());
+        for (String expression : expressions) {
+            String[] parts = expression.split(":", 3);
+            if (parts.length < 3) {
+                throw ApiException.badRequest("Filter '" + expression + "' must look like field:op:value");
+            }
+            String key = parts[0];
+            FieldType fieldType = searchable.get(key);
+            if (fieldType == null) {
+                throw ApiException.badRequest("Field '" + key + "' is not searchable");
+            }
+            if (ambiguous.contains(key)) {
+                throw ApiException.badRequest("Field '" + key
+                        + "' has a different type in each application type; filter by applicationTypeId");
+            }
+            filters.add(filter(key, fieldType, operator(parts[1]), parts[2]));
+        }
+        return filters;
+    }
+
+    private static SearchFilter filter(String key, FieldType fieldType, FilterOperator operator, String value) {
+        return switch (operator) {
+            case EQ -> new SearchFilter(key, fieldType, operator, List.of(containmentValue(key, fieldType, value)), null, null);
+            case IN -> {
+                String[] values = value.split("\\|");
+                if (values.length > MAX_IN_VALUES) {
+                    throw ApiException.badRequest("At most " + MAX_IN_VALUES + " values are allowed in '" + key + "'");
+                }
+                List<JsonNode> nodes = new ArrayList<>(values.length);
+                for (String each : values) {
+                    nodes.add(containmentValue(key, fieldType, each));
+                }
+                yield new SearchFilter(key, fieldType, operator, nodes, null, null);
+            }
+            case RANGE -> {
+                if (!RANGE_TYPES.contains(fieldType)) {
+                    throw ApiException.badRequest("Field '" + key + "' does not support range filters");
+                }
+                int separator = value.indexOf("..");
+                if (separator < 0 || (separator == 0 && value.length() == 2)) {
+                    throw ApiException.badRequest("Range on '" + key + "' must look like min..max");
+                }
+                String min = value.substring(0, separator);
+                String max = value.substring(separator + 2);
+                yield new SearchFilter(key, fieldType, operator, List.of(),
+                        min.isEmpty() ? null : scalar(key, fieldType, min),
+                        max.isEmpty() ? null : scalar(key, fieldType, max));
+            }
+            case PREFIX -> {
+                if (!PREFIX_TYPES.contains(fieldType)) {
+                    throw ApiException.badRequest("Field '" + key + "' does not support prefix filters");
+                }
+                if (value.isEmpty()) {
+                    throw ApiException.badRequest("Prefix on '" + key + "' must not be empty");
+                }
+                yield new SearchFilter(key, fieldType, operator, List.of(JsonNodeFactory.instance.textNode(value)), null, null);
+            }
+        };
+    }
+
+    private static FilterOperator operator(String op) {
+        try {
+            return FilterOperator.valueOf(op.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw ApiException.badRequest("Unknown filter operator '" + op + "'");
+        }
+    }
+
+    /**
+     * The value as it appears in the stored document: a MULTI_SELECT field holds an array, which contains
+     * a one-element array of the wanted choice.
+     */
+    private static JsonNode containmentValue(String key, FieldType fieldType, String value) {
+        JsonNode node = scalar(key, fieldType, value);
+        return fieldType == FieldType.MULTI_SELECT ? JsonNodeFactory.instance.arrayNode().add(node) : node;
+    }
+
+    private static JsonNode scalar(String key, FieldType fieldType, String value) {
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+        return switch (fieldType) {
+            case NUMBER -> {
+                try {
+                    yield nodes.numberNode(new BigDecimal(value));
+                } catch (NumberFormatException e) {
+                    throw ApiException.badRequest("Field '" + key + "' takes numbers, not '" + value + "'");
+                }
+            }
+            case BOOLEAN -> {
+                if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+                    throw ApiException.badRequest("Field '" + key + "' takes true or false, not '" + value + "'");
+                }
+                yield nodes.booleanNode(Boolean.parseBoolean(value));
+            }
+            default -> nodes.textNode(value);
+        };
+    }
+}
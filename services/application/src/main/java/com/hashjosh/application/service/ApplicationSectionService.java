@@ -5,6 +5,7 @@ import com.hashjosh.application.mapper.ApplicationSectionMapper;
 import com.hashjosh.application.model.ApplicationSection;
 import com.hashjosh.application.model.ApplicationType;
 import com.hashjosh.application.repository.ApplicationSectionRepository;
+import com.hashjosh.application.validators.ValidationPlanCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,16 +15,25 @@ public class ApplicationSectionService {
 
     private final ApplicationSectionMapper applicationSectionMapper;
     private final ApplicationSectionRepository applicationSectionRepository;
+    private final ValidationPlanCache validationPlanCache;
+    private final ApplicationSchemaCache applicationSchemaCache;
 
     public ApplicationSectionService(ApplicationSectionMapper applicationSectionMapper,
-                                     ApplicationSectionRepository applicationSectionRepository) {
+                                     ApplicationSectionRepository applicationSectionRepository,
+                                     ValidationPlanCache validationPlanCache,
+                                     ApplicationSchemaCache applicationSchemaCache) {
         this.applicationSectionMapper = applicationSectionMapper;
         this.applicationSectionRepository = applicationSectionRepository;
+        this.validationPlanCache = validationPlanCache;
+        this.applicationSchemaCache = applicationSchemaCache;
     }
 
     @Transactional(propagation = Propagation.REQUIRED)
     public ApplicationSection create(ApplicationSectionRequestDto dto, ApplicationType savedApplicationType) {
         ApplicationSection applicationSection = applicationSectionMapper.toApplicationSection(dto, savedApplicationType);
-        return applicationSectionRepository.save(applicationSection);
+        ApplicationSection saved = applicationSectionRepository.save(applicationSection);
+        validationPlanCache.invalidate(savedApplicationType.getId());
+        applicationSchemaCache.schemaChanged(savedApplicationType.getId());
+        return saved;
     }
 }
\ No newline at end of file
@@ -1,36 +1,42 @@
 package com.hashjosh.application.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.hashjosh.application.clients.DocumentServiceClient;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.hashjosh.application.configs.CustomUserDetails;
-import com.hashjosh.application.dto.submission.ApplicationSubmissionDto;
-import com.hashjosh.application.dto.validation.ValidationError;
-import com.hashjosh.application.dto.validation.ValidationErrors;
+import com.hashjosh.application.dto.page.ApplicationCursor;
+import com.hashjosh.application.dto.page.ApplicationPageResponse;
+import com.hashjosh.application.dto.submission.ParsedSubmission;
 import com.hashjosh.application.exceptions.ApiException;
 import com.hashjosh.application.kafka.ApplicationProducer;
 import com.hashjosh.application.mapper.ApplicationMapper;
 import com.hashjosh.application.model.Application;
-import com.hashjosh.application.model.ApplicationField;
 import com.hashjosh.application.model.ApplicationType;
 import com.hashjosh.application.model.Document;
+import com.hashjosh.application.repository.ApplicationIngestRepository;
 import com.hashjosh.application.repository.ApplicationRepository;
+import com.hashjosh.application.repository.ApplicationRepository.ApplicationDocumentView;
+import com.hashjosh.application.repository.ApplicationRepository.ApplicationSummaryView;
 import com.hashjosh.application.repository.ApplicationTypeRepository;
 import com.hashjosh.application.repository.DocumentRepository;
-import com.hashjosh.application.validators.FieldValidatorFactory;
-import com.hashjosh.application.validators.ValidatorStrategy;
+import com.hashjosh.application.validators.StreamingSubmissionReader;
 import com.hashjosh.constant.application.ApplicationResponseDto;
+import com.hashjosh.constant.document.dto.DocumentResponse;
+import com.hashjosh.documentclient.DocumentUploadClient;
 import com.hashjosh.kafkacommon.application.ApplicationSubmittedEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -39,70 +45,47 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ApplicationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ApplicationRepository applicationRepository;
-    private final FieldValidatorFactory fieldValidatorFactory;
+    private final StreamingSubmissionReader streamingSubmissionReader;
+    private final ApplicationIngestRepository applicationIngestRepository;
     private final ApplicationTypeRepository applicationTypeRepository;
     private final ApplicationMapper applicationMapper;
     private final ApplicationProducer  applicationProducer;
-    private final DocumentServiceClient documentServiceClient;
+    private final DocumentUploadClient documentUploadClient;
     private final DocumentRepository documentRepository;
-
-    @Transactional
-    public Application processSubmission(
-            ApplicationSubmissionDto submission,
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Reads, validates and stores a submission in one streaming pass; see {@link StreamingSubmissionReader}.
+     * Files are uploaded only once the field values are known to be valid, and before the transaction that
+     * stores the application starts; they are deleted again when that transaction fails.
+     */
+    public UUID processSubmission(
+            InputStream submissionJson,
             List<MultipartFile> files
     ) {
         try {
             CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
                     .getContext().getAuthentication().getPrincipal();
-
-            submission.setUseId(UUID.fromString(userDetails.getUserId()));
-
-            // Upload files first and create Document entities
-            List<Document> documents = new ArrayList<>();
-            if (files != null && !files.isEmpty()) {
-                for (MultipartFile file : files) {
-                    var docResponse = documentServiceClient.uploadDocument(file, userDetails.getUserId());
-                    Document document = Document.builder()
-                            .documentId(docResponse.getDocumentId())
-                            .fileName(docResponse.getFileName())
-                            .fileType(docResponse.getFileType())
-                            .coordinates(submission.getCoordinates())
-                            .uploadedAt(docResponse.getUploadedAt())
-                            .build();
-
-                    documentRepository.save(document);
-                    documents.add(document);
-                }
+            UUID userId = UUID.fromString(userDetails.getUserId());
+
+            ParsedSubmission submission;
+            try {
+                submission = streamingSubmissionReader.read(submissionJson, typeId ->
+                        applicationTypeRepository.findById(typeId)
+                                .orElseThrow(() -> ApiException.badRequest("Invalid application type ID")));
+            } catch (JsonProcessingException e) {
+                throw ApiException.badRequest("Malformed submission: " + e.getOriginalMessage());
             }
-            submission.setDocuments(documents);
-
-            // We get the application type through the batch
-            ApplicationType applicationType = applicationTypeRepository.findById(submission.getApplicationTypeId())
-                    .orElseThrow(() -> ApiException.badRequest("Invalid application type ID"));
 
-            List<ApplicationField> fields = applicationType.getSections().stream()
-                    .flatMap(section -> section.getFields().stream())
-                    .collect(Collectors.toList());
-
-            List<ValidationError> validationErrors = validateSubmission(submission, fields);
-
-            if (!validationErrors.isEmpty()) {
-                throw ApiException.badRequest("Validation failed: " + validationErrors);
+            if (!submission.errors().isEmpty()) {
+                throw ApiException.badRequest("Validation failed: " + submission.errors());
             }
-            Application application = applicationMapper.toEntity(submission, applicationType);
-            Application savedApplication = applicationRepository.save(application);
-
-            applicationProducer.publishEvent("application-submitted",
-                    ApplicationSubmittedEvent.builder()
-                            .submissionId(savedApplication.getId())
-                            .provider(applicationType.getProvider().getName())
-                            .userId(savedApplication.getUserId())
-                            .submittedAt(LocalDateTime.now())
-                            .build()
-            );
-
-            return application;
+
+            return documentUploadClient.uploadAndThen(files, userDetails.getUserId(), uploaded ->
+                    transactionTemplate.execute(status -> storeSubmission(submission, userId, uploaded)));
         } catch (ApiException e) {
             throw e;
         } catch (Exception e) {
@@ -110,6 +93,31 @@ public class ApplicationService {
         }
     }
 
+    private UUID storeSubmission(ParsedSubmission submission, UUID userId, List<DocumentResponse> uploaded) {
+        List<Document> documents = new ArrayList<>(uploaded.size());
+        for (DocumentResponse docResponse : uploaded) {
+            documents.add(toDocument(docResponse, submission.coordinates()));
+        }
+        if (!documents.isEmpty()) {
+            // The application row is written over JDBC, so the documents it joins must be in the database
+            documents = documentRepository.saveAllAndFlush(documents);
+        }
+
+        ApplicationType applicationType = submission.applicationType();
+        UUID applicationId = applicationIngestRepository.insert(
+                applicationType.getId(), userId, submission.dynamicFields(), submission.adminAreas(), documents);
+
+        applicationProducer.publishEvent("application-submitted",
+                ApplicationSubmittedEvent.builder()
+                        .submissionId(applicationId)
+                        .provider(applicationType.getProvider().getName())
+                        .userId(userId)
+                        .submittedAt(LocalDateTime.now())
+                        .build()
+        );
+        return applicationId;
+    }
+
     @Transactional
     public ApplicationResponseDto getApplicationById(UUID applicationId) {
         Application application = applicationRepository.findById(applicationId)
@@ -120,8 +128,7 @@ public class ApplicationService {
 
     @Transactional
     public List<ApplicationResponseDto> findAll() {
-        return applicationRepository.findAll()
-                .stream().map(applicationMapper::toApplicationResponseDto).collect(Collectors.toList());
+        return applicationMapper.toApplicationResponseDtos(applicationRepository.findAll());
     }
 
 
@@ -135,7 +142,71 @@ public class ApplicationService {
 
        List<Application> application = applicationRepository.findAllByApplicationTypeId(type.getId());
 
-        return application.stream().map(applicationMapper::toApplicationResponseDto).collect(Collectors.toList());
+        return applicationMapper.toApplicationResponseDtos(application);
+    }
+
+    /**
+     * One page of applications, newest first, optionally only those of one provider. Documents are only
+     * looked up, in one query for the whole page, when {@code includeDocuments} is set.
+     */
+    public ApplicationPageResponse findPage(String provider, String cursor, int limit, boolean includeDocuments) {
+        // One extra row tells whether another page follows
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Pageable pageable = PageRequest.ofSize(size + 1);
+        ApplicationCursor after = cursor == null || cursor.isBlank() ? null : ApplicationCursor.decode(cursor);
+
+        List<ApplicationSummaryView> rows;
+        if (provider == null) {
+            rows = after == null
+                    ? applicationRepository.findFirstPage(pageable)
+                    : applicationRepository.findPageAfter(after.submittedAt(), after.id(), pageable);
+        } else {
+            rows = after == null
+                    ? applicationRepository.findFirstProviderPage(provider, pageable)
+                    : applicationRepository.findProviderPageAfter(provider, after.submittedAt(), after.id(), pageable);
+        }
+        return toPage(rows, size, includeDocuments);
+    }
+
+    /**
+     * One page of the signed-in user's own applications, newest first.
+     */
+    public ApplicationPageResponse findOwnPage(String cursor, int limit, boolean includeDocuments) {
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
+                .getContext().getAuthentication().getPrincipal();
+        UUID userId = UUID.fromString(userDetails.getUserId());
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Pageable pageable = PageRequest.ofSize(size + 1);
+        ApplicationCursor after = cursor == null || cursor.isBlank() ? null : ApplicationCursor.decode(cursor);
+
+        List<ApplicationSummaryView> rows = after == null
+                ? applicationRepository.findFirstUserPage(userId, pageable)
+                : applicationRepository.findUserPageAfter(userId, after.submittedAt(), after.id(), pageable);
+        return toPage(rows, size, includeDocuments);
+    }
+
+    private ApplicationPageResponse toPage(List<ApplicationSummaryView> rows, int size, boolean includeDocuments) {
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+
+        Map<UUID, List<UUID>> documentIds = null;
+        if (includeDocuments && !rows.isEmpty()) {
+            documentIds = applicationRepository.findDocumentIds(
+                            rows.stream().map(ApplicationSummaryView::getId).toList()).stream()
+                    .collect(Collectors.groupingBy(ApplicationDocumentView::getApplicationId,
+                            Collectors.mapping(ApplicationDocumentView::getDocumentId, Collectors.toList())));
+        } else if (includeDocuments) {
+            documentIds = Map.of();
+        }
+
+        ApplicationSummaryView last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        return ApplicationPageResponse.builder()
+                .applications(applicationMapper.toApplicationResponseDtos(rows, documentIds))
+                .nextCursor(hasMore ? new ApplicationCursor(last.getSubmittedAt(), last.getId()).encode() : null)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Transactional
@@ -144,55 +215,26 @@ public class ApplicationService {
         applicationRepository.delete(application);
     }
 
-    @Transactional
     public void updateApplicationDocuments(UUID applicationId, List<MultipartFile> files) {
         try {
             // Get current user details
             CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
                     .getContext().getAuthentication().getPrincipal();
 
-            // Find the existing application
-            Application application = findApplicationById(applicationId);
-
             // Validate that files are provided
             if (files == null || files.isEmpty()) {
                 throw ApiException.badRequest("No files provided for document update");
             }
-
-            // Get existing coordinates from the first document if available
-            String coordinates = null;
-            if (!application.getDocuments().isEmpty()) {
-                coordinates = application.getDocuments().get(0).getCoordinates();
-            }
-
-            // Upload new files and create Document entities
-            List<Document> newDocuments = new ArrayList<>();
-            for (MultipartFile file : files) {
-                // Upload document using DocumentServiceClient
-                var docResponse = documentServiceClient.uploadDocument(file, userDetails.getUserId());
-
-                // Create new Document entity
-                Document document = Document.builder()
-                        .documentId(docResponse.getDocumentId())
-                        .fileName(docResponse.getFileName())
-                        .fileType(docResponse.getFileType())
-                        .coordinates(coordinates) // Use existing coordinates or null
-                        .uploadedAt(docResponse.getUploadedAt())
-                        .build();
-
-                // Save the document entity
-                documentRepository.save(document);
-                newDocuments.add(document);
+            if (!applicationRepository.existsById(applicationId)) {
+                throw ApiException.notFound("Application not found with id "+ applicationId);
             }
 
-            // Replace old documents with new ones
-            application.setDocuments(newDocuments);
-
-            // Save the updated application
-            applicationRepository.save(application);
+            // Upload outside the transaction; the uploads are deleted again if the update fails
+            int updated = documentUploadClient.uploadAndThen(files, userDetails.getUserId(), uploaded ->
+                    transactionTemplate.execute(status -> replaceDocuments(applicationId, uploaded)));
 
             log.info("Successfully updated documents for application {}: {} new documents",
-                    applicationId, newDocuments.size());
+                    applicationId, updated);
 
         } catch (ApiException e) {
             throw e;
@@ -202,57 +244,36 @@ public class ApplicationService {
         }
     }
 
+    private int replaceDocuments(UUID applicationId, List<DocumentResponse> uploaded) {
+        Application application = findApplicationById(applicationId);
 
-    private List<ValidationError> validateSubmission(
-            ApplicationSubmissionDto submission,
-            List<ApplicationField> fields) {
-
-        List<ValidationError> errors = new ArrayList<>();
-
-        // 1. Check required fields
-        fields.stream()
-                .filter(ApplicationField::getRequired)
-                .filter(field -> !submission.getFieldValues().containsKey(field.getKey()))
-                .forEach(field -> errors.add(new ValidationError(
-                        field.getKey(),
-                        String.format("Field '%s' is required", field.getFieldName())
-                )));
-
-        // 2. Validate field types and constraints
-        submission.getFieldValues().forEach((key, value) -> {
-            fields.stream()
-                    .filter(field -> field.getKey().equals(key))
-                    .findFirst()
-                    .ifPresent(field -> {
-                        try {
-                            // Get the appropriate validator for the field type
-                            ValidatorStrategy validator = fieldValidatorFactory.getStrategy(field.getFieldType().name());
-                            // Convert value to JsonNode and validate the field value
-                            ObjectMapper objectMapper = new ObjectMapper();
-                            JsonNode valueNode = objectMapper.valueToTree(value);
-                            List<ValidationErrors> fieldErrors = validator.validate(field, valueNode);
-                            if (fieldErrors != null && !fieldErrors.isEmpty()) {
-                                // Since ValidationErrors is being used as a single error, we'll treat it as such
-                                // and create a ValidationError with the same field and message
-                                fieldErrors.forEach(validationError ->
-                                        errors.add(new ValidationError(
-                                                field.getKey(),  // Using the field key as the field name
-                                                validationError.toString()  // Convert the error to string as the message
-                                        ))
-                                );
-                            }
-                        } catch (IllegalArgumentException e) {
-                            errors.add(new ValidationError(
-                                    field.getKey(),
-                                    String.format("Unsupported field type: %s", field.getFieldType())
-                            ));
-                        }
-                    });
-        });
-
-        return errors;
+        // Get existing coordinates from the first document if available
+        String coordinates = null;
+        if (!application.getDocuments().isEmpty()) {
+            coordinates = application.getDocuments().get(0).getCoordinates();
+        }
+
+        List<Document> newDocuments = new ArrayList<>(uploaded.size());
+        for (DocumentResponse docResponse : uploaded) {
+            newDocuments.add(toDocument(docResponse, coordinates));
+        }
+        newDocuments = documentRepository.saveAll(newDocuments);
+
+        // Replace old documents with new ones
+        application.setDocuments(newDocuments);
+        applicationRepository.save(application);
+        return newDocuments.size();
     }
 
+    private static Document toDocument(DocumentResponse docResponse, String coordinates) {
+        return Document.builder()
+                .documentId(docResponse.getDocumentId())
+                .fileName(docResponse.getFileName())
+                .fileType(docResponse.getFileType())
+                .coordinates(coordinates)
+                .uploadedAt(docResponse.getUploadedAt())
+                .build();
+    }
 
     private Application findApplicationById(UUID applicationId) {
         return  applicationRepository.findById(applicationId)
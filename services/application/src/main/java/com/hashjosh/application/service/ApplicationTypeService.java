@@ -5,10 +5,12 @@ import com.hashjosh.application.dto.sections.ApplicationSectionRequestDto;
 import com.hashjosh.application.dto.type.ApplicationTypeRequestDto;
 import com.hashjosh.application.dto.type.ApplicationTypeResponseDto;
 import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.kafka.EdgeCacheInvalidator;
 import com.hashjosh.application.mapper.ApplicationTypeMapper;
 import com.hashjosh.application.model.*;
 import com.hashjosh.application.repository.ApplicationProviderRepository;
 import com.hashjosh.application.repository.ApplicationTypeRepository;
+import com.hashjosh.application.validators.ValidationPlanCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -17,7 +19,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +29,9 @@ public class ApplicationTypeService {
     private final ApplicationFieldsService applicationFieldService;
     private final ApplicationTypeMapper applicationTypeMapper;
     private final ApplicationProviderRepository applicationProviderRepository;
+    private final EdgeCacheInvalidator edgeCacheInvalidator;
+    private final ValidationPlanCache validationPlanCache;
+    private final ApplicationSchemaCache applicationSchemaCache;
 
 
     @Transactional(propagation = Propagation.REQUIRED, rollbackFor = RuntimeException.class)
@@ -55,32 +59,18 @@ public class ApplicationTypeService {
         }
 
         applicationType.setSections(applicationSections);
+        validationPlanCache.invalidate(savedApplicationType.getId());
+        applicationSchemaCache.schemaChanged(savedApplicationType.getId());
         return applicationTypeMapper.toApplicationResponse(applicationType);
     }
 
-    @Transactional
-    public List<ApplicationTypeResponseDto> findAll() {
-            return applicationTypeRepository.findAll().stream()
-                    .map(applicationTypeMapper::toApplicationResponse)
-                    .collect(Collectors.toList());
-    }
-
-    @Transactional
-    public ApplicationTypeResponseDto findById(UUID id) {
-        return applicationTypeMapper.toApplicationResponse(applicationTypeRepository.findById(id)
-                .orElseThrow(() -> ApiException.notFound("Application type not found")));
-    }
-
-    @Transactional
-    public List<ApplicationTypeResponseDto> findByProviderName(String provider) {
-        return applicationTypeRepository.findAllByProvider_Name(provider).stream()
-                .map(applicationTypeMapper::toApplicationResponse)
-                .collect(Collectors.toList());
-    }
     @Transactional
     public void deleteById(UUID id) {
         ApplicationType applicationType = applicationTypeRepository.findById(id)
                 .orElseThrow(() -> ApiException.notFound("Application type not found"));
         applicationTypeRepository.delete(applicationType);
+        validationPlanCache.invalidate(id);
+        applicationSchemaCache.evict(id);
+        edgeCacheInvalidator.invalidate(EdgeCacheInvalidator.APPLICATION_TYPES);
     }
 }
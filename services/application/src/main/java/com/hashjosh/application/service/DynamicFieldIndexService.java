@@ -0,0 +1,71 @@
+package com.hashjosh.application.service;
+
+import com.hashjosh.application.repository.ApplicationFieldsRepository;
+import com.hashjosh.application.repository.DynamicFieldIndexRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Brings the search indexes in line with the searchable fields at startup and whenever a field's
+ * searchable flag changes. Index builds on a large table take a while, so they run on a background
+ * thread, one at a time; searches work without the indexes in the meantime, only slower.
+ */
+@Slf4j
+@Service
+public class DynamicFieldIndexService {
+
+    private final DynamicFieldIndexRepository dynamicFieldIndexRepository;
+    private final ApplicationFieldsRepository applicationFieldsRepository;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().daemon().name("search-indexes").factory());
+
+    public DynamicFieldIndexService(DynamicFieldIndexRepository dynamicFieldIndexRepository,
+                                    ApplicationFieldsRepository applicationFieldsRepository) {
+        this.dynamicFieldIndexRepository = dynamicFieldIndexRepository;
+        this.applicationFieldsRepository = applicationFieldsRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        refresh();
+    }
+
+    /**
+     * Reconciles once the current transaction has committed, so the change is visible to the reconcile.
+     */
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh();
+            }
+        });
+    }
+
+    private void refresh() {
+        executor.execute(() -> {
+            try {
+                dynamicFieldIndexRepository.reconcile(applicationFieldsRepository::findSearchable);
+            } catch (RuntimeException e) {
+                log.error("Failed to update the search indexes", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -3,6 +3,7 @@ package com.hashjosh.application.service;
 import com.hashjosh.application.dto.provider.ProviderRequest;
 import com.hashjosh.application.dto.provider.ProviderResponseDTO;
 import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.kafka.EdgeCacheInvalidator;
 import com.hashjosh.application.model.ApplicationProvider;
 import com.hashjosh.application.repository.ApplicationProviderRepository;
 import jakarta.transaction.Transactional;
@@ -18,6 +19,7 @@ import java.util.List;
 public class ProviderService {
 
     private final ApplicationProviderRepository providerRepository;
+    private final EdgeCacheInvalidator edgeCacheInvalidator;
 
     @Transactional
     public void createProvider(@Valid ProviderRequest request) {
@@ -35,7 +37,7 @@ public class ProviderService {
                 .build();
 
         providerRepository.save(provider);
-
+        edgeCacheInvalidator.invalidate(EdgeCacheInvalidator.PROVIDERS);
     }
 
     @Transactional
@@ -72,6 +74,7 @@ public class ProviderService {
         provider.setName(request.getName());
         provider.setDescription(request.getDescription());
         providerRepository.save(provider);
+        edgeCacheInvalidator.invalidate(EdgeCacheInvalidator.PROVIDERS, EdgeCacheInvalidator.APPLICATION_TYPES);
     }
 
     @Transactional
@@ -80,5 +83,6 @@ public class ProviderService {
                 .orElseThrow(() -> ApiException.notFound("Provider not found"));
 
         providerRepository.delete(provider);
+        edgeCacheInvalidator.invalidate(EdgeCacheInvalidator.PROVIDERS, EdgeCacheInvalidator.APPLICATION_TYPES);
     }
 }
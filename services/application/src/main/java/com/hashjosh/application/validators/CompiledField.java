@@ -0,0 +1,29 @@
+package com.hashjosh.application.validators;
+
+import com.hashjosh.application.model.ApplicationField;
+
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * An {@link ApplicationField} with everything its validation needs resolved once: the strategy for its
+ * type (null when the type has none), its {@code validationRegex} compiled, and for SELECT fields the
+ * allowed choices lower-cased into a set.
+ *
+ * @param choices     null when the field has no usable choices
+ * @param choicesText the choices as configured, for error messages
+ */
+public record CompiledField(ApplicationField field,
+                            ValidatorStrategy strategy,
+                            Pattern pattern,
+                            Set<String> choices,
+                            String choicesText) {
+
+    public String key() {
+        return field.getKey();
+    }
+
+    public boolean required() {
+        return Boolean.TRUE.equals(field.getRequired());
+    }
+}
@@ -7,10 +7,13 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 @Component
 public class DateValidator implements ValidatorStrategy{
 
+    private static final Pattern ISO_DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+
     @Override
     public List<ValidationErrors> validate(ApplicationField field, JsonNode value) {
 
@@ -28,7 +31,7 @@ public class DateValidator implements ValidatorStrategy{
 
 
         List<ValidationErrors> errors = new ArrayList<>();
-        if (!value.isTextual() || !value.asText().matches("\\d{4}-\\d{2}-\\d{2}")){
+        if (!value.isTextual() || !ISO_DATE.matcher(value.asText()).matches()){
             errors.add(new ValidationErrors(
                     field.getKey(),
                     "Field must be a valid ISO date (YYYY-MM-DD)"
@@ -0,0 +1,169 @@
+package com.hashjosh.application.validators;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.hashjosh.application.dto.imports.ImportRow;
+import com.hashjosh.application.enums.ImportFormat;
+import com.hashjosh.application.exceptions.ApiException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads the rows of a bulk import one at a time, each as a JSON object shaped like the dynamic fields of
+ * a single submission.
+ * <p>
+ * NDJSON lines are taken as they are, with values under {@code fieldValues} lifted to the top level as
+ * for a submission; a line that is not valid JSON only rejects that row. CSV columns are named by field
+ * key and their cells are converted by the field's type: numbers and booleans are parsed, MULTI_SELECT
+ * cells are split on {@code |}, JSON cells are parsed as JSON, and so are LOCATION cells unless they hold
+ * a {@code "lat,lng"} pair. A cell that does not convert
+ * is kept as text for the validator to reject, and an empty cell is left out, so a required field shows
+ * up as missing. A CSV file that cannot be parsed at all ends the import.
+ */
+@Component
+public class ImportRowReader {
+
+    private static final String FIELD_VALUES = "fieldValues";
+
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .build();
+
+    public ImportRowReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void read(InputStream in, ImportFormat format, ValidationPlan plan, Consumer<ImportRow> rows) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        skipByteOrderMark(reader);
+        switch (format) {
+            case NDJSON -> readNdjson(reader, rows);
+            case CSV -> readCsv(reader, plan, rows);
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Consumer<ImportRow> rows) throws IOException {
+        long row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                rows.accept(new ImportRow(row, null, "Malformed JSON: " + e.getOriginalMessage()));
+                continue;
+            }
+            if (!(node instanceof ObjectNode values)) {
+                rows.accept(new ImportRow(row, null, "Row must be a JSON object"));
+                continue;
+            }
+            if (values.get(FIELD_VALUES) instanceof ObjectNode nested) {
+                values.remove(FIELD_VALUES);
+                values.setAll(nested);
+            }
+            rows.accept(new ImportRow(row, values, null));
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ValidationPlan plan, Consumer<ImportRow> rows) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        long row = 0;
+        try (MappingIterator<Map<String, String>> cells = csvMapper.readerForMapOf(String.class)
+                .with(schema)
+                .readValues(reader)) {
+            while (cells.hasNextValue()) {
+                Map<String, String> record = cells.nextValue();
+                row++;
+                ObjectNode values = objectMapper.createObjectNode();
+                record.forEach((key, text) -> {
+                    if (text != null && !text.isEmpty()) {
+                        values.set(key, cell(plan.field(key), text));
+                    }
+                });
+                rows.accept(new ImportRow(row, values, null));
+            }
+        } catch (JsonProcessingException e) {
+            throw ApiException.badRequest("Malformed CSV after row " + row + ": " + e.getOriginalMessage());
+        }
+    }
+
+    private JsonNode cell(CompiledField field, String text) {
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+        if (field == null || field.field().getFieldType() == null) {
+            return nodes.textNode(text);
+        }
+        switch (field.field().getFieldType()) {
+            case NUMBER -> {
+                try {
+                    return nodes.numberNode(new BigDecimal(text));
+                } catch (NumberFormatException e) {
+                    return nodes.textNode(text);
+                }
+            }
+            case BOOLEAN -> {
+                if ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text)) {
+                    return nodes.booleanNode(Boolean.parseBoolean(text));
+                }
+                return nodes.textNode(text);
+            }
+            case MULTI_SELECT -> {
+                ArrayNode choices = nodes.arrayNode();
+                for (String choice : text.split("\\|")) {
+                    if (!choice.isBlank()) {
+                        choices.add(choice.trim());
+                    }
+                }
+                return choices;
+            }
+            case JSON -> {
+                return json(text);
+            }
+            case LOCATION -> {
+                return text.trim().startsWith("{") ? json(text) : nodes.textNode(text);
+            }
+            default -> {
+                return nodes.textNode(text);
+            }
+        }
+    }
+
+    private JsonNode json(String text) {
+        try {
+            return objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            return JsonNodeFactory.instance.textNode(text);
+        }
+    }
+
+    /**
+     * Spreadsheet exports often start with one, which would otherwise become part of the first column name.
+     */
+    private static void skipByteOrderMark(BufferedReader reader) throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+}
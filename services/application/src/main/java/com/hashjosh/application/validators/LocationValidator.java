@@ -2,16 +2,86 @@ package com.hashjosh.application.validators;
 
 import com.hashjosh.application.dto.validation.ValidationErrors;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hashjosh.application.geo.AdminArea;
+import com.hashjosh.application.geo.AdminAreaIndex;
+import com.hashjosh.application.geo.GeoPoint;
+import com.hashjosh.application.geo.ResolvedArea;
 import com.hashjosh.application.model.ApplicationField;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Checks LOCATION values and the submission's {@code coordinates}: a {@code {"lat", "lng"}} object, a
+ * GeoJSON Point or a {@code "lat,lng"} string, within range. When {@code admin-areas.file} is set, the
+ * point must also fall inside one of the loaded administrative areas.
+ */
 @Component
 public class LocationValidator implements ValidatorStrategy{
+
+    private final AdminAreaIndex adminAreaIndex;
+
+    public LocationValidator(ObjectProvider<AdminAreaIndex> adminAreaIndex) {
+        this.adminAreaIndex = adminAreaIndex.getIfAvailable();
+    }
+
     @Override
     public List<ValidationErrors> validate(ApplicationField field, JsonNode value) {
-        // need to implement location validation
-        return null;
+        if (value == null || value.isNull()) {
+            List<ValidationErrors> errors = new ArrayList<>();
+            if (Boolean.TRUE.equals(field.getRequired())) {
+                errors.add(new ValidationErrors(field.getKey(), "Field is required (LOCATION)"));
+            }
+            return errors;
+        }
+        return check(field.getKey(), value);
+    }
+
+    public List<ValidationErrors> check(String fieldName, JsonNode value) {
+        List<ValidationErrors> errors = new ArrayList<>();
+        GeoPoint point = GeoPoint.parse(value);
+        if (point == null) {
+            errors.add(new ValidationErrors(fieldName,
+                    "Field must be a location: {\"lat\", \"lng\"}, a GeoJSON Point or \"lat,lng\" (LOCATION)"));
+        } else if (!point.inRange()) {
+            errors.add(new ValidationErrors(fieldName, "Latitude or longitude is out of range"));
+        } else if (adminAreaIndex != null && adminAreaIndex.resolve(point).isEmpty()) {
+            errors.add(new ValidationErrors(fieldName, "Location is outside the covered administrative areas"));
+        }
+        return errors;
+    }
+
+    /**
+     * The areas containing a location, as stored in {@code admin_areas}: an object with a
+     * {@code {"code", "name"}} entry per resolved level.
+     *
+     * @return null when the value is not a valid location, no index is configured or no area contains it
+     */
+    public ObjectNode adminAreas(JsonNode value) {
+        GeoPoint point = GeoPoint.parse(value);
+        if (adminAreaIndex == null || point == null || !point.inRange()) {
+            return null;
+        }
+        ResolvedArea resolved = adminAreaIndex.resolve(point);
+        if (resolved.isEmpty()) {
+            return null;
+        }
+        ObjectNode areas = JsonNodeFactory.instance.objectNode();
+        put(areas, "province", resolved.province());
+        put(areas, "municipality", resolved.municipality());
+        put(areas, "barangay", resolved.barangay());
+        return areas;
+    }
+
+    private static void put(ObjectNode areas, String level, AdminArea area) {
+        if (area != null) {
+            areas.putObject(level)
+                    .put("code", area.code())
+                    .put("name", area.name());
+        }
     }
 }
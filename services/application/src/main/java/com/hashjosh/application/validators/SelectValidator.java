@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.StreamSupport;
 
 @Component
@@ -39,9 +40,6 @@ public class SelectValidator implements ValidatorStrategy {
             return errors; // Return early if no choices
         }
 
-        // Debug log the choices structure
-        System.out.println("Choices for field " + field.getKey() + ": " + choices);
-
         // Check if choices is an array directly
         if (choices.isArray()) {
             return validateAgainstChoices(field, value.asText(), choices, errors);
@@ -61,6 +59,43 @@ public class SelectValidator implements ValidatorStrategy {
         return errors;
     }
 
+    /**
+     * Same checks as above, but a set lookup against choices lower-cased when the plan was compiled.
+     */
+    @Override
+    public List<ValidationErrors> validate(CompiledField compiled, JsonNode value) {
+        ApplicationField field = compiled.field();
+        if(!compiled.required() && (value == null || value.isNull())){
+            return new ArrayList<>();
+        }
+
+        List<ValidationErrors> errors = new ArrayList<>();
+        if (value == null || !value.isTextual()) {
+            errors.add(new ValidationErrors(
+                    field.getKey(),
+                    "Field must be a text value (SELECT)"
+            ));
+            return errors;
+        }
+        if (compiled.choices() == null) {
+            errors.add(new ValidationErrors(
+                    field.getKey(),
+                    field.getChoices() == null
+                            ? "No choices defined for field: " + field.getKey()
+                            : "Invalid choices format for field: " + field.getKey() + ". Expected an array or an object with field key."
+            ));
+            return errors;
+        }
+        if (!compiled.choices().contains(value.textValue().toLowerCase(Locale.ROOT))) {
+            errors.add(new ValidationErrors(
+                    field.getKey(),
+                    "Invalid value '" + value.textValue() + "' for field '" + field.getFieldName() +
+                    "'. Allowed values: " + compiled.choicesText()
+            ));
+        }
+        return errors;
+    }
+
     private List<ValidationErrors> validateAgainstChoices(ApplicationField field, String submittedValue, 
                                                          JsonNode allowedChoices, List<ValidationErrors> errors) {
         try {
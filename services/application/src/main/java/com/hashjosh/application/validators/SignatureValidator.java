@@ -1,7 +1,6 @@
 package com.hashjosh.application.validators;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.hashjosh.application.clients.DocumentServiceClient;
 import com.hashjosh.application.dto.validation.ValidationErrors;
 import com.hashjosh.application.model.ApplicationField;
 import lombok.RequiredArgsConstructor;
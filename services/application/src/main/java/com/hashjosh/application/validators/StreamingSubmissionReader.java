@@ -0,0 +1,225 @@
+package com.hashjosh.application.validators;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.hashjosh.application.dto.submission.ParsedSubmission;
+import com.hashjosh.application.dto.validation.ValidationError;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.geo.GeoPoint;
+import com.hashjosh.application.model.ApplicationType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Reads a submission JSON in one pass over a {@link JsonParser}.
+ * <p>
+ * Each dynamic field is validated against the type's {@link ValidationPlan} while its tokens are copied
+ * to the output, which becomes the {@code dynamic_fields} column as is; no map or tree of the submission
+ * is ever built. Validators see scalar values as single nodes, and arrays and objects as an empty
+ * container of the same kind, which is all the current validators look at. LOCATION values and
+ * {@code coordinates} are the exception: they are small, so they are read as trees to check the point and
+ * resolve its administrative areas. Fields that arrive before {@code applicationTypeId} are held as tokens
+ * until the plan is known.
+ * <p>
+ * Accepts the shape the form clients send: {@code applicationTypeId}, {@code coordinates} and the field
+ * values at the top level, or the values nested under {@code fieldValues}.
+ */
+@Component
+public class StreamingSubmissionReader {
+
+    private static final String APPLICATION_TYPE_ID = "applicationTypeId";
+    private static final String COORDINATES = "coordinates";
+    private static final String FIELD_VALUES = "fieldValues";
+    /** Set by the server; ignored when a client sends them. */
+    private static final Set<String> IGNORED = Set.of("useId", "documents");
+
+    private final ObjectMapper objectMapper;
+    private final ValidationPlanCache validationPlanCache;
+    private final LocationValidator locationValidator;
+
+    public StreamingSubmissionReader(ObjectMapper objectMapper, ValidationPlanCache validationPlanCache,
+                                     LocationValidator locationValidator) {
+        this.objectMapper = objectMapper;
+        this.validationPlanCache = validationPlanCache;
+        this.locationValidator = locationValidator;
+    }
+
+    /**
+     * @param applicationTypes resolves {@code applicationTypeId}; expected to throw when it is unknown
+     */
+    public ParsedSubmission read(InputStream json, Function<UUID, ApplicationType> applicationTypes) throws IOException {
+        JsonFactory factory = objectMapper.getFactory();
+        try (JsonParser parser = factory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw ApiException.badRequest("Submission must be a JSON object");
+            }
+            Reading reading = new Reading(factory, applicationTypes);
+            reading.readObject(parser, true);
+            if (reading.plan == null) {
+                throw ApiException.badRequest("Invalid application type ID");
+            }
+            return reading.finish();
+        }
+    }
+
+    /**
+     * State of one submission while it is read.
+     */
+    private final class Reading {
+
+        private final Function<UUID, ApplicationType> applicationTypes;
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        private final JsonGenerator generator;
+        private final List<ValidationError> errors = new ArrayList<>();
+        private final Set<String> submitted = new HashSet<>();
+        private ApplicationType applicationType;
+        private ValidationPlan plan;
+        private JsonNode coordinates;
+        /** The first LOCATION value, for the administrative areas when there are no {@code coordinates}. */
+        private JsonNode location;
+        private TokenBuffer pending;
+
+        Reading(JsonFactory factory, Function<UUID, ApplicationType> applicationTypes) throws IOException {
+            this.applicationTypes = applicationTypes;
+            this.generator = factory.createGenerator(out);
+            generator.writeStartObject();
+        }
+
+        void readObject(JsonParser parser, boolean topLevel) throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (topLevel && APPLICATION_TYPE_ID.equals(name)) {
+                    resolveType(parser.getValueAsString());
+                } else if (topLevel && COORDINATES.equals(name)) {
+                    coordinates = readCoordinates(parser);
+                } else if (topLevel && FIELD_VALUES.equals(name) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    readObject(parser, false);
+                } else if (topLevel && IGNORED.contains(name)) {
+                    parser.skipChildren();
+                } else if (plan == null) {
+                    if (pending == null) {
+                        pending = new TokenBuffer(parser);
+                        pending.writeStartObject();
+                    }
+                    pending.writeFieldName(name);
+                    pending.copyCurrentStructure(parser);
+                } else {
+                    field(name, parser);
+                }
+            }
+        }
+
+        private void resolveType(String id) throws IOException {
+            UUID typeId;
+            try {
+                typeId = UUID.fromString(id);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw ApiException.badRequest("Invalid application type ID");
+            }
+            applicationType = applicationTypes.apply(typeId);
+            plan = validationPlanCache.planFor(applicationType);
+            if (pending != null) {
+                pending.writeEndObject();
+                try (JsonParser replay = pending.asParser()) {
+                    replay.nextToken();
+                    while (replay.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = replay.currentName();
+                        replay.nextToken();
+                        field(name, replay);
+                    }
+                }
+                pending = null;
+            }
+        }
+
+        private void field(String name, JsonParser parser) throws IOException {
+            if (!submitted.add(name)) {
+                errors.add(new ValidationError(name, String.format("Field '%s' is submitted more than once", name)));
+                parser.skipChildren();
+                return;
+            }
+            CompiledField field = plan.field(name);
+            if (field != null && field.strategy() instanceof LocationValidator) {
+                JsonNode value = objectMapper.readTree(parser);
+                plan.validateValue(field, value, errors);
+                if (location == null && value != null && !value.isNull()) {
+                    location = value;
+                }
+                generator.writeFieldName(name);
+                objectMapper.writeTree(generator, value);
+                return;
+            }
+            if (field != null) {
+                plan.validateValue(field, shapeOf(parser), errors);
+            }
+            generator.writeFieldName(name);
+            generator.copyCurrentStructure(parser);
+        }
+
+        private JsonNode readCoordinates(JsonParser parser) throws IOException {
+            JsonNode value = objectMapper.readTree(parser);
+            if (value == null || value.isNull() || value.isTextual() && value.textValue().isBlank()) {
+                return null;
+            }
+            locationValidator.check(COORDINATES, value).forEach(error ->
+                    errors.add(new ValidationError(COORDINATES, error.message())));
+            return value;
+        }
+
+        /**
+         * Documents keep the coordinates as text; structured values are stored as {@code "lat,lng"}.
+         */
+        private String coordinatesText() {
+            if (coordinates == null || coordinates.isTextual()) {
+                return coordinates == null ? null : coordinates.textValue();
+            }
+            GeoPoint point = GeoPoint.parse(coordinates);
+            return point == null ? coordinates.toString() : point.latitude() + "," + point.longitude();
+        }
+
+        ParsedSubmission finish() throws IOException {
+            plan.checkRequired(submitted::contains, errors);
+            generator.writeEndObject();
+            generator.close();
+            JsonNode adminAreas = locationValidator.adminAreas(coordinates != null ? coordinates : location);
+            return new ParsedSubmission(applicationType, coordinatesText(), out.toByteArray(), adminAreas, errors);
+        }
+    }
+
+    /**
+     * The current value as validators see it, without reading past the current token.
+     */
+    private static JsonNode shapeOf(JsonParser parser) throws IOException {
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+        return switch (parser.currentToken()) {
+            case START_OBJECT -> nodes.objectNode();
+            case START_ARRAY -> nodes.arrayNode();
+            case VALUE_STRING -> nodes.textNode(parser.getText());
+            case VALUE_NUMBER_INT -> switch (parser.getNumberType()) {
+                case INT -> nodes.numberNode(parser.getIntValue());
+                case LONG -> nodes.numberNode(parser.getLongValue());
+                default -> nodes.numberNode(parser.getBigIntegerValue());
+            };
+            case VALUE_NUMBER_FLOAT -> nodes.numberNode(parser.getDecimalValue());
+            case VALUE_TRUE, VALUE_FALSE -> nodes.booleanNode(parser.getBooleanValue());
+            case VALUE_EMBEDDED_OBJECT -> nodes.pojoNode(parser.getEmbeddedObject());
+            default -> nodes.nullNode();
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.hashjosh.application.validators;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.application.dto.validation.ValidationError;
+import com.hashjosh.application.dto.validation.ValidationErrors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Validation for one application type, compiled by {@link ValidationPlanCache}. Submitted values are
+ * looked up by key, so validating a submission is linear in the number of values.
+ */
+public class ValidationPlan {
+
+    private final Map<String, CompiledField> fieldsByKey;
+    private final List<CompiledField> requiredFields;
+    private final long compiledAt = System.currentTimeMillis();
+
+    ValidationPlan(Map<String, CompiledField> fieldsByKey, List<CompiledField> requiredFields) {
+        this.fieldsByKey = fieldsByKey;
+        this.requiredFields = requiredFields;
+    }
+
+    public List<ValidationError> validate(Map<String, Object> values, ObjectMapper objectMapper) {
+        List<ValidationError> errors = new ArrayList<>();
+        checkRequired(values::containsKey, errors);
+        values.forEach((key, value) -> {
+            CompiledField field = fieldsByKey.get(key);
+            if (field != null) {
+                validateValue(field, value instanceof JsonNode node ? node : objectMapper.valueToTree(value), errors);
+            }
+        });
+        return errors;
+    }
+
+    /**
+     * @return the field for a submitted key, or null when the type has no such field
+     */
+    public CompiledField field(String key) {
+        return fieldsByKey.get(key);
+    }
+
+    public void checkRequired(Predicate<String> submitted, List<ValidationError> errors) {
+        for (CompiledField field : requiredFields) {
+            if (!submitted.test(field.key())) {
+                errors.add(new ValidationError(
+                        field.key(),
+                        String.format("Field '%s' is required", field.field().getFieldName())
+                ));
+            }
+        }
+    }
+
+    public void validateValue(CompiledField field, JsonNode value, List<ValidationError> errors) {
+        if (field.strategy() == null) {
+            errors.add(new ValidationError(
+                    field.key(),
+                    String.format("Unsupported field type: %s", field.field().getFieldType())
+            ));
+            return;
+        }
+        List<ValidationErrors> fieldErrors = field.strategy().validate(field, value);
+        if (fieldErrors != null && !fieldErrors.isEmpty()) {
+            fieldErrors.forEach(validationError ->
+                    errors.add(new ValidationError(field.key(), validationError.toString())));
+            return;
+        }
+        if (field.pattern() != null && value != null && value.isTextual()
+                && !field.pattern().matcher(value.textValue()).matches()) {
+            errors.add(new ValidationError(
+                    field.key(),
+                    String.format("Field '%s' does not match the expected format", field.field().getFieldName())
+            ));
+        }
+    }
+
+    public int size() {
+        return fieldsByKey.size();
+    }
+
+    long compiledAt() {
+        return compiledAt;
+    }
+}
@@ -0,0 +1,129 @@
+package com.hashjosh.application.validators;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hashjosh.application.enums.FieldType;
+import com.hashjosh.application.model.ApplicationField;
+import com.hashjosh.application.model.ApplicationSection;
+import com.hashjosh.application.model.ApplicationType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiled {@link ValidationPlan}s per application type.
+ * <p>
+ * Schema writes in this instance evict the type's plan immediately and again after commit, so a plan
+ * compiled from the old rows in between does not survive. Writes made through another instance are only
+ * picked up once a plan is older than {@code validation.plan-max-age}.
+ */
+@Slf4j
+@Component
+public class ValidationPlanCache {
+
+    private final FieldValidatorFactory fieldValidatorFactory;
+    private final long maxAgeMs;
+    private final Map<UUID, ValidationPlan> plans = new ConcurrentHashMap<>();
+
+    public ValidationPlanCache(FieldValidatorFactory fieldValidatorFactory,
+                               @Value("${validation.plan-max-age:5m}") Duration maxAge) {
+        this.fieldValidatorFactory = fieldValidatorFactory;
+        this.maxAgeMs = maxAge.toMillis();
+    }
+
+    public ValidationPlan planFor(ApplicationType type) {
+        ValidationPlan plan = plans.get(type.getId());
+        if (plan == null || System.currentTimeMillis() - plan.compiledAt() > maxAgeMs) {
+            plan = compile(type);
+            plans.put(type.getId(), plan);
+        }
+        return plan;
+    }
+
+    public void invalidate(UUID applicationTypeId) {
+        if (applicationTypeId == null) {
+            return;
+        }
+        plans.remove(applicationTypeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    plans.remove(applicationTypeId);
+                }
+            });
+        }
+    }
+
+    private ValidationPlan compile(ApplicationType type) {
+        Map<String, CompiledField> fieldsByKey = new HashMap<>();
+        List<CompiledField> required = new ArrayList<>();
+        List<ApplicationSection> sections = type.getSections() != null ? type.getSections() : List.of();
+        for (ApplicationSection section : sections) {
+            if (section.getFields() == null) {
+                continue;
+            }
+            for (ApplicationField field : section.getFields()) {
+                CompiledField compiled = compile(field);
+                // Same key twice: the first field validates the value, as it always has
+                fieldsByKey.putIfAbsent(field.getKey(), compiled);
+                if (compiled.required()) {
+                    required.add(compiled);
+                }
+            }
+        }
+        log.debug("Compiled validation plan for application type {}: {} fields", type.getId(), fieldsByKey.size());
+        return new ValidationPlan(Collections.unmodifiableMap(fieldsByKey), List.copyOf(required));
+    }
+
+    private CompiledField compile(ApplicationField field) {
+        ValidatorStrategy strategy = null;
+        if (field.getFieldType() != null) {
+            try {
+                strategy = fieldValidatorFactory.getStrategy(field.getFieldType().name());
+            } catch (RuntimeException e) {
+                log.warn("No validator for field {} of type {}", field.getKey(), field.getFieldType());
+            }
+        }
+
+        Pattern pattern = null;
+        String regex = field.getValidationRegex();
+        if (regex != null && !regex.isBlank()) {
+            try {
+                pattern = Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                log.warn("Ignoring invalid validation regex on field {}: {}", field.getKey(), e.getDescription());
+            }
+        }
+
+        Set<String> choices = null;
+        JsonNode allowed = null;
+        if (field.getFieldType() == FieldType.SELECT && field.getChoices() != null) {
+            JsonNode configured = field.getChoices();
+            allowed = configured.isArray() ? configured : configured.get(field.getKey());
+            if (allowed != null && allowed.isArray()) {
+                choices = new HashSet<>();
+                for (JsonNode choice : allowed) {
+                    choices.add(choice.asText().toLowerCase(Locale.ROOT));
+                }
+                choices = Set.copyOf(choices);
+            }
+        }
+        return new CompiledField(field, strategy, pattern, choices, allowed != null ? allowed.toString() : null);
+    }
+}
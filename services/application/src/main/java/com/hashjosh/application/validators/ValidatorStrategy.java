@@ -9,4 +9,12 @@ import java.util.List;
 public interface ValidatorStrategy{
     List<ValidationErrors> validate(ApplicationField fields, JsonNode value);
 
+    /**
+     * Validates against a field compiled by {@link ValidationPlanCache}. Strategies that can use the
+     * precomputed parts override this.
+     */
+    default List<ValidationErrors> validate(CompiledField field, JsonNode value) {
+        return validate(field.field(), value);
+    }
+
 }
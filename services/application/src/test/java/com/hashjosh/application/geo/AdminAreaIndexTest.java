@@ -0,0 +1,73 @@
+package com.hashjosh.application.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminAreaIndexTest {
+
+    private static final AdminArea PROVINCE = new AdminArea("01", "Province", AdminLevel.PROVINCE);
+    private static final AdminArea TOWN = new AdminArea("0101", "Town", AdminLevel.MUNICIPALITY);
+    private static final AdminArea ENCLAVE = new AdminArea("0102", "Enclave", AdminLevel.MUNICIPALITY);
+    private static final AdminArea ISLANDS = new AdminArea("0103", "Islands", AdminLevel.MUNICIPALITY);
+
+    @Test
+    void resolvesEveryLevelContainingThePoint() {
+        AdminAreaIndex index = AdminAreaIndex.builder()
+                .add(PROVINCE, List.of(List.of(square(0, 0, 10))))
+                .add(TOWN, List.of(List.of(square(0, 0, 5))))
+                .build();
+
+        ResolvedArea area = index.resolve(2, 2);
+
+        assertThat(area.province()).isEqualTo(PROVINCE);
+        assertThat(area.municipality()).isEqualTo(TOWN);
+        assertThat(area.barangay()).isNull();
+        assertThat(index.resolve(new GeoPoint(20, 20)).isEmpty()).isTrue();
+    }
+
+    @Test
+    void excludesHolesAndFindsTheAreaFillingThem() {
+        // The town surrounds the enclave, which sits in the town's hole
+        AdminAreaIndex index = AdminAreaIndex.builder()
+                .add(TOWN, List.of(List.of(square(0, 0, 10), square(4, 4, 2))))
+                .add(ENCLAVE, List.of(List.of(square(4, 4, 2))))
+                .build();
+
+        assertThat(index.locate(AdminLevel.MUNICIPALITY, 1, 1)).isEqualTo(TOWN);
+        assertThat(index.locate(AdminLevel.MUNICIPALITY, 5, 5)).isEqualTo(ENCLAVE);
+    }
+
+    @Test
+    void matchesAnyPartOfAMultiPolygon() {
+        AdminAreaIndex index = AdminAreaIndex.builder()
+                .add(ISLANDS, List.of(List.of(square(0, 0, 1)), List.of(square(50, 50, 1))))
+                .build();
+
+        assertThat(index.locate(AdminLevel.MUNICIPALITY, 0.5, 0.5)).isEqualTo(ISLANDS);
+        assertThat(index.locate(AdminLevel.MUNICIPALITY, 50.5, 50.5)).isEqualTo(ISLANDS);
+        assertThat(index.locate(AdminLevel.MUNICIPALITY, 25, 25)).isNull();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testsTheRingNotJustItsBoundingBox() {
+        // A right triangle: its box's far corner lies outside it
+        double[] triangle = {0, 0, 10, 0, 0, 10};
+        AdminAreaIndex index = AdminAreaIndex.builder()
+                .add(TOWN, List.of(List.of(triangle)))
+                .build();
+
+        assertThat(index.locate(AdminLevel.MUNICIPALITY, 2, 2)).isEqualTo(TOWN);
+        assertThat(index.locate(AdminLevel.MUNICIPALITY, 9, 9)).isNull();
+    }
+
+    /**
+     * A square ring as longitude and latitude pairs; the index takes latitude first when resolving.
+     */
+    private static double[] square(double x, double y, double size) {
+        return new double[]{x, y, x + size, y, x + size, y + size, x, y + size};
+    }
+}
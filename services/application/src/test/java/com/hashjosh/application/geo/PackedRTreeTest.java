@@ -0,0 +1,77 @@
+package com.hashjosh.application.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PackedRTreeTest {
+
+    @Test
+    void findsEveryBoxContainingThePointAcrossSeveralLevels() {
+        // Enough boxes for three levels at 16 entries per node
+        Random random = new Random(42);
+        int count = 2_000;
+        float[] boxes = new float[count * 4];
+        for (int i = 0; i < count; i++) {
+            float x = random.nextFloat() * 100;
+            float y = random.nextFloat() * 100;
+            boxes[i * 4] = x;
+            boxes[i * 4 + 1] = y;
+            boxes[i * 4 + 2] = x + random.nextFloat() * 5;
+            boxes[i * 4 + 3] = y + random.nextFloat() * 5;
+        }
+        PackedRTree tree = new PackedRTree(boxes);
+
+        for (int probe = 0; probe < 500; probe++) {
+            double x = random.nextDouble() * 105;
+            double y = random.nextDouble() * 105;
+            Set<Integer> found = new TreeSet<>();
+            boolean accepted = tree.search(x, y, item -> {
+                found.add(item);
+                return false;
+            });
+
+            assertThat(accepted).isFalse();
+            assertThat(found).isEqualTo(bruteForce(boxes, x, y));
+        }
+    }
+
+    @Test
+    void stopsAtTheFirstAcceptedItem() {
+        float[] boxes = {0, 0, 10, 10, 0, 0, 10, 10, 0, 0, 10, 10};
+        PackedRTree tree = new PackedRTree(boxes);
+        List<Integer> offered = new ArrayList<>();
+
+        boolean accepted = tree.search(5, 5, item -> {
+            offered.add(item);
+            return true;
+        });
+
+        assertThat(accepted).isTrue();
+        assertThat(offered).hasSize(1);
+    }
+
+    @Test
+    void pointsOnTheEdgeAreInsideAndPointsOutsideMatchNothing() {
+        PackedRTree tree = new PackedRTree(new float[]{0, 0, 1, 1});
+
+        assertThat(tree.search(1, 1, item -> true)).isTrue();
+        assertThat(tree.search(1.5, 0.5, item -> true)).isFalse();
+    }
+
+    private static Set<Integer> bruteForce(float[] boxes, double x, double y) {
+        Set<Integer> hits = new TreeSet<>();
+        for (int i = 0; i < boxes.length / 4; i++) {
+            if (x >= boxes[i * 4] && y >= boxes[i * 4 + 1] && x <= boxes[i * 4 + 2] && y <= boxes[i * 4 + 3]) {
+                hits.add(i);
+            }
+        }
+        return hits;
+    }
+}
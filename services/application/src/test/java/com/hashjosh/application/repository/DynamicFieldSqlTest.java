@@ -0,0 +1,58 @@
+package com.hashjosh.application.repository;
+
+import com.hashjosh.application.enums.FieldType;
+import com.hashjosh.application.repository.DynamicFieldSql.IndexKind;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DynamicFieldSqlTest {
+
+    @Test
+    void writesKeysAsQuotedLiterals() {
+        assertThat(DynamicFieldSql.text("a.dynamic_fields", "crop_type"))
+                .isEqualTo("(a.dynamic_fields ->> 'crop_type')");
+        assertThat(DynamicFieldSql.numeric("a.dynamic_fields", "lot_area"))
+                .isEqualTo("applications_jsonb_numeric(a.dynamic_fields -> 'lot_area')");
+        assertThat(DynamicFieldSql.folded("a.dynamic_fields", "crop_type"))
+                .isEqualTo("lower(a.dynamic_fields ->> 'crop_type')");
+    }
+
+    @Test
+    void escapesQuotesSoAKeyCannotLeaveItsLiteral() {
+        assertThat(DynamicFieldSql.text("dynamic_fields", "x') OR ('1'='1"))
+                .isEqualTo("(dynamic_fields ->> 'x'') OR (''1''=''1')");
+        assertThat(DynamicFieldSql.text("dynamic_fields", "''"))
+                .isEqualTo("(dynamic_fields ->> '''''')");
+    }
+
+    @Test
+    void indexDefinitionsUseTheSameExpressionsAsTheSearch() {
+        assertThat(IndexKind.NUMERIC.definition("lot_area"))
+                .isEqualTo("(" + DynamicFieldSql.numeric("dynamic_fields", "lot_area") + ")");
+        assertThat(IndexKind.PREFIX.definition("last_name"))
+                .isEqualTo("(" + DynamicFieldSql.text("dynamic_fields", "last_name") + " text_pattern_ops)");
+        assertThat(IndexKind.FOLDED.definition("crop_type"))
+                .isEqualTo("(" + DynamicFieldSql.folded("dynamic_fields", "crop_type") + " text_pattern_ops)");
+    }
+
+    @Test
+    void picksTheIndexKindByFieldType() {
+        assertThat(DynamicFieldSql.indexKind(FieldType.NUMBER)).isEqualTo(IndexKind.NUMERIC);
+        assertThat(DynamicFieldSql.indexKind(FieldType.DATE)).isEqualTo(IndexKind.TEXT);
+        assertThat(DynamicFieldSql.indexKind(FieldType.TEXT)).isEqualTo(IndexKind.PREFIX);
+        assertThat(DynamicFieldSql.indexKind(FieldType.SELECT)).isEqualTo(IndexKind.FOLDED);
+        assertThat(DynamicFieldSql.indexKind(FieldType.BOOLEAN)).isNull();
+    }
+
+    @Test
+    void indexNamesFitPostgresAndKeepSimilarKeysApart() {
+        String longKey = "a_very_long_dynamic_field_key_that_goes_on_and_on_and_on";
+        String name = DynamicFieldSql.indexName(IndexKind.PREFIX, longKey);
+
+        assertThat(name).hasSizeLessThanOrEqualTo(63).startsWith(DynamicFieldSql.INDEX_PREFIX).matches("[a-z0-9_]+");
+        assertThat(DynamicFieldSql.indexName(IndexKind.PREFIX, "crop-type"))
+                .isNotEqualTo(DynamicFieldSql.indexName(IndexKind.PREFIX, "crop_type"));
+        assertThat(DynamicFieldSql.indexName(IndexKind.PREFIX, "x'; DROP TABLE applications; --")).matches("[a-z0-9_]+");
+    }
+}
@@ -0,0 +1,56 @@
+package com.hashjosh.benchmarks;
+
+import com.hashjosh.jwtshareable.properties.JwtProperties;
+import com.hashjosh.jwtshareable.service.JwtService;
+import io.jsonwebtoken.Jwts;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Token fixtures shaped like the ones agriculture, farmer and pcic issue at login.
+ */
+final class BenchmarkFixtures {
+
+    /**
+     * Random 256-bit key per run, so no deployed signing key ends up in the benchmark sources.
+     */
+    static final String SECRET = Base64.getEncoder().encodeToString(Jwts.SIG.HS256.key().build().getEncoded());
+    static final long ACCESS_TOKEN_EXPIRY_MS = 14_400_000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtProperties properties(boolean claimsCache) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setAccessTokenExpirationMs(ACCESS_TOKEN_EXPIRY_MS);
+        properties.setRefreshTokenExpirationMs(86_400_000L);
+        properties.getClaimsCache().setEnabled(claimsCache);
+        return properties;
+    }
+
+    static JwtService jwtService(boolean claimsCache) {
+        return new JwtService(properties(claimsCache));
+    }
+
+    static Map<String, Object> claims(int permissionCount) {
+        List<String> permissions = new ArrayList<>(permissionCount);
+        for (int i = 0; i < permissionCount; i++) {
+            permissions.add("can-manage-resource-" + i);
+        }
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", UUID.randomUUID().toString());
+        claims.put("firstname", "Juan");
+        claims.put("lastname", "Dela Cruz");
+        claims.put("email", "juan.delacruz@example.com");
+        claims.put("phoneNumber", "+639171234567");
+        claims.put("roles", List.of("FARMER", "STAFF"));
+        claims.put("permissions", permissions);
+        return claims;
+    }
+}
@@ -0,0 +1,113 @@
+package com.hashjosh.benchmarks;
+
+import com.hashjosh.jwtshareable.revocation.RevocationDenylist;
+import com.hashjosh.jwtshareable.revocation.TokenRevocation;
+import com.hashjosh.jwtshareable.security.AuthorityPool;
+import com.hashjosh.jwtshareable.security.GatewayIdentity;
+import com.hashjosh.jwtshareable.security.GatewayIdentityCodec;
+import com.hashjosh.jwtshareable.security.JwtAuthenticationCustomizer;
+import com.hashjosh.jwtshareable.security.JwtAuthenticationFilter;
+import com.hashjosh.jwtshareable.service.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass through {@code OncePerRequestFilter.doFilter} of the shared {@link JwtAuthenticationFilter},
+ * driven with Spring's mock servlet objects. Request and response are created per call, as in a container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"4", "32"})
+    public int permissionCount;
+
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private String authorization;
+    private String gatewayIdentity;
+
+    @Setup
+    public void setUp() {
+        JwtService cached = BenchmarkFixtures.jwtService(true);
+        JwtService uncached = BenchmarkFixtures.jwtService(false);
+        GatewayIdentityCodec codec = new GatewayIdentityCodec(BenchmarkFixtures.SECRET);
+        JwtAuthenticationCustomizer customizer = new JwtAuthenticationCustomizer() { };
+
+        // The cached filter also checks a denylist holding unrelated revocations, as a busy node would
+        RevocationDenylist denylist = new RevocationDenylist(100_000, 0.001, 0);
+        long expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        for (int i = 0; i < 10_000; i++) {
+            denylist.apply(new TokenRevocation(TokenRevocation.Type.TOKEN, UUID.randomUUID().toString(), 0, expiresAt));
+        }
+
+        cachedFilter = new JwtAuthenticationFilter(cached, new AuthorityPool(false), customizer, codec, denylist);
+        uncachedFilter = new JwtAuthenticationFilter(uncached, new AuthorityPool(false), customizer, null, null);
+
+        Map<String, Object> claims = BenchmarkFixtures.claims(permissionCount);
+        String token = cached.generateAccessToken("juan", claims, BenchmarkFixtures.ACCESS_TOKEN_EXPIRY_MS);
+        authorization = "Bearer " + token;
+        gatewayIdentity = codec.encode(GatewayIdentity.fromClaims(
+                cached.getAllClaims(token), System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)), token);
+    }
+
+    @Benchmark
+    public void bearerTokenUncached(Blackhole blackhole) throws ServletException, IOException {
+        run(uncachedFilter, newRequest(), blackhole);
+    }
+
+    @Benchmark
+    public void bearerTokenCached(Blackhole blackhole) throws ServletException, IOException {
+        run(cachedFilter, newRequest(), blackhole);
+    }
+
+    @Benchmark
+    public void gatewayIdentity(Blackhole blackhole) throws ServletException, IOException {
+        MockHttpServletRequest request = newRequest();
+        request.addHeader(GatewayIdentityCodec.HEADER, gatewayIdentity);
+        run(cachedFilter, request, blackhole);
+    }
+
+    private MockHttpServletRequest newRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/applications");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        return request;
+    }
+
+    private static void run(JwtAuthenticationFilter filter, MockHttpServletRequest request, Blackhole blackhole)
+            throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        try {
+            filter.doFilter(request, response, chain);
+            blackhole.consume(response.getStatus());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
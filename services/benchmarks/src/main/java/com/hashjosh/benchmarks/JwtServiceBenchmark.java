@@ -0,0 +1,73 @@
+package com.hashjosh.benchmarks;
+
+import com.hashjosh.jwtshareable.service.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and verification cost of {@link JwtService}. The permission count grows the claims
+ * so regressions from fatter tokens show up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    @Param({"4", "32"})
+    public int permissionCount;
+
+    private JwtService cachedJwtService;
+    private JwtService uncachedJwtService;
+    private Map<String, Object> claims;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        cachedJwtService = BenchmarkFixtures.jwtService(true);
+        uncachedJwtService = BenchmarkFixtures.jwtService(false);
+        claims = BenchmarkFixtures.claims(permissionCount);
+        accessToken = cachedJwtService.generateAccessToken("juan", claims, BenchmarkFixtures.ACCESS_TOKEN_EXPIRY_MS);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return cachedJwtService.generateAccessToken("juan", claims, BenchmarkFixtures.ACCESS_TOKEN_EXPIRY_MS);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return cachedJwtService.generateRefreshToken("juan", "127.0.0.1", "benchmark", 86_400_000L);
+    }
+
+    /**
+     * Full HMAC verification and JSON parse on every call.
+     */
+    @Benchmark
+    public Claims getAllClaimsUncached() {
+        return uncachedJwtService.getAllClaims(accessToken);
+    }
+
+    /**
+     * Steady state for a token seen before on this node.
+     */
+    @Benchmark
+    public Claims getAllClaimsCached() {
+        return cachedJwtService.getAllClaims(accessToken);
+    }
+}
@@ -0,0 +1,53 @@
+package com.hashjosh.communication.config;
+
+import com.hashjosh.communication.properties.TrustedProperties;
+import com.hashjosh.jwtshareable.security.JwtAuthenticationCustomizer;
+import com.hashjosh.jwtshareable.security.JwtPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Communication service rules for the shared jwtshareable {@code JwtAuthenticationFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthenticationCustomizer implements JwtAuthenticationCustomizer {
+
+    private final TrustedProperties trustedProperties;
+
+    @Override
+    public Collection<String> publicEndpoints() {
+        // WebSocket handshakes authenticate through the STOMP channel instead
+        return List.of("/ws", "/ws/**", "/**/ws/**");
+    }
+
+    @Override
+    public boolean isTrustedService(String serviceId) {
+        List<String> ids = trustedProperties.getInternalServiceIds();
+        return ids != null && ids.contains(serviceId);
+    }
+
+    @Override
+    public Object internalServicePrincipal(String serviceId, String userId, Set<SimpleGrantedAuthority> authorities) {
+        return new CustomUserDetails(
+                null, userId, serviceId,
+                null, null, null, null,
+                authorities
+        );
+    }
+
+    @Override
+    public Object userPrincipal(JwtPrincipal principal) {
+        return new CustomUserDetails(
+                principal.getToken(), principal.getUserId(), principal.getUsername(),
+                principal.getFirstname(), principal.getLastname(),
+                principal.getEmail(), principal.getPhoneNumber(),
+                principal.getAuthorities()
+        );
+    }
+}
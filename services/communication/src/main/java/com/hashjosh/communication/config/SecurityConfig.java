@@ -1,5 +1,6 @@
 package com.hashjosh.communication.config;
 
+import com.hashjosh.jwtshareable.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
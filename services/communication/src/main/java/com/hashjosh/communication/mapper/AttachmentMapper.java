@@ -1,26 +1,43 @@
 package com.hashjosh.communication.mapper;
 
 
-import com.hashjosh.communication.client.DocumentClient;
 import com.hashjosh.communication.entity.Attachment;
 import com.hashjosh.communication.entity.Message;
 import com.hashjosh.constant.communication.AttachmentResponseDto;
 import com.hashjosh.constant.document.dto.DocumentResponse;
-import com.hashjosh.kafkacommon.communication.AttachmentResponse;
+import com.hashjosh.documentclient.PresignedUrlClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class AttachmentMapper {
-    private final DocumentClient documentClient;
+
+    static final int PREVIEW_URL_EXPIRY_MINUTES = 30 * 60;
+
+    private final PresignedUrlClient presignedUrlClient;
+
     public AttachmentResponseDto toAttachmentResponseDto(Attachment attachment) {
-        return AttachmentResponseDto.builder()
-                .documentId(attachment.getDocumentId())
-                .url(documentClient.getDocumentPreviewUrl(attachment.getDocumentId()))
-                .build();
+        return toAttachmentResponseDto(attachment,
+                presignedUrlClient.url(attachment.getDocumentId(), PREVIEW_URL_EXPIRY_MINUTES));
+    }
+
+    public AttachmentResponseDto toAttachmentResponseDto(Attachment attachment, Map<UUID, String> previewUrls) {
+        return toAttachmentResponseDto(attachment, previewUrls.get(attachment.getDocumentId()));
+    }
+
+    /**
+     * Signs the preview URLs of all attachments with one call to the document service.
+     */
+    public Map<UUID, String> previewUrls(Collection<Attachment> attachments) {
+        return presignedUrlClient.urls(
+                attachments.stream().map(Attachment::getDocumentId).toList(), PREVIEW_URL_EXPIRY_MINUTES);
     }
 
     public Attachment toAttachmentEntity(DocumentResponse documentResponse, Message message) {
@@ -29,4 +46,11 @@ public class AttachmentMapper {
                 .documentId(documentResponse.getDocumentId())
                 .build();
     }
+
+    private static AttachmentResponseDto toAttachmentResponseDto(Attachment attachment, String url) {
+        return AttachmentResponseDto.builder()
+                .documentId(attachment.getDocumentId())
+                .url(url)
+                .build();
+    }
 }
@@ -9,7 +9,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
@@ -20,8 +23,24 @@ public class MessageMapper {
     private final AttachmentMapper attachmentMapper;
 
     public MessageResponseDto toMessageResponseDto(Message message) {
+        return toMessageResponseDto(message, attachmentMapper.previewUrls(message.getAttachments()));
+    }
+
+    /**
+     * Signs the attachment URLs of every message with one call to the document service.
+     */
+    public List<MessageResponseDto> toMessageResponseDtos(List<Message> messages) {
+        Map<UUID, String> previewUrls = attachmentMapper.previewUrls(messages.stream()
+                .flatMap(message -> message.getAttachments().stream())
+                .toList());
+        return messages.stream()
+                .map(message -> toMessageResponseDto(message, previewUrls))
+                .toList();
+    }
+
+    private MessageResponseDto toMessageResponseDto(Message message, Map<UUID, String> previewUrls) {
         Set<AttachmentResponseDto> attachmentResponse = message.getAttachments().stream()
-                .map(attachmentMapper::toAttachmentResponseDto )
+                .map(attachment -> attachmentMapper.toAttachmentResponseDto(attachment, previewUrls))
                 .collect(Collectors.toSet());
 
         return MessageResponseDto .builder()
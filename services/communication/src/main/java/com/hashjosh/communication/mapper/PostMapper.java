@@ -1,25 +1,43 @@
 package com.hashjosh.communication.mapper;
 
 import com.hashjosh.communication.client.AgricultureClient;
-import com.hashjosh.communication.client.DocumentClient;
 import com.hashjosh.communication.dto.PostPageResponse;
 import com.hashjosh.communication.dto.PostResponse;
 import com.hashjosh.communication.entity.Post;
+import com.hashjosh.documentclient.PresignedUrlClient;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class PostMapper {
 
-    private final DocumentClient documentClient;
+    private final PresignedUrlClient presignedUrlClient;
     private final AgricultureClient agricultureClient;
     public PostResponse toPostResponse(Post post) {
+        return toPostResponse(post, previewUrls(List.of(post)));
+    }
+
+    /**
+     * Signs the document URLs of every post with one call to the document service.
+     */
+    public List<PostResponse> toPostResponses(List<Post> posts) {
+        Map<UUID, String> previewUrls = previewUrls(posts);
+        return posts.stream()
+                .map(post -> toPostResponse(post, previewUrls))
+                .toList();
+    }
+
+    private PostResponse toPostResponse(Post post, Map<UUID, String> previewUrls) {
 
         List<String> urls = post.getDocumentIds().stream()
-                .map(documentClient::getDocumentPreviewUrl)
+                .map(previewUrls::get)
+                .filter(Objects::nonNull)
                 .toList();
 
         return PostResponse.builder()
@@ -38,4 +56,10 @@ public class PostMapper {
                 .posts(posts)
                 .build();
     }
+
+    private Map<UUID, String> previewUrls(List<Post> posts) {
+        return presignedUrlClient.urls(posts.stream()
+                .flatMap(post -> post.getDocumentIds().stream())
+                .toList(), AttachmentMapper.PREVIEW_URL_EXPIRY_MINUTES);
+    }
 }
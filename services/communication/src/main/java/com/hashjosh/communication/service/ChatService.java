@@ -1,6 +1,5 @@
 package com.hashjosh.communication.service;
 
-import com.hashjosh.communication.client.DocumentClient;
 import com.hashjosh.communication.config.CustomUserDetails;
 import com.hashjosh.communication.entity.Attachment;
 import com.hashjosh.communication.entity.Message;
@@ -14,13 +13,14 @@ import com.hashjosh.constant.communication.MessageRequestDto;
 import com.hashjosh.constant.communication.MessageResponseDto;
 import com.hashjosh.constant.communication.enums.ConversationType;
 import com.hashjosh.constant.document.dto.DocumentResponse;
+import com.hashjosh.documentclient.DocumentUploadClient;
 import com.hashjosh.kafkacommon.communication.AttachmentResponse;
 import com.hashjosh.kafkacommon.communication.NewMessageEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.*;
@@ -33,20 +33,21 @@ public class ChatService {
     private final MessageMapper messageMapper;
     private final AttachmentMapper attachmentMapper;
     private final CommunicationPublisher publisher;
-    private final DocumentClient documentClient;
+    private final DocumentUploadClient documentUploadClient;
     private final AttachmentRepository attachmentRepository;
+    private final TransactionTemplate transactionTemplate;
 
 
     public List<MessageResponseDto> getAllMessagesWithAgricultureStaff(UUID farmerId) {
         List<Message> messages = messageRepository.findMessagesByFarmerIdAndConversationType(farmerId);
 
-        return messages.stream()
-                .map(messageMapper::toMessageResponseDto)
-                .toList();
+        return messageMapper.toMessageResponseDtos(messages);
     }
 
 
-    @Transactional
+    /**
+     * Attachments are uploaded before the message transaction starts, and deleted again if it fails.
+     */
     public MessageResponseDto createMessage(MessageRequestDto messageRequestDto, List<MultipartFile> attachments) {
 
         CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder.getContext()
@@ -54,6 +55,11 @@ public class ChatService {
 
         messageRequestDto.setSenderId(UUID.fromString(userDetails.getUserId()));
 
+        return documentUploadClient.uploadAndThen(attachments, userDetails.getUserId(), uploaded ->
+                transactionTemplate.execute(status -> storeMessage(messageRequestDto, uploaded)));
+    }
+
+    private MessageResponseDto storeMessage(MessageRequestDto messageRequestDto, List<DocumentResponse> uploaded) {
         // Save message
         Message message =  messageRepository.save(
                 messageMapper.toMessageEntity(messageRequestDto)
@@ -61,12 +67,9 @@ public class ChatService {
 
         // Persist attachments and associate with message
         Set<AttachmentResponseDto> attachmentResponses = new HashSet<>();
-        if(attachments != null && !attachments.isEmpty()) {
+        if (!uploaded.isEmpty()) {
             List<Attachment> persistedAttachments = new ArrayList<>();
-            for (MultipartFile file : attachments) {
-                DocumentResponse documentResponse = documentClient
-                        .uploadDocument(file,userDetails.getUserId());
-
+            for (DocumentResponse documentResponse : uploaded) {
                 Attachment attachment = attachmentMapper.toAttachmentEntity(
                         documentResponse,
                         message
@@ -1,6 +1,5 @@
 package com.hashjosh.communication.service;
 
-import com.hashjosh.communication.client.DocumentClient;
 import com.hashjosh.communication.config.CustomUserDetails;
 import com.hashjosh.communication.dto.PostPageResponse;
 import com.hashjosh.communication.dto.PostResponse;
@@ -8,6 +7,7 @@ import com.hashjosh.communication.entity.Post;
 import com.hashjosh.communication.mapper.PostMapper;
 import com.hashjosh.communication.repository.PostRepository;
 import com.hashjosh.constant.document.dto.DocumentResponse;
+import com.hashjosh.documentclient.DocumentUploadClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -18,7 +18,6 @@ import org.springframework.web.multipart.MultipartFile;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,7 +26,7 @@ public class PostService {
 
     private final PostRepository postRepository;
     private final PostMapper postMapper;
-    private final DocumentClient documentClient;
+    private final DocumentUploadClient documentUploadClient;
 
     public PostResponse createPost(String content, List<MultipartFile> files) {
         Post post = new Post();
@@ -40,17 +39,16 @@ public class PostService {
 
         post.setAuthorId(UUID.fromString(userDetails.getUserId()));
 
-        List<UUID> documentIds = new ArrayList<>();
-        if (files != null) {
-            for(MultipartFile file : files){
-                log.info("Received file: {}", file.getOriginalFilename());
-                DocumentResponse response = documentClient.uploadDocument(file,userDetails.getUserId());
+        // Uploaded documents are deleted again if the post cannot be saved
+        return documentUploadClient.uploadAndThen(files, userDetails.getUserId(), uploaded -> {
+            List<UUID> documentIds = new ArrayList<>(uploaded.size());
+            for (DocumentResponse response : uploaded) {
                 log.info("Uploaded document ID: {}", response.getDocumentId());
                 documentIds.add(response.getDocumentId());
             }
-        }
-        post.setDocumentIds(documentIds);
-        return postMapper.toPostResponse(postRepository.save(post));
+            post.setDocumentIds(documentIds);
+            return postMapper.toPostResponse(postRepository.save(post));
+        });
     }
 
     public PostResponse getPostById(UUID id) {
@@ -60,9 +58,7 @@ public class PostService {
     }
 
     public PostPageResponse getAllPosts(PageRequest pageRequest) {
-        List<PostResponse> posts = postRepository.findByOrderByIdDesc(pageRequest).stream()
-                .map(postMapper::toPostResponse)
-                .toList();
+        List<PostResponse> posts = postMapper.toPostResponses(postRepository.findByOrderByIdDesc(pageRequest));
         return postMapper.toPostPageResponse(posts);
     }
 
@@ -74,12 +70,10 @@ public class PostService {
         postRepository.deleteById(id);
     }
     public PostPageResponse findByCursor(UUID cursor, PageRequest page) {
-        List<PostResponse> posts = postRepository.findByCreatedAtBeforeOrderByCreatedAtDesc(
+        List<PostResponse> posts = postMapper.toPostResponses(postRepository.findByCreatedAtBeforeOrderByCreatedAtDesc(
                         postRepository.findById(cursor).map(Post::getCreatedAt).orElseThrow(),
                         page
-                ).stream()
-                .map(postMapper::toPostResponse)
-                .toList();
+                ));
 
         return PostPageResponse.builder()
                 .posts(posts)
@@ -87,8 +81,6 @@ public class PostService {
     }
 
     public List<PostResponse> getPostsByAuthor(UUID authorId) {
-        return postRepository.findByAuthorId(authorId).stream()
-                .map(postMapper::toPostResponse)
-                .collect(Collectors.toList());
+        return postMapper.toPostResponses(postRepository.findByAuthorId(authorId));
     }
 }
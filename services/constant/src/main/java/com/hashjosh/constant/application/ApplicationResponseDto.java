@@ -21,6 +21,8 @@ public class ApplicationResponseDto{
     List<String> fileUploads;
     @JsonProperty("dynamicFields")
     JsonNode jsonDynamicFields;
+    /** Province, municipality and barangay of the submitted location; null when none was resolved. */
+    JsonNode adminAreas;
     LocalDateTime  submittedAt;
     LocalDateTime updatedAt;
     Long version;
@@ -0,0 +1,10 @@
+package com.hashjosh.constant.document.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record PresignBatchRequest(
+        List<UUID> documentIds,
+        Integer expiryMinutes
+) {
+}
@@ -0,0 +1,11 @@
+package com.hashjosh.constant.document.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record PresignedUrl(
+        UUID documentId,
+        String url,
+        Instant expiresAt
+) {
+}
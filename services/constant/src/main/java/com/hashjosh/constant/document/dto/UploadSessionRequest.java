@@ -0,0 +1,8 @@
+package com.hashjosh.constant.document.dto;
+
+public record UploadSessionRequest(
+        String fileName,
+        String contentType,
+        Long fileSize
+) {
+}
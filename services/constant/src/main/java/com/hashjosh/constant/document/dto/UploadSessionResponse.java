@@ -0,0 +1,25 @@
+package com.hashjosh.constant.document.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * State of a resumable upload. Chunks are numbered from 1 to {@code chunkCount}; every chunk is
+ * {@code chunkSize} bytes except possibly the last. {@code documentId} is set once the upload was finalized.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UploadSessionResponse(
+        UUID sessionId,
+        String fileName,
+        String contentType,
+        long fileSize,
+        long chunkSize,
+        int chunkCount,
+        List<Integer> receivedChunks,
+        LocalDateTime expiresAt,
+        UUID documentId
+) {
+}
@@ -0,0 +1,179 @@
+package com.hashjosh.documentclient;
+
+import com.hashjosh.constant.document.dto.DocumentResponse;
+import com.hashjosh.jwtshareable.security.JwtAuthenticationFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Uploads files to the document service on behalf of a user.
+ * <p>
+ * Each part is sent from {@link MultipartFile#getResource()}, so the body is streamed from wherever the
+ * container spooled the incoming part instead of being copied onto the heap first. The files of one call
+ * are uploaded concurrently on virtual threads, at most {@code maxConcurrentUploads} at a time.
+ * <p>
+ * Uploads are meant to run before the caller opens its transaction, see
+ * {@link #uploadAndThen(List, String, Function)}: no database connection is held while bytes move, and
+ * documents whose owning rows never got written are deleted again.
+ */
+@Slf4j
+public class DocumentUploadClient implements AutoCloseable {
+
+    private final RestClient restClient;
+    private final String serviceName;
+    private final int maxConcurrentUploads;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DocumentUploadClient(RestClient restClient, String serviceName, int maxConcurrentUploads) {
+        this.restClient = restClient;
+        this.serviceName = serviceName;
+        this.maxConcurrentUploads = Math.max(1, maxConcurrentUploads);
+    }
+
+    /**
+     * Uploads the files, then hands their documents to {@code then}, typically the caller's transactional
+     * write. If {@code then} throws, the uploaded documents are deleted before the exception is rethrown.
+     */
+    public <T> T uploadAndThen(List<MultipartFile> files, String userId, Function<List<DocumentResponse>, T> then) {
+        List<DocumentResponse> uploaded = uploadAll(files, userId);
+        try {
+            return then.apply(uploaded);
+        } catch (RuntimeException | Error e) {
+            discard(uploaded, userId);
+            throw e;
+        }
+    }
+
+    /**
+     * Uploads every file and returns the documents in the order of {@code files}. When any upload fails,
+     * the ones that succeeded are deleted and the first failure is thrown.
+     */
+    public List<DocumentResponse> uploadAll(List<MultipartFile> files, String userId) {
+        if (files == null || files.isEmpty()) {
+            return List.of();
+        }
+        if (files.size() == 1) {
+            return List.of(upload(files.get(0), userId));
+        }
+
+        Semaphore permits = new Semaphore(maxConcurrentUploads);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<DocumentResponse>> futures = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            futures.add(executor.submit(() -> {
+                permits.acquire();
+                try {
+                    // Files still waiting for a permit are not sent once another one failed
+                    return failed.get() ? null : upload(file, userId);
+                } catch (RuntimeException e) {
+                    failed.set(true);
+                    throw e;
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        // Wait for every upload to settle, so nothing finishes after the compensation below ran
+        List<DocumentResponse> uploaded = new ArrayList<>(files.size());
+        RuntimeException failure = null;
+        boolean interrupted = false;
+        for (Future<DocumentResponse> future : futures) {
+            while (true) {
+                try {
+                    DocumentResponse response = future.get();
+                    if (response != null) {
+                        uploaded.add(response);
+                    }
+                    break;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException runtime
+                                ? runtime
+                                : new DocumentUploadException("Failed to upload document", e.getCause());
+                    }
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            discard(uploaded, userId);
+            throw failure;
+        }
+        return uploaded;
+    }
+
+    public DocumentResponse upload(MultipartFile file, String userId) {
+        MultipartBodyBuilder builder = new MultipartBodyBuilder();
+        builder.part("file", file.getResource())
+                .header("Content-Type", file.getContentType() != null
+                        ? file.getContentType()
+                        : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        try {
+            return restClient.post()
+                    .contentType(MediaType.MULTIPART_FORM_DATA)
+                    .body(builder.build())
+                    .header(JwtAuthenticationFilter.INTERNAL_SERVICE_HEADER, serviceName)
+                    .header(JwtAuthenticationFilter.USER_ID_HEADER, userId)
+                    .retrieve()
+                    .onStatus(
+                            status -> status.is4xxClientError() || status.is5xxServerError(),
+                            (request, response) -> {
+                                throw new DocumentUploadException("Failed to upload document: "
+                                        + file.getOriginalFilename() + ". Status: " + response.getStatusCode());
+                            }
+                    )
+                    .body(DocumentResponse.class);
+        } catch (RestClientException e) {
+            log.error("Error uploading document: {}", file.getOriginalFilename(), e);
+            throw new DocumentUploadException("Failed to upload document: " + file.getOriginalFilename(), e);
+        }
+    }
+
+    /**
+     * Best-effort delete of documents that no longer have an owner. Failures are logged, not thrown, so
+     * the error that triggered the compensation is the one the caller sees.
+     */
+    public void discard(Collection<DocumentResponse> documents, String userId) {
+        for (DocumentResponse document : documents) {
+            UUID documentId = document.getDocumentId();
+            try {
+                restClient.delete()
+                        .uri("/{documentId}", documentId)
+                        .header(JwtAuthenticationFilter.INTERNAL_SERVICE_HEADER, serviceName)
+                        .header(JwtAuthenticationFilter.USER_ID_HEADER, userId)
+                        .retrieve()
+                        .toBodilessEntity();
+                log.debug("Discarded orphaned document {}", documentId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to discard orphaned document {}: {}", documentId, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
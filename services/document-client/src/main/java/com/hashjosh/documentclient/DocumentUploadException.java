@@ -0,0 +1,12 @@
+package com.hashjosh.documentclient;
+
+public class DocumentUploadException extends RuntimeException {
+
+    public DocumentUploadException(String message) {
+        super(message);
+    }
+
+    public DocumentUploadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
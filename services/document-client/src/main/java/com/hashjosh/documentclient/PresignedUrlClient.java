@@ -0,0 +1,186 @@
+package com.hashjosh.documentclient;
+
+import com.hashjosh.constant.document.dto.PresignBatchRequest;
+import com.hashjosh.constant.document.dto.PresignedUrl;
+import com.hashjosh.jwtshareable.security.JwtAuthenticationFilter;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Resolves presigned GET URLs through the document service's batch endpoint.
+ * <p>
+ * A URL is reused until {@code refreshMargin} before it expires. Ids that are neither cached nor already
+ * being fetched are resolved with one batch call per {@link #urls} call; an id another thread is already
+ * fetching is waited for instead of requested twice.
+ */
+public class PresignedUrlClient {
+
+    private static final int MAX_BATCH = 500;
+    private static final ParameterizedTypeReference<List<PresignedUrl>> RESPONSE_TYPE = new ParameterizedTypeReference<>() { };
+
+    private final RestClient restClient;
+    private final String serviceName;
+    private final long refreshMarginMs;
+    private final int maxEntries;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Key, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+    public PresignedUrlClient(RestClient restClient, String serviceName, long refreshMarginMs, int maxEntries) {
+        this.restClient = restClient;
+        this.serviceName = serviceName;
+        this.refreshMarginMs = refreshMarginMs;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the URL of one document, or null when the document does not exist.
+     */
+    public String url(UUID documentId, int expiryMinutes) {
+        return urls(List.of(documentId), expiryMinutes).get(documentId);
+    }
+
+    /**
+     * Returns the URLs of the given documents by id. Documents that do not exist are missing from the map.
+     */
+    public Map<UUID, String> urls(Collection<UUID> documentIds, int expiryMinutes) {
+        Map<UUID, String> urls = new HashMap<>();
+        Map<UUID, CompletableFuture<Entry>> owned = new HashMap<>();
+        Map<UUID, CompletableFuture<Entry>> joined = new HashMap<>();
+
+        long now = System.currentTimeMillis();
+        for (UUID documentId : new LinkedHashSet<>(documentIds)) {
+            if (documentId == null) {
+                continue;
+            }
+            Key key = new Key(documentId, expiryMinutes);
+            Entry entry = entries.get(key);
+            if (entry != null && entry.reuseUntil > now) {
+                urls.put(documentId, entry.url);
+                continue;
+            }
+            CompletableFuture<Entry> pending = new CompletableFuture<>();
+            CompletableFuture<Entry> existing = inFlight.putIfAbsent(key, pending);
+            if (existing != null) {
+                joined.put(documentId, existing);
+            } else {
+                owned.put(documentId, pending);
+            }
+        }
+
+        if (!owned.isEmpty()) {
+            fetch(owned, expiryMinutes);
+        }
+        collect(owned, urls);
+        collect(joined, urls);
+        return urls;
+    }
+
+    private void fetch(Map<UUID, CompletableFuture<Entry>> owned, int expiryMinutes) {
+        List<UUID> ids = new ArrayList<>(owned.keySet());
+        try {
+            for (int from = 0; from < ids.size(); from += MAX_BATCH) {
+                List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_BATCH));
+                List<PresignedUrl> signed = restClient.post()
+                        .uri("/presign:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(JwtAuthenticationFilter.INTERNAL_SERVICE_HEADER, serviceName)
+                        .body(new PresignBatchRequest(chunk, expiryMinutes))
+                        .retrieve()
+                        .body(RESPONSE_TYPE);
+
+                Map<UUID, PresignedUrl> byId = new HashMap<>();
+                if (signed != null) {
+                    signed.forEach(url -> byId.put(url.documentId(), url));
+                }
+                long now = System.currentTimeMillis();
+                for (UUID documentId : chunk) {
+                    Key key = new Key(documentId, expiryMinutes);
+                    PresignedUrl url = byId.get(documentId);
+                    Entry entry = null;
+                    if (url != null) {
+                        entry = new Entry(url.url(), reuseUntil(now, url.expiresAt().toEpochMilli()));
+                        entries.put(key, entry);
+                    }
+                    inFlight.remove(key);
+                    owned.get(documentId).complete(entry);
+                }
+            }
+        } catch (RuntimeException e) {
+            owned.forEach((documentId, pending) -> {
+                if (pending.completeExceptionally(e)) {
+                    inFlight.remove(new Key(documentId, expiryMinutes), pending);
+                }
+            });
+            throw e;
+        } finally {
+            if (entries.size() > maxEntries) {
+                evict();
+            }
+        }
+    }
+
+    /**
+     * Short-lived URLs would never be reused with a fixed margin, so the margin is capped at half the
+     * URL's lifetime.
+     */
+    private long reuseUntil(long now, long expiresAt) {
+        long lifetime = expiresAt - now;
+        return expiresAt - Math.min(refreshMarginMs, lifetime / 2);
+    }
+
+    private static void collect(Map<UUID, CompletableFuture<Entry>> pending, Map<UUID, String> urls) {
+        pending.forEach((documentId, future) -> {
+            Entry entry;
+            try {
+                entry = future.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            if (entry != null) {
+                urls.put(documentId, entry.url);
+            }
+        });
+    }
+
+    /**
+     * Drops entries that are due for a refresh; if that is not enough, drops an arbitrary slice of the rest.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.reuseUntil <= now);
+            int target = maxEntries - Math.max(1, maxEntries / 16);
+            Iterator<Key> it = entries.keySet().iterator();
+            while (entries.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private record Key(UUID documentId, int expiryMinutes) {
+    }
+
+    private record Entry(String url, long reuseUntil) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.hashjosh.documentclient.config;
+
+import com.hashjosh.documentclient.DocumentUploadClient;
+import com.hashjosh.documentclient.PresignedUrlClient;
+import com.hashjosh.documentclient.properties.DocumentClientProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+
+/**
+ * Registers the shared {@link DocumentUploadClient} and {@link PresignedUrlClient} in services that set
+ * {@code document-client.base-url}.
+ */
+@AutoConfiguration
+@ConditionalOnClass(name = {
+        "org.springframework.web.client.RestClient",
+        "org.springframework.web.multipart.MultipartFile",
+        "com.hashjosh.constant.document.dto.DocumentResponse"
+})
+@ConditionalOnProperty(prefix = "document-client", name = "base-url")
+@EnableConfigurationProperties(DocumentClientProperties.class)
+public class DocumentClientAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public DocumentUploadClient documentUploadClient(DocumentClientProperties properties,
+                                                     ObjectProvider<RestClient.Builder> builder,
+                                                     Environment environment) {
+        return new DocumentUploadClient(restClient(properties, builder), serviceName(environment),
+                properties.getMaxConcurrentUploads());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PresignedUrlClient presignedUrlClient(DocumentClientProperties properties,
+                                                 ObjectProvider<RestClient.Builder> builder,
+                                                 Environment environment) {
+        return new PresignedUrlClient(restClient(properties, builder), serviceName(environment),
+                properties.getPresignRefreshMargin().toMillis(), properties.getPresignCacheSize());
+    }
+
+    /**
+     * Uses its own JDK HTTP client: it streams request bodies and has no per-route connection cap, which
+     * would otherwise serialize the concurrent uploads again.
+     */
+    private static RestClient restClient(DocumentClientProperties properties, ObjectProvider<RestClient.Builder> builder) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+
+        return builder.getIfAvailable(RestClient::builder).clone()
+                .baseUrl(properties.getBaseUrl())
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    private static String serviceName(Environment environment) {
+        return environment.getProperty("spring.application.name", "app");
+    }
+}
@@ -0,0 +1,26 @@
+package com.hashjosh.documentclient.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "document-client")
+@Data
+public class DocumentClientProperties {
+    /**
+     * Documents endpoint of the document service; the client is only registered when this is set.
+     */
+    private String baseUrl;
+    /**
+     * Uploads in flight at once for a single call, so one large submission cannot take every connection.
+     */
+    private int maxConcurrentUploads = 4;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(60);
+    /**
+     * A cached presigned URL is fetched again this long before it expires.
+     */
+    private Duration presignRefreshMargin = Duration.ofMinutes(2);
+    private int presignCacheSize = 10_000;
+}
@@ -0,0 +1,45 @@
+package com.hashjosh.document.config;
+
+import com.hashjosh.jwtshareable.security.JwtAuthenticationCustomizer;
+import com.hashjosh.jwtshareable.security.JwtPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Document service rules for the shared jwtshareable {@code JwtAuthenticationFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthenticationCustomizer implements JwtAuthenticationCustomizer {
+
+    private final TrustedConfig trustedConfig;
+
+    @Override
+    public boolean isTrustedService(String serviceId) {
+        List<String> ids = trustedConfig.getInternalServiceIds();
+        return ids != null && ids.contains(serviceId);
+    }
+
+    @Override
+    public Object internalServicePrincipal(String serviceId, String userId, Set<SimpleGrantedAuthority> authorities) {
+        return new CustomUserDetails(
+                null, userId, serviceId,
+                null, null, null, null,
+                authorities
+        );
+    }
+
+    @Override
+    public Object userPrincipal(JwtPrincipal principal) {
+        return new CustomUserDetails(
+                principal.getToken(), principal.getUserId(), principal.getUsername(),
+                principal.getFirstname(), principal.getLastname(),
+                principal.getPhoneNumber(), principal.getEmail(),
+                principal.getAuthorities()
+        );
+    }
+}
@@ -2,8 +2,10 @@ package com.hashjosh.document.config;
 
 import com.hashjosh.document.exception.ApiException;
 import com.hashjosh.document.properties.MinioProperties;
+import com.hashjosh.document.storage.MultipartStorage;
 import io.minio.BucketExistsArgs;
 import io.minio.MakeBucketArgs;
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,22 +23,22 @@ import java.time.Duration;
 @RequiredArgsConstructor
 public class MinioConfiguration {
 
+    // Configure HTTP client with timeouts; shared by both clients so they share one connection pool
+    private static final OkHttpClient HTTP_CLIENT = new OkHttpClient().newBuilder()
+            .connectTimeout(Duration.ofSeconds(30))
+            .writeTimeout(Duration.ofSeconds(30))
+            .readTimeout(Duration.ofSeconds(30))
+            .build();
+
     private final MinioProperties minioProperties;
 
     @Bean
     public MinioClient minioClient() {
         try {
-            // Configure HTTP client with timeouts
-            OkHttpClient httpClient = new OkHttpClient().newBuilder()
-                    .connectTimeout(Duration.ofSeconds(30))
-                    .writeTimeout(Duration.ofSeconds(30))
-                    .readTimeout(Duration.ofSeconds(30))
-                    .build();
-
             return MinioClient.builder()
                     .endpoint(minioProperties.urlInternal())
                     .credentials(minioProperties.accessKey(), minioProperties.secretKey())
-                    .httpClient(httpClient)
+                    .httpClient(HTTP_CLIENT)
                     .build();
         } catch (Exception e) {
             log.error("Error creating MinIO client: {}", e.getMessage(), e);
@@ -44,6 +46,16 @@ public class MinioConfiguration {
         }
     }
 
+    @Bean
+    public MultipartStorage multipartStorage() {
+        MinioAsyncClient client = MinioAsyncClient.builder()
+                .endpoint(minioProperties.urlInternal())
+                .credentials(minioProperties.accessKey(), minioProperties.secretKey())
+                .httpClient(HTTP_CLIENT)
+                .build();
+        return new MultipartStorage(client, HTTP_CLIENT, minioProperties.bucket());
+    }
+
     @EventListener(ApplicationReadyEvent.class)
     public void initBucket() {
         try {
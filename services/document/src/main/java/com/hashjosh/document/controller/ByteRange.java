@@ -0,0 +1,78 @@
+package com.hashjosh.document.controller;
+
+import com.hashjosh.document.service.DocumentObject;
+import org.springframework.http.HttpRange;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * The bytes of a document a download sends, from the request's {@code Range} and {@code If-Range}.
+ * <p>
+ * One range is served as a 206. A Range header that does not parse or asks for several ranges is ignored
+ * and the whole document is sent, as RFC 9110 allows; so is one whose {@code If-Range} no longer matches
+ * the stored object, since the client's partial copy is of an older version.
+ *
+ * @param length -1 when the range starts past the end of the document
+ */
+record ByteRange(long start, long length, boolean partial) {
+
+    static ByteRange of(String range, String ifRange, DocumentObject object) {
+        long size = object.size();
+        ByteRange whole = new ByteRange(0, size, false);
+        if (range == null || size == 0 || (ifRange != null && !ifRangeMatches(ifRange, object))) {
+            return whole;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return whole;
+        }
+        if (ranges.size() != 1) {
+            return whole;
+        }
+        try {
+            long start = ranges.get(0).getRangeStart(size);
+            long end = ranges.get(0).getRangeEnd(size);
+            // HttpRange clamps the end to the document but lets the start run past it
+            if (start >= size || end < start) {
+                return new ByteRange(0, -1, false);
+            }
+            return new ByteRange(start, end - start + 1, true);
+        } catch (IllegalArgumentException e) {
+            return new ByteRange(0, -1, false);
+        }
+    }
+
+    boolean satisfiable() {
+        return length >= 0;
+    }
+
+    long end() {
+        return start + length - 1;
+    }
+
+    /**
+     * An entity tag must match strongly; a date must equal the object's last modification to the second.
+     */
+    private static boolean ifRangeMatches(String ifRange, DocumentObject object) {
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            return value.equals(object.etag());
+        }
+        if (object.lastModified() == null) {
+            return false;
+        }
+        try {
+            Instant date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return date.equals(object.lastModified().truncatedTo(ChronoUnit.SECONDS));
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
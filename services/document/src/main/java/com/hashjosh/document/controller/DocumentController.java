@@ -1,20 +1,36 @@
 package com.hashjosh.document.controller;
 
 import com.hashjosh.constant.document.dto.DocumentResponse;
+import com.hashjosh.constant.document.dto.PresignBatchRequest;
+import com.hashjosh.constant.document.dto.PresignedUrl;
+import com.hashjosh.document.properties.ThumbnailProperties;
+import com.hashjosh.document.service.DocumentObject;
 import com.hashjosh.document.service.DocumentService;
+import com.hashjosh.document.service.ThumbnailService;
 import io.minio.http.Method;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tomcat.util.http.fileupload.FileUploadException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,6 +41,8 @@ import java.util.UUID;
 public class DocumentController {
 
     private final DocumentService documentService;
+    private final ThumbnailService thumbnailService;
+    private final ThumbnailProperties thumbnailProperties;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "Upload a document")
@@ -84,18 +102,99 @@ public class DocumentController {
     }
 
 
-    @GetMapping("/{documentId}/download")
-    public ResponseEntity<byte[]> downloadDocument(
-            @PathVariable UUID documentId) {
-        var document = documentService.download(documentId);
+    @PostMapping(value = "/presign:batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Generate presigned download URLs for many documents")
+    public ResponseEntity<List<PresignedUrl>> presignBatch(@RequestBody PresignBatchRequest request) {
+        return ResponseEntity.ok(documentService.presignBatch(request));
+    }
+
+    /**
+     * Streams the document from storage to the client. A {@code Range} request gets only those bytes, so an
+     * interrupted download can resume; HEAD returns the headers alone.
+     */
+    @RequestMapping(value = "/{documentId}/download", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void downloadDocument(
+            @PathVariable UUID documentId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        DocumentObject object = documentService.describe(documentId);
+        long lastModified = object.lastModified() != null ? object.lastModified().toEpochMilli() : -1;
+        if (new ServletWebRequest(request, response).checkNotModified(object.etag(), lastModified)) {
+            return;
+        }
+
+        ByteRange range = ByteRange.of(request.getHeader(HttpHeaders.RANGE), request.getHeader(HttpHeaders.IF_RANGE), object);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, object.etag());
+        if (lastModified >= 0) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        }
+        if (!range.satisfiable()) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + object.size());
+            return;
+        }
+
+        response.setContentType(object.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(object.fileName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        response.setContentLengthLong(range.length());
+        if (range.partial()) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + range.start() + "-" + range.end() + "/" + object.size());
+        }
+        if (HttpMethod.HEAD.matches(request.getMethod()) || range.length() == 0) {
+            return;
+        }
+
+        try (InputStream in = documentService.open(object, range.start(), range.length())) {
+            in.transferTo(response.getOutputStream());
+        } catch (IOException | RuntimeException e) {
+            if (!response.isCommitted()) {
+                // Drop the download headers so the error goes out as a plain error response
+                response.reset();
+                throw e;
+            }
+            // Mostly clients that went away; they resume with a Range request
+            log.debug("Download of document {} stopped: {}", documentId, e.getMessage());
+        }
+    }
+
+
+    /**
+     * A small JPEG of an image, or of a PDF's first page, for list views. {@code w} is rounded up to one of
+     * the standard widths; a thumbnail that has not been built yet is rendered before responding, or answered
+     * with 503 and {@code Retry-After} while every render slot is busy.
+     */
+    @GetMapping("/{documentId}/thumbnail")
+    public ResponseEntity<byte[]> getThumbnail(
+            @PathVariable UUID documentId,
+            @RequestParam(name = "w", required = false) Integer width,
+            WebRequest request) {
+        ThumbnailService.Thumbnail thumbnail = thumbnailService.thumbnail(documentId, width).orElse(null);
+        if (thumbnail == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER,
+                            String.valueOf(Math.max(1, thumbnailProperties.getRetryAfter().toSeconds())))
+                    .build();
+        }
+        if (thumbnail.etag() != null && request.checkNotModified(thumbnail.etag())) {
+            return null;
+        }
         return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(document.fileType()))
-                .header(HttpHeaders.CONTENT_DISPOSITION, document.getContentDisposition())
-                .body(document.fileData());
+                .contentType(MediaType.IMAGE_JPEG)
+                // A document's content never changes, so neither do its thumbnails
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(7)).cachePrivate())
+                .eTag(thumbnail.etag())
+                .body(thumbnail.jpeg());
     }
 
 
-    @PreAuthorize("hasRole('ADMIN')")
+    // Internal callers delete documents they uploaded for a write that failed afterwards; see DocumentService.delete
+    @PreAuthorize("hasAnyRole('ADMIN', 'INTERNAL_SERVICE')")
     @DeleteMapping("/{document-id}")
     public ResponseEntity<Void> delete(
             @PathVariable("document-id") UUID documentId
@@ -0,0 +1,68 @@
+package com.hashjosh.document.controller;
+
+import com.hashjosh.constant.document.dto.DocumentResponse;
+import com.hashjosh.constant.document.dto.UploadSessionRequest;
+import com.hashjosh.constant.document.dto.UploadSessionResponse;
+import com.hashjosh.document.service.UploadSessionService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Resumable uploads for files too large, or links too unreliable, for a single multipart POST: create a
+ * session, PUT its chunks in any order and as often as needed, then finalize it into a document.
+ */
+@RestController
+@RequestMapping("/api/v1/documents/uploads")
+@RequiredArgsConstructor
+@PreAuthorize("isAuthenticated()")
+public class UploadSessionController {
+
+    private final UploadSessionService uploadSessionService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Start a resumable upload")
+    public ResponseEntity<UploadSessionResponse> create(@RequestBody UploadSessionRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(uploadSessionService.create(request));
+    }
+
+    @GetMapping("/{session-id}")
+    @Operation(summary = "Get a resumable upload and the chunks received so far")
+    public ResponseEntity<UploadSessionResponse> status(@PathVariable("session-id") UUID sessionId) {
+        return ResponseEntity.ok(uploadSessionService.status(sessionId));
+    }
+
+    /**
+     * The request body is the raw chunk and is passed to storage as it is read.
+     */
+    @PutMapping(value = "/{session-id}/chunks/{chunk}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Upload one chunk of a resumable upload")
+    public ResponseEntity<Void> putChunk(
+            @PathVariable("session-id") UUID sessionId,
+            @PathVariable("chunk") int chunk,
+            HttpServletRequest request) throws IOException {
+        uploadSessionService.putChunk(sessionId, chunk, request.getContentLengthLong(), request.getInputStream());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{session-id}/complete")
+    @Operation(summary = "Finalize a resumable upload into a document")
+    public ResponseEntity<DocumentResponse> complete(@PathVariable("session-id") UUID sessionId) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(uploadSessionService.finalizeUpload(sessionId));
+    }
+
+    @DeleteMapping("/{session-id}")
+    @Operation(summary = "Cancel a resumable upload")
+    public ResponseEntity<Void> cancel(@PathVariable("session-id") UUID sessionId) {
+        uploadSessionService.cancel(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.hashjosh.document.kafka;
+
+import com.hashjosh.document.model.Document;
+import com.hashjosh.document.service.ThumbnailService;
+import com.hashjosh.kafkacommon.document.DocumentUploadedEvent;
+import com.hashjosh.kafkacommon.outbox.OutboxPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DocumentProducer {
+
+    private final OutboxPublisher outboxPublisher;
+
+    /**
+     * Announces a newly stored object within the caller's transaction. Only types that get thumbnails
+     * are announced; keyed by object, so derivatives of one object are built by one consumer at a time.
+     */
+    public void publishUploaded(Document document) {
+        if (!ThumbnailService.supports(document.getFileType())) {
+            return;
+        }
+        outboxPublisher.publish(DocumentUploadedEvent.TOPIC, document.getObjectKey(), DocumentUploadedEvent.builder()
+                .documentId(document.getId())
+                .objectKey(document.getObjectKey())
+                .contentType(document.getFileType())
+                .build());
+    }
+}
@@ -0,0 +1,27 @@
+package com.hashjosh.document.kafka;
+
+import com.hashjosh.document.service.ThumbnailService;
+import com.hashjosh.kafkacommon.document.DocumentUploadedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentUploadedConsumer {
+
+    private final ThumbnailService thumbnailService;
+
+    @KafkaListener(topics = DocumentUploadedEvent.TOPIC, groupId = "document-thumbnails")
+    public void listen(@Payload DocumentUploadedEvent event) {
+        try {
+            thumbnailService.generate(event.getObjectKey(), event.getContentType());
+        } catch (Exception e) {
+            // Not retried here; a thumbnail request for the document renders it on demand
+            log.warn("Failed to build thumbnails for document {}: {}", event.getDocumentId(), e.getMessage());
+        }
+    }
+}
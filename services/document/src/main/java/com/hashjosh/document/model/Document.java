@@ -37,6 +37,10 @@ public class Document {
     @Column(name = "object_key", length = 255)
     private String objectKey; // Minio object key
 
+    // Set when the object is a shared DocumentBlob; documents without it own their object
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "uploaded_at")
     @CreationTimestamp
     private LocalDateTime uploadedAt;
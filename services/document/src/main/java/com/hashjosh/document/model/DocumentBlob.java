@@ -0,0 +1,45 @@
+package com.hashjosh.document.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored object shared by every {@link Document} with the same content, keyed by its SHA-256. The
+ * object is removed with the row, when the last referencing document is deleted.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@Table(name = "document_blobs")
+public class DocumentBlob {
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // hex SHA-256
+
+    @Column(name = "object_key", length = 255, nullable = false)
+    private String objectKey;
+
+    @Column(name = "size", nullable = false)
+    private long size;
+
+    // Type of the stored object, which differs from the upload's when it was recompressed
+    @Column(name = "content_type")
+    private String contentType;
+
+    // The upload as received, kept next to a recompressed object when the type's policy asks for it
+    @Column(name = "original_key", length = 255)
+    private String originalKey;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at")
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,68 @@
+package com.hashjosh.document.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A resumable upload in progress: a storage multipart upload whose parts are the numbered chunks the
+ * client sends. Which chunks have arrived is read from storage, not kept here.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@Table(name = "upload_sessions", indexes = @Index(name = "idx_upload_sessions_expires_at", columnList = "expires_at"))
+public class UploadSession {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "uploaded_by", nullable = false)
+    private UUID uploadedBy;
+
+    @Column(name = "file_name", length = 255)
+    private String fileName;
+
+    @Column(name = "file_type", nullable = false)
+    private String fileType;
+
+    @Column(name = "object_key", length = 255, nullable = false)
+    private String objectKey;
+
+    @Column(name = "upload_id", nullable = false)
+    private String uploadId; // Storage multipart upload id
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private long chunkSize;
+
+    @Column(name = "chunk_count", nullable = false)
+    private int chunkCount;
+
+    // Set once finalized; the session is then kept until it expires so a repeated finalize is answered
+    @Column(name = "document_id")
+    private UUID documentId;
+
+    @Column(name = "created_at")
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Size the given 1-based chunk must have: the chunk size, except for a shorter last chunk.
+     */
+    public long chunkLength(int chunk) {
+        return chunk < chunkCount ? chunkSize : fileSize - chunkSize * (chunkCount - 1);
+    }
+}
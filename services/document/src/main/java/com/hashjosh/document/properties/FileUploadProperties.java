@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 @Configuration
@@ -19,4 +22,25 @@ public class FileUploadProperties {
         "application/vnd.openxmlformats-officedocument.wordprocessingml.document"  // .docx
     );
 
+    /**
+     * Recompression applied to uploads of the content type used as key; types without an entry are stored
+     * as uploaded. In YAML the keys need brackets, e.g. {@code "[image/jpeg]"}.
+     */
+    private Map<String, Recompression> recompression = new HashMap<>();
+    private ImageProcessing imageProcessing = new ImageProcessing();
+
+    @Data
+    public static class Recompression {
+        private int maxDimension = 2560; // longest side in pixels
+        private float quality = 0.82f; // JPEG quality, 0 to 1
+        private boolean keepOriginal = false; // also store the upload unchanged
+    }
+
+    @Data
+    public static class ImageProcessing {
+        private int threads = 2;
+        private int queueCapacity = 16; // uploads beyond this are stored as uploaded
+        private Duration timeout = Duration.ofSeconds(10); // after which the upload is stored as uploaded
+        private long maxPixels = 50_000_000;
+    }
 }
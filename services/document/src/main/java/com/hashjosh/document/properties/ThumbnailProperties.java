@@ -0,0 +1,21 @@
+package com.hashjosh.document.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.thumbnails")
+@Data
+public class ThumbnailProperties {
+    private List<Integer> widths = List.of(160, 320, 640); // requested widths round up to one of these
+    private float quality = 0.8f; // JPEG quality, 0 to 1
+    private long maxSourceSize = 50 * 1024 * 1024; // 50MB; larger originals get no thumbnail
+    private long maxSourcePixels = 50_000_000; // decoded images above this are refused
+    private int maxConcurrent = 2; // renders at a time, queued and lazy together
+    private Duration requestWait = Duration.ofMillis(500); // a request gets 503 if no render starts by then
+    private Duration retryAfter = Duration.ofSeconds(2); // sent with that 503
+}
@@ -0,0 +1,18 @@
+package com.hashjosh.document.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.upload-session")
+@Data
+public class UploadSessionProperties {
+    private long chunkSize = 5 * 1024 * 1024; // 5MB, the smallest part size storage accepts
+    private long maxFileSize = 500 * 1024 * 1024; // 500MB
+    private Duration expiry = Duration.ofHours(24); // since the last chunk
+    private Duration cleanupInterval = Duration.ofMinutes(15);
+    private int cleanupBatchSize = 100;
+}
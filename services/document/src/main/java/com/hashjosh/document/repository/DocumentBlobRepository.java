@@ -0,0 +1,45 @@
+package com.hashjosh.document.repository;
+
+import com.hashjosh.document.model.DocumentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reference counts of shared blobs. Both updates lock the blob's row until the calling transaction ends,
+ * which orders an upload and a delete of the same content against each other.
+ */
+public interface DocumentBlobRepository extends JpaRepository<DocumentBlob, String> {
+
+    /**
+     * Adds a reference, creating the row on first use, and returns the new count; 1 means the object has
+     * not been stored yet.
+     */
+    @Transactional
+    @Query(value = """
+            INSERT INTO document_blobs (content_hash, object_key, size, content_type, original_key, ref_count, created_at)
+            VALUES (:hash, :objectKey, :size, :contentType, :originalKey, 1, now())
+            ON CONFLICT (content_hash) DO UPDATE SET ref_count = document_blobs.ref_count + 1
+            RETURNING ref_count
+            """, nativeQuery = true)
+    int acquire(@Param("hash") String contentHash, @Param("objectKey") String objectKey, @Param("size") long size,
+                @Param("contentType") String contentType, @Param("originalKey") String originalKey);
+
+    /**
+     * Drops a reference and returns the remaining count, or null when there was no row.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE document_blobs SET ref_count = ref_count - 1
+            WHERE content_hash = :hash
+            RETURNING ref_count
+            """, nativeQuery = true)
+    Integer release(@Param("hash") String contentHash);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM document_blobs WHERE content_hash = :hash AND ref_count <= 0", nativeQuery = true)
+    int deleteUnreferenced(@Param("hash") String contentHash);
+}
@@ -2,11 +2,22 @@ package com.hashjosh.document.repository;
 
 import com.hashjosh.document.model.Document;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface DocumentRepository extends JpaRepository<Document, UUID> {
 
     List<Document> findByUploadedBy(UUID userId);
+
+    @Query("select d.id as id, d.objectKey as objectKey from Document d where d.id in :ids")
+    List<ObjectKeyView> findObjectKeys(@Param("ids") Collection<UUID> ids);
+
+    interface ObjectKeyView {
+        UUID getId();
+        String getObjectKey();
+    }
 }
@@ -0,0 +1,37 @@
+package com.hashjosh.document.repository;
+
+import com.hashjosh.document.model.UploadSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UploadSession s where s.id = :id")
+    Optional<UploadSession> findByIdForUpdate(@Param("id") UUID id);
+
+    @Transactional
+    @Modifying
+    @Query("update UploadSession s set s.expiresAt = :expiresAt where s.id = :id and s.documentId is null")
+    int extend(@Param("id") UUID id, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Sessions another instance is finalizing or sweeping are skipped, not waited for
+    @Query(value = """
+            SELECT * FROM upload_sessions
+            WHERE expires_at < :now
+            ORDER BY expires_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<UploadSession> lockExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,17 @@
+package com.hashjosh.document.service;
+
+import java.time.Instant;
+
+/**
+ * A stored document as its download needs it: the metadata row joined with the object's current size
+ * and ETag in storage.
+ *
+ * @param etag the storage ETag, quoted, so it can be sent and compared as an HTTP entity tag
+ */
+public record DocumentObject(String objectKey,
+                             String fileName,
+                             String contentType,
+                             long size,
+                             String etag,
+                             Instant lastModified) {
+}
@@ -1,12 +1,17 @@
 package com.hashjosh.document.service;
 
 import com.hashjosh.constant.document.dto.DocumentResponse;
-import com.hashjosh.constant.document.dto.DownloadFile;
+import com.hashjosh.constant.document.dto.PresignBatchRequest;
+import com.hashjosh.constant.document.dto.PresignedUrl;
 import com.hashjosh.document.config.CustomUserDetails;
 import com.hashjosh.document.exception.ApiException;
+import com.hashjosh.document.kafka.DocumentProducer;
 import com.hashjosh.document.mapper.DocumentMapper;
 import com.hashjosh.document.model.Document;
+import com.hashjosh.document.model.DocumentBlob;
+import com.hashjosh.document.properties.FileUploadProperties.Recompression;
 import com.hashjosh.document.properties.MinioProperties;
+import com.hashjosh.document.repository.DocumentBlobRepository;
 import com.hashjosh.document.repository.DocumentRepository;
 import io.minio.*;
 import io.minio.errors.*;
@@ -14,15 +19,28 @@ import io.minio.http.Method;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -34,59 +52,179 @@ import java.util.stream.Collectors;
 @Slf4j
 public class DocumentService {
 
+    // Shared blobs are stored under their content hash
+    private static final String BLOB_KEY_PREFIX = "sha256/";
+    private static final String ORIGINAL_KEY_PREFIX = "originals/sha256/";
+    private static final int MAX_PRESIGN_BATCH = 500;
+    // Internal callers only delete what they just uploaded for a write that failed afterwards
+    private static final Duration COMPENSATION_WINDOW = Duration.ofHours(1);
+    private static final int DEFAULT_PRESIGN_EXPIRY_MINUTES = 30;
+    // S3 signatures are valid for at most seven days
+    private static final int MAX_PRESIGN_EXPIRY_MINUTES = 7 * 24 * 60;
+
     private final DocumentRepository documentRepository;
+    private final DocumentBlobRepository documentBlobRepository;
     private final DocumentMapper documentMapper;
     private final MinioClient minioClient;
     private final MinioProperties minioProperties;
     private final FileValidationService fileValidationService;
+    private final ThumbnailService thumbnailService;
+    private final DocumentProducer documentProducer;
+    private final ImageRecompressor imageRecompressor;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
-    public DocumentResponse upload(MultipartFile file)
-            throws IOException, ServerException, InsufficientDataException,
-            ErrorResponseException, NoSuchAlgorithmException,
-            InvalidKeyException, InvalidResponseException,
-            XmlParserException, InternalException {
+    /**
+     * Stores the file under its content hash. The container has already spooled the multipart file, so
+     * hashing it is a local read, and content that is already stored only gains a reference. New photos of
+     * a type with a recompression policy are recompressed first, outside the transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DocumentResponse upload(MultipartFile file) throws IOException, NoSuchAlgorithmException {
         
         // Validate the file before processing
         fileValidationService.validateFile(file);
-        
-        // Generate a unique object key
-        String originalFilename = file.getOriginalFilename();
-        String fileExtension = "";
-        if (originalFilename != null && originalFilename.contains(".")) {
-            fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-        }
-        String objectKey = String.format("%s%s", UUID.randomUUID(), fileExtension);
+
+        String contentHash = sha256(file);
+        String objectKey = BLOB_KEY_PREFIX + contentHash;
 
         CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder.getContext()
                 .getAuthentication().getPrincipal();
 
-        // Upload to MinIO
-        minioClient.putObject(
-            PutObjectArgs.builder()
-                .bucket(minioProperties.bucket())
-                .object(objectKey)
-                .stream(file.getInputStream(), file.getSize(), -1)
-                .contentType(file.getContentType())
-                .build()
-        );
+        Recompression policy = imageRecompressor.policyFor(file.getContentType());
+        byte[] recompressed = policy != null && !documentBlobRepository.existsById(contentHash)
+                ? imageRecompressor.recompress(file, policy)
+                : null;
+        String contentType = recompressed != null ? MediaType.IMAGE_JPEG_VALUE : file.getContentType();
+        long size = recompressed != null ? recompressed.length : file.getSize();
+        String originalKey = recompressed != null && policy.isKeepOriginal() ? ORIGINAL_KEY_PREFIX + contentHash : null;
+
+        Document savedDocument = transactionTemplate.execute(status -> {
+            // The blob row stays locked until commit, so a delete of the same content cannot remove the
+            // object before this document references it
+            boolean stored = documentBlobRepository.acquire(contentHash, objectKey, size, contentType, originalKey) == 1;
+            String storedType = contentType;
+            if (stored) {
+                if (recompressed != null) {
+                    putObject(objectKey, new ByteArrayInputStream(recompressed), size, contentType);
+                    if (originalKey != null) {
+                        putObject(originalKey, file, file.getSize(), file.getContentType());
+                    }
+                } else {
+                    putObject(objectKey, file, file.getSize(), file.getContentType());
+                }
+            } else {
+                log.debug("Upload of {} matches stored blob {}", file.getOriginalFilename(), contentHash);
+                storedType = documentBlobRepository.findById(contentHash)
+                        .map(DocumentBlob::getContentType)
+                        .orElse(contentType);
+            }
 
-        // Save document metadata to database
-        Document document = documentMapper.toDocument(objectKey,userDetails, file);
-        Document savedDocument = documentRepository.save(document);
+            // Save document metadata to database
+            Document document = documentMapper.toDocument(objectKey,userDetails, file);
+            document.setContentHash(contentHash);
+            if (storedType != null && !storedType.equalsIgnoreCase(file.getContentType())) {
+                document.setFileType(storedType);
+                document.setFileName(withJpegExtension(file.getOriginalFilename()));
+            }
+            Document saved = documentRepository.save(document);
+            if (stored) {
+                // Content already stored has its thumbnails already
+                documentProducer.publishUploaded(saved);
+            }
+            return saved;
+        });
         return  documentMapper.toDocumentResponse(savedDocument);
     }
 
-    public DownloadFile download(UUID documentId) {
-        
+    private static void checkDeletable(Document document) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equalsIgnoreCase(authority.getAuthority()));
+        if (admin) {
+            return;
+        }
+        CustomUserDetails caller = (CustomUserDetails) authentication.getPrincipal();
+        boolean owner = caller.getUserId() != null && document.getUploadedBy() != null
+                && document.getUploadedBy().toString().equalsIgnoreCase(caller.getUserId());
+        boolean recent = document.getUploadedAt() != null
+                && document.getUploadedAt().isAfter(LocalDateTime.now().minus(COMPENSATION_WINDOW));
+        if (!owner || !recent) {
+            throw ApiException.forbidden("Not allowed to delete document " + document.getId());
+        }
+    }
+
+    private void putObject(String objectKey, MultipartFile file, long size, String contentType) {
+        try (InputStream in = file.getInputStream()) {
+            putObject(objectKey, in, size, contentType);
+        } catch (IOException e) {
+            log.error("Failed to read uploaded file", e);
+            throw ApiException.internalError("Failed to upload file to storage");
+        }
+    }
+
+    private void putObject(String objectKey, InputStream in, long size, String contentType) {
+        try {
+            minioClient.putObject(
+                PutObjectArgs.builder()
+                    .bucket(minioProperties.bucket())
+                    .object(objectKey)
+                    .stream(in, size, -1)
+                    .contentType(contentType)
+                    .build()
+            );
+        } catch (Exception e) {
+            log.error("Failed to upload file to storage", e);
+            throw ApiException.internalError("Failed to upload file to storage");
+        }
+    }
+
+    /**
+     * Looks up a document and the current size and ETag of its object, without reading the content.
+     */
+    public DocumentObject describe(UUID documentId) {
         Document document = documentRepository.findById(documentId)
                 .orElseThrow(() -> ApiException.notFound("Document not found with id: " + documentId));
-
-        return new DownloadFile(
+        StatObjectResponse stat;
+        try {
+            stat = minioClient.statObject(StatObjectArgs.builder()
+                    .bucket(minioProperties.bucket())
+                    .object(document.getObjectKey())
+                    .build());
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                throw ApiException.notFound("Document content not found with id: " + documentId);
+            }
+            log.error("Failed to stat file in storage", e);
+            throw ApiException.internalError("Failed to get file from storage");
+        } catch (Exception e) {
+            log.error("Failed to stat file in storage", e);
+            throw ApiException.internalError("Failed to get file from storage");
+        }
+        return new DocumentObject(
+                document.getObjectKey(),
                 document.getFileName(),
                 document.getFileType(),
-                getFile(document.getObjectKey())
-        );
+                stat.size(),
+                "\"" + stat.etag() + "\"",
+                stat.lastModified() != null ? stat.lastModified().toInstant() : null);
+    }
+
+    /**
+     * Opens {@code length} bytes of the object from {@code offset}; only that range is read from storage.
+     * The caller closes the stream.
+     */
+    public InputStream open(DocumentObject object, long offset, long length) {
+        try {
+            return minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(minioProperties.bucket())
+                    .object(object.objectKey())
+                    .offset(offset)
+                    .length(length)
+                    .build());
+        } catch (Exception e) {
+            log.error("Failed to get file from storage", e);
+            throw ApiException.internalError("Failed to get file from storage");
+        }
     }
 
     @Transactional(readOnly = true)
@@ -110,37 +248,48 @@ public class DocumentService {
                 .toList();
     }
 
+    /**
+     * Deletes the document. A shared blob loses one reference and its object is removed with the last one.
+     * Admins may delete any document; internal services only recent ones uploaded for the user they act for.
+     */
+    @Transactional
     public void delete(UUID documentId) {
-        try {
-            Document document = documentRepository.findById(documentId)
-                    .orElseThrow(() -> ApiException.notFound("Document not found with id: " + documentId));
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> ApiException.notFound("Document not found with id: " + documentId));
+        checkDeletable(document);
+        documentRepository.delete(document);
 
+        String contentHash = document.getContentHash();
+        String originalKey = null;
+        if (contentHash != null) {
+            Integer remaining = documentBlobRepository.release(contentHash);
+            if (remaining != null && remaining > 0) {
+                return;
+            }
+            originalKey = documentBlobRepository.findById(contentHash).map(DocumentBlob::getOriginalKey).orElse(null);
+            documentBlobRepository.deleteUnreferenced(contentHash);
+        }
+        try {
+            // Removed while the blob row is still locked, before a new upload of the content can store it again
             minioClient.removeObject(
                     RemoveObjectArgs.builder()
                             .bucket(minioProperties.bucket())
                             .object(document.getObjectKey())
                             .build()
             );
-
-            documentRepository.delete(document);
+            if (originalKey != null) {
+                minioClient.removeObject(
+                        RemoveObjectArgs.builder()
+                                .bucket(minioProperties.bucket())
+                                .object(originalKey)
+                                .build()
+                );
+            }
         } catch (Exception e) {
             log.error("Failed to delete document", e);
             throw ApiException.internalError("Failed to delete document");
         }
-    }
-
-    private byte[] getFile(String objectKey) {
-        try(InputStream stream = minioClient.getObject(
-                GetObjectArgs.builder()
-                        .bucket(minioProperties.bucket())
-                        .object(objectKey)
-                        .build()
-        )){
-            return stream.readAllBytes();
-        } catch (Exception e) {
-            log.error("Failed to get file from storage", e);
-            throw ApiException.internalError("Failed to get file from storage");
-        }
+        thumbnailService.deleteDerivatives(document.getObjectKey());
     }
 
     public String generatePresignedUrl(UUID documentId, Method method) {
@@ -173,6 +322,39 @@ public class DocumentService {
         return generatePresignedUrl(document.getObjectKey(),expiryMinutes,Method.GET);
     }
 
+    /**
+     * Signs GET URLs for many documents at once: one query for their object keys, then local signing.
+     * Unknown ids are left out of the result.
+     */
+    public List<PresignedUrl> presignBatch(PresignBatchRequest request) {
+        List<UUID> ids = request.documentIds();
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids.size() > MAX_PRESIGN_BATCH) {
+            throw ApiException.badRequest("At most " + MAX_PRESIGN_BATCH + " documents can be signed per request");
+        }
+        int expiryMinutes = request.expiryMinutes() != null ? request.expiryMinutes() : DEFAULT_PRESIGN_EXPIRY_MINUTES;
+        if (expiryMinutes < 1 || expiryMinutes > MAX_PRESIGN_EXPIRY_MINUTES) {
+            throw ApiException.badRequest("expiryMinutes must be between 1 and " + MAX_PRESIGN_EXPIRY_MINUTES);
+        }
+
+        List<DocumentRepository.ObjectKeyView> keys = documentRepository.findObjectKeys(new HashSet<>(ids));
+        // Taken before signing, so the reported expiry is never later than the real one
+        Instant expiresAt = Instant.now().plus(expiryMinutes, ChronoUnit.MINUTES);
+        List<PresignedUrl> urls = new ArrayList<>(keys.size());
+        for (DocumentRepository.ObjectKeyView key : keys) {
+            try {
+                urls.add(new PresignedUrl(key.getId(),
+                        generatePresignedUrl(key.getObjectKey(), expiryMinutes, Method.GET), expiresAt));
+            } catch (Exception e) {
+                log.error("Failed to generate presigned URL for document {}", key.getId(), e);
+                throw ApiException.internalError("Failed to generate presigned URL");
+            }
+        }
+        return urls;
+    }
+
     public String generatePresignedUrl(String objectKey, int expiryMin, Method method)
             throws IOException, NoSuchAlgorithmException, InvalidKeyException,
             io.minio.errors.ServerException, io.minio.errors.ErrorResponseException,
@@ -198,4 +380,28 @@ public class DocumentService {
         log.debug("Generated presigned URL: {}", presigned);
         return presigned;
     }
+
+    private static String sha256(MultipartFile file) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] buffer = new byte[8192];
+        try (InputStream in = file.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String withJpegExtension(String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        String lower = fileName.toLowerCase();
+        if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) {
+            return fileName;
+        }
+        int dot = fileName.lastIndexOf('.');
+        return (dot > 0 ? fileName.substring(0, dot) : fileName) + ".jpg";
+    }
 }
@@ -26,8 +26,14 @@ public class FileValidationService {
                     fileUploadProperties.getMaxFileSize()));
         }
 
+        validateType(file.getOriginalFilename(), file.getContentType());
+    }
+
+    /**
+     * Checks the declared content type and the file name's extension against the allowed types.
+     */
+    public void validateType(String originalFilename, String fileContentType) {
         // Check file type
-        String fileContentType = file.getContentType();
         if (fileContentType == null) {
             throw ApiException.badRequest("File content type is not provided");
         }
@@ -45,7 +51,6 @@ public class FileValidationService {
         }
 
         // Check file extension
-        String originalFilename = file.getOriginalFilename();
         if (originalFilename != null) {
             String fileExtension = originalFilename.substring(originalFilename.lastIndexOf('.') + 1).toLowerCase();
             String[] allowedExtensions = {"pdf", "jpg", "jpeg", "png", "doc", "docx"};
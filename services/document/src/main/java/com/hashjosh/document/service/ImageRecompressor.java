@@ -0,0 +1,114 @@
+package com.hashjosh.document.service;
+
+import com.hashjosh.document.properties.FileUploadProperties;
+import com.hashjosh.document.properties.FileUploadProperties.Recompression;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Normalizes uploaded photos before they are stored: turned upright, capped in resolution, re-encoded as
+ * JPEG without metadata.
+ * <p>
+ * Runs on a small fixed pool with a bounded queue, which also bounds the memory held by decoded images.
+ * An upload that cannot get a worker, takes longer than the timeout or does not come out smaller is stored
+ * as uploaded instead of waiting or failing.
+ */
+@Slf4j
+@Service
+public class ImageRecompressor implements DisposableBean {
+
+    private final FileUploadProperties fileUploadProperties;
+    private final ThreadPoolExecutor executor;
+
+    public ImageRecompressor(FileUploadProperties fileUploadProperties) {
+        this.fileUploadProperties = fileUploadProperties;
+        FileUploadProperties.ImageProcessing processing = fileUploadProperties.getImageProcessing();
+        int threads = Math.max(1, processing.getThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, processing.getQueueCapacity())),
+                Thread.ofPlatform().name("image-recompress-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * The recompression configured for the content type, or null when such uploads are stored as they are.
+     */
+    public Recompression policyFor(String contentType) {
+        if (contentType == null || fileUploadProperties.getRecompression().isEmpty()) {
+            return null;
+        }
+        String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        for (var entry : fileUploadProperties.getRecompression().entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(type)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The file as a recompressed JPEG, or null to store it as uploaded.
+     */
+    public byte[] recompress(MultipartFile file, Recompression policy) {
+        Future<byte[]> result;
+        try {
+            result = executor.submit(() -> process(file, policy));
+        } catch (RejectedExecutionException e) {
+            log.debug("Image workers busy; storing {} as uploaded", file.getOriginalFilename());
+            return null;
+        }
+        try {
+            return result.get(fileUploadProperties.getImageProcessing().getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            log.warn("Recompressing {} timed out; storing it as uploaded", file.getOriginalFilename());
+            return null;
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            log.warn("Failed to recompress {}; storing it as uploaded: {}", file.getOriginalFilename(),
+                    e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] process(MultipartFile file, Recompression policy) throws IOException {
+        int maxDimension = Math.max(1, policy.getMaxDimension());
+        BufferedImage image;
+        try (InputStream in = file.getInputStream()) {
+            image = ImageCodec.decode(in, fileUploadProperties.getImageProcessing().getMaxPixels(), 0, maxDimension);
+        }
+        int longSide = Math.max(image.getWidth(), image.getHeight());
+        if (longSide > maxDimension) {
+            image = ImageCodec.scale(image, (int) ((long) image.getWidth() * maxDimension / longSide));
+        }
+        byte[] jpeg = ImageCodec.encodeJpeg(image, policy.getQuality());
+        if (jpeg.length >= file.getSize()) {
+            log.debug("Recompressed {} is not smaller; storing it as uploaded", file.getOriginalFilename());
+            return null;
+        }
+        log.debug("Recompressed {} from {} to {} bytes", file.getOriginalFilename(), file.getSize(), jpeg.length);
+        return jpeg;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,270 @@
+package com.hashjosh.document.service;
+
+import com.hashjosh.document.exception.ApiException;
+import com.hashjosh.document.model.Document;
+import com.hashjosh.document.properties.MinioProperties;
+import com.hashjosh.document.properties.ThumbnailProperties;
+import com.hashjosh.document.repository.DocumentRepository;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.StatObjectArgs;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPEG thumbnails of images and of the first page of PDFs, at a few standard widths.
+ * <p>
+ * Thumbnails are stored next to the original under {@code thumbnails/<object key>/<width>.jpg}, so
+ * documents that share a deduplicated object share them as well. They are built once per object, from the
+ * {@code document-uploaded} event, or on the first request that finds one missing; the original is
+ * decoded once for all widths. The event consumer waits for a render slot, a request only waits
+ * {@code app.thumbnails.request-wait}.
+ */
+@Slf4j
+@Service
+public class ThumbnailService {
+
+    private static final String KEY_PREFIX = "thumbnails/";
+    private static final String JPEG = "image/jpeg";
+
+    private final DocumentRepository documentRepository;
+    private final MinioClient minioClient;
+    private final MinioProperties minioProperties;
+    private final ThumbnailProperties thumbnailProperties;
+    private final List<Integer> widths;
+    private final Semaphore renders;
+
+    public ThumbnailService(DocumentRepository documentRepository,
+                            MinioClient minioClient,
+                            MinioProperties minioProperties,
+                            ThumbnailProperties thumbnailProperties) {
+        this.documentRepository = documentRepository;
+        this.minioClient = minioClient;
+        this.minioProperties = minioProperties;
+        this.thumbnailProperties = thumbnailProperties;
+        this.widths = thumbnailProperties.getWidths().stream().filter(w -> w > 0).sorted().distinct().toList();
+        if (widths.isEmpty()) {
+            throw new IllegalStateException("app.thumbnails.widths must contain at least one positive width");
+        }
+        this.renders = new Semaphore(Math.max(1, thumbnailProperties.getMaxConcurrent()), true);
+    }
+
+    public static boolean supports(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("image/") || type.startsWith("application/pdf");
+    }
+
+    /**
+     * The thumbnail of the document at the smallest standard width of at least {@code width}, built now if
+     * it is missing. Empty when it is missing and every render slot stays busy for the request wait.
+     */
+    public Optional<Thumbnail> thumbnail(UUID documentId, Integer width) {
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> ApiException.notFound("Document not found with id: " + documentId));
+        if (!supports(document.getFileType())) {
+            throw ApiException.notFound("No thumbnail available for documents of type " + document.getFileType());
+        }
+        int standardWidth = standardWidth(width);
+
+        Thumbnail stored = read(derivativeKey(document.getObjectKey(), standardWidth));
+        if (stored != null) {
+            return Optional.of(stored);
+        }
+        try {
+            if (!renders.tryAcquire(thumbnailProperties.getRequestWait().toMillis(), TimeUnit.MILLISECONDS)) {
+                return Optional.empty();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+        try {
+            Thumbnail built = render(document.getObjectKey(), document.getFileType()).get(standardWidth);
+            if (built == null) {
+                throw ApiException.notFound("No thumbnail available for this document");
+            }
+            return Optional.of(built);
+        } catch (IOException e) {
+            log.warn("Failed to build thumbnail for document {}: {}", documentId, e.getMessage());
+            throw ApiException.notFound("No thumbnail available for this document");
+        } finally {
+            renders.release();
+        }
+    }
+
+    /**
+     * Renders and stores every standard width of the object, waiting for a render slot. Returns nothing for
+     * an original too large to render.
+     */
+    public Map<Integer, Thumbnail> generate(String objectKey, String contentType) throws IOException {
+        try {
+            renders.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to render", e);
+        }
+        try {
+            return render(objectKey, contentType);
+        } finally {
+            renders.release();
+        }
+    }
+
+    /**
+     * Must hold a render slot.
+     */
+    private Map<Integer, Thumbnail> render(String objectKey, String contentType) throws IOException {
+        Map<Integer, Thumbnail> thumbnails = new HashMap<>();
+        try {
+            long size = minioClient.statObject(StatObjectArgs.builder()
+                    .bucket(minioProperties.bucket())
+                    .object(objectKey)
+                    .build()).size();
+            if (size > thumbnailProperties.getMaxSourceSize()) {
+                log.debug("Not rendering thumbnails of {}: {} bytes", objectKey, size);
+                return thumbnails;
+            }
+
+            BufferedImage source;
+            try (InputStream in = minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(minioProperties.bucket())
+                    .object(objectKey)
+                    .build())) {
+                source = contentType.toLowerCase(Locale.ROOT).startsWith("application/pdf")
+                        ? renderFirstPage(in)
+                        : ImageCodec.decode(in, thumbnailProperties.getMaxSourcePixels(), largestWidth(), 0);
+            }
+
+            for (int width : widths) {
+                byte[] jpeg = ImageCodec.encodeJpeg(ImageCodec.scale(source, width), thumbnailProperties.getQuality());
+                ObjectWriteResponse written = minioClient.putObject(PutObjectArgs.builder()
+                        .bucket(minioProperties.bucket())
+                        .object(derivativeKey(objectKey, width))
+                        .stream(new ByteArrayInputStream(jpeg), jpeg.length, -1)
+                        .contentType(JPEG)
+                        .build());
+                thumbnails.put(width, new Thumbnail(jpeg, quote(written.etag())));
+            }
+            log.debug("Rendered {} thumbnails of {}", thumbnails.size(), objectKey);
+            return thumbnails;
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Removes the thumbnails of an object that is being removed. Missing ones are ignored.
+     */
+    public void deleteDerivatives(String objectKey) {
+        List<DeleteObject> keys = widths.stream().map(w -> new DeleteObject(derivativeKey(objectKey, w))).toList();
+        // The removal is lazy and runs as the results are read
+        for (Result<DeleteError> result : minioClient.removeObjects(RemoveObjectsArgs.builder()
+                .bucket(minioProperties.bucket())
+                .objects(keys)
+                .build())) {
+            try {
+                DeleteError error = result.get();
+                log.warn("Failed to delete thumbnail {}: {}", error.objectName(), error.message());
+            } catch (Exception e) {
+                log.warn("Failed to delete thumbnails of {}: {}", objectKey, e.getMessage());
+            }
+        }
+    }
+
+    private int standardWidth(Integer requested) {
+        if (requested != null) {
+            for (int width : widths) {
+                if (width >= requested) {
+                    return width;
+                }
+            }
+        }
+        return largestWidth();
+    }
+
+    private int largestWidth() {
+        return widths.get(widths.size() - 1);
+    }
+
+    private Thumbnail read(String key) {
+        try (GetObjectResponse response = minioClient.getObject(GetObjectArgs.builder()
+                .bucket(minioProperties.bucket())
+                .object(key)
+                .build())) {
+            return new Thumbnail(response.readAllBytes(), quote(response.headers().get("ETag")));
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return null;
+            }
+            log.error("Failed to read thumbnail {}", key, e);
+            throw ApiException.internalError("Failed to get thumbnail from storage");
+        } catch (Exception e) {
+            log.error("Failed to read thumbnail {}", key, e);
+            throw ApiException.internalError("Failed to get thumbnail from storage");
+        }
+    }
+
+    private BufferedImage renderFirstPage(InputStream in) throws IOException {
+        try (PDDocument pdf = Loader.loadPDF(new RandomAccessReadBuffer(in))) {
+            if (pdf.getNumberOfPages() == 0) {
+                throw new IOException("PDF has no pages");
+            }
+            PDRectangle box = pdf.getPage(0).getCropBox();
+            double width = Math.max(1f, box.getWidth());
+            double height = Math.max(1f, box.getHeight());
+            // Scaled to the largest thumbnail width, but a very tall page must still fit the pixel budget
+            double scale = Math.min(largestWidth() / width,
+                    Math.sqrt(thumbnailProperties.getMaxSourcePixels() / (width * height)));
+            if (Math.floor(width * scale) < 1 || Math.floor(height * scale) < 1) {
+                throw new IOException("PDF page of " + box.getWidth() + "x" + box.getHeight() + " cannot be rendered");
+            }
+            return new PDFRenderer(pdf).renderImage(0, (float) scale, ImageType.RGB);
+        }
+    }
+
+    private static String derivativeKey(String objectKey, int width) {
+        return KEY_PREFIX + objectKey + "/" + width + ".jpg";
+    }
+
+    private static String quote(String etag) {
+        if (etag == null) {
+            return null;
+        }
+        return etag.startsWith("\"") ? etag : "\"" + etag + "\"";
+    }
+
+    public record Thumbnail(byte[] jpeg, String etag) {
+    }
+}
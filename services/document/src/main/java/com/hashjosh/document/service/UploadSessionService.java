@@ -0,0 +1,350 @@
+package com.hashjosh.document.service;
+
+import com.hashjosh.constant.document.dto.DocumentResponse;
+import com.hashjosh.constant.document.dto.UploadSessionRequest;
+import com.hashjosh.constant.document.dto.UploadSessionResponse;
+import com.hashjosh.document.config.CustomUserDetails;
+import com.hashjosh.document.exception.ApiException;
+import com.hashjosh.document.kafka.DocumentProducer;
+import com.hashjosh.document.mapper.DocumentMapper;
+import com.hashjosh.document.model.Document;
+import com.hashjosh.document.model.UploadSession;
+import com.hashjosh.document.properties.MinioProperties;
+import com.hashjosh.document.properties.UploadSessionProperties;
+import com.hashjosh.document.repository.DocumentRepository;
+import com.hashjosh.document.repository.UploadSessionRepository;
+import com.hashjosh.document.storage.MultipartStorage;
+import com.hashjosh.document.storage.MultipartStorage.StorageException;
+import io.minio.MinioClient;
+import io.minio.StatObjectArgs;
+import io.minio.messages.Part;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resumable uploads. A session is a storage multipart upload; each numbered chunk the client PUTs is
+ * copied straight into the matching part, so a dropped connection costs at most the chunk in flight and
+ * nothing is held in memory. Finalizing stitches the parts together in storage and records the
+ * {@link Document} like a regular upload.
+ * <p>
+ * Chunk uploads run outside any transaction, so a slow client never holds a database connection.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadSessionService {
+
+    // Storage limit on the number of parts in one multipart upload
+    private static final int MAX_CHUNKS = 10_000;
+    private static final int MAX_REPORTED_MISSING = 20;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final DocumentRepository documentRepository;
+    private final DocumentMapper documentMapper;
+    private final DocumentProducer documentProducer;
+    private final MultipartStorage multipartStorage;
+    private final MinioClient minioClient;
+    private final MinioProperties minioProperties;
+    private final UploadSessionProperties uploadSessionProperties;
+    private final FileValidationService fileValidationService;
+    private final TransactionTemplate transactionTemplate;
+
+    public UploadSessionResponse create(UploadSessionRequest request) {
+        if (request.fileSize() == null || request.fileSize() <= 0) {
+            throw ApiException.badRequest("fileSize must be greater than zero");
+        }
+        if (request.fileSize() > uploadSessionProperties.getMaxFileSize()) {
+            throw ApiException.badRequest(String.format("File size %d bytes exceeds maximum allowed size of %d bytes",
+                    request.fileSize(), uploadSessionProperties.getMaxFileSize()));
+        }
+        fileValidationService.validateType(request.fileName(), request.contentType());
+
+        long chunkSize = uploadSessionProperties.getChunkSize();
+        long chunkCount = (request.fileSize() + chunkSize - 1) / chunkSize;
+        if (chunkCount > MAX_CHUNKS) {
+            throw ApiException.badRequest("File is too large for the configured chunk size");
+        }
+
+        String fileExtension = "";
+        if (request.fileName() != null && request.fileName().contains(".")) {
+            fileExtension = request.fileName().substring(request.fileName().lastIndexOf("."));
+        }
+        String objectKey = String.format("%s%s", UUID.randomUUID(), fileExtension);
+
+        String uploadId;
+        try {
+            uploadId = multipartStorage.create(objectKey, request.contentType());
+        } catch (StorageException e) {
+            log.error("Failed to start multipart upload", e);
+            throw ApiException.internalError("Failed to start upload");
+        }
+
+        UploadSession session;
+        try {
+            session = uploadSessionRepository.save(UploadSession.builder()
+                    .uploadedBy(currentUserId())
+                    .fileName(request.fileName())
+                    .fileType(request.contentType())
+                    .objectKey(objectKey)
+                    .uploadId(uploadId)
+                    .fileSize(request.fileSize())
+                    .chunkSize(chunkSize)
+                    .chunkCount((int) chunkCount)
+                    .expiresAt(LocalDateTime.now().plus(uploadSessionProperties.getExpiry()))
+                    .build());
+        } catch (RuntimeException e) {
+            abortQuietly(objectKey, uploadId);
+            throw e;
+        }
+        return toResponse(session, List.of());
+    }
+
+    /**
+     * The session with the chunks storage holds in full; a finalized session reports its document instead.
+     */
+    public UploadSessionResponse status(UUID sessionId) {
+        UploadSession session = ownSession(uploadSessionRepository.findById(sessionId).orElse(null), sessionId);
+        if (session.getDocumentId() != null) {
+            return toResponse(session, null);
+        }
+        List<Integer> received = new ArrayList<>();
+        for (Part part : listParts(session)) {
+            if (part.partNumber() <= session.getChunkCount()
+                    && part.partSize() == session.chunkLength(part.partNumber())) {
+                received.add(part.partNumber());
+            }
+        }
+        return toResponse(session, received);
+    }
+
+    /**
+     * Copies one chunk from the request body into storage. The body must be exactly the chunk's length;
+     * sending a chunk again replaces it.
+     */
+    public void putChunk(UUID sessionId, int chunk, long contentLength, InputStream body) {
+        UploadSession session = ownSession(uploadSessionRepository.findById(sessionId).orElse(null), sessionId);
+        if (session.getDocumentId() != null) {
+            throw ApiException.conflict("Upload session is already finalized");
+        }
+        if (chunk < 1 || chunk > session.getChunkCount()) {
+            throw ApiException.badRequest("Chunk must be between 1 and " + session.getChunkCount());
+        }
+        long expected = session.chunkLength(chunk);
+        if (contentLength != expected) {
+            throw ApiException.badRequest(String.format("Chunk %d must be exactly %d bytes, got Content-Length %d",
+                    chunk, expected, contentLength));
+        }
+
+        try {
+            multipartStorage.uploadPart(session.getObjectKey(), session.getUploadId(), chunk, body, expected);
+        } catch (IOException e) {
+            // Usually the client's connection dropped; it sends the chunk again
+            log.debug("Chunk {} of upload session {} not stored: {}", chunk, sessionId, e.getMessage());
+            throw ApiException.badRequest("Chunk upload was interrupted");
+        } catch (StorageException e) {
+            if (e.hasCode(MultipartStorage.NO_SUCH_UPLOAD)) {
+                throw ApiException.notFound("Upload session not found with id: " + sessionId);
+            }
+            log.error("Failed to store chunk {} of upload session {}", chunk, sessionId, e);
+            throw ApiException.internalError("Failed to store chunk");
+        }
+        uploadSessionRepository.extend(sessionId, LocalDateTime.now().plus(uploadSessionProperties.getExpiry()));
+    }
+
+    /**
+     * Completes the upload once every chunk is in storage and records the document. Repeating the call for
+     * a finalized session returns the same document.
+     */
+    @Transactional
+    public DocumentResponse finalizeUpload(UUID sessionId) {
+        UploadSession session = ownSession(uploadSessionRepository.findByIdForUpdate(sessionId).orElse(null), sessionId);
+        if (session.getDocumentId() != null) {
+            return documentRepository.findById(session.getDocumentId())
+                    .map(documentMapper::toDocumentResponse)
+                    .orElseThrow(() -> ApiException.notFound("Document not found with id: " + session.getDocumentId()));
+        }
+
+        List<Part> parts;
+        try {
+            parts = multipartStorage.listParts(session.getObjectKey(), session.getUploadId());
+        } catch (StorageException e) {
+            if (!e.hasCode(MultipartStorage.NO_SUCH_UPLOAD) || !objectExists(session.getObjectKey())) {
+                log.error("Failed to list parts of upload session {}", sessionId, e);
+                throw ApiException.internalError("Failed to finalize upload");
+            }
+            // Completed in storage by an earlier attempt whose transaction did not commit
+            parts = null;
+        }
+
+        if (parts != null) {
+            Part[] complete = new Part[session.getChunkCount()];
+            for (Part part : parts) {
+                int chunk = part.partNumber();
+                if (chunk <= session.getChunkCount() && part.partSize() == session.chunkLength(chunk)) {
+                    complete[chunk - 1] = new Part(chunk, part.etag());
+                }
+            }
+            List<Integer> missing = new ArrayList<>();
+            for (int i = 0; i < complete.length && missing.size() < MAX_REPORTED_MISSING; i++) {
+                if (complete[i] == null) {
+                    missing.add(i + 1);
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw ApiException.conflict("Upload is incomplete, missing chunks: " + missing);
+            }
+            try {
+                multipartStorage.complete(session.getObjectKey(), session.getUploadId(), complete);
+            } catch (StorageException e) {
+                log.error("Failed to complete upload session {}", sessionId, e);
+                throw ApiException.internalError("Failed to finalize upload");
+            }
+        }
+
+        Document document = documentRepository.save(Document.builder()
+                .fileName(session.getFileName())
+                .fileType(session.getFileType())
+                .uploadedBy(session.getUploadedBy())
+                .objectKey(session.getObjectKey())
+                .uploadedAt(LocalDateTime.now())
+                .build());
+        documentProducer.publishUploaded(document);
+        session.setDocumentId(document.getId());
+        session.setExpiresAt(LocalDateTime.now().plus(uploadSessionProperties.getExpiry()));
+        return documentMapper.toDocumentResponse(document);
+    }
+
+    /**
+     * Abandons the session and drops the chunks stored for it.
+     */
+    @Transactional
+    public void cancel(UUID sessionId) {
+        UploadSession session = ownSession(uploadSessionRepository.findByIdForUpdate(sessionId).orElse(null), sessionId);
+        if (session.getDocumentId() != null) {
+            throw ApiException.conflict("Upload session is already finalized");
+        }
+        try {
+            multipartStorage.abort(session.getObjectKey(), session.getUploadId());
+        } catch (StorageException e) {
+            log.error("Failed to abort upload session {}", sessionId, e);
+            throw ApiException.internalError("Failed to cancel upload");
+        }
+        uploadSessionRepository.delete(session);
+    }
+
+    /**
+     * Removes expired sessions in batches, aborting the storage uploads of those never finalized. Rows are
+     * locked while they are handled, so instances running this concurrently split the work.
+     */
+    @Scheduled(fixedDelayString = "${app.upload-session.cleanup-interval:15m}",
+            initialDelayString = "${app.upload-session.cleanup-interval:15m}")
+    public void removeExpired() {
+        int removed = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> removeExpiredBatch());
+            removed += batch != null ? batch : 0;
+            if (batch == null || batch < uploadSessionProperties.getCleanupBatchSize()) {
+                break;
+            }
+        }
+        if (removed > 0) {
+            log.info("Removed {} expired upload sessions", removed);
+        }
+    }
+
+    private int removeExpiredBatch() {
+        List<UploadSession> expired = uploadSessionRepository.lockExpired(LocalDateTime.now(),
+                uploadSessionProperties.getCleanupBatchSize());
+        List<UploadSession> removable = new ArrayList<>(expired.size());
+        for (UploadSession session : expired) {
+            if (session.getDocumentId() == null) {
+                try {
+                    multipartStorage.abort(session.getObjectKey(), session.getUploadId());
+                } catch (StorageException e) {
+                    // Kept for the next run, so its parts are not left in storage without a record
+                    log.warn("Failed to abort expired upload session {}: {}", session.getId(), e.getMessage());
+                    continue;
+                }
+            }
+            removable.add(session);
+        }
+        uploadSessionRepository.deleteAll(removable);
+        return expired.size();
+    }
+
+    private List<Part> listParts(UploadSession session) {
+        try {
+            return multipartStorage.listParts(session.getObjectKey(), session.getUploadId());
+        } catch (StorageException e) {
+            if (e.hasCode(MultipartStorage.NO_SUCH_UPLOAD)) {
+                throw ApiException.notFound("Upload session not found with id: " + session.getId());
+            }
+            log.error("Failed to list parts of upload session {}", session.getId(), e);
+            throw ApiException.internalError("Failed to read upload session");
+        }
+    }
+
+    private boolean objectExists(String objectKey) {
+        try {
+            minioClient.statObject(StatObjectArgs.builder()
+                    .bucket(minioProperties.bucket())
+                    .object(objectKey)
+                    .build());
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void abortQuietly(String objectKey, String uploadId) {
+        try {
+            multipartStorage.abort(objectKey, uploadId);
+        } catch (StorageException e) {
+            log.warn("Failed to abort multipart upload {}: {}", uploadId, e.getMessage());
+        }
+    }
+
+    /**
+     * The session if it exists, has not expired and belongs to the caller. Other users' sessions are
+     * reported as missing.
+     */
+    private UploadSession ownSession(UploadSession session, UUID sessionId) {
+        if (session == null
+                || !session.getUploadedBy().equals(currentUserId())
+                || session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw ApiException.notFound("Upload session not found with id: " + sessionId);
+        }
+        return session;
+    }
+
+    private static UUID currentUserId() {
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder.getContext()
+                .getAuthentication().getPrincipal();
+        return UUID.fromString(userDetails.getUserId());
+    }
+
+    private static UploadSessionResponse toResponse(UploadSession session, List<Integer> receivedChunks) {
+        return new UploadSessionResponse(
+                session.getId(),
+                session.getFileName(),
+                session.getFileType(),
+                session.getFileSize(),
+                session.getChunkSize(),
+                session.getChunkCount(),
+                receivedChunks,
+                session.getExpiresAt(),
+                session.getDocumentId());
+    }
+}
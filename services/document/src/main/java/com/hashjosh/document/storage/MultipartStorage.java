@@ -0,0 +1,215 @@
+package com.hashjosh.document.storage;
+
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.ListPartsResponse;
+import io.minio.MinioAsyncClient;
+import io.minio.errors.ErrorResponseException;
+import io.minio.http.Method;
+import io.minio.messages.Part;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * S3 multipart uploads against the document bucket, for upload sessions.
+ * <p>
+ * The MinIO SDK keeps the multipart calls protected and reads every part it uploads into memory first, so
+ * parts are written here through a short-lived presigned part URL instead: the request body is copied to
+ * storage as it arrives and only a small copy buffer is held per upload.
+ */
+public class MultipartStorage extends MinioAsyncClient {
+
+    public static final String NO_SUCH_UPLOAD = "NoSuchUpload";
+
+    private static final MediaType OCTET_STREAM = MediaType.get("application/octet-stream");
+    private static final int MAX_PARTS_PER_LISTING = 1000;
+    private static final int PART_URL_EXPIRY_MINUTES = 60;
+
+    private final OkHttpClient httpClient;
+    private final String bucket;
+
+    public MultipartStorage(MinioAsyncClient client, OkHttpClient httpClient, String bucket) {
+        super(client);
+        this.httpClient = httpClient;
+        this.bucket = bucket;
+    }
+
+    /**
+     * Starts a multipart upload of the object and returns its upload id.
+     */
+    public String create(String objectKey, String contentType) throws StorageException {
+        return await(() -> createMultipartUploadAsync(bucket, null, objectKey,
+                newMultimap("Content-Type", contentType), null))
+                .result().uploadId();
+    }
+
+    /**
+     * Uploads one part of exactly {@code length} bytes read from {@code in}, replacing any earlier upload
+     * of the same part, and returns its ETag.
+     */
+    public String uploadPart(String objectKey, String uploadId, int partNumber, InputStream in, long length)
+            throws StorageException, IOException {
+        String url;
+        try {
+            url = getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                    .method(Method.PUT)
+                    .bucket(bucket)
+                    .object(objectKey)
+                    .extraQueryParams(Map.of("uploadId", uploadId, "partNumber", Integer.toString(partNumber)))
+                    .expiry(PART_URL_EXPIRY_MINUTES, TimeUnit.MINUTES)
+                    .build());
+        } catch (Exception e) {
+            throw new StorageException("Failed to sign part upload", e);
+        }
+
+        Request request = new Request.Builder()
+                .url(url)
+                .put(new StreamBody(in, length))
+                .build();
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (response.code() == 404) {
+                // NoSuchUpload: the upload was aborted or already completed
+                throw new StorageException("Multipart upload not found", NO_SUCH_UPLOAD);
+            }
+            if (!response.isSuccessful()) {
+                throw new StorageException("Part upload rejected with status " + response.code(), (String) null);
+            }
+            return response.header("ETag");
+        }
+    }
+
+    /**
+     * All parts uploaded so far, in part number order.
+     */
+    public List<Part> listParts(String objectKey, String uploadId) throws StorageException {
+        List<Part> parts = new ArrayList<>();
+        int marker = 0;
+        while (true) {
+            int from = marker;
+            ListPartsResponse response = await(() -> listPartsAsync(bucket, null, objectKey,
+                    MAX_PARTS_PER_LISTING, from, uploadId, null, null));
+            parts.addAll(response.result().partList());
+            if (!response.result().isTruncated()) {
+                return parts;
+            }
+            marker = response.result().nextPartNumberMarker();
+        }
+    }
+
+    public void complete(String objectKey, String uploadId, Part[] parts) throws StorageException {
+        await(() -> completeMultipartUploadAsync(bucket, null, objectKey, uploadId, parts, null, null));
+    }
+
+    /**
+     * Drops the upload and the parts stored for it. An upload that no longer exists is not an error.
+     */
+    public void abort(String objectKey, String uploadId) throws StorageException {
+        try {
+            await(() -> abortMultipartUploadAsync(bucket, null, objectKey, uploadId, null, null));
+        } catch (StorageException e) {
+            if (e.hasCode(NO_SUCH_UPLOAD)) {
+                return;
+            }
+            throw e;
+        }
+    }
+
+    private static <T> T await(AsyncCall<T> call) throws StorageException {
+        try {
+            return call.start().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted while waiting for storage", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new StorageException(cause.getMessage(), cause);
+        } catch (Exception e) {
+            throw new StorageException(e.getMessage(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface AsyncCall<T> {
+        CompletableFuture<T> start() throws Exception;
+    }
+
+    /**
+     * A request body that copies the stream through as OkHttp writes it. The declared length is sent as
+     * Content-Length; a stream that ends early fails the call rather than storing a short part.
+     */
+    private static final class StreamBody extends RequestBody {
+
+        private final InputStream in;
+        private final long length;
+
+        StreamBody(InputStream in, long length) {
+            this.in = in;
+            this.length = length;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return OCTET_STREAM;
+        }
+
+        @Override
+        public long contentLength() {
+            return length;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            Source source = Okio.source(in);
+            long written = 0;
+            while (written < length) {
+                long read = source.read(sink.getBuffer(), Math.min(8192, length - written));
+                if (read == -1) {
+                    throw new IOException("Chunk ended after " + written + " of " + length + " bytes");
+                }
+                written += read;
+                sink.emitCompleteSegments();
+            }
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return true;
+        }
+    }
+
+    public static class StorageException extends Exception {
+
+        private final String code;
+
+        public StorageException(String message, Throwable cause) {
+            super(message, cause);
+            this.code = cause instanceof ErrorResponseException error ? error.errorResponse().code() : null;
+        }
+
+        StorageException(String message, String code) {
+            super(message);
+            this.code = code;
+        }
+
+        /**
+         * Whether storage answered with the given S3 error code.
+         */
+        public boolean hasCode(String code) {
+            return code.equals(this.code);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.hashjosh.document.controller;
+
+import com.hashjosh.document.service.DocumentObject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteRangeTest {
+
+    private static final Instant MODIFIED = Instant.parse("2024-05-01T08:30:15.250Z");
+    private static final DocumentObject OBJECT =
+            new DocumentObject("sha256/abc", "form.pdf", "application/pdf", 1_000, "\"etag-1\"", MODIFIED);
+
+    @Test
+    void servesTheWholeDocumentWithoutARange() {
+        assertThat(ByteRange.of(null, null, OBJECT)).isEqualTo(new ByteRange(0, 1_000, false));
+    }
+
+    @Test
+    void servesOneRange() {
+        ByteRange range = ByteRange.of("bytes=100-199", null, OBJECT);
+
+        assertThat(range).isEqualTo(new ByteRange(100, 100, true));
+        assertThat(range.end()).isEqualTo(199);
+        assertThat(range.satisfiable()).isTrue();
+    }
+
+    @Test
+    void clampsOpenAndSuffixRangesToTheDocument() {
+        assertThat(ByteRange.of("bytes=900-", null, OBJECT)).isEqualTo(new ByteRange(900, 100, true));
+        assertThat(ByteRange.of("bytes=-50", null, OBJECT)).isEqualTo(new ByteRange(950, 50, true));
+        assertThat(ByteRange.of("bytes=990-5000", null, OBJECT)).isEqualTo(new ByteRange(990, 10, true));
+    }
+
+    @Test
+    void rejectsRangesStartingPastTheEnd() {
+        ByteRange range = ByteRange.of("bytes=1000-1100", null, OBJECT);
+
+        assertThat(range.satisfiable()).isFalse();
+    }
+
+    @Test
+    void ignoresMalformedAndMultipleRanges() {
+        ByteRange whole = new ByteRange(0, 1_000, false);
+
+        assertThat(ByteRange.of("bytes=abc", null, OBJECT)).isEqualTo(whole);
+        assertThat(ByteRange.of("items=0-10", null, OBJECT)).isEqualTo(whole);
+        assertThat(ByteRange.of("bytes=0-10,20-30", null, OBJECT)).isEqualTo(whole);
+    }
+
+    @Test
+    void honoursIfRangeOnlyWhenItMatchesTheStoredObject() {
+        assertThat(ByteRange.of("bytes=0-9", "\"etag-1\"", OBJECT).partial()).isTrue();
+        assertThat(ByteRange.of("bytes=0-9", "\"etag-2\"", OBJECT).partial()).isFalse();
+        // Weak tags never match for If-Range
+        assertThat(ByteRange.of("bytes=0-9", "W/\"etag-1\"", OBJECT).partial()).isFalse();
+        assertThat(ByteRange.of("bytes=0-9", "Wed, 01 May 2024 08:30:15 GMT", OBJECT).partial()).isTrue();
+        assertThat(ByteRange.of("bytes=0-9", "Wed, 01 May 2024 08:30:14 GMT", OBJECT).partial()).isFalse();
+        assertThat(ByteRange.of("bytes=0-9", "not a date", OBJECT).partial()).isFalse();
+    }
+
+    @Test
+    void servesEmptyDocumentsWhole() {
+        DocumentObject empty = new DocumentObject("sha256/e", "empty.txt", "text/plain", 0, "\"e\"", MODIFIED);
+
+        assertThat(ByteRange.of("bytes=0-10", null, empty)).isEqualTo(new ByteRange(0, 0, false));
+    }
+}
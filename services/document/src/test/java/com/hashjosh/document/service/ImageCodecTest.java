@@ -0,0 +1,102 @@
+package com.hashjosh.document.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageCodecTest {
+
+    private static final int RED = 0xFF0000;
+    private static final int BLUE = 0x0000FF;
+
+    @Test
+    void readsTheOrientationInEitherByteOrder() {
+        assertThat(ImageCodec.exifOrientation(exif(ByteOrder.BIG_ENDIAN, 6))).isEqualTo(6);
+        assertThat(ImageCodec.exifOrientation(exif(ByteOrder.LITTLE_ENDIAN, 8))).isEqualTo(8);
+    }
+
+    @Test
+    void ignoresMissingOrInvalidOrientations() {
+        assertThat(ImageCodec.exifOrientation(exif(ByteOrder.BIG_ENDIAN, 9))).isZero();
+        assertThat(ImageCodec.exifOrientation("http://ns.adobe.com/xap/1.0/".getBytes(StandardCharsets.US_ASCII))).isZero();
+        assertThat(ImageCodec.exifOrientation(new byte[]{'E', 'x', 'i', 'f'})).isZero();
+
+        byte[] truncated = exif(ByteOrder.BIG_ENDIAN, 6);
+        assertThat(ImageCodec.exifOrientation(java.util.Arrays.copyOf(truncated, truncated.length - 6))).isZero();
+    }
+
+    @Test
+    void turnsQuarterTurnsUpright() {
+        // 4x2 with a red top-left and a blue bottom-right pixel
+        BufferedImage image = marked(4, 2);
+
+        BufferedImage clockwise = ImageCodec.upright(image, 6);
+        assertThat(clockwise.getWidth()).isEqualTo(2);
+        assertThat(clockwise.getHeight()).isEqualTo(4);
+        assertThat(rgb(clockwise, 1, 0)).isEqualTo(RED);
+        assertThat(rgb(clockwise, 0, 3)).isEqualTo(BLUE);
+
+        BufferedImage counterClockwise = ImageCodec.upright(image, 8);
+        assertThat(counterClockwise.getWidth()).isEqualTo(2);
+        assertThat(rgb(counterClockwise, 0, 3)).isEqualTo(RED);
+        assertThat(rgb(counterClockwise, 1, 0)).isEqualTo(BLUE);
+    }
+
+    @Test
+    void mirrorsAndHalfTurns() {
+        BufferedImage image = marked(4, 2);
+
+        assertThat(rgb(ImageCodec.upright(image, 2), 3, 0)).isEqualTo(RED);
+        assertThat(rgb(ImageCodec.upright(image, 3), 3, 1)).isEqualTo(RED);
+        assertThat(rgb(ImageCodec.upright(image, 4), 0, 1)).isEqualTo(RED);
+        assertThat(rgb(ImageCodec.upright(image, 5), 0, 0)).isEqualTo(RED);
+        assertThat(rgb(ImageCodec.upright(image, 7), 1, 3)).isEqualTo(RED);
+    }
+
+    @Test
+    void leavesUprightImagesAlone() {
+        BufferedImage image = marked(4, 2);
+
+        assertThat(ImageCodec.upright(image, 1)).isSameAs(image);
+        assertThat(ImageCodec.upright(image, 0)).isSameAs(image);
+    }
+
+    private static BufferedImage marked(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, RED);
+        image.setRGB(width - 1, height - 1, BLUE);
+        return image;
+    }
+
+    private static int rgb(BufferedImage image, int x, int y) {
+        return image.getRGB(x, y) & 0xFFFFFF;
+    }
+
+    /**
+     * An APP1 payload whose IFD0 holds an unrelated tag and then the orientation.
+     */
+    private static byte[] exif(ByteOrder order, int orientation) {
+        ByteBuffer tiff = ByteBuffer.allocate(8 + 2 + 2 * 12 + 4).order(order);
+        tiff.put(order == ByteOrder.BIG_ENDIAN ? (byte) 'M' : (byte) 'I');
+        tiff.put(order == ByteOrder.BIG_ENDIAN ? (byte) 'M' : (byte) 'I');
+        tiff.putShort((short) 42);
+        tiff.putInt(8);
+        tiff.putShort((short) 2);
+        // ImageWidth, LONG
+        tiff.putShort((short) 0x0100).putShort((short) 4).putInt(1).putInt(640);
+        // Orientation, SHORT, value left-aligned in the 4-byte field
+        tiff.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        tiff.putInt(0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes("Exif\0\0".getBytes(StandardCharsets.US_ASCII));
+        out.writeBytes(tiff.array());
+        return out.toByteArray();
+    }
+}
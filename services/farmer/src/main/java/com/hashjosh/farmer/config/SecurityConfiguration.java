@@ -1,5 +1,6 @@
 package com.hashjosh.farmer.config;
 
+import com.hashjosh.jwtshareable.security.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -6,10 +6,12 @@ import com.hashjosh.farmer.dto.*;
 import com.hashjosh.farmer.entity.Farmer;
 import com.hashjosh.farmer.service.AuthService;
 import com.hashjosh.farmer.service.RefreshTokenService;
+import com.hashjosh.jwtshareable.revocation.TokenRevocationService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +28,8 @@ public class AuthController {
 
     private final AuthService authService;
     private final RefreshTokenService refreshTokenService;
+    // Absent when token.revocation.enabled is false
+    private final ObjectProvider<TokenRevocationService> tokenRevocationService;
 
     @PostMapping("/registration")
     public ResponseEntity<RegistrationResponse> register(
@@ -71,6 +75,9 @@ public class AuthController {
             return ResponseEntity.badRequest().body("Missing or invalid access token");
         }
 
+        // 🚫 Reject the access token everywhere until it expires
+        tokenRevocationService.ifAvailable(revocations -> revocations.revokeAccessToken(authorization.substring(7)));
+
         // ❌ Delete refresh token from DB (always do this)
         if (refreshToken != null && !refreshToken.isEmpty()) {
             refreshTokenService.deleteByToken(refreshToken);
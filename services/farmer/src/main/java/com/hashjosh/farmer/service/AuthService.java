@@ -8,6 +8,7 @@ import com.hashjosh.farmer.kafka.FarmerProducer;
 import com.hashjosh.farmer.mapper.UserMapper;
 import com.hashjosh.farmer.repository.*;
 import com.hashjosh.jwtshareable.service.JwtService;
+import com.hashjosh.jwtshareable.service.RefreshTokenStore;
 import com.hashjosh.kafkacommon.farmer.FarmerRegistrationContract;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +20,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
@@ -36,6 +38,7 @@ public class AuthService {
     private final FarmerProducer farmerProducer;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenStore refreshTokenStore;
     @Transactional
     public Farmer register(RegistrationRequest request) {
 
@@ -149,6 +152,8 @@ public class AuthService {
                     farmerLoggedIn.getUsername(), clientIp, userAgent,
                     jwtService.getRefreshTokenExpiry(request.isRememberMe())
             );
+            refreshTokenStore.save(refreshToken, String.valueOf(farmerLoggedIn.getId()), clientIp, userAgent,
+                    Instant.now().plusMillis(jwtService.getRefreshTokenExpiry(request.isRememberMe())));
 
             String webSocketToken = jwtService.generateWebSocketToken(farmerLoggedIn.getUsername(),claims);
 
@@ -0,0 +1,71 @@
+package com.hashjosh.farmer.service;
+
+import com.hashjosh.farmer.entity.RefreshToken;
+import com.hashjosh.farmer.repository.RefreshTokenRepository;
+import com.hashjosh.jwtshareable.service.PersistedRefreshToken;
+import com.hashjosh.jwtshareable.service.RefreshTokenPersister;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Backs the shared jwtshareable refresh token store with the Farmer {@code refresh_tokens} table.
+ */
+@Component
+@RequiredArgsConstructor
+public class JpaRefreshTokenPersister implements RefreshTokenPersister {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Override
+    @Transactional
+    public void saveAll(Collection<PersistedRefreshToken> tokens) {
+        List<RefreshToken> entities = tokens.stream()
+                .map(token -> RefreshToken.builder()
+                        .token(token.token())
+                        .userRef(token.userRef())
+                        .clientIp(token.clientIp())
+                        .userAgent(token.userAgent())
+                        .expiry(token.expiry())
+                        .build())
+                .toList();
+        refreshTokenRepository.saveAll(entities);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll(Collection<String> tokens) {
+        refreshTokenRepository.deleteAllByIdInBatch(tokens);
+    }
+
+    @Override
+    @Transactional
+    public boolean delete(String token) {
+        return refreshTokenRepository.deleteToken(token) > 0;
+    }
+
+    @Override
+    @Transactional
+    public void deleteByUserRef(String userRef) {
+        refreshTokenRepository.deleteByUserRef(userRef);
+    }
+
+    @Override
+    @Transactional
+    public void deleteExpiredBefore(Instant time) {
+        refreshTokenRepository.deleteByExpiryBefore(time);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PersistedRefreshToken> findByToken(String token) {
+        return refreshTokenRepository.findByToken(token)
+                .map(entity -> new PersistedRefreshToken(entity.getToken(), entity.getUserRef(),
+                        entity.getClientIp(), entity.getUserAgent(), entity.getExpiry()));
+    }
+}
@@ -1,9 +1,8 @@
 package com.hashjosh.farmer.service;
 
-import com.hashjosh.farmer.entity.RefreshToken;
 import com.hashjosh.farmer.exception.ApiException;
-import com.hashjosh.farmer.repository.RefreshTokenRepository;
 import com.hashjosh.jwtshareable.service.JwtService;
+import com.hashjosh.jwtshareable.service.RefreshTokenStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -16,17 +15,20 @@ import java.util.UUID;
 public class TokenRenewalService {
 
     private final JwtService jwtService;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
 
     public Map<String, String> refreshTokens(
             UUID userId, String oldRefreshToken, String username,
             Map<String,Object> claims, String clientIp, String userAgent,
             boolean rememberMe) {
 
-        RefreshToken refreshToken = refreshTokenRepository.findByUserRefAndToken(String.valueOf(userId), oldRefreshToken)
-                        .orElseThrow(() -> ApiException.badRequest("Invalid refresh token"));
+        // 1️⃣ Validate and retire the old refresh token in one step, so it can only be rotated once
+        String userRef = String.valueOf(userId);
+        refreshTokenStore.getUserRef(oldRefreshToken)
+                .filter(userRef::equals)
+                .flatMap(ref -> refreshTokenStore.consume(oldRefreshToken, clientIp, userAgent))
+                .orElseThrow(() -> ApiException.badRequest("Invalid refresh token"));
 
-        refreshTokenRepository.delete(refreshToken);
         // 2️⃣ Generate new tokens
         String newAccessToken = jwtService.generateAccessToken(
                 username,
@@ -40,18 +42,12 @@ public class TokenRenewalService {
         );
 
         // 3️⃣ Save new refresh token
-        RefreshToken newRefreshTokenEntity = RefreshToken.builder()
-                .token(newRefreshToken)
-                .userRef(String.valueOf(userId))
-                .clientIp(clientIp)
-                .userAgent(userAgent)
-                .expiry(Instant.now().plusSeconds(jwtService.getRefreshTokenExpiry(rememberMe)))
-                .build();
-        refreshTokenRepository.save(newRefreshTokenEntity);
+        refreshTokenStore.save(newRefreshToken, userRef, clientIp, userAgent,
+                Instant.now().plusMillis(jwtService.getRefreshTokenExpiry(rememberMe)));
+
         return Map.of(
                 "accessToken", newAccessToken,
                 "refreshToken", newRefreshToken
         );
     }
 }
-
@@ -0,0 +1,14 @@
+package com.hashjosh.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A stored 200 response. Only representation headers are kept; everything per-exchange is rebuilt on a hit.
+ */
+record CachedResponse(String path, HttpHeaders headers, byte[] body, String etag, long storedAt, long expiresAt) {
+
+    /** Rough footprint used for the byte bound: body plus a flat allowance for key, headers and object overhead. */
+    long weight() {
+        return body.length + 512L;
+    }
+}
@@ -0,0 +1,267 @@
+package com.hashjosh.gateway.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Serves configured read-only routes from {@link EdgeResponseCache}.
+ * <p>
+ * Only GET requests on paths matching a {@code gateway.edge-cache.rules} entry are considered. The key is
+ * route, path and sorted query, plus the authenticated user for per-user rules. Shared rules must only name
+ * routes whose payload is the same for every authenticated caller. Every cached response carries a strong
+ * ETag, the upstream's own when it sent one and a digest of the body otherwise, and a matching
+ * {@code If-None-Match} is answered with 304 and no body, from the cache or right after the upstream
+ * response was captured.
+ * <p>
+ * Runs just before {@link NettyWriteResponseFilter} so its response decorator sees the upstream body.
+ */
+@Slf4j
+@Component
+public class EdgeCacheFilter implements GlobalFilter, Ordered {
+
+    private static final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private static final String CACHE_HEADER = "X-Cache";
+
+    private final EdgeResponseCache cache;
+    private final EdgeCacheProperties properties;
+
+    public EdgeCacheFilter(EdgeResponseCache cache, EdgeCacheProperties properties) {
+        this.cache = cache;
+        this.properties = properties;
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled() || properties.getRules().isEmpty()) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        String path = request.getPath().value();
+        EdgeCacheProperties.Rule rule = matchingRule(path);
+        if (rule == null) {
+            return chain.filter(exchange);
+        }
+
+        if (!rule.isPerUser()) {
+            return serve(exchange, chain, rule, cacheKey(exchange, path, ""));
+        }
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(Authentication::isAuthenticated)
+                .map(Authentication::getName)
+                .flatMap(user -> serve(exchange, chain, rule, cacheKey(exchange, path, user)).thenReturn(true))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(false)))
+                .then();
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, GatewayFilterChain chain,
+                             EdgeCacheProperties.Rule rule, String key) {
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            return writeCached(exchange, cached);
+        }
+        ServerHttpResponse decorated = new CapturingResponse(exchange, rule, key);
+        return chain.filter(exchange.mutate().response(decorated).build());
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.headers());
+        headers.setETag(cached.etag());
+        headers.set(HttpHeaders.AGE, String.valueOf((System.currentTimeMillis() - cached.storedAt()) / 1000));
+        headers.set(CACHE_HEADER, "HIT");
+        defaultCacheControl(headers);
+        if (etagMatches(exchange.getRequest(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private EdgeCacheProperties.Rule matchingRule(String path) {
+        for (EdgeCacheProperties.Rule rule : properties.getRules()) {
+            if (rule.getPath() != null && pathMatcher.match(rule.getPath(), path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static String cacheKey(ServerWebExchange exchange, String path, String user) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        StringBuilder key = new StringBuilder(128)
+                .append(route != null ? route.getId() : "")
+                .append('\n').append(path).append('?');
+        MultiValueMap<String, String> query = exchange.getRequest().getQueryParams();
+        if (!query.isEmpty()) {
+            // Same parameters in a different order are the same resource
+            Map<String, List<String>> sorted = new TreeMap<>(query);
+            sorted.forEach((name, values) -> {
+                List<String> ordered = new ArrayList<>(values);
+                ordered.sort(null);
+                for (String value : ordered) {
+                    key.append(name).append('=').append(value).append('&');
+                }
+            });
+        }
+        return key.append('\n').append(user).toString();
+    }
+
+    /**
+     * {@code If-None-Match} uses weak comparison, so a {@code W/} prefix on the client's copy still matches.
+     */
+    private static boolean etagMatches(ServerHttpRequest request, String etag) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        for (String candidate : ifNoneMatch) {
+            if ("*".equals(candidate)) {
+                return true;
+            }
+            String opaque = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if (opaque.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean storable(ServerHttpResponse response, EdgeCacheProperties.Rule rule) {
+        if (response.getStatusCode() == null || response.getStatusCode().value() != HttpStatus.OK.value()) {
+            return false;
+        }
+        HttpHeaders headers = response.getHeaders();
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            if (cacheControl.contains("no-store")) {
+                return false;
+            }
+            if (!rule.isPerUser() && cacheControl.contains("private")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Clients keep their copy but revalidate it every time, which the ETag turns into a cheap 304.
+     */
+    private static void defaultCacheControl(HttpHeaders headers) {
+        if (headers.getCacheControl() == null) {
+            headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        }
+    }
+
+    /**
+     * A strong ETag set by the service, such as a schema version; weak ones are replaced by a body digest.
+     */
+    private static String upstreamEtag(HttpHeaders headers) {
+        String etag = headers.getETag();
+        return etag != null && etag.startsWith("\"") ? etag : null;
+    }
+
+    private static HttpHeaders representationHeaders(HttpHeaders source) {
+        HttpHeaders headers = new HttpHeaders();
+        copy(source, headers, HttpHeaders.CONTENT_TYPE);
+        copy(source, headers, HttpHeaders.CONTENT_LANGUAGE);
+        copy(source, headers, HttpHeaders.CONTENT_ENCODING);
+        copy(source, headers, HttpHeaders.VARY);
+        copy(source, headers, HttpHeaders.CACHE_CONTROL);
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    private static void copy(HttpHeaders from, HttpHeaders to, String name) {
+        List<String> values = from.get(name);
+        if (values != null) {
+            to.put(name, List.copyOf(values));
+        }
+    }
+
+    /**
+     * Buffers a cacheable upstream body, stores it, and writes it back with its ETag, or a 304 when the
+     * client already holds that version. Anything not cacheable streams through untouched.
+     */
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final EdgeCacheProperties.Rule rule;
+        private final String key;
+
+        CapturingResponse(ServerWebExchange exchange, EdgeCacheProperties.Rule rule, String key) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.rule = rule;
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!storable(getDelegate(), rule)) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                String path = exchange.getRequest().getPath().value();
+                CachedResponse cached = cache.put(key, path, representationHeaders(getHeaders()), bytes,
+                        upstreamEtag(getHeaders()), rule.getTtl().toMillis());
+
+                HttpHeaders headers = getHeaders();
+                headers.setETag(cached.etag());
+                headers.set(CACHE_HEADER, "MISS");
+                defaultCacheControl(headers);
+                if (etagMatches(exchange.getRequest(), cached.etag())) {
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                    return getDelegate().setComplete();
+                }
+                headers.setContentLength(bytes.length);
+                headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            }).switchIfEmpty(Mono.defer(() -> super.writeWith(Mono.empty())));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.hashjosh.gateway.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Listens for {@code EdgeCacheInvalidationEvent}s that services publish after writes. Every gateway instance
+ * needs every event, so each one consumes with a group of its own. It starts from the latest offset, since a
+ * fresh instance has nothing cached yet.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.edge-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EdgeCacheInvalidationConfig {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Bean
+    public KafkaMessageListenerContainer<String, String> edgeCacheInvalidationListenerContainer(
+            KafkaProperties kafkaProperties,
+            ObjectProvider<SslBundles> sslBundles,
+            EdgeCacheProperties properties,
+            EdgeResponseCache cache) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "gateway-edge-cache-" + UUID.randomUUID());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+
+        ContainerProperties containerProperties = new ContainerProperties(properties.getInvalidationTopic());
+        containerProperties.setMessageListener((MessageListener<String, String>) record -> {
+            String pattern = pathPattern(record.value());
+            if (pattern == null) {
+                log.warn("Skipping edge cache invalidation without a path pattern: {}", record.value());
+                return;
+            }
+            cache.invalidate(pattern);
+        });
+        return new KafkaMessageListenerContainer<>(new DefaultKafkaConsumerFactory<>(props), containerProperties);
+    }
+
+    /**
+     * Accepts the JSON event services publish, or a bare pattern string.
+     */
+    private String pathPattern(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(value);
+            if (node.isTextual()) {
+                return node.asText();
+            }
+            JsonNode pattern = node.get("pathPattern");
+            return pattern != null && pattern.isTextual() ? pattern.asText() : null;
+        } catch (Exception e) {
+            return value.startsWith("/") ? value.trim() : null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.hashjosh.gateway.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "gateway.edge-cache")
+@Getter
+@Setter
+public class EdgeCacheProperties {
+
+    private boolean enabled = true;
+    private int maxEntries = 10_000;
+    private long maxBytes = 64L * 1024 * 1024;
+    private int maxBodyBytes = 1024 * 1024;
+    private String invalidationTopic = "edge-cache-invalidations";
+    private List<Rule> rules = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Rule {
+        /** Ant-style path pattern, e.g. {@code /api/v1/programs/**}. */
+        private String path;
+        private Duration ttl = Duration.ofMinutes(1);
+        /** Cache one copy per authenticated user instead of one shared copy. */
+        private boolean perUser = false;
+    }
+}
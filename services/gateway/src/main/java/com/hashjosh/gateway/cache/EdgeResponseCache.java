@@ -0,0 +1,162 @@
+package com.hashjosh.gateway.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded store behind {@link EdgeCacheFilter}. Bounded both by entry count and by bytes; when either
+ * is exceeded the oldest insertions are evicted first, which for short-TTL edge entries is close enough to
+ * LRU without paying for access-order bookkeeping on every hit.
+ */
+@Slf4j
+@Component
+public class EdgeResponseCache {
+
+    private static final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final EdgeCacheProperties properties;
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public EdgeResponseCache(EdgeCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    public CachedResponse get(String key) {
+        CachedResponse cached = entries.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (cached.expiresAt() <= System.currentTimeMillis()) {
+            remove(key, cached);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    /**
+     * @param etag the upstream's strong ETag, kept so clients see the same tag from either side; null to
+     *             derive one from the body
+     */
+    public CachedResponse put(String key, String path, HttpHeaders headers, byte[] body, String etag, long ttlMs) {
+        long now = System.currentTimeMillis();
+        CachedResponse cached = new CachedResponse(path, headers, body, etag != null ? etag : strongEtag(body),
+                now, now + ttlMs);
+        if (body.length > properties.getMaxBodyBytes()) {
+            return cached;
+        }
+        CachedResponse previous = entries.put(key, cached);
+        if (previous != null) {
+            bytes.addAndGet(-previous.weight());
+        } else {
+            insertionOrder.add(key);
+            queued.incrementAndGet();
+        }
+        bytes.addAndGet(cached.weight());
+        evictIfNeeded();
+        return cached;
+    }
+
+    /**
+     * Drops every entry whose request path matches the Ant-style pattern.
+     */
+    public int invalidate(String pathPattern) {
+        int removed = 0;
+        Iterator<Map.Entry<String, CachedResponse>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = it.next();
+            if (pathMatcher.match(pathPattern, entry.getValue().path())) {
+                if (entries.remove(entry.getKey(), entry.getValue())) {
+                    bytes.addAndGet(-entry.getValue().weight());
+                    removed++;
+                }
+            }
+        }
+        log.debug("Invalidated {} edge cache entries for {}", removed, pathPattern);
+        return removed;
+    }
+
+    public long size() {
+        return entries.size();
+    }
+
+    public long bytes() {
+        return bytes.get();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private void remove(String key, CachedResponse cached) {
+        if (entries.remove(key, cached)) {
+            bytes.addAndGet(-cached.weight());
+        }
+    }
+
+    /**
+     * Keys whose entry was removed or replaced stay in the queue; they are skipped here when they come up.
+     */
+    private void evictIfNeeded() {
+        while (entries.size() > properties.getMaxEntries() || bytes.get() > properties.getMaxBytes()) {
+            String oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            CachedResponse cached = entries.remove(oldest);
+            if (cached != null) {
+                bytes.addAndGet(-cached.weight());
+                evictions.increment();
+            }
+        }
+        // Keep the queue from growing without bound under heavy invalidation churn
+        if (queued.get() > 2 * properties.getMaxEntries()) {
+            insertionOrder.removeIf(key -> !entries.containsKey(key));
+            queued.set(insertionOrder.size());
+        }
+    }
+
+    private static String strongEtag(byte[] body) {
+        byte[] hash = SHA_256.get().digest(body);
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16)) + "\"";
+    }
+}
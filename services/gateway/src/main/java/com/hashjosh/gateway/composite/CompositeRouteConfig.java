@@ -0,0 +1,49 @@
+package com.hashjosh.gateway.composite;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Maps each composite route to {@link CompositeRouteHandler}. Router functions are consulted before the
+ * gateway's own routes, so a composite path never needs a matching gateway route.
+ */
+@Configuration
+public class CompositeRouteConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> compositeRoutes(CompositeRouteProperties properties,
+                                                          CompositeRouteHandler handler) {
+        if (properties.getRoutes().isEmpty()) {
+            return request -> Mono.empty();
+        }
+        RouterFunctions.Builder builder = RouterFunctions.route();
+        for (CompositeRouteProperties.Route route : properties.getRoutes()) {
+            validate(route);
+            builder.route(RequestPredicates.GET(route.getPath()), request -> handler.handle(route, request));
+        }
+        return builder.build();
+    }
+
+    private static void validate(CompositeRouteProperties.Route route) {
+        if (route.getPath() == null || route.getLegs().isEmpty()) {
+            throw new IllegalStateException("Composite route needs a path and at least one leg: " + route.getPath());
+        }
+        Set<String> names = new HashSet<>();
+        for (CompositeRouteProperties.Leg leg : route.getLegs()) {
+            if (leg.getName() == null || leg.getService() == null || leg.getPath() == null) {
+                throw new IllegalStateException("Composite leg on " + route.getPath() + " needs a name, service and path");
+            }
+            if (!names.add(leg.getName())) {
+                throw new IllegalStateException("Duplicate composite leg '" + leg.getName() + "' on " + route.getPath());
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.hashjosh.gateway.composite;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.hashjosh.gateway.config.JwtAuthenticationFilter;
+import com.hashjosh.gateway.ratelimit.RateLimitFilter;
+import com.hashjosh.jwtshareable.security.GatewayIdentityCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Serves {@code gateway.composite.routes}: fires every leg of a composite at once, waits at most each leg's
+ * timeout, and returns one JSON object with a field per leg.
+ * <p>
+ * Leg bodies are spliced into the response as raw bytes rather than parsed and re-serialized. A failed or
+ * timed-out leg becomes {@code null} and is described under {@code _errors}, unless it is required, in
+ * which case the whole composite answers 502. The caller's credentials and gateway identity are forwarded
+ * to every leg, so services authorize each leg exactly as if it had been called directly.
+ * <p>
+ * Composite routes are router functions, so global filters never see them; the caller's rate limit is
+ * checked here instead, once for the composite rather than per leg.
+ */
+@Slf4j
+@Component
+public class CompositeRouteHandler {
+
+    private static final List<String> FORWARDED_HEADERS = List.of(
+            HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE, HttpHeaders.ACCEPT_LANGUAGE,
+            GatewayIdentityCodec.HEADER, "X-User-Username");
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private final WebClient webClient;
+    private final CompositeRouteProperties properties;
+    private final RateLimitFilter rateLimitFilter;
+
+    public CompositeRouteHandler(WebClient.Builder webClientBuilder,
+                                 LoadBalancedExchangeFilterFunction loadBalancer,
+                                 CompositeRouteProperties properties,
+                                 RateLimitFilter rateLimitFilter) {
+        this.webClient = webClientBuilder.filter(loadBalancer).build();
+        this.properties = properties;
+        this.rateLimitFilter = rateLimitFilter;
+    }
+
+    public Mono<ServerResponse> handle(CompositeRouteProperties.Route route, ServerRequest request) {
+        long waitNanos = rateLimitFilter.admit(request.exchange());
+        if (waitNanos > 0) {
+            return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimitFilter.retryAfterSeconds(waitNanos)))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("{\"message\": \"Too many requests\"}");
+        }
+        String userId = request.exchange().getAttribute(JwtAuthenticationFilter.USER_ID_ATTR);
+        HttpHeaders forwarded = forwardedHeaders(request.headers().asHttpHeaders());
+
+        return Flux.fromIterable(route.getLegs())
+                .flatMap(leg -> call(leg, userId, forwarded), Math.max(1, route.getLegs().size()))
+                .collectMap(LegResult::name)
+                .flatMap(results -> respond(route, results));
+    }
+
+    private Mono<LegResult> call(CompositeRouteProperties.Leg leg, String userId, HttpHeaders forwarded) {
+        String path = leg.getPath();
+        if (path.contains("{userId}")) {
+            if (userId == null) {
+                return Mono.just(LegResult.failed(leg.getName(), "no authenticated user"));
+            }
+            path = path.replace("{userId}", UriUtils.encodePathSegment(userId, StandardCharsets.UTF_8));
+        }
+        return webClient.get()
+                .uri("http://" + leg.getService() + path)
+                .headers(headers -> headers.addAll(forwarded))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchangeToMono(response -> read(leg, response))
+                .timeout(leg.getTimeout())
+                .onErrorResume(e -> {
+                    String reason = e instanceof TimeoutException ? "timeout after " + leg.getTimeout().toMillis() + "ms"
+                            : e instanceof DataBufferLimitException ? "response too large"
+                            : "unavailable";
+                    log.debug("Composite leg {} failed: {}", leg.getName(), e.toString());
+                    return Mono.just(LegResult.failed(leg.getName(), reason));
+                });
+    }
+
+    private Mono<LegResult> read(CompositeRouteProperties.Leg leg, ClientResponse response) {
+        if (!response.statusCode().is2xxSuccessful()) {
+            return response.releaseBody()
+                    .thenReturn(LegResult.failed(leg.getName(), "status " + response.statusCode().value()));
+        }
+        MediaType contentType = response.headers().contentType().orElse(null);
+        if (contentType != null && !contentType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                && !contentType.getSubtype().endsWith("+json")) {
+            return response.releaseBody()
+                    .thenReturn(LegResult.failed(leg.getName(), "unsupported content type " + contentType));
+        }
+        return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class), properties.getMaxLegBodyBytes())
+                .map(buffer -> {
+                    byte[] body = new byte[buffer.readableByteCount()];
+                    buffer.read(body);
+                    DataBufferUtils.release(buffer);
+                    return LegResult.ok(leg.getName(), body.length == 0 ? NULL : body);
+                })
+                .defaultIfEmpty(LegResult.ok(leg.getName(), NULL));
+    }
+
+    private Mono<ServerResponse> respond(CompositeRouteProperties.Route route, Map<String, LegResult> results) {
+        List<LegResult> failedRequired = route.getLegs().stream()
+                .filter(CompositeRouteProperties.Leg::isRequired)
+                .map(leg -> results.get(leg.getName()))
+                .filter(result -> result.error() != null)
+                .toList();
+        if (!failedRequired.isEmpty()) {
+            String failed = failedRequired.stream().map(LegResult::name).collect(Collectors.joining(", "));
+            return ServerResponse.status(HttpStatus.BAD_GATEWAY)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("{\"message\": \"Required composite legs failed: " + failed + "\"}");
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        StringBuilder errors = new StringBuilder();
+        out.write('{');
+        boolean first = true;
+        for (CompositeRouteProperties.Leg leg : route.getLegs()) {
+            LegResult result = results.get(leg.getName());
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            writeName(out, leg.getName());
+            out.writeBytes(result.error() == null ? result.body() : NULL);
+            if (result.error() != null) {
+                if (!errors.isEmpty()) {
+                    errors.append(',');
+                }
+                errors.append(quote(leg.getName())).append(':').append(quote(result.error()));
+            }
+        }
+        if (!errors.isEmpty()) {
+            out.write(',');
+            writeName(out, "_errors");
+            out.writeBytes(("{" + errors + "}").getBytes(StandardCharsets.UTF_8));
+        }
+        out.write('}');
+
+        byte[] body = out.toByteArray();
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Composite-Partial", String.valueOf(!errors.isEmpty()))
+                .bodyValue(body);
+    }
+
+    private static HttpHeaders forwardedHeaders(HttpHeaders incoming) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : FORWARDED_HEADERS) {
+            List<String> values = incoming.get(name);
+            if (values != null) {
+                headers.put(name, values);
+            }
+        }
+        return headers;
+    }
+
+    private static void writeName(ByteArrayOutputStream out, String name) {
+        out.writeBytes(quote(name).getBytes(StandardCharsets.UTF_8));
+        out.write(':');
+    }
+
+    private static String quote(String value) {
+        return "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + "\"";
+    }
+
+    private record LegResult(String name, byte[] body, String error) {
+
+        static LegResult ok(String name, byte[] body) {
+            return new LegResult(name, body, null);
+        }
+
+        static LegResult failed(String name, String error) {
+            return new LegResult(name, null, error);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.hashjosh.gateway.composite;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "gateway.composite")
+@Getter
+@Setter
+public class CompositeRouteProperties {
+
+    /** Largest leg body that is merged; larger ones count as failed. */
+    private int maxLegBodyBytes = 512 * 1024;
+    private List<Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+        /** Exact GET path the composite is served on. */
+        private String path;
+        private List<Leg> legs = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Leg {
+        /** Field name of this leg's body in the merged response. */
+        private String name;
+        /** Eureka service id, resolved through the load balancer. */
+        private String service;
+        /** Path on the service; {@code {userId}} is replaced with the caller's verified user id. */
+        private String path;
+        private Duration timeout = Duration.ofSeconds(2);
+        /** Fail the whole composite with 502 when this leg fails, instead of returning partial results. */
+        private boolean required = false;
+    }
+}
@@ -38,9 +38,12 @@ public class GatewaySecurityConfig {
             "/api/v1/agriculture/auth/registration",
             "/api/v1/pcic/auth/login",
             "/api/v1/pcic/auth/registration",
-            "/actuator/**"
+            "/actuator/health", "/actuator/health/**"
     );
 
+    // Metrics and the slow request log carry other users' paths; only admins may read them
+    private static final String ACTUATOR_PATHS = "/actuator/**";
+
     public static final Set<String> AUTHENTICATED_PATHS = Set.of(
             "/api/v1/farmer/auth/me",
             "/api/v1/farmer/auth/logout",
@@ -60,6 +63,7 @@ public class GatewaySecurityConfig {
                         .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .pathMatchers(PERMITTED_PATHS.toArray(new String[0])).permitAll()
                         .pathMatchers(AUTHENTICATED_PATHS.toArray(new String[0])).authenticated()
+                        .pathMatchers(ACTUATOR_PATHS).hasRole("ADMIN")
                         .anyExchange().authenticated()
                 )
                 .addFilterAt(jwtAuthenticationFilter, SecurityWebFiltersOrder.AUTHENTICATION)
@@ -1,9 +1,16 @@
 package com.hashjosh.gateway.config;
 
+import com.hashjosh.jwtshareable.properties.JwtProperties;
+import com.hashjosh.jwtshareable.revocation.RevocationDenylist;
+import com.hashjosh.jwtshareable.security.AuthorityPool;
+import com.hashjosh.jwtshareable.security.GatewayIdentity;
+import com.hashjosh.jwtshareable.security.GatewayIdentityCodec;
 import com.hashjosh.jwtshareable.service.JwtService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpCookie;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -17,15 +24,23 @@ import org.springframework.web.server.*;
 import reactor.core.publisher.Mono;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter implements WebFilter {
 
+    /** Exchange attribute holding the verified user id, for filters that key on the caller. */
+    public static final String USER_ID_ATTR = JwtAuthenticationFilter.class.getName() + ".userId";
+    /** Exchange attribute holding the trusted internal service id. */
+    public static final String INTERNAL_SERVICE_ATTR = JwtAuthenticationFilter.class.getName() + ".internalService";
+
     private final JwtService jwtService;
     private final TrustedConfig trustedConfig;
+    private final AuthorityPool authorityPool;
+    private final JwtProperties jwtProperties;
+    private final ObjectProvider<GatewayIdentityCodec> identityCodec;
+    private final ObjectProvider<RevocationDenylist> denylist;
 
     private static final List<String> PUBLIC_PATHS = List.of(
             "/ws", "/ws/", "/ws/info", "/ws/info/",
@@ -36,6 +51,12 @@ public class JwtAuthenticationFilter implements WebFilter {
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        // Only the gateway may assert an identity; never forward one supplied by the client
+        if (exchange.getRequest().getHeaders().containsKey(GatewayIdentityCodec.HEADER)) {
+            exchange = exchange.mutate()
+                    .request(r -> r.headers(h -> h.remove(GatewayIdentityCodec.HEADER)))
+                    .build();
+        }
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getURI().getPath();
 
@@ -49,6 +70,7 @@ public class JwtAuthenticationFilter implements WebFilter {
         String internalServiceHeader = request.getHeaders().getFirst("X-Internal-Service");
         if (internalServiceHeader != null && trustedConfig.getInternalServiceIds().contains(internalServiceHeader)) {
             log.debug("🔐 Trusted internal service access granted: {}", internalServiceHeader);
+            exchange.getAttributes().put(INTERNAL_SERVICE_ATTR, internalServiceHeader);
             Authentication authentication = new UsernamePasswordAuthenticationToken(
                     "internal-service-" + internalServiceHeader,
                     null,
@@ -72,24 +94,40 @@ public class JwtAuthenticationFilter implements WebFilter {
         }
 
         try {
-            if (!jwtService.validateToken(token)) {
+            Claims claims;
+            try {
+                claims = jwtService.getAllClaims(token);
+            } catch (JwtException e) {
                 log.warn("🚫 Invalid or expired JWT for path: {}", path);
                 return this.unauthorized(exchange, "Invalid or expired token");
             }
 
-            String username = jwtService.getUsernameFromToken(token);
-            Claims claims = jwtService.getAllClaims(token);
-            List<SimpleGrantedAuthority> authorities = extractAuthorities(claims);
+            RevocationDenylist revocations = denylist.getIfAvailable();
+            if (revocations != null && revocations.isRevoked(claims)) {
+                log.warn("🚫 Revoked JWT for path: {}", path);
+                return this.unauthorized(exchange, "Token revoked");
+            }
+
+            String username = claims.getSubject();
+            String userId = claims.get("userId", String.class);
+            exchange.getAttributes().put(USER_ID_ATTR, userId != null ? userId : username);
+            Set<SimpleGrantedAuthority> authorities = authorityPool.authorities(
+                    claims.get("roles", Collection.class),
+                    claims.get("permissions", Collection.class));
 
             Authentication authentication = new UsernamePasswordAuthenticationToken(username, null, authorities);
 
             log.debug("✅ Authenticated user '{}' with {} authorities", username, authorities.size());
 
             // Mutate headers for downstream
-            ServerHttpRequest mutated = request.mutate()
+            ServerHttpRequest.Builder builder = request.mutate()
                     .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
-                    .header("X-User-Username", username)
-                    .build();
+                    .header("X-User-Username", username);
+            GatewayIdentityCodec codec = identityCodec.getIfAvailable();
+            if (codec != null) {
+                builder.header(GatewayIdentityCodec.HEADER, codec.encode(identityOf(claims), token));
+            }
+            ServerHttpRequest mutated = builder.build();
 
             return chain.filter(exchange.mutate().request(mutated).build())
                     .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
@@ -100,13 +138,15 @@ public class JwtAuthenticationFilter implements WebFilter {
         }
     }
 
-    private List<SimpleGrantedAuthority> extractAuthorities(Claims claims) {
-        List<String> roles = claims.get("roles", List.class);
-        List<String> permissions = claims.get("permissions", List.class);
-        Set<String> combined = new HashSet<>();
-        if (roles != null) roles.forEach(r -> combined.add("ROLE_" + r));
-        if (permissions != null) combined.addAll(permissions);
-        return combined.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+    /**
+     * Downstream identity never outlives the token, and is capped so a leaked header is short-lived.
+     */
+    private GatewayIdentity identityOf(Claims claims) {
+        long expiresAt = System.currentTimeMillis() + jwtProperties.getIdentity().getTtlMs();
+        if (claims.getExpiration() != null) {
+            expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+        }
+        return GatewayIdentity.fromClaims(claims, expiresAt);
     }
 
     private String extractAccessToken(ServerHttpRequest request) {
@@ -0,0 +1,31 @@
+package com.hashjosh.gateway.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "gateway.metrics")
+@Getter
+@Setter
+public class GatewayMetricsProperties {
+
+    private List<Double> percentiles = new ArrayList<>(List.of(0.5, 0.95, 0.99));
+    /** Add a Server-Timing header with gateway and upstream timings to responses for internal services. */
+    private boolean serverTiming = true;
+    private SlowRequests slowRequests = new SlowRequests();
+
+    @Getter
+    @Setter
+    public static class SlowRequests {
+        /** Slowest requests kept per window. */
+        private int capacity = 50;
+        /** The endpoint reports the current and the previous window. */
+        private Duration window = Duration.ofMinutes(5);
+    }
+}
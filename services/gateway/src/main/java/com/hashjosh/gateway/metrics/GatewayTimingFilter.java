@@ -0,0 +1,183 @@
+package com.hashjosh.gateway.metrics;
+
+import com.hashjosh.gateway.config.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Times every routed request, first in the global filter chain.
+ * <p>
+ * Records {@code gateway.requests} per route and status class with client-side percentiles,
+ * {@code gateway.upstream.connect} and {@code gateway.upstream.first_byte} per route, and an in-flight
+ * gauge per route. Just before the response commits it writes a {@code Server-Timing} header for trusted
+ * internal callers: the gateway's own entries followed by whatever the upstream service reported. Everyone
+ * else gets no {@code Server-Timing} at all, since upstream names and timings describe the internals.
+ * Requests are also offered to {@link SlowRequestLog}.
+ */
+@Component
+public class GatewayTimingFilter implements GlobalFilter, Ordered {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+    private final GatewayMetricsProperties properties;
+    private final SlowRequestLog slowRequestLog;
+    private final double[] percentiles;
+    private final Map<String, Timer> requestTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> connectTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> firstByteTimers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public GatewayTimingFilter(MeterRegistry meterRegistry,
+                               GatewayMetricsProperties properties,
+                               SlowRequestLog slowRequestLog) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.slowRequestLog = slowRequestLog;
+        this.percentiles = properties.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RequestTiming timing = new RequestTiming();
+        exchange.getAttributes().put(RequestTiming.ATTRIBUTE, timing);
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "unknown";
+
+        boolean exposeTiming = properties.isServerTiming()
+                && exchange.getAttribute(JwtAuthenticationFilter.INTERNAL_SERVICE_ATTR) != null;
+        ServerHttpResponse response = exchange.getResponse();
+        response.beforeCommit(() -> {
+            if (exposeTiming) {
+                writeServerTiming(response.getHeaders(), timing);
+            } else {
+                response.getHeaders().remove(SERVER_TIMING);
+            }
+            return Mono.empty();
+        });
+
+        AtomicInteger routeInFlight = inFlight(routeId);
+        routeInFlight.incrementAndGet();
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(RequestTiming.class, timing))
+                .doFinally(signal -> {
+                    routeInFlight.decrementAndGet();
+                    record(exchange, routeId, timing, signal);
+                });
+    }
+
+    private void record(ServerWebExchange exchange, String routeId, RequestTiming timing, SignalType signal) {
+        long elapsed = timing.elapsedNanos();
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        String statusClass = signal == SignalType.CANCEL ? "CANCELLED"
+                : status == null ? "UNKNOWN" : status.value() / 100 + "xx";
+
+        requestTimer(routeId, statusClass).record(elapsed, TimeUnit.NANOSECONDS);
+        long connect = timing.connectNanos();
+        if (connect >= 0) {
+            upstreamTimer(connectTimers, "gateway.upstream.connect", routeId).record(connect, TimeUnit.NANOSECONDS);
+        }
+        long firstByte = timing.firstByteNanos();
+        if (firstByte >= 0) {
+            upstreamTimer(firstByteTimers, "gateway.upstream.first_byte", routeId).record(firstByte, TimeUnit.NANOSECONDS);
+        }
+
+        slowRequestLog.record(new SlowRequest(
+                routeId,
+                exchange.getRequest().getMethod().name(),
+                exchange.getRequest().getPath().value(),
+                status != null ? status.value() : 0,
+                millis(elapsed),
+                connect >= 0 ? millis(connect) : -1,
+                firstByte >= 0 ? millis(firstByte) : -1,
+                Instant.ofEpochMilli(timing.startEpochMillis)));
+    }
+
+    /**
+     * Gateway entries first, then the upstream's own, merged into a single header line.
+     */
+    private static void writeServerTiming(HttpHeaders headers, RequestTiming timing) {
+        StringBuilder value = new StringBuilder(128);
+        appendMetric(value, "total", timing.elapsedNanos(), "gateway");
+        long connect = timing.connectNanos();
+        if (connect >= 0) {
+            appendMetric(value, "connect", connect, "upstream connect");
+        }
+        long firstByte = timing.firstByteNanos();
+        if (firstByte >= 0) {
+            appendMetric(value, "ttfb", firstByte, "upstream first byte");
+        }
+        List<String> upstream = headers.get(SERVER_TIMING);
+        if (upstream != null) {
+            for (String entry : upstream) {
+                value.append(", ").append(entry);
+            }
+        }
+        headers.set(SERVER_TIMING, value.toString());
+    }
+
+    private static void appendMetric(StringBuilder value, String name, long nanos, String description) {
+        if (!value.isEmpty()) {
+            value.append(", ");
+        }
+        value.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.1f", millis(nanos)))
+                .append(";desc=\"").append(description).append('"');
+    }
+
+    private Timer requestTimer(String routeId, String statusClass) {
+        return requestTimers.computeIfAbsent(routeId + '|' + statusClass, key -> Timer.builder("gateway.requests")
+                .description("Requests handled by the gateway, from routing to completion")
+                .tag("route", routeId)
+                .tag("status", statusClass)
+                .publishPercentiles(percentiles)
+                .register(meterRegistry));
+    }
+
+    private Timer upstreamTimer(Map<String, Timer> timers, String name, String routeId) {
+        return timers.computeIfAbsent(routeId, id -> Timer.builder(name)
+                .tag("route", id)
+                .publishPercentiles(percentiles)
+                .register(meterRegistry));
+    }
+
+    private AtomicInteger inFlight(String routeId) {
+        return inFlight.computeIfAbsent(routeId, id -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder("gateway.requests.in_flight", counter, AtomicInteger::get)
+                    .description("Requests currently being handled by the gateway")
+                    .tag("route", id)
+                    .register(meterRegistry);
+            return counter;
+        });
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,42 @@
+package com.hashjosh.gateway.metrics;
+
+/**
+ * Timestamps ({@link System#nanoTime()}) of one request's trip through the gateway. Written by the
+ * timing filters and by the upstream HTTP client callbacks, which find it in the Reactor context.
+ */
+public final class RequestTiming {
+
+    public static final String ATTRIBUTE = RequestTiming.class.getName();
+
+    final long startNanos = System.nanoTime();
+    final long startEpochMillis = System.currentTimeMillis();
+    volatile long upstreamStartNanos;
+    volatile long requestSentNanos;
+    volatile long responseReceivedNanos;
+
+    void markUpstreamStart() {
+        upstreamStartNanos = System.nanoTime();
+    }
+
+    void markRequestSent() {
+        requestSentNanos = System.nanoTime();
+    }
+
+    void markResponseReceived() {
+        responseReceivedNanos = System.nanoTime();
+    }
+
+    /** Pool acquire plus connect, until the request headers go out; -1 when not forwarded. */
+    long connectNanos() {
+        return upstreamStartNanos != 0 && requestSentNanos != 0 ? requestSentNanos - upstreamStartNanos : -1;
+    }
+
+    /** From sending the request to receiving the response headers; -1 when no response arrived. */
+    long firstByteNanos() {
+        return requestSentNanos != 0 && responseReceivedNanos != 0 ? responseReceivedNanos - requestSentNanos : -1;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
@@ -0,0 +1,17 @@
+package com.hashjosh.gateway.metrics;
+
+import java.time.Instant;
+
+/**
+ * One entry of the slow request log. Durations are in milliseconds; upstream timings are -1 when the
+ * request never reached an upstream. The path carries no query string.
+ */
+public record SlowRequest(String route,
+                          String method,
+                          String path,
+                          int status,
+                          double durationMs,
+                          double upstreamConnectMs,
+                          double upstreamFirstByteMs,
+                          Instant at) {
+}
@@ -0,0 +1,86 @@
+package com.hashjosh.gateway.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the slowest requests of the current and the previous time window.
+ * <p>
+ * Each window is a min-heap capped at the configured capacity. Once it is full, its fastest entry is the
+ * bar a request must clear, and that bar is read without locking, so the typical request never
+ * synchronizes here.
+ */
+@Component
+public class SlowRequestLog {
+
+    private static final Comparator<SlowRequest> BY_DURATION = Comparator.comparingDouble(SlowRequest::durationMs);
+
+    private final int capacity;
+    private final long windowMs;
+    private Window current;
+    private Window previous;
+    private volatile long windowStartedAt;
+    private volatile double threshold;
+
+    public SlowRequestLog(GatewayMetricsProperties properties) {
+        this.capacity = Math.max(1, properties.getSlowRequests().getCapacity());
+        this.windowMs = properties.getSlowRequests().getWindow().toMillis();
+        this.current = new Window(System.currentTimeMillis());
+        this.windowStartedAt = current.startedAt;
+    }
+
+    public void record(SlowRequest request) {
+        if (request.durationMs() <= threshold && System.currentTimeMillis() - windowStartedAt < windowMs) {
+            return;
+        }
+        synchronized (this) {
+            rotateIfNeeded(System.currentTimeMillis());
+            PriorityQueue<SlowRequest> heap = current.requests;
+            if (heap.size() < capacity) {
+                heap.add(request);
+            } else if (request.durationMs() > heap.peek().durationMs()) {
+                heap.poll();
+                heap.add(request);
+            }
+            threshold = heap.size() < capacity ? 0 : heap.peek().durationMs();
+        }
+    }
+
+    /**
+     * Slowest first, across the current and the previous window.
+     */
+    public synchronized List<SlowRequest> slowest() {
+        rotateIfNeeded(System.currentTimeMillis());
+        List<SlowRequest> all = new ArrayList<>(current.requests);
+        if (previous != null) {
+            all.addAll(previous.requests);
+        }
+        all.sort(BY_DURATION.reversed());
+        return all.size() > capacity ? List.copyOf(all.subList(0, capacity)) : all;
+    }
+
+    private void rotateIfNeeded(long now) {
+        if (now - current.startedAt < windowMs) {
+            return;
+        }
+        // A window that passed without any request leaves nothing worth reporting as "previous"
+        previous = now - current.startedAt < 2 * windowMs ? current : null;
+        current = new Window(now);
+        windowStartedAt = now;
+        threshold = 0;
+    }
+
+    private static final class Window {
+
+        private final long startedAt;
+        private final PriorityQueue<SlowRequest> requests = new PriorityQueue<>(BY_DURATION);
+
+        private Window(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
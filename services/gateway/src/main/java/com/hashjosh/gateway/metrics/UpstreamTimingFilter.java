@@ -0,0 +1,31 @@
+package com.hashjosh.gateway.metrics;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Marks the moment the request is handed to {@link NettyRoutingFilter}, so connect time does not include
+ * the gateway's own filters.
+ */
+@Component
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RequestTiming timing = exchange.getAttribute(RequestTiming.ATTRIBUTE);
+        if (timing != null) {
+            timing.markUpstreamStart();
+        }
+        return chain.filter(exchange);
+    }
+}
@@ -0,0 +1,35 @@
+package com.hashjosh.gateway.metrics;
+
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.context.ContextView;
+
+/**
+ * Records when the upstream request goes out and when its response headers arrive. The callbacks run on
+ * pooled connections, so the request's {@link RequestTiming} is taken from the Reactor context.
+ */
+@Component
+public class UpstreamTimingHttpClientCustomizer implements HttpClientCustomizer {
+
+    @Override
+    public HttpClient customize(HttpClient httpClient) {
+        return httpClient
+                .doOnRequest((request, connection) -> {
+                    RequestTiming timing = timing(request.currentContextView());
+                    if (timing != null) {
+                        timing.markRequestSent();
+                    }
+                })
+                .doOnResponse((response, connection) -> {
+                    RequestTiming timing = timing(response.currentContextView());
+                    if (timing != null) {
+                        timing.markResponseReceived();
+                    }
+                });
+    }
+
+    private static RequestTiming timing(ContextView context) {
+        return context.getOrDefault(RequestTiming.class, null);
+    }
+}
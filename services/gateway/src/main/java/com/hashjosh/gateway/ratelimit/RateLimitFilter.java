@@ -0,0 +1,209 @@
+package com.hashjosh.gateway.ratelimit;
+
+import com.hashjosh.gateway.config.JwtAuthenticationFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of every route: per-caller token buckets from {@link RateLimiter}, then the
+ * upstream route's concurrency cap. Callers are keyed by the user id the {@link JwtAuthenticationFilter}
+ * verified, or by client address on public endpoints; {@code X-Forwarded-For} is only believed when the
+ * request comes from one of {@code gateway.rate-limit.trusted-proxies}. Trusted internal services are not limited.
+ * Rejections are 429 with a {@code Retry-After} in whole seconds. Handlers served outside the route table,
+ * such as composite routes, ask {@link #admit} themselves.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    /** Ahead of the edge cache and load balancing, so rejected requests cost as little as possible. */
+    public static final int RATE_LIMIT_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            "{\"message\": \"Too many requests\"}".getBytes(StandardCharsets.UTF_8);
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final List<AddressRange> trustedProxies;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.trustedProxies = properties.getTrustedProxies().stream().map(AddressRange::parse).toList();
+    }
+
+    @Override
+    public int getOrder() {
+        return RATE_LIMIT_FILTER_ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled() || exchange.getAttribute(JwtAuthenticationFilter.INTERNAL_SERVICE_ATTR) != null) {
+            return chain.filter(exchange);
+        }
+        long waitNanos = admit(exchange);
+        if (waitNanos > 0) {
+            return tooManyRequests(exchange, waitNanos);
+        }
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || !rateLimiter.limitsConcurrency(route.getId())) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        if (!rateLimiter.tryEnter(routeId)) {
+            log.debug("Upstream {} is at its concurrency limit", routeId);
+            return tooManyRequests(exchange, TimeUnit.SECONDS.toNanos(1));
+        }
+        return chain.filter(exchange).doFinally(signal -> rateLimiter.release(routeId));
+    }
+
+    /**
+     * Takes tokens for the request from its caller's buckets.
+     *
+     * @return 0 if the request may proceed, otherwise nanoseconds until it would be admitted
+     */
+    public long admit(ServerWebExchange exchange) {
+        if (!properties.isEnabled() || exchange.getAttribute(JwtAuthenticationFilter.INTERNAL_SERVICE_ATTR) != null) {
+            return 0;
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        String caller = caller(exchange);
+        long waitNanos = rateLimiter.tryAcquire(caller, request.getPath().value(), request.getMethod());
+        if (waitNanos > 0) {
+            log.debug("Rate limited {} {} for {}", request.getMethod(), request.getPath(), caller);
+        }
+        return waitNanos;
+    }
+
+    /** Whole seconds for a {@code Retry-After} header, never less than one. */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000);
+    }
+
+    private String caller(ServerWebExchange exchange) {
+        String userId = exchange.getAttribute(JwtAuthenticationFilter.USER_ID_ATTR);
+        if (userId != null) {
+            return userId;
+        }
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote == null || remote.getAddress() == null) {
+            return "ip:unknown";
+        }
+        return "ip:" + clientAddress(remote.getAddress().getHostAddress(), exchange.getRequest().getHeaders());
+    }
+
+    /**
+     * Walks {@code X-Forwarded-For} from the nearest hop outwards while the hops are trusted proxies; the
+     * first untrusted one is the client. Entries further out were written by the client and prove nothing.
+     */
+    private String clientAddress(String remote, HttpHeaders headers) {
+        if (!isTrustedProxy(remote)) {
+            return remote;
+        }
+        List<String> values = headers.get(X_FORWARDED_FOR);
+        if (values == null) {
+            return remote;
+        }
+        List<String> hops = values.stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(hop -> !hop.isEmpty())
+                .toList();
+        String client = remote;
+        for (int i = hops.size() - 1; i >= 0 && isTrustedProxy(client); i--) {
+            client = hops.get(i);
+        }
+        return client;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        if (trustedProxies.isEmpty()) {
+            return false;
+        }
+        InetAddress parsed = AddressRange.literal(address);
+        return parsed != null && trustedProxies.stream().anyMatch(range -> range.contains(parsed));
+    }
+
+    /** An address or CIDR block such as {@code 10.0.0.0/8}. */
+    private record AddressRange(byte[] network, int prefixBits) {
+
+        static AddressRange parse(String value) {
+            int slash = value.indexOf('/');
+            InetAddress address = literal(slash < 0 ? value : value.substring(0, slash));
+            if (address == null) {
+                throw new IllegalArgumentException("Trusted proxy must be an IP address or CIDR range: " + value);
+            }
+            int bits = address.getAddress().length * 8;
+            int prefix = slash < 0 ? bits : Integer.parseInt(value.substring(slash + 1));
+            if (prefix < 0 || prefix > bits) {
+                throw new IllegalArgumentException("Invalid prefix length in trusted proxy " + value);
+            }
+            return new AddressRange(address.getAddress(), prefix);
+        }
+
+        /** Parses an IP literal without ever resolving a host name; null if it is not one. */
+        static InetAddress literal(String value) {
+            if (value.isEmpty() || !value.chars().allMatch(c -> Character.digit(c, 16) >= 0 || c == '.' || c == ':')) {
+                return null;
+            }
+            try {
+                return InetAddress.getByName(value);
+            } catch (UnknownHostException e) {
+                return null;
+            }
+        }
+
+        boolean contains(InetAddress address) {
+            byte[] bytes = address.getAddress();
+            if (bytes.length != network.length) {
+                return false;
+            }
+            int full = prefixBits / 8;
+            for (int i = 0; i < full; i++) {
+                if (bytes[i] != network[i]) {
+                    return false;
+                }
+            }
+            int rest = prefixBits % 8;
+            if (rest == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - rest) & 0xFF;
+            return (bytes[full] & mask) == (network[full] & mask);
+        }
+    }
+
+    private static Mono<Void> tooManyRequests(ServerWebExchange exchange, long waitNanos) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        HttpHeaders headers = response.getHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(waitNanos)));
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(TOO_MANY_REQUESTS_BODY.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(TOO_MANY_REQUESTS_BODY)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.hashjosh.gateway.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    /** Budget every caller has across all routes; null disables it. */
+    private Budget perUser = new Budget();
+    /** Tighter budgets for specific endpoints, charged on top of {@link #perUser}. First match wins. */
+    private List<Rule> rules = new ArrayList<>();
+    /** Maximum in-flight requests per gateway route id, e.g. {@code application-service: 200}. */
+    private Map<String, Integer> maxConcurrent = new HashMap<>();
+    /**
+     * Addresses or CIDR ranges of proxies in front of the gateway. Requests from them are keyed by the
+     * client address they report in {@code X-Forwarded-For}; the header is ignored from anyone else.
+     */
+    private List<String> trustedProxies = new ArrayList<>();
+    /** How often full, idle buckets are dropped. */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    @Getter
+    @Setter
+    public static class Budget {
+        /** Requests allowed per {@link #period} on average. */
+        private int limit = 300;
+        private Duration period = Duration.ofMinutes(1);
+        /** Requests that may arrive back to back; defaults to {@link #limit}. */
+        private Integer burst;
+
+        public int effectiveBurst() {
+            return burst != null ? burst : limit;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Rule extends Budget {
+        /** Shows up in metrics and logs. */
+        private String name;
+        /** Ant-style path pattern. */
+        private String path;
+        /** Empty matches every method. */
+        private List<String> methods = new ArrayList<>();
+    }
+}
@@ -0,0 +1,202 @@
+package com.hashjosh.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the token buckets and upstream concurrency counters behind {@link RateLimitFilter}.
+ * <p>
+ * Buckets are created on first use per (budget, caller) and dropped by a periodic sweep once they have
+ * refilled completely, so memory tracks the set of recently active callers rather than every caller ever
+ * seen. Metrics are tagged by budget name, not by caller, to keep their cardinality fixed.
+ */
+@Slf4j
+@Component
+public class RateLimiter implements DisposableBean {
+
+    static final String PER_USER = "per-user";
+
+    private static final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final CompiledBudget perUser;
+    private final List<CompiledRule> rules;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Disposable sweep;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.perUser = properties.getPerUser() != null ? new CompiledBudget(PER_USER, properties.getPerUser()) : null;
+        this.rules = properties.getRules().stream().map(CompiledRule::new).toList();
+
+        Gauge.builder("gateway.rate_limit.buckets", buckets, Map::size)
+                .description("Token buckets currently held for active callers")
+                .register(meterRegistry);
+        properties.getMaxConcurrent().keySet().forEach(this::inFlightCounter);
+
+        long sweepMs = properties.getSweepInterval().toMillis();
+        this.sweep = Schedulers.parallel().schedulePeriodically(this::removeFullBuckets, sweepMs, sweepMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        sweep.dispose();
+    }
+
+    /**
+     * Charges the per-user budget and the first matching rule. Both are checked before either is charged,
+     * so a request one budget rejects does not use up the other.
+     *
+     * @return 0 when admitted, otherwise the nanoseconds the caller should wait
+     */
+    public long tryAcquire(String caller, String path, HttpMethod method) {
+        long now = System.nanoTime();
+        CompiledRule rule = matchingRule(path, method);
+        TokenBucket ruleBucket = rule != null ? rule.budget.bucket(caller) : null;
+        TokenBucket userBucket = perUser != null ? perUser.bucket(caller) : null;
+
+        long wait = Math.max(ruleBucket != null ? ruleBucket.waitNanos(now) : 0,
+                userBucket != null ? userBucket.waitNanos(now) : 0);
+        if (wait == 0 && ruleBucket != null) {
+            wait = ruleBucket.tryAcquire(now);
+        }
+        if (wait == 0 && userBucket != null) {
+            wait = userBucket.tryAcquire(now);
+            if (wait > 0 && ruleBucket != null) {
+                // A concurrent request took the last per-user token after the check
+                ruleBucket.refund();
+            }
+        }
+        if (rule != null) {
+            rule.budget.record(wait);
+        }
+        if (perUser != null) {
+            perUser.record(wait);
+        }
+        return wait;
+    }
+
+    /**
+     * Reserves an in-flight slot on the upstream route. Every {@code true} must be paired with
+     * {@link #release(String)}.
+     */
+    public boolean tryEnter(String routeId) {
+        Integer max = properties.getMaxConcurrent().get(routeId);
+        if (max == null) {
+            return true;
+        }
+        AtomicInteger counter = inFlightCounter(routeId);
+        if (counter.incrementAndGet() > max) {
+            counter.decrementAndGet();
+            meterRegistry.counter("gateway.rate_limit.requests", "budget", "concurrency:" + routeId, "outcome", "rejected")
+                    .increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void release(String routeId) {
+        if (properties.getMaxConcurrent().containsKey(routeId)) {
+            inFlightCounter(routeId).decrementAndGet();
+        }
+    }
+
+    public boolean limitsConcurrency(String routeId) {
+        return properties.getMaxConcurrent().containsKey(routeId);
+    }
+
+    private AtomicInteger inFlightCounter(String routeId) {
+        return inFlight.computeIfAbsent(routeId, id -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder("gateway.upstream.in_flight", counter, AtomicInteger::get)
+                    .description("Requests currently forwarded to the upstream route")
+                    .tag("route", id)
+                    .register(meterRegistry);
+            return counter;
+        });
+    }
+
+    private CompiledRule matchingRule(String path, HttpMethod method) {
+        for (CompiledRule rule : rules) {
+            if (rule.matches(path, method)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private void removeFullBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        log.debug("Rate limit sweep dropped {} idle buckets, {} remain", before - buckets.size(), buckets.size());
+    }
+
+    private final class CompiledBudget {
+
+        private final String name;
+        private final long emissionIntervalNanos;
+        private final int burst;
+        private final Counter allowed;
+        private final Counter limited;
+
+        CompiledBudget(String name, RateLimitProperties.Budget budget) {
+            if (budget.getLimit() <= 0) {
+                throw new IllegalArgumentException("Rate limit '" + name + "' needs a positive limit");
+            }
+            this.name = name;
+            this.emissionIntervalNanos = Math.max(1, budget.getPeriod().toNanos() / budget.getLimit());
+            this.burst = budget.effectiveBurst();
+            this.allowed = meterRegistry.counter("gateway.rate_limit.requests", "budget", name, "outcome", "allowed");
+            this.limited = meterRegistry.counter("gateway.rate_limit.requests", "budget", name, "outcome", "limited");
+        }
+
+        TokenBucket bucket(String caller) {
+            return buckets.computeIfAbsent(name + '|' + caller, key -> new TokenBucket(emissionIntervalNanos, burst));
+        }
+
+        void record(long wait) {
+            (wait == 0 ? allowed : limited).increment();
+        }
+    }
+
+    private final class CompiledRule {
+
+        private final String path;
+        private final Set<String> methods;
+        private final CompiledBudget budget;
+
+        CompiledRule(RateLimitProperties.Rule rule) {
+            this.path = rule.getPath();
+            this.methods = rule.getMethods().stream()
+                    .map(method -> method.toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            this.budget = new CompiledBudget(rule.getName() != null ? rule.getName() : rule.getPath(), rule);
+        }
+
+        boolean matches(String requestPath, HttpMethod method) {
+            return (methods.isEmpty() || (method != null && methods.contains(method.name())))
+                    && pathMatcher.match(path, requestPath);
+        }
+    }
+}
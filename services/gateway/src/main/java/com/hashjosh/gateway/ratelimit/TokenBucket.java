@@ -0,0 +1,68 @@
+package com.hashjosh.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single {@code long}.
+ * <p>
+ * Instead of a token count plus a last-refill timestamp, the bucket stores the time at which it would be
+ * full again (the generic cell rate algorithm). Taking a token pushes that time forward by one emission
+ * interval; a request is admitted while the pushed time stays within {@code burst} intervals of now. This
+ * admits exactly what a token bucket of the same rate and capacity would, needs one CAS per request, and
+ * tells a rejected caller precisely how long to wait.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(long emissionIntervalNanos, int burst) {
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.toleranceNanos = emissionIntervalNanos * Math.max(1, burst);
+    }
+
+    /**
+     * Checks for a token without taking it.
+     *
+     * @return 0 when a token is available, otherwise the nanoseconds until one is
+     */
+    long waitNanos(long nowNanos) {
+        long current = fullAt.get();
+        long base = current == Long.MIN_VALUE || current - nowNanos < 0 ? nowNanos : current;
+        return Math.max(0, base + emissionIntervalNanos - nowNanos - toleranceNanos);
+    }
+
+    /**
+     * @return 0 when a token was taken, otherwise the nanoseconds until one is available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long base = current == Long.MIN_VALUE || current - nowNanos < 0 ? nowNanos : current;
+            long next = base + emissionIntervalNanos;
+            long excess = next - nowNanos - toleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire} for a request that was rejected afterwards.
+     */
+    void refund() {
+        fullAt.getAndUpdate(current -> current == Long.MIN_VALUE ? current : current - emissionIntervalNanos);
+    }
+
+    /**
+     * A full bucket holds no state worth keeping, so it can be dropped and recreated on demand.
+     */
+    boolean isFull(long nowNanos) {
+        long current = fullAt.get();
+        return current == Long.MIN_VALUE || current - nowNanos <= 0;
+    }
+}
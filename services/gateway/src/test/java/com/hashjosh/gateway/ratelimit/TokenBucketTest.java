@@ -0,0 +1,79 @@
+package com.hashjosh.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void admitsABurstThenAsksTheCallerToWait() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 3);
+        long now = 1_000_000_000L;
+
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 1);
+        long now = 1_000_000_000L;
+        assertThat(bucket.tryAcquire(now)).isZero();
+
+        assertThat(bucket.tryAcquire(now + INTERVAL / 2)).isEqualTo(INTERVAL / 2);
+        assertThat(bucket.tryAcquire(now + INTERVAL)).isZero();
+    }
+
+    @Test
+    void checkingDoesNotTakeATokenButReportsTheSameWait() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 1);
+        long now = 1_000_000_000L;
+
+        assertThat(bucket.waitNanos(now)).isZero();
+        assertThat(bucket.waitNanos(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.waitNanos(now)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryAcquire(now)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void aRefundReturnsTheTokenTaken() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 1);
+        long now = 1_000_000_000L;
+        assertThat(bucket.tryAcquire(now)).isZero();
+
+        bucket.refund();
+
+        assertThat(bucket.tryAcquire(now)).isZero();
+    }
+
+    @Test
+    void isFullOnceEveryTokenHasRefilled() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 2);
+        long now = 1_000_000_000L;
+        assertThat(bucket.isFull(now)).isTrue();
+
+        bucket.tryAcquire(now);
+        bucket.tryAcquire(now);
+
+        assertThat(bucket.isFull(now + INTERVAL)).isFalse();
+        assertThat(bucket.isFull(now + 2 * INTERVAL)).isTrue();
+    }
+
+    @Test
+    void anIdleBucketDoesNotSaveUpMoreThanItsBurst() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 2);
+        long later = 1_000_000_000L + TimeUnit.HOURS.toNanos(1);
+
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+}
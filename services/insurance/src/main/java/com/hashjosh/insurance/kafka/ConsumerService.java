@@ -10,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -18,11 +19,13 @@ public class ConsumerService {
     private final InsuranceRepository insuranceRepository;
     private final KafkaProducer producer;
 
+    @Transactional
     @KafkaListener(topics = "application-submitted", groupId = "pcic-application-submitted-group")
     public void listenApplicationSubmitted(@Payload ApplicationSubmittedEvent event) {
         handleApplicationSubmittedEvent(event);
     }
 
+    @Transactional
     @KafkaListener(topics = "application-forwarded", groupId = "pcic-application-forwarded-group")
     public void listenApplicationForwarded(@Payload ApplicationForwarded event) {
         handleApplicationForwarded(event);
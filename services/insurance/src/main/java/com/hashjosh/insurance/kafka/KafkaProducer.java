@@ -1,26 +1,16 @@
 package com.hashjosh.insurance.kafka;
 
-import com.hashjosh.kafkacommon.agriculture.AgricultureRegistrationContract;
+import com.hashjosh.kafkacommon.outbox.OutboxPublisher;
 import lombok.RequiredArgsConstructor;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.Message;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class KafkaProducer {
 
-    private final KafkaTemplate<String, Object> template;
+    private final OutboxPublisher outboxPublisher;
 
-    public <T> void publishEvent(String topic, T event){
-        Message<T> contract = MessageBuilder
-                .withPayload(event)
-                .setHeader(KafkaHeaders.TOPIC, topic)
-                .build();
-
-        template.send(contract);
+    public <T> void publishEvent(String topic, T event) {
+        outboxPublisher.publish(topic, event);
     }
-
 }
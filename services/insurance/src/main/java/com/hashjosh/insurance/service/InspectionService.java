@@ -21,6 +21,7 @@ import com.hashjosh.kafkacommon.application.PolicyIssuedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -60,6 +61,7 @@ public class InspectionService {
         return schedule;
     }
 
+    @Transactional
     public void completeInspection(UUID insuranceId, InspectionRequestDto requestDto) {
         Insurance insurance = getInsurance(insuranceId);
         InspectionRecord record = insurance.getInspectionRecord();
@@ -0,0 +1,50 @@
+package com.hashjosh.jwtshareable.config;
+
+import com.hashjosh.jwtshareable.service.JwtService;
+import com.hashjosh.jwtshareable.service.VerifiedClaimsCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the verified-claims cache counters of {@link JwtService} as jwt.claims.cache.* meters.
+ */
+public class ClaimsCacheMetrics implements MeterBinder {
+
+    private final JwtService jwtService;
+
+    public ClaimsCacheMetrics(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (jwtService.getClaimsCacheStats() == null) {
+            return;
+        }
+        FunctionCounter.builder("jwt.claims.cache.gets", jwtService, stat(VerifiedClaimsCache.Stats::hitCount))
+                .tag("result", "hit")
+                .description("Verified-claims cache lookups")
+                .register(registry);
+        FunctionCounter.builder("jwt.claims.cache.gets", jwtService, stat(VerifiedClaimsCache.Stats::missCount))
+                .tag("result", "miss")
+                .description("Verified-claims cache lookups")
+                .register(registry);
+        FunctionCounter.builder("jwt.claims.cache.evictions", jwtService, stat(VerifiedClaimsCache.Stats::evictionCount))
+                .description("Verified-claims cache evictions, including expired tokens")
+                .register(registry);
+        Gauge.builder("jwt.claims.cache.size", jwtService, stat(VerifiedClaimsCache.Stats::size))
+                .description("Number of tokens in the verified-claims cache")
+                .register(registry);
+        Gauge.builder("jwt.claims.cache.hit.ratio", jwtService, stat(VerifiedClaimsCache.Stats::hitRate))
+                .description("Verified-claims cache hit ratio")
+                .register(registry);
+    }
+
+    private static ToDoubleFunction<JwtService> stat(ToDoubleFunction<VerifiedClaimsCache.Stats> extractor) {
+        return service -> extractor.applyAsDouble(service.getClaimsCacheStats());
+    }
+}
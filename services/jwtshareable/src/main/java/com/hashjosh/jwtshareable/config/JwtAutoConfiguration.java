@@ -0,0 +1,144 @@
+package com.hashjosh.jwtshareable.config;
+
+import com.hashjosh.jwtshareable.properties.JwtProperties;
+import com.hashjosh.jwtshareable.revocation.RevocationDenylist;
+import com.hashjosh.jwtshareable.revocation.TokenRevocationPublisher;
+import com.hashjosh.jwtshareable.revocation.TokenRevocationService;
+import com.hashjosh.jwtshareable.security.AuthorityPool;
+import com.hashjosh.jwtshareable.security.GatewayIdentityCodec;
+import com.hashjosh.jwtshareable.security.JwtAuthenticationCustomizer;
+import com.hashjosh.jwtshareable.security.JwtAuthenticationFilter;
+import com.hashjosh.jwtshareable.service.JwtService;
+import com.hashjosh.jwtshareable.service.RefreshTokenPersister;
+import com.hashjosh.jwtshareable.service.RefreshTokenStore;
+import com.hashjosh.jwtshareable.service.StripedRefreshTokenStore;
+import com.hashjosh.jwtshareable.web.ServerTimingFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Registers the shared JWT infrastructure in every service that depends on jwtshareable.
+ * Services that still @Import JwtService or JwtConfig keep their own JwtService bean.
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(JwtProperties.class)
+public class JwtAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtService jwtService(JwtProperties jwtProperties) {
+        return new JwtService(jwtProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "org.springframework.security.core.authority.SimpleGrantedAuthority")
+    public AuthorityPool authorityPool(JwtProperties jwtProperties) {
+        return new AuthorityPool(jwtProperties.getFilter().isUppercaseAuthorities());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "token.identity", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public GatewayIdentityCodec gatewayIdentityCodec(JwtProperties jwtProperties) {
+        return new GatewayIdentityCodec(jwtProperties.getSecret());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "token.revocation", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RevocationDenylist revocationDenylist(JwtProperties jwtProperties) {
+        JwtProperties.Revocation revocation = jwtProperties.getRevocation();
+        return new RevocationDenylist(revocation.getExpectedEntries(), revocation.getFalsePositiveRate(),
+                revocation.getSweepIntervalMs());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(RevocationDenylist.class)
+    public TokenRevocationService tokenRevocationService(RevocationDenylist denylist,
+                                                         JwtService jwtService,
+                                                         ObjectProvider<TokenRevocationPublisher> publisher,
+                                                         JwtProperties jwtProperties) {
+        return new TokenRevocationService(denylist, jwtService, publisher.getIfAvailable(), jwtProperties);
+    }
+
+    /**
+     * Only services that own a refresh token table (and so provide a {@link RefreshTokenPersister}) get a store.
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnMissingBean(RefreshTokenStore.class)
+    @ConditionalOnBean(RefreshTokenPersister.class)
+    public StripedRefreshTokenStore refreshTokenStore(RefreshTokenPersister persister, JwtProperties jwtProperties) {
+        return new StripedRefreshTokenStore(persister, jwtProperties.getRefreshStore());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class ClaimsCacheMetricsConfig {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ClaimsCacheMetrics claimsCacheMetrics(JwtService jwtService) {
+            return new ClaimsCacheMetrics(jwtService);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(name = "org.springframework.security.web.SecurityFilterChain")
+    @ConditionalOnProperty(prefix = "token.filter", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class ServletAuthenticationConfig {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public JwtAuthenticationFilter jwtAuthenticationFilter(JwtService jwtService,
+                                                               AuthorityPool authorityPool,
+                                                               ObjectProvider<JwtAuthenticationCustomizer> customizer,
+                                                               ObjectProvider<GatewayIdentityCodec> identityCodec,
+                                                               ObjectProvider<RevocationDenylist> denylist) {
+            return new JwtAuthenticationFilter(jwtService, authorityPool,
+                    customizer.getIfAvailable(() -> new JwtAuthenticationCustomizer() { }),
+                    identityCodec.getIfAvailable(), denylist.getIfAvailable());
+        }
+
+        /**
+         * The filter belongs in the security filter chain only; keep Boot from also adding it to the servlet chain.
+         */
+        @Bean
+        public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(JwtAuthenticationFilter filter) {
+            FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+            registration.setEnabled(false);
+            return registration;
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(name = "org.springframework.security.web.util.OnCommittedResponseWrapper")
+    @ConditionalOnProperty(prefix = "server-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class ServerTimingConfig {
+
+        /**
+         * Outermost filter, so the reported time covers security and everything after it.
+         */
+        @Bean
+        public FilterRegistrationBean<ServerTimingFilter> serverTimingFilterRegistration(Environment environment) {
+            FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(
+                    new ServerTimingFilter(environment.getProperty("spring.application.name", "app")));
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+}
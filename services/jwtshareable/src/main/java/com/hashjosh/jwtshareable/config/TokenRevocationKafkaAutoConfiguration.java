@@ -0,0 +1,99 @@
+package com.hashjosh.jwtshareable.config;
+
+import com.hashjosh.jwtshareable.properties.JwtProperties;
+import com.hashjosh.jwtshareable.revocation.KafkaTokenRevocationPublisher;
+import com.hashjosh.jwtshareable.revocation.RevocationDenylist;
+import com.hashjosh.jwtshareable.revocation.TokenRevocation;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Broadcasts token revocations over Kafka in services that have it on the classpath.
+ * <p>
+ * The topic is compacted and retained for the longest token lifetime, so it always holds every revocation
+ * that can still matter. Each instance consumes it with a group of its own from the earliest offset, which
+ * replays that snapshot at startup and then follows new revocations. Producer and consumer use plain string
+ * serialization and are built here rather than shared with the service, whose Kafka serializers are JSON.
+ */
+@Slf4j
+@AutoConfiguration(after = {KafkaAutoConfiguration.class, JwtAutoConfiguration.class})
+@ConditionalOnClass(name = "org.springframework.kafka.core.KafkaTemplate")
+@ConditionalOnBean({KafkaProperties.class, RevocationDenylist.class})
+@ConditionalOnProperty(prefix = "token.revocation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TokenRevocationKafkaAutoConfiguration {
+
+    @Bean
+    public NewTopic tokenRevocationTopic(JwtProperties jwtProperties) {
+        long retentionMs = Math.max(
+                Math.max(jwtProperties.getAccessTokenExpirationMs(), jwtProperties.getAccessTokenExpirationRememberMeMs()),
+                jwtProperties.getWebSocketExpirationMs());
+        return TopicBuilder
+                .name(jwtProperties.getRevocation().getTopic())
+                .partitions(1)
+                .replicas(1)
+                .config(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT + "," + TopicConfig.CLEANUP_POLICY_DELETE)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(Math.max(retentionMs, 86_400_000L)))
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public KafkaTokenRevocationPublisher tokenRevocationPublisher(KafkaProperties kafkaProperties,
+                                                                  ObjectProvider<SslBundles> sslBundles,
+                                                                  JwtProperties jwtProperties) {
+        Map<String, Object> props = kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        return new KafkaTokenRevocationPublisher(new DefaultKafkaProducerFactory<>(props),
+                jwtProperties.getRevocation().getTopic());
+    }
+
+    @Bean
+    public KafkaMessageListenerContainer<String, String> tokenRevocationListenerContainer(
+            KafkaProperties kafkaProperties,
+            ObjectProvider<SslBundles> sslBundles,
+            JwtProperties jwtProperties,
+            RevocationDenylist denylist,
+            Environment environment) {
+        String application = environment.getProperty("spring.application.name", "service");
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "token-revocation-" + application + "-" + UUID.randomUUID());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+
+        ContainerProperties containerProperties = new ContainerProperties(jwtProperties.getRevocation().getTopic());
+        containerProperties.setMessageListener((MessageListener<String, String>) record -> {
+            try {
+                denylist.apply(TokenRevocation.decode(record.value()));
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping malformed token revocation at offset {}: {}", record.offset(), e.getMessage());
+            }
+        });
+        return new KafkaMessageListenerContainer<>(new DefaultKafkaConsumerFactory<>(props), containerProperties);
+    }
+}
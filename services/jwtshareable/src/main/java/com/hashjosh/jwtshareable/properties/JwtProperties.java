@@ -12,6 +12,51 @@ public class JwtProperties {
     private long refreshTokenExpirationMs;
     private long refreshTokenExpirationRememberMeMs;
     private long webSocketExpirationMs;
+    private ClaimsCache claimsCache = new ClaimsCache();
+    private Filter filter = new Filter();
+    private Identity identity = new Identity();
+    private RefreshStore refreshStore = new RefreshStore();
+    private Revocation revocation = new Revocation();
 
-}
+    @Data
+    public static class ClaimsCache {
+        private boolean enabled = true;
+        private int maxSize = 10_000;
+    }
+
+    @Data
+    public static class Filter {
+        private boolean enabled = true;
+        private boolean uppercaseAuthorities = false;
+    }
+
+    @Data
+    public static class Identity {
+        private boolean enabled = true;
+        // Seconds: the header is minted per request and only has to outlive the hop
+        private long ttlMs = 30_000;
+    }
 
+    @Data
+    public static class RefreshStore {
+        private int stripes = 64;
+        private int wheelSize = 512;
+        private long tickMs = 60_000;
+        private long flushIntervalMs = 200;
+        private int batchSize = 500;
+        private int maxPending = 50_000;
+        private long purgeIntervalMs = 3_600_000;
+        private boolean bindClientIp = false;
+        private boolean bindUserAgent = false;
+    }
+
+    @Data
+    public static class Revocation {
+        private boolean enabled = true;
+        private String topic = "token-revocations";
+        private int expectedEntries = 100_000;
+        private double falsePositiveRate = 0.001;
+        private long sweepIntervalMs = 60_000;
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.hashjosh.jwtshareable.revocation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Publishes revocations to the shared revocation topic, keyed by {@link TokenRevocation#key()} so the
+ * compacted topic keeps one record per token or user.
+ */
+@Slf4j
+public class KafkaTokenRevocationPublisher implements TokenRevocationPublisher, AutoCloseable {
+
+    private final DefaultKafkaProducerFactory<String, String> producerFactory;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final String topic;
+
+    public KafkaTokenRevocationPublisher(DefaultKafkaProducerFactory<String, String> producerFactory, String topic) {
+        this.producerFactory = producerFactory;
+        this.kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        this.topic = topic;
+    }
+
+    @Override
+    public void publish(TokenRevocation revocation) {
+        kafkaTemplate.send(topic, revocation.key(), revocation.encode())
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("Failed to publish token revocation {}: {}", revocation.key(), ex.getMessage());
+                    }
+                });
+    }
+
+    @Override
+    public void close() {
+        producerFactory.destroy();
+    }
+}
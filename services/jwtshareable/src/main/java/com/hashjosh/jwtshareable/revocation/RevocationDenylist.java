@@ -0,0 +1,166 @@
+package com.hashjosh.jwtshareable.revocation;
+
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory denylist of revoked access tokens and users.
+ * <p>
+ * Every authenticated request asks this class whether its token is revoked, and almost always the answer
+ * is no, so a Bloom filter sits in front of the exact maps: a negative costs a few bit probes and never
+ * touches the maps. Entries leave the exact maps when they expire; since a Bloom filter cannot forget, it
+ * is rebuilt from the maps after a sweep removed something, or when it has taken more keys than it was
+ * sized for. Adds and rebuilds are serialized, reads are lock-free.
+ */
+@Slf4j
+public class RevocationDenylist implements AutoCloseable {
+
+    private static final int TOKEN = 1;
+    private static final int USER = 2;
+
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, UserRevocation> revokedUsers = new ConcurrentHashMap<>();
+    private final double falsePositiveRate;
+    private final long sweepIntervalMs;
+    private volatile BloomFilter filter;
+    private int filterInsertions;
+    private ScheduledExecutorService executor;
+
+    public RevocationDenylist(int expectedEntries, double falsePositiveRate, long sweepIntervalMs) {
+        this.falsePositiveRate = falsePositiveRate;
+        this.sweepIntervalMs = sweepIntervalMs;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    /**
+     * Starts the periodic sweep of expired entries.
+     */
+    public synchronized void start() {
+        if (executor != null || sweepIntervalMs <= 0) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                removeExpired();
+            } catch (RuntimeException e) {
+                log.error("Token revocation sweep failed", e);
+            }
+        }, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public void apply(TokenRevocation revocation) {
+        long now = System.currentTimeMillis();
+        if (revocation.expiresAt() <= now) {
+            return;
+        }
+        synchronized (this) {
+            switch (revocation.type()) {
+                case TOKEN -> {
+                    revokedTokens.merge(revocation.subject(), revocation.expiresAt(), Math::max);
+                    addToFilter(TOKEN, revocation.subject());
+                }
+                case USER -> {
+                    revokedUsers.merge(revocation.subject(),
+                            new UserRevocation(revocation.revokedAt(), revocation.expiresAt()),
+                            UserRevocation::merge);
+                    addToFilter(USER, revocation.subject());
+                }
+            }
+        }
+    }
+
+    /**
+     * True when the token was revoked, either by its {@code jti} or because its user was revoked after it
+     * was issued.
+     */
+    public boolean isRevoked(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        return isRevoked(claims.getId(), claims.get("userId", String.class),
+                issuedAt != null ? issuedAt.getTime() : Long.MIN_VALUE);
+    }
+
+    /**
+     * @param tokenId        the token's {@code jti}, or null when it has none
+     * @param userId         the token's user, or null when unknown
+     * @param issuedAtMillis the token's {@code iat}; {@link Long#MIN_VALUE} when unknown, which any user
+     *                       revocation covers
+     */
+    public boolean isRevoked(String tokenId, String userId, long issuedAtMillis) {
+        BloomFilter current = filter;
+        if (tokenId != null && current.mightContain(TOKEN, tokenId)) {
+            Long expiresAt = revokedTokens.get(tokenId);
+            if (expiresAt != null && expiresAt > System.currentTimeMillis()) {
+                return true;
+            }
+        }
+        if (userId != null && current.mightContain(USER, userId)) {
+            UserRevocation revocation = revokedUsers.get(userId);
+            // iat has second precision, so a token issued in the same second as the revocation is rejected too
+            return revocation != null
+                    && revocation.expiresAt() > System.currentTimeMillis()
+                    && issuedAtMillis <= revocation.revokedAt();
+        }
+        return false;
+    }
+
+    public int size() {
+        return revokedTokens.size() + revokedUsers.size();
+    }
+
+    /**
+     * Drops expired entries and rebuilds the filter when anything was dropped.
+     */
+    public synchronized void removeExpired() {
+        long now = System.currentTimeMillis();
+        boolean removed = revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        removed |= revokedUsers.values().removeIf(revocation -> revocation.expiresAt() <= now);
+        if (removed) {
+            rebuildFilter(filter.capacity());
+        }
+    }
+
+    private void addToFilter(int namespace, String key) {
+        if (++filterInsertions > filter.capacity()) {
+            rebuildFilter(filter.capacity() * 2);
+        } else {
+            filter.put(namespace, key);
+        }
+    }
+
+    private void rebuildFilter(int capacity) {
+        int entries = revokedTokens.size() + revokedUsers.size();
+        BloomFilter rebuilt = new BloomFilter(Math.max(capacity, entries * 2), falsePositiveRate);
+        revokedTokens.keySet().forEach(tokenId -> rebuilt.put(TOKEN, tokenId));
+        revokedUsers.keySet().forEach(userId -> rebuilt.put(USER, userId));
+        filter = rebuilt;
+        filterInsertions = entries;
+        log.debug("Rebuilt token revocation filter: {} entries, capacity {}", entries, rebuilt.capacity());
+    }
+
+    private record UserRevocation(long revokedAt, long expiresAt) {
+
+        UserRevocation merge(UserRevocation other) {
+            return new UserRevocation(Math.max(revokedAt, other.revokedAt), Math.max(expiresAt, other.expiresAt));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.hashjosh.jwtshareable.revocation;
+
+/**
+ * One denylist entry as broadcast between services. A {@link Type#TOKEN} revocation names an access token
+ * by its {@code jti}; a {@link Type#USER} revocation rejects every token of the user issued at or before
+ * {@code revokedAt}. Either way the entry is only kept until {@code expiresAt}, after which every token it
+ * could match has expired on its own.
+ * <p>
+ * The wire format is a single line, {@code type|revokedAt|expiresAt|subject}, so every service can read it
+ * regardless of how its own Kafka serializers are configured.
+ */
+public record TokenRevocation(Type type, String subject, long revokedAt, long expiresAt) {
+
+    public enum Type {
+        TOKEN, USER
+    }
+
+    public String key() {
+        return type.name() + ":" + subject;
+    }
+
+    public String encode() {
+        return type.name() + '|' + revokedAt + '|' + expiresAt + '|' + subject;
+    }
+
+    /**
+     * Parses {@link #encode()} output; throws IllegalArgumentException for anything else.
+     */
+    public static TokenRevocation decode(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Empty token revocation");
+        }
+        int first = value.indexOf('|');
+        int second = first < 0 ? -1 : value.indexOf('|', first + 1);
+        int third = second < 0 ? -1 : value.indexOf('|', second + 1);
+        if (third < 0 || third == value.length() - 1) {
+            throw new IllegalArgumentException("Malformed token revocation: " + value);
+        }
+        return new TokenRevocation(
+                Type.valueOf(value.substring(0, first)),
+                value.substring(third + 1),
+                Long.parseLong(value.substring(first + 1, second)),
+                Long.parseLong(value.substring(second + 1, third)));
+    }
+}
@@ -0,0 +1,9 @@
+package com.hashjosh.jwtshareable.revocation;
+
+/**
+ * Broadcasts a revocation to the other service instances.
+ */
+public interface TokenRevocationPublisher {
+
+    void publish(TokenRevocation revocation);
+}
@@ -0,0 +1,65 @@
+package com.hashjosh.jwtshareable.revocation;
+
+import com.hashjosh.jwtshareable.properties.JwtProperties;
+import com.hashjosh.jwtshareable.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Entry point for services that revoke access: applies the revocation to the local denylist right away
+ * and broadcasts it so every other instance does the same.
+ */
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevocationDenylist denylist;
+    private final JwtService jwtService;
+    private final TokenRevocationPublisher publisher;
+    private final long maxTokenLifetimeMs;
+
+    public TokenRevocationService(RevocationDenylist denylist, JwtService jwtService,
+                                  TokenRevocationPublisher publisher, JwtProperties jwtProperties) {
+        this.denylist = denylist;
+        this.jwtService = jwtService;
+        this.publisher = publisher;
+        this.maxTokenLifetimeMs = Math.max(
+                Math.max(jwtProperties.getAccessTokenExpirationMs(), jwtProperties.getAccessTokenExpirationRememberMeMs()),
+                jwtProperties.getWebSocketExpirationMs());
+    }
+
+    /**
+     * Revokes a single access token, e.g. on logout. Tokens that do not verify, have already expired
+     * or carry no {@code jti} are ignored.
+     */
+    public void revokeAccessToken(String token) {
+        Claims claims;
+        try {
+            claims = jwtService.getAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return;
+        }
+        jwtService.evictCachedClaims(token);
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            log.debug("Access token of {} has no jti, cannot revoke it individually", claims.getSubject());
+            return;
+        }
+        apply(new TokenRevocation(TokenRevocation.Type.TOKEN, claims.getId(),
+                System.currentTimeMillis(), claims.getExpiration().getTime()));
+    }
+
+    /**
+     * Revokes every access token issued to the user so far, e.g. when the account is deleted.
+     */
+    public void revokeUser(String userId) {
+        long now = System.currentTimeMillis();
+        apply(new TokenRevocation(TokenRevocation.Type.USER, userId, now, now + maxTokenLifetimeMs));
+    }
+
+    private void apply(TokenRevocation revocation) {
+        denylist.apply(revocation);
+        if (publisher != null) {
+            publisher.publish(revocation);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.hashjosh.jwtshareable.security;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interned {@link SimpleGrantedAuthority} instances keyed by role and permission name.
+ * The role/permission combination of a token is also cached, so authenticating a request
+ * does not rebuild an authority set or concatenate "ROLE_" strings.
+ */
+public class AuthorityPool {
+
+    public static final SimpleGrantedAuthority INTERNAL_SERVICE = new SimpleGrantedAuthority("ROLE_INTERNAL_SERVICE");
+    public static final Set<SimpleGrantedAuthority> INTERNAL_SERVICE_AUTHORITIES = Set.of(INTERNAL_SERVICE);
+
+    private static final int MAX_COMBINATIONS = 1024;
+
+    private final boolean uppercase;
+    private final Map<String, SimpleGrantedAuthority> roles = new ConcurrentHashMap<>();
+    private final Map<String, SimpleGrantedAuthority> permissions = new ConcurrentHashMap<>();
+    private final Map<List<Collection<?>>, Set<SimpleGrantedAuthority>> combinations = new ConcurrentHashMap<>();
+
+    public AuthorityPool(boolean uppercase) {
+        this.uppercase = uppercase;
+    }
+
+    public SimpleGrantedAuthority role(String name) {
+        return roles.computeIfAbsent(name, key -> new SimpleGrantedAuthority("ROLE_" + normalize(key)));
+    }
+
+    public SimpleGrantedAuthority permission(String name) {
+        return permissions.computeIfAbsent(name, key -> new SimpleGrantedAuthority(normalize(key)));
+    }
+
+    /**
+     * Immutable authority set for the given "roles" and "permissions" claims. Either may be null.
+     */
+    public Set<SimpleGrantedAuthority> authorities(Collection<?> roleClaims, Collection<?> permissionClaims) {
+        List<Collection<?>> key = Arrays.asList(roleClaims, permissionClaims);
+        Set<SimpleGrantedAuthority> cached = combinations.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Set<SimpleGrantedAuthority> authorities = build(roleClaims, permissionClaims);
+        if (combinations.size() < MAX_COMBINATIONS) {
+            combinations.putIfAbsent(key, authorities);
+        }
+        return authorities;
+    }
+
+    private Set<SimpleGrantedAuthority> build(Collection<?> roleClaims, Collection<?> permissionClaims) {
+        Set<SimpleGrantedAuthority> authorities = new HashSet<>();
+        if (roleClaims != null) {
+            for (Object role : roleClaims) {
+                authorities.add(role(role.toString()));
+            }
+        }
+        if (permissionClaims != null) {
+            for (Object permission : permissionClaims) {
+                authorities.add(permission(permission.toString()));
+            }
+        }
+        return Set.copyOf(authorities);
+    }
+
+    private String normalize(String name) {
+        return uppercase ? name.toUpperCase(Locale.ROOT) : name;
+    }
+}
@@ -0,0 +1,59 @@
+package com.hashjosh.jwtshareable.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Identity the gateway asserts for a request after it has verified the caller's access token.
+ * Carried downstream in the {@link GatewayIdentityCodec#HEADER} header.
+ */
+public record GatewayIdentity(
+        String userId,
+        String username,
+        String firstname,
+        String lastname,
+        String email,
+        String phoneNumber,
+        List<String> roles,
+        List<String> permissions,
+        String tokenId,
+        long issuedAtMillis,
+        long expiresAtMillis
+) {
+
+    public GatewayIdentity {
+        roles = roles != null ? List.copyOf(roles) : List.of();
+        permissions = permissions != null ? List.copyOf(permissions) : List.of();
+    }
+
+    /** {@link #issuedAtMillis} of a token without {@code iat}. */
+    public static final long UNKNOWN_ISSUED_AT = Long.MIN_VALUE;
+
+    public static GatewayIdentity fromClaims(Claims claims, long expiresAtMillis) {
+        String phone = claims.get("phoneNumber", String.class);
+        Date issuedAt = claims.getIssuedAt();
+        return new GatewayIdentity(
+                claims.get("userId", String.class),
+                claims.getSubject(),
+                claims.get("firstname", String.class),
+                claims.get("lastname", String.class),
+                claims.get("email", String.class),
+                phone != null ? phone : claims.get("phone", String.class),
+                toStrings(claims.get("roles", Collection.class)),
+                toStrings(claims.get("permissions", Collection.class)),
+                claims.getId(),
+                issuedAt != null ? issuedAt.getTime() : UNKNOWN_ISSUED_AT,
+                expiresAtMillis
+        );
+    }
+
+    private static List<String> toStrings(Collection<?> values) {
+        if (values == null || values.isEmpty()) {
+            return List.of();
+        }
+        return values.stream().map(Object::toString).toList();
+    }
+}
@@ -0,0 +1,212 @@
+package com.hashjosh.jwtshareable.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Compact signed identity header minted by the gateway once it has verified the JWT, so downstream
+ * services can authenticate a hop with one HMAC over a few hundred bytes instead of a full JWS parse.
+ *
+ * <p>Format: {@code base64url(payload) "." base64url(tag)} where the payload is a small binary record
+ * (version, expiry, digest of the access token, issued-at, length-prefixed UTF-8 fields) and the tag is a
+ * truncated HMAC-SHA256 under a key derived from the shared token secret. The digest binds the header to
+ * the token it was minted for: it verifies only on a request that carries that same token, so it cannot
+ * be replayed on its own, and the token's {@code jti} travels along for the denylist check downstream.
+ */
+public class GatewayIdentityCodec {
+
+    public static final String HEADER = "X-Gateway-Identity";
+
+    private static final byte VERSION = 2;
+    private static final int TAG_LENGTH = 16;
+    private static final int TOKEN_DIGEST_LENGTH = 16;
+    // version, expiry, token digest, issued-at
+    private static final int FIXED_LENGTH = 1 + 8 + TOKEN_DIGEST_LENGTH + 8;
+    private static final int NULL_LENGTH = 0xFFFF;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final byte[] KEY_CONTEXT = "gateway-identity-v1".getBytes(StandardCharsets.US_ASCII);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+    private final ThreadLocal<MessageDigest> sha256 = ThreadLocal.withInitial(GatewayIdentityCodec::newSha256);
+
+    public GatewayIdentityCodec(String secret) {
+        // Derive a dedicated key so an identity tag can never be confused with a JWT signature
+        this.key = new SecretKeySpec(hmac(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM), KEY_CONTEXT),
+                MAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Mints the header for a request authenticated with {@code accessToken}.
+     */
+    public String encode(GatewayIdentity identity, String accessToken) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(VERSION);
+            out.writeLong(identity.expiresAtMillis());
+            out.write(tokenDigest(accessToken));
+            out.writeLong(identity.issuedAtMillis());
+            writeString(out, identity.tokenId());
+            writeString(out, identity.userId());
+            writeString(out, identity.username());
+            writeString(out, identity.firstname());
+            writeString(out, identity.lastname());
+            writeString(out, identity.email());
+            writeString(out, identity.phoneNumber());
+            writeStrings(out, identity.roles());
+            writeStrings(out, identity.permissions());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode gateway identity", e);
+        }
+        byte[] payload = buffer.toByteArray();
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(tag(payload));
+    }
+
+    /**
+     * Returns the identity when the header is well formed, correctly signed, not expired and minted for
+     * {@code accessToken}, the token of the request it arrived with; null otherwise.
+     */
+    public GatewayIdentity verify(String header, String accessToken) {
+        if (header == null || accessToken == null) {
+            return null;
+        }
+        int separator = header.indexOf('.');
+        if (separator <= 0 || separator == header.length() - 1) {
+            return null;
+        }
+        byte[] payload;
+        byte[] tag;
+        try {
+            payload = DECODER.decode(header.substring(0, separator));
+            tag = DECODER.decode(header.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(tag, tag(payload))) {
+            return null;
+        }
+        if (payload.length < FIXED_LENGTH || payload[0] != VERSION) {
+            return null;
+        }
+        ByteBuffer fixed = ByteBuffer.wrap(payload, 0, FIXED_LENGTH);
+        long expiresAt = fixed.getLong(1);
+        if (expiresAt <= System.currentTimeMillis()) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(Arrays.copyOfRange(payload, 9, 9 + TOKEN_DIGEST_LENGTH), tokenDigest(accessToken))) {
+            return null;
+        }
+        long issuedAt = fixed.getLong(9 + TOKEN_DIGEST_LENGTH);
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(payload, FIXED_LENGTH, payload.length - FIXED_LENGTH))) {
+            String tokenId = readString(in);
+            return new GatewayIdentity(
+                    readString(in),
+                    readString(in),
+                    readString(in),
+                    readString(in),
+                    readString(in),
+                    readString(in),
+                    readStrings(in),
+                    readStrings(in),
+                    tokenId,
+                    issuedAt,
+                    expiresAt
+            );
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private byte[] tag(byte[] payload) {
+        return Arrays.copyOf(mac.get().doFinal(payload), TAG_LENGTH);
+    }
+
+    private byte[] tokenDigest(String accessToken) {
+        return Arrays.copyOf(sha256.get().digest(accessToken.getBytes(StandardCharsets.US_ASCII)), TOKEN_DIGEST_LENGTH);
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(MAC_ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static byte[] hmac(SecretKeySpec keySpec, byte[] data) {
+        try {
+            Mac instance = Mac.getInstance(MAC_ALGORITHM);
+            instance.init(keySpec);
+            return instance.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_LENGTH) {
+            throw new IOException("Identity field too long");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeShort(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readUnsignedShort();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+}
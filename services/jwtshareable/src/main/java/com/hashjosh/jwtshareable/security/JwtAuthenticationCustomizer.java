@@ -0,0 +1,54 @@
+package com.hashjosh.jwtshareable.security;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-service hook for the shared {@link JwtAuthenticationFilter}. Services declare one bean implementing
+ * this interface to plug in their public endpoints, trusted internal callers, principal type and
+ * refresh-token renewal. Every method has a default, so a service only overrides what it needs.
+ */
+public interface JwtAuthenticationCustomizer {
+
+    /**
+     * Ant patterns that bypass the filter entirely.
+     */
+    default Collection<String> publicEndpoints() {
+        return List.of();
+    }
+
+    /**
+     * Whether the X-Internal-Service header value belongs to a trusted service.
+     */
+    default boolean isTrustedService(String serviceId) {
+        return false;
+    }
+
+    /**
+     * Principal stored in the security context for a trusted internal call. May throw
+     * {@link IllegalArgumentException} when the forwarded user id is malformed.
+     */
+    default Object internalServicePrincipal(String serviceId, String userId, Set<SimpleGrantedAuthority> authorities) {
+        return "internal-service-" + serviceId;
+    }
+
+    /**
+     * Principal stored in the security context for a verified access token.
+     */
+    default Object userPrincipal(JwtPrincipal principal) {
+        return principal;
+    }
+
+    /**
+     * Issue new tokens when the access token has expired and a refresh token was sent.
+     * Returns null when the service does not renew tokens itself.
+     */
+    default RenewedTokens renewTokens(Claims expiredClaims, String refreshToken, HttpServletRequest request) {
+        return null;
+    }
+}
@@ -0,0 +1,252 @@
+package com.hashjosh.jwtshareable.security;
+
+import com.hashjosh.jwtshareable.revocation.RevocationDenylist;
+import com.hashjosh.jwtshareable.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Servlet authentication filter shared by every service. Trusted internal calls are identified by the
+ * X-Internal-Service header; everything else needs a bearer token (or ACCESS_TOKEN cookie) that is
+ * verified once and turned into a {@link JwtPrincipal}. Requests that carry a valid
+ * {@link GatewayIdentityCodec#HEADER} minted for their own token skip the JWT parse altogether. The
+ * header carries the token's {@code jti}, so they are still checked against the {@link RevocationDenylist}
+ * like tokens this filter verifies itself: the revocation may have arrived after the gateway's check.
+ * Service specific rules live in the {@link JwtAuthenticationCustomizer} bean.
+ */
+@Slf4j
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String INTERNAL_SERVICE_HEADER = "X-Internal-Service";
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String REFRESH_TOKEN_HEADER = "X-Refresh-Token";
+    public static final String ACCESS_TOKEN_COOKIE = "ACCESS_TOKEN";
+    public static final String REFRESH_TOKEN_COOKIE = "REFRESH_TOKEN";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final JwtService jwtService;
+    private final AuthorityPool authorityPool;
+    private final JwtAuthenticationCustomizer customizer;
+    private final GatewayIdentityCodec identityCodec;
+    private final RevocationDenylist denylist;
+    private final List<String> publicEndpoints;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   AuthorityPool authorityPool,
+                                   JwtAuthenticationCustomizer customizer,
+                                   GatewayIdentityCodec identityCodec,
+                                   RevocationDenylist denylist) {
+        this.jwtService = jwtService;
+        this.authorityPool = authorityPool;
+        this.customizer = customizer;
+        this.identityCodec = identityCodec;
+        this.denylist = denylist;
+        this.publicEndpoints = List.copyOf(customizer.publicEndpoints());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
+            return true;
+        }
+        if (publicEndpoints.isEmpty()) {
+            return false;
+        }
+        String requestUri = request.getRequestURI();
+        for (String pattern : publicEndpoints) {
+            if (pathMatcher.match(pattern, requestUri)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String internalServiceHeader = request.getHeader(INTERNAL_SERVICE_HEADER);
+        if (internalServiceHeader != null && !internalServiceHeader.isEmpty()) {
+            if (!customizer.isTrustedService(internalServiceHeader)) {
+                log.warn("Invalid X-Internal-Service header: {} for {}", internalServiceHeader, request.getRequestURI());
+                sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized - Invalid X-Internal-Service header");
+                return;
+            }
+            Object principal;
+            try {
+                principal = customizer.internalServicePrincipal(
+                        internalServiceHeader, request.getHeader(USER_ID_HEADER), AuthorityPool.INTERNAL_SERVICE_AUTHORITIES);
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid X-User-Id header value: {}", request.getHeader(USER_ID_HEADER));
+                sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Bad Request - Invalid X-User-Id header value");
+                return;
+            }
+            log.debug("Internal service request from {} to {}", internalServiceHeader, request.getRequestURI());
+            setAuthentication(principal, AuthorityPool.INTERNAL_SERVICE_AUTHORITIES, request);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String accessToken = extractAccessToken(request);
+
+        // Identity already verified by the gateway: one HMAC instead of a full JWS parse
+        GatewayIdentity identity = verifiedGatewayIdentity(request, accessToken);
+        if (identity != null) {
+            if (denylist != null && denylist.isRevoked(identity.tokenId(), identity.userId(), identity.issuedAtMillis())) {
+                log.debug("Unauthorized request to {}: revoked token", request.getRequestURI());
+                sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized - Token revoked");
+                return;
+            }
+            JwtPrincipal principal = JwtPrincipal.from(accessToken, identity, authorityPool);
+            setAuthentication(customizer.userPrincipal(principal), principal.getAuthorities(), request);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (accessToken == null) {
+            log.debug("Unauthorized request to {}: missing X-Internal-Service and Authorization headers", request.getRequestURI());
+            sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized - Missing X-Internal-Service or Authorization header");
+            return;
+        }
+
+        try {
+            Claims claims;
+            try {
+                claims = jwtService.getAllClaims(accessToken);
+            } catch (ExpiredJwtException expired) {
+                RenewedTokens renewed = renewTokens(expired.getClaims(), request);
+                if (renewed == null) {
+                    log.debug("Unauthorized request to {}: expired token", request.getRequestURI());
+                    sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized - Invalid or expired token");
+                    return;
+                }
+                accessToken = renewed.accessToken();
+                claims = jwtService.getAllClaims(accessToken);
+                addTokenCookies(response, renewed);
+            }
+
+            if (denylist != null && denylist.isRevoked(claims)) {
+                log.debug("Unauthorized request to {}: revoked token", request.getRequestURI());
+                sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized - Token revoked");
+                return;
+            }
+
+            JwtPrincipal principal = JwtPrincipal.from(accessToken, claims, authorityPool);
+            setAuthentication(customizer.userPrincipal(principal), principal.getAuthorities(), request);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Unauthorized request to {}: {}", request.getRequestURI(), e.getMessage());
+            sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized - Invalid or expired token");
+            return;
+        } catch (RuntimeException e) {
+            log.error("Authentication error for request {}: {}", request.getRequestURI(), e.getMessage(), e);
+            sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized - Authentication error");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private GatewayIdentity verifiedGatewayIdentity(HttpServletRequest request, String accessToken) {
+        if (identityCodec == null) {
+            return null;
+        }
+        String header = request.getHeader(GatewayIdentityCodec.HEADER);
+        if (header == null) {
+            return null;
+        }
+        GatewayIdentity identity = identityCodec.verify(header, accessToken);
+        if (identity == null) {
+            log.debug("Ignoring invalid or expired {} header for {}", GatewayIdentityCodec.HEADER, request.getRequestURI());
+        }
+        return identity;
+    }
+
+    private RenewedTokens renewTokens(Claims expiredClaims, HttpServletRequest request) {
+        String refreshToken = extractRefreshToken(request);
+        if (refreshToken == null) {
+            return null;
+        }
+        return customizer.renewTokens(expiredClaims, refreshToken, request);
+    }
+
+    private void setAuthentication(Object principal, Set<SimpleGrantedAuthority> authorities, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        authentication.setDetails(detailsSource.buildDetails(request));
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+    }
+
+    private void addTokenCookies(HttpServletResponse response, RenewedTokens tokens) {
+        Cookie accessCookie = new Cookie(ACCESS_TOKEN_COOKIE, tokens.accessToken());
+        accessCookie.setHttpOnly(true);
+        accessCookie.setPath("/");
+        response.addCookie(accessCookie);
+
+        Cookie refreshCookie = new Cookie(REFRESH_TOKEN_COOKIE, tokens.refreshToken());
+        refreshCookie.setHttpOnly(true);
+        refreshCookie.setPath("/");
+        response.addCookie(refreshCookie);
+    }
+
+    private String extractAccessToken(HttpServletRequest request) {
+        String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (bearerToken != null && bearerToken.startsWith(BEARER_PREFIX)) {
+            String token = bearerToken.substring(BEARER_PREFIX.length()).trim();
+            return token.isEmpty() ? null : token;
+        }
+        return cookieValue(request, ACCESS_TOKEN_COOKIE);
+    }
+
+    private String extractRefreshToken(HttpServletRequest request) {
+        String headerToken = request.getHeader(REFRESH_TOKEN_HEADER);
+        if (headerToken != null && !headerToken.isEmpty()) {
+            return headerToken.startsWith(BEARER_PREFIX) ? headerToken.substring(BEARER_PREFIX.length()) : headerToken;
+        }
+        return cookieValue(request, REFRESH_TOKEN_COOKIE);
+    }
+
+    private static String cookieValue(HttpServletRequest request, String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (name.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private void sendErrorResponse(HttpServletResponse response, int status, String message) throws IOException {
+        if (!response.isCommitted()) {
+            response.setStatus(status);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"message\": \"" + message + "\"}");
+            response.getWriter().flush();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.hashjosh.jwtshareable.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * Immutable view of a verified access token, built once per request by {@link JwtAuthenticationFilter}.
+ */
+@Getter
+public final class JwtPrincipal implements Principal {
+
+    private final String token;
+    private final String userId;
+    private final String username;
+    private final String firstname;
+    private final String lastname;
+    private final String email;
+    private final String phoneNumber;
+    private final Instant expiresAt;
+    private final Set<SimpleGrantedAuthority> authorities;
+    private final Claims claims;
+
+    private JwtPrincipal(String token, Claims claims, Set<SimpleGrantedAuthority> authorities) {
+        this.token = token;
+        this.claims = claims;
+        this.authorities = authorities;
+        this.userId = claims.get("userId", String.class);
+        this.username = claims.getSubject();
+        this.firstname = claims.get("firstname", String.class);
+        this.lastname = claims.get("lastname", String.class);
+        this.email = claims.get("email", String.class);
+        String phone = claims.get("phoneNumber", String.class);
+        this.phoneNumber = phone != null ? phone : claims.get("phone", String.class);
+        Date expiration = claims.getExpiration();
+        this.expiresAt = expiration != null ? expiration.toInstant() : null;
+    }
+
+    public static JwtPrincipal from(String token, Claims claims, AuthorityPool authorityPool) {
+        Set<SimpleGrantedAuthority> authorities = authorityPool.authorities(
+                claims.get("roles", Collection.class),
+                claims.get("permissions", Collection.class));
+        return new JwtPrincipal(token, claims, authorities);
+    }
+
+    /**
+     * Principal for a request the gateway has already authenticated. The claims are rebuilt from the
+     * asserted identity so customizers that read claims keep working without a JWS parse.
+     */
+    public static JwtPrincipal from(String token, GatewayIdentity identity, AuthorityPool authorityPool) {
+        Claims claims = Jwts.claims()
+                .id(identity.tokenId())
+                .issuedAt(identity.issuedAtMillis() != GatewayIdentity.UNKNOWN_ISSUED_AT
+                        ? new Date(identity.issuedAtMillis()) : null)
+                .subject(identity.username())
+                .expiration(new Date(identity.expiresAtMillis()))
+                .add("userId", identity.userId())
+                .add("firstname", identity.firstname())
+                .add("lastname", identity.lastname())
+                .add("email", identity.email())
+                .add("phoneNumber", identity.phoneNumber())
+                .add("roles", identity.roles())
+                .add("permissions", identity.permissions())
+                .build();
+        return new JwtPrincipal(token, claims, authorityPool.authorities(identity.roles(), identity.permissions()));
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
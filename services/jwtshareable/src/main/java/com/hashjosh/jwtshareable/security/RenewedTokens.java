@@ -0,0 +1,4 @@
+package com.hashjosh.jwtshareable.security;
+
+public record RenewedTokens(String accessToken, String refreshToken) {
+}
@@ -4,6 +4,7 @@ import com.hashjosh.jwtshareable.properties.JwtProperties;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import javax.crypto.SecretKey;
@@ -13,15 +14,27 @@ import java.time.Instant;
 import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 
 public class JwtService {
     private final SecretKey secretKey;
     private final JwtProperties jwtProperties;
+    private final JwtParser jwtParser;
+    private final VerifiedClaimsCache claimsCache;
 
     public JwtService(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
         this.secretKey = Keys.hmacShaKeyFor(
                 jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        // The parser is immutable and thread-safe, no need to rebuild it for every token
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+
+        JwtProperties.ClaimsCache cacheProperties = jwtProperties.getClaimsCache();
+        this.claimsCache = cacheProperties.isEnabled()
+                ? new VerifiedClaimsCache(cacheProperties.getMaxSize())
+                : null;
     }
 
     /**
@@ -29,6 +42,7 @@ public class JwtService {
      */
     public String generateWebSocketToken(String subject, Map<String, Object> claims) {
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(Date.from(Instant.now()))
                 .expiration(Date.from(Instant.now().plusMillis(getWebSocketTokenExpiry())))
@@ -44,6 +58,7 @@ public class JwtService {
                                       long expiryMillis) {
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(Date.from(Instant.now()))
                 .expiration(Date.from(Instant.now().plusMillis(expiryMillis)))
@@ -53,14 +68,45 @@ public class JwtService {
 
     }
 
+    /**
+     * Verify the token and return its claims. Verified claims are cached until the token expires,
+     * so repeated calls for the same token on this node skip the signature check and JSON parsing.
+     */
     public Claims getAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
+        if (claimsCache == null) {
+            return parseClaims(token);
+        }
+        Claims cached = claimsCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parseClaims(token);
+        claimsCache.put(token, claims);
+        return claims;
+    }
+
+    private Claims parseClaims(String token) {
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
+    /**
+     * Drop the cached claims of a token, e.g. after logout.
+     */
+    public void evictCachedClaims(String token) {
+        if (claimsCache != null) {
+            claimsCache.invalidate(token);
+        }
+    }
+
+    /**
+     * Verified-claims cache counters, or null when the cache is disabled.
+     */
+    public VerifiedClaimsCache.Stats getClaimsCacheStats() {
+        return claimsCache != null ? claimsCache.stats() : null;
+    }
+
     public String getUsernameFromToken(String token) {
         return getAllClaims(token).getSubject();
     }
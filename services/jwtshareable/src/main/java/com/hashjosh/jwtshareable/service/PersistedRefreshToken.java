@@ -0,0 +1,9 @@
+package com.hashjosh.jwtshareable.service;
+
+import java.time.Instant;
+
+/**
+ * Row shape exchanged between {@link StripedRefreshTokenStore} and a {@link RefreshTokenPersister}.
+ */
+public record PersistedRefreshToken(String token, String userRef, String clientIp, String userAgent, Instant expiry) {
+}
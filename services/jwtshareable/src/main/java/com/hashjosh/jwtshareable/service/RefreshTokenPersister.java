@@ -0,0 +1,29 @@
+package com.hashjosh.jwtshareable.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Durable backing for {@link StripedRefreshTokenStore}. Services implement this against their own
+ * refresh token table; the store calls it from its write-behind thread in batches, on lookups for
+ * tokens it has not seen yet, and synchronously when a token is consumed or removed.
+ */
+public interface RefreshTokenPersister {
+
+    void saveAll(Collection<PersistedRefreshToken> tokens);
+
+    void deleteAll(Collection<String> tokens);
+
+    /**
+     * Deletes the token right away and returns whether it was still stored. Of several callers racing on
+     * the same token, on any instance, exactly one may see true.
+     */
+    boolean delete(String token);
+
+    void deleteByUserRef(String userRef);
+
+    void deleteExpiredBefore(Instant time);
+
+    Optional<PersistedRefreshToken> findByToken(String token);
+}
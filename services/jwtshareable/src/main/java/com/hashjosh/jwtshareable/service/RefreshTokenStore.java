@@ -10,4 +10,17 @@ public interface RefreshTokenStore {
     Optional<Object> getUserRef(String token);
     void removeAllUserTokens(Object userRef);
     void removeExpiredTokens();
-}
\ No newline at end of file
+
+    /**
+     * Validates and removes the token in one step, returning its user ref. Used for rotation, where a
+     * refresh token must be accepted at most once.
+     */
+    default Optional<Object> consume(String token, String clientIp, String userAgent) {
+        if (!validate(token, clientIp, userAgent)) {
+            return Optional.empty();
+        }
+        Optional<Object> userRef = getUserRef(token);
+        remove(token);
+        return userRef;
+    }
+}
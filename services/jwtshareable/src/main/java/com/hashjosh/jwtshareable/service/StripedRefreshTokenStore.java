@@ -0,0 +1,594 @@
+package com.hashjosh.jwtshareable.service;
+
+import com.hashjosh.jwtshareable.properties.JwtProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory {@link RefreshTokenStore} with write-behind persistence.
+ * <p>
+ * Tokens are indexed by their SHA-256 digest across a fixed number of lock stripes. Each stripe also keeps
+ * a per-user index and its own hashed timing wheel, so an expiry sweep only visits the slots whose tick
+ * has passed. Saves and removals are queued and handed to the {@link RefreshTokenPersister} in coalesced
+ * batches by a single background thread. A token this node has never seen (issued by another instance,
+ * or before a restart) is looked up in the persister once and indexed from then on.
+ * <p>
+ * Consuming or removing a token deletes its row synchronously, and only the caller whose delete hit the
+ * row may use it: other instances can still hold the token in their index, so the database is what makes
+ * rotation single-use. Removed tokens also stay in this node's index as tombstones until they expire, so a
+ * replay against the same node is rejected without a round trip.
+ */
+@Slf4j
+public class StripedRefreshTokenStore implements RefreshTokenStore, AutoCloseable {
+
+    /** How long a tombstone is kept for a token whose expiry this node never knew. */
+    private static final long UNKNOWN_TOKEN_TOMBSTONE_MS = 60_000;
+    /** Failures of a single write, while others succeed, before it is dropped. */
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+
+    private final RefreshTokenPersister persister;
+    private final JwtProperties.RefreshStore settings;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int wheelSize;
+    private final long tickMs;
+
+    private final ConcurrentLinkedQueue<PendingWrite> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Writes that failed, with the failures counted against them so far
+    private Map<PendingWrite, Integer> retries = new LinkedHashMap<>();
+    private volatile long lastPurge;
+    private ScheduledExecutorService executor;
+
+    public StripedRefreshTokenStore(RefreshTokenPersister persister, JwtProperties.RefreshStore settings) {
+        if (settings.getStripes() <= 0 || settings.getWheelSize() <= 0 || settings.getTickMs() <= 0) {
+            throw new IllegalArgumentException("stripes, wheelSize and tickMs must be positive");
+        }
+        this.persister = persister;
+        this.settings = settings;
+        int stripeCount = Integer.highestOneBit(settings.getStripes() - 1) << 1;
+        stripeCount = Math.max(1, stripeCount);
+        this.stripes = new Stripe[stripeCount];
+        this.stripeMask = stripeCount - 1;
+        this.wheelSize = settings.getWheelSize();
+        this.tickMs = settings.getTickMs();
+
+        long startTick = System.currentTimeMillis() / tickMs;
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(wheelSize, startTick - 1);
+        }
+        this.lastPurge = System.currentTimeMillis();
+    }
+
+    /**
+     * Starts the write-behind flusher and the expiry sweep.
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "refresh-token-store");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (persister != null) {
+            executor.scheduleWithFixedDelay(this::flushQuietly,
+                    settings.getFlushIntervalMs(), settings.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+        }
+        executor.scheduleWithFixedDelay(this::removeExpiredQuietly, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background thread and writes whatever is still queued.
+     */
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+        flush();
+    }
+
+    @Override
+    public void save(String token, Object userRef, String clientIp, String userAgent, Instant expiry) {
+        Objects.requireNonNull(token, "token");
+        Objects.requireNonNull(userRef, "userRef");
+        Objects.requireNonNull(expiry, "expiry");
+        long expiresAt = expiry.toEpochMilli();
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+
+        TokenDigest digest = TokenDigest.of(token);
+        Stripe stripe = stripeFor(digest);
+        stripe.lock.lock();
+        try {
+            index(stripe, digest, new Entry(userRef, clientIp, userAgent, expiresAt, false));
+        } finally {
+            stripe.lock.unlock();
+        }
+        enqueue(new Save(new PersistedRefreshToken(token, String.valueOf(userRef), clientIp, userAgent, expiry)));
+    }
+
+    @Override
+    public boolean validate(String token, String clientIp, String userAgent) {
+        Entry entry = lookup(token);
+        return entry != null && matches(entry, clientIp, userAgent);
+    }
+
+    @Override
+    public Optional<Object> getUserRef(String token) {
+        Entry entry = lookup(token);
+        return entry == null ? Optional.empty() : Optional.of(entry.userRef());
+    }
+
+    @Override
+    public Optional<Object> consume(String token, String clientIp, String userAgent) {
+        if (lookup(token) == null) {
+            return Optional.empty();
+        }
+        TokenDigest digest = TokenDigest.of(token);
+        Stripe stripe = stripeFor(digest);
+        Entry entry;
+        stripe.lock.lock();
+        try {
+            entry = stripe.tokens.get(digest);
+            if (entry == null || entry.revoked() || entry.expiresAt() <= System.currentTimeMillis()
+                    || !matches(entry, clientIp, userAgent)) {
+                return Optional.empty();
+            }
+            revoke(stripe, digest, entry);
+        } finally {
+            stripe.lock.unlock();
+        }
+        if (!deleteStored(token)) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.userRef());
+    }
+
+    @Override
+    public void remove(String token) {
+        TokenDigest digest = TokenDigest.of(token);
+        Stripe stripe = stripeFor(digest);
+        stripe.lock.lock();
+        try {
+            Entry entry = stripe.tokens.get(digest);
+            if (entry == null) {
+                long expiresAt = System.currentTimeMillis() + UNKNOWN_TOKEN_TOMBSTONE_MS;
+                index(stripe, digest, new Entry(null, null, null, expiresAt, true));
+            } else if (!entry.revoked()) {
+                revoke(stripe, digest, entry);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        // Written now rather than behind, so no other instance can still consume it; queued with any
+        // pending save of the same token, which the batch then drops
+        enqueue(new Delete(token));
+        flush();
+    }
+
+    /**
+     * Revokes every token of the user known to this node and deletes the user's rows right away rather
+     * than on the next flush, since this is a security action and rare enough to pay for a round trip.
+     */
+    @Override
+    public void removeAllUserTokens(Object userRef) {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                Set<TokenDigest> digests = stripe.byUser.remove(userRef);
+                if (digests == null) {
+                    continue;
+                }
+                for (TokenDigest digest : digests) {
+                    Entry entry = stripe.tokens.get(digest);
+                    if (entry != null && !entry.revoked()) {
+                        stripe.tokens.put(digest, entry.asTombstone());
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        enqueue(new DeleteUser(String.valueOf(userRef)));
+        flush();
+    }
+
+    /**
+     * Advances every stripe's timing wheel to the last completed tick, dropping expired entries, and
+     * periodically queues a purge of expired rows in the persister.
+     */
+    @Override
+    public void removeExpiredTokens() {
+        long now = System.currentTimeMillis();
+        long completedTick = now / tickMs - 1;
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                removed += sweep(stripe, completedTick, now);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        if (removed > 0) {
+            log.debug("Removed {} expired refresh tokens from memory", removed);
+        }
+        if (now - lastPurge >= settings.getPurgeIntervalMs()) {
+            lastPurge = now;
+            enqueue(new PurgeExpired(Instant.ofEpochMilli(now)));
+        }
+    }
+
+    /**
+     * Writes everything queued so far, with earlier failures first, in one coalesced batch. Called by the
+     * background thread; safe to call from anywhere.
+     */
+    public void flush() {
+        if (persister == null) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<PendingWrite> batch = new ArrayList<>(retries.keySet());
+            PendingWrite write;
+            while ((write = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                batch.add(write);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                write(batch);
+                retries = new LinkedHashMap<>();
+            } catch (RuntimeException e) {
+                log.warn("Refresh token write-behind failed, writing {} writes one at a time: {}",
+                        batch.size(), e.getMessage());
+                retries = writeEach(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the writes one at a time in queue order, so one bad row cannot hold back the rest, and
+     * returns those that failed. A failure only counts against a write when another write of the pass went
+     * through; when none did, the persister is down and everything is kept, up to the pending limit.
+     */
+    private Map<PendingWrite, Integer> writeEach(List<PendingWrite> batch) {
+        Map<PendingWrite, RuntimeException> failures = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            try {
+                write(List.of(write));
+            } catch (RuntimeException e) {
+                failures.put(write, e);
+            }
+        }
+        boolean outage = failures.size() == batch.size();
+        if (outage && failures.size() > settings.getMaxPending()) {
+            log.error("Dropping {} refresh token writes after persistence failure", failures.size());
+            return new LinkedHashMap<>();
+        }
+
+        Map<PendingWrite, Integer> failed = new LinkedHashMap<>();
+        failures.forEach((write, e) -> {
+            int attempts = retries.getOrDefault(write, 0) + (outage ? 0 : 1);
+            if (attempts >= MAX_WRITE_ATTEMPTS) {
+                log.error("Dropping refresh token write {} after {} failures", write.getClass().getSimpleName(),
+                        attempts, e);
+            } else {
+                failed.put(write, attempts);
+            }
+        });
+        return failed;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.tokens.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the live entry of the token, loading it from the persister when this node has no record of it.
+     */
+    private Entry lookup(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        TokenDigest digest = TokenDigest.of(token);
+        Stripe stripe = stripeFor(digest);
+        stripe.lock.lock();
+        try {
+            Entry entry = stripe.tokens.get(digest);
+            if (entry != null) {
+                return live(stripe, digest, entry);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        PersistedRefreshToken persisted = load(token);
+        if (persisted == null || persisted.expiry().toEpochMilli() <= System.currentTimeMillis()) {
+            return null;
+        }
+        Entry loaded = new Entry(persisted.userRef(), persisted.clientIp(), persisted.userAgent(),
+                persisted.expiry().toEpochMilli(), false);
+        stripe.lock.lock();
+        try {
+            // Another thread may have saved, loaded or removed the token while the persister was queried
+            Entry current = stripe.tokens.get(digest);
+            if (current != null) {
+                return live(stripe, digest, current);
+            }
+            index(stripe, digest, loaded);
+            return loaded;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the token's row and returns whether this caller was the one to remove it. A token saved on
+     * this node may still be waiting for the write-behind, so a miss flushes and tries once more. Fails
+     * closed: a token whose row cannot be deleted is not accepted.
+     */
+    private boolean deleteStored(String token) {
+        if (persister == null) {
+            return true;
+        }
+        try {
+            if (persister.delete(token)) {
+                return true;
+            }
+            flush();
+            return persister.delete(token);
+        } catch (RuntimeException e) {
+            log.warn("Refresh token delete failed, rejecting the token: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private PersistedRefreshToken load(String token) {
+        if (persister == null) {
+            return null;
+        }
+        try {
+            return persister.findByToken(token).orElse(null);
+        } catch (RuntimeException e) {
+            log.warn("Refresh token lookup failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Entry live(Stripe stripe, TokenDigest digest, Entry entry) {
+        if (entry.revoked()) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            stripe.tokens.remove(digest);
+            unlinkUser(stripe, digest, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private void index(Stripe stripe, TokenDigest digest, Entry entry) {
+        Entry previous = stripe.tokens.put(digest, entry);
+        if (previous != null && !previous.revoked()) {
+            unlinkUser(stripe, digest, previous);
+        }
+        if (!entry.revoked()) {
+            stripe.byUser.computeIfAbsent(entry.userRef(), key -> new HashSet<>()).add(digest);
+        }
+        long tick = Math.max(entry.expiresAt() / tickMs, stripe.sweptTick + 1);
+        int slot = (int) Math.floorMod(tick, (long) wheelSize);
+        List<TokenDigest> bucket = stripe.wheel[slot];
+        if (bucket == null) {
+            bucket = new ArrayList<>();
+            stripe.wheel[slot] = bucket;
+        }
+        bucket.add(digest);
+    }
+
+    private void revoke(Stripe stripe, TokenDigest digest, Entry entry) {
+        stripe.tokens.put(digest, entry.asTombstone());
+        unlinkUser(stripe, digest, entry);
+    }
+
+    private void unlinkUser(Stripe stripe, TokenDigest digest, Entry entry) {
+        Set<TokenDigest> digests = stripe.byUser.get(entry.userRef());
+        if (digests != null && digests.remove(digest) && digests.isEmpty()) {
+            stripe.byUser.remove(entry.userRef());
+        }
+    }
+
+    private int sweep(Stripe stripe, long toTick, long now) {
+        long fromTick = Math.max(stripe.sweptTick + 1, toTick - wheelSize + 1);
+        int removed = 0;
+        for (long tick = fromTick; tick <= toTick; tick++) {
+            List<TokenDigest> bucket = stripe.wheel[(int) Math.floorMod(tick, (long) wheelSize)];
+            if (bucket == null || bucket.isEmpty()) {
+                continue;
+            }
+            // Swap-remove: slot order carries no meaning
+            for (int i = bucket.size() - 1; i >= 0; i--) {
+                TokenDigest digest = bucket.get(i);
+                Entry entry = stripe.tokens.get(digest);
+                if (entry != null && entry.expiresAt() > now) {
+                    continue;
+                }
+                if (entry != null) {
+                    stripe.tokens.remove(digest);
+                    if (!entry.revoked()) {
+                        unlinkUser(stripe, digest, entry);
+                    }
+                    removed++;
+                }
+                int last = bucket.size() - 1;
+                bucket.set(i, bucket.get(last));
+                bucket.remove(last);
+            }
+        }
+        stripe.sweptTick = Math.max(stripe.sweptTick, toTick);
+        return removed;
+    }
+
+    private boolean matches(Entry entry, String clientIp, String userAgent) {
+        return (!settings.isBindClientIp() || Objects.equals(entry.clientIp(), clientIp))
+                && (!settings.isBindUserAgent() || Objects.equals(entry.userAgent(), userAgent));
+    }
+
+    private Stripe stripeFor(TokenDigest digest) {
+        return stripes[(int) digest.a() & stripeMask];
+    }
+
+    private void enqueue(PendingWrite write) {
+        if (persister == null) {
+            return;
+        }
+        pending.add(write);
+        int count = pendingCount.incrementAndGet();
+        if (count >= settings.getMaxPending()) {
+            // The persister cannot keep up: make the caller pay for the flush instead of growing the queue
+            flush();
+        } else if (count == settings.getBatchSize()) {
+            ScheduledExecutorService current = executor;
+            if (current != null) {
+                current.execute(this::flushQuietly);
+            }
+        }
+    }
+
+    /**
+     * Applies a batch in an order that preserves its meaning: a user delete drops that user's earlier
+     * saves, a token removed after being saved in the same batch never reaches the persister, and saves
+     * run last so they survive any delete queued before them.
+     */
+    private void write(List<PendingWrite> batch) {
+        Map<String, PersistedRefreshToken> saves = new LinkedHashMap<>();
+        Set<String> deletes = new LinkedHashSet<>();
+        Set<String> userDeletes = new LinkedHashSet<>();
+        Instant purgeBefore = null;
+
+        for (PendingWrite write : batch) {
+            switch (write) {
+                case Save save -> {
+                    deletes.remove(save.token().token());
+                    saves.put(save.token().token(), save.token());
+                }
+                case Delete delete -> {
+                    if (saves.remove(delete.token()) == null) {
+                        deletes.add(delete.token());
+                    }
+                }
+                case DeleteUser deleteUser -> {
+                    saves.values().removeIf(token -> token.userRef().equals(deleteUser.userRef()));
+                    userDeletes.add(deleteUser.userRef());
+                }
+                case PurgeExpired purge -> purgeBefore = purge.before();
+            }
+        }
+
+        for (String userRef : userDeletes) {
+            persister.deleteByUserRef(userRef);
+        }
+        if (!deletes.isEmpty()) {
+            persister.deleteAll(deletes);
+        }
+        if (purgeBefore != null) {
+            persister.deleteExpiredBefore(purgeBefore);
+        }
+        if (!saves.isEmpty()) {
+            persister.saveAll(saves.values());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Refresh token flush failed", e);
+        }
+    }
+
+    private void removeExpiredQuietly() {
+        try {
+            removeExpiredTokens();
+        } catch (RuntimeException e) {
+            log.error("Refresh token expiry sweep failed", e);
+        }
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<TokenDigest, Entry> tokens = new HashMap<>();
+        final Map<Object, Set<TokenDigest>> byUser = new HashMap<>();
+        final List<TokenDigest>[] wheel;
+        long sweptTick;
+
+        @SuppressWarnings("unchecked")
+        Stripe(int wheelSize, long sweptTick) {
+            this.wheel = (List<TokenDigest>[]) new List[wheelSize];
+            this.sweptTick = sweptTick;
+        }
+    }
+
+    private record Entry(Object userRef, String clientIp, String userAgent, long expiresAt, boolean revoked) {
+
+        Entry asTombstone() {
+            return new Entry(userRef, null, null, expiresAt, true);
+        }
+    }
+
+    private sealed interface PendingWrite permits Save, Delete, DeleteUser, PurgeExpired {
+    }
+
+    private record Save(PersistedRefreshToken token) implements PendingWrite {
+    }
+
+    private record Delete(String token) implements PendingWrite {
+    }
+
+    private record DeleteUser(String userRef) implements PendingWrite {
+    }
+
+    private record PurgeExpired(Instant before) implements PendingWrite {
+    }
+}
@@ -0,0 +1,34 @@
+package com.hashjosh.jwtshareable.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 digest of a compact token held as four longs, so the key needs no array copy and hashes cheaply.
+ * Used wherever tokens are indexed in memory so the raw token never has to be kept around.
+ */
+record TokenDigest(long a, long b, long c, long d) {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    static TokenDigest of(String token) {
+        MessageDigest digest = SHA_256.get();
+        byte[] hash = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return new TokenDigest(read(hash, 0), read(hash, 8), read(hash, 16), read(hash, 24));
+    }
+
+    private static long read(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,72 @@
+package com.hashjosh.jwtshareable.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Reports how long this service took to produce its response headers as a {@code Server-Timing} entry,
+ * named after the service. The gateway merges it with its own timings. Measured up to the moment the
+ * response commits, because a header cannot be added after that.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private final String serviceName;
+
+    public ServerTimingFilter(String serviceName) {
+        this.serviceName = serviceName.replace('"', '\'');
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        TimingResponse timed = new TimingResponse(response, start);
+        try {
+            filterChain.doFilter(request, timed);
+        } finally {
+            // Nothing was written (e.g. 204), so the container commits after the chain returns
+            if (!response.isCommitted()) {
+                timed.addTiming();
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private final class TimingResponse extends OnCommittedResponseWrapper {
+
+        private final long start;
+        private boolean added;
+
+        TimingResponse(HttpServletResponse response, long start) {
+            super(response);
+            this.start = start;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addTiming();
+        }
+
+        void addTiming() {
+            if (added) {
+                return;
+            }
+            added = true;
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+            addHeader(HEADER, String.format(Locale.ROOT, "app;dur=%.1f;desc=\"%s\"", millis, serviceName));
+        }
+    }
+}
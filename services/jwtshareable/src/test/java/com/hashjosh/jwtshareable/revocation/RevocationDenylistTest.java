@@ -0,0 +1,81 @@
+package com.hashjosh.jwtshareable.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevocationDenylistTest {
+
+    private static final long HOUR = 3_600_000;
+
+    @Test
+    void rejectsARevokedTokenOnly() {
+        RevocationDenylist denylist = new RevocationDenylist(100, 0.001, 0);
+        long now = System.currentTimeMillis();
+        denylist.apply(new TokenRevocation(TokenRevocation.Type.TOKEN, "jti-1", now, now + HOUR));
+
+        assertThat(denylist.isRevoked("jti-1", "user-1", now)).isTrue();
+        assertThat(denylist.isRevoked("jti-2", "user-1", now)).isFalse();
+        assertThat(denylist.isRevoked(null, "user-1", now)).isFalse();
+    }
+
+    @Test
+    void rejectsTokensIssuedBeforeTheUserWasRevoked() {
+        RevocationDenylist denylist = new RevocationDenylist(100, 0.001, 0);
+        long revokedAt = System.currentTimeMillis();
+        denylist.apply(new TokenRevocation(TokenRevocation.Type.USER, "user-1", revokedAt, revokedAt + HOUR));
+
+        assertThat(denylist.isRevoked("jti-1", "user-1", revokedAt - 1_000)).isTrue();
+        assertThat(denylist.isRevoked("jti-1", "user-1", revokedAt)).isTrue();
+        assertThat(denylist.isRevoked("jti-1", "user-1", Long.MIN_VALUE)).isTrue();
+        assertThat(denylist.isRevoked("jti-2", "user-1", revokedAt + 1_000)).isFalse();
+        assertThat(denylist.isRevoked("jti-1", "user-2", revokedAt - 1_000)).isFalse();
+    }
+
+    @Test
+    void ignoresRevocationsThatHaveAlreadyExpired() {
+        RevocationDenylist denylist = new RevocationDenylist(100, 0.001, 0);
+        long now = System.currentTimeMillis();
+        denylist.apply(new TokenRevocation(TokenRevocation.Type.TOKEN, "jti-1", now - HOUR, now - 1));
+
+        assertThat(denylist.isRevoked("jti-1", null, now)).isFalse();
+        assertThat(denylist.size()).isZero();
+    }
+
+    @Test
+    void keepsEveryEntryWhenTheFilterOutgrowsItsCapacity() {
+        RevocationDenylist denylist = new RevocationDenylist(8, 0.001, 0);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 1_000; i++) {
+            denylist.apply(new TokenRevocation(TokenRevocation.Type.TOKEN, "jti-" + i, now, now + HOUR));
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(denylist.isRevoked("jti-" + i, null, now)).isTrue();
+        }
+        assertThat(denylist.size()).isEqualTo(1_000);
+    }
+
+    @Test
+    void sweepKeepsEntriesThatHaveNotExpired() {
+        RevocationDenylist denylist = new RevocationDenylist(100, 0.001, 0);
+        long now = System.currentTimeMillis();
+        denylist.apply(new TokenRevocation(TokenRevocation.Type.TOKEN, "short", now, now + 50));
+        denylist.apply(new TokenRevocation(TokenRevocation.Type.TOKEN, "long", now, now + HOUR));
+
+        await(100);
+        denylist.removeExpired();
+
+        assertThat(denylist.size()).isEqualTo(1);
+        assertThat(denylist.isRevoked("long", null, now)).isTrue();
+        assertThat(denylist.isRevoked("short", null, now)).isFalse();
+    }
+
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
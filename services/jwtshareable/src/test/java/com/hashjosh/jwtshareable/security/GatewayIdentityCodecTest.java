@@ -0,0 +1,76 @@
+package com.hashjosh.jwtshareable.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatewayIdentityCodecTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hmac-sha256";
+    private static final String TOKEN = "header.payload.signature";
+
+    private final GatewayIdentityCodec codec = new GatewayIdentityCodec(SECRET);
+
+    @Test
+    void roundTripsEveryField() {
+        GatewayIdentity identity = identity(System.currentTimeMillis() + 30_000);
+
+        GatewayIdentity decoded = codec.verify(codec.encode(identity, TOKEN), TOKEN);
+
+        assertThat(decoded).isEqualTo(identity);
+    }
+
+    @Test
+    void keepsNullFieldsNull() {
+        GatewayIdentity identity = new GatewayIdentity("user-1", "juan", null, null, null, null,
+                List.of(), List.of(), null, GatewayIdentity.UNKNOWN_ISSUED_AT, System.currentTimeMillis() + 30_000);
+
+        assertThat(codec.verify(codec.encode(identity, TOKEN), TOKEN)).isEqualTo(identity);
+    }
+
+    @Test
+    void rejectsTheHeaderWithAnyOtherToken() {
+        String header = codec.encode(identity(System.currentTimeMillis() + 30_000), TOKEN);
+
+        assertThat(codec.verify(header, "header.payload.other")).isNull();
+        assertThat(codec.verify(header, null)).isNull();
+    }
+
+    @Test
+    void rejectsExpiredHeaders() {
+        String header = codec.encode(identity(System.currentTimeMillis() - 1), TOKEN);
+
+        assertThat(codec.verify(header, TOKEN)).isNull();
+    }
+
+    @Test
+    void rejectsTamperedPayloadsAndForeignKeys() {
+        String header = codec.encode(identity(System.currentTimeMillis() + 30_000), TOKEN);
+        int separator = header.indexOf('.');
+        byte[] payload = Base64.getUrlDecoder().decode(header.substring(0, separator));
+        payload[payload.length - 1] ^= 1;
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(payload) + header.substring(separator);
+
+        assertThat(codec.verify(tampered, TOKEN)).isNull();
+        assertThat(new GatewayIdentityCodec("another-secret-of-sufficient-length-here").verify(header, TOKEN)).isNull();
+    }
+
+    @Test
+    void rejectsMalformedHeaders() {
+        assertThat(codec.verify(null, TOKEN)).isNull();
+        assertThat(codec.verify("", TOKEN)).isNull();
+        assertThat(codec.verify("no-separator", TOKEN)).isNull();
+        assertThat(codec.verify(".tag", TOKEN)).isNull();
+        assertThat(codec.verify("payload.", TOKEN)).isNull();
+        assertThat(codec.verify("not*base64.not*base64", TOKEN)).isNull();
+    }
+
+    private static GatewayIdentity identity(long expiresAt) {
+        return new GatewayIdentity("user-1", "juan", "Juan", "Dela Cruz", "juan@example.com", "09171234567",
+                List.of("FARMER"), List.of("APPLICATION_SUBMIT", "DOCUMENT_UPLOAD"),
+                "jti-1", 1_700_000_000_000L, expiresAt);
+    }
+}
@@ -0,0 +1,168 @@
+package com.hashjosh.jwtshareable.service;
+
+import com.hashjosh.jwtshareable.properties.JwtProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedRefreshTokenStoreTest {
+
+    private final InMemoryPersister persister = new InMemoryPersister();
+    private final StripedRefreshTokenStore store = new StripedRefreshTokenStore(persister, new JwtProperties.RefreshStore());
+
+    @Test
+    void consumesASavedTokenExactlyOnce() {
+        store.save("token-1", "user-1", "10.0.0.1", "agent", inOneHour());
+
+        assertThat(store.consume("token-1", "10.0.0.1", "agent")).contains("user-1");
+        assertThat(store.consume("token-1", "10.0.0.1", "agent")).isEmpty();
+        assertThat(store.validate("token-1", "10.0.0.1", "agent")).isFalse();
+        assertThat(persister.rows).doesNotContainKey("token-1");
+    }
+
+    @Test
+    void loadsTokensSavedByAnotherInstance() {
+        persister.rows.put("token-1", new PersistedRefreshToken("token-1", "user-1", null, null, inOneHour()));
+
+        assertThat(store.validate("token-1", null, null)).isTrue();
+        assertThat(store.getUserRef("token-1")).contains("user-1");
+    }
+
+    @Test
+    void rejectsATokenAnotherInstanceConsumedFirst() {
+        persister.rows.put("token-1", new PersistedRefreshToken("token-1", "user-1", null, null, inOneHour()));
+        assertThat(store.validate("token-1", null, null)).isTrue();
+
+        // The other instance deletes the row; this node still has the token indexed
+        persister.rows.remove("token-1");
+
+        assertThat(store.consume("token-1", null, null)).isEmpty();
+    }
+
+    @Test
+    void failsClosedWhenTheRowCannotBeDeleted() {
+        store.save("token-1", "user-1", null, null, inOneHour());
+        store.flush();
+        persister.failing.set(true);
+
+        assertThat(store.consume("token-1", null, null)).isEmpty();
+    }
+
+    @Test
+    void removeAllUserTokensRevokesThemLocallyAndInThePersister() {
+        store.save("token-1", "user-1", null, null, inOneHour());
+        store.save("token-2", "user-1", null, null, inOneHour());
+        store.save("token-3", "user-2", null, null, inOneHour());
+        store.flush();
+
+        store.removeAllUserTokens("user-1");
+
+        assertThat(store.validate("token-1", null, null)).isFalse();
+        assertThat(store.validate("token-2", null, null)).isFalse();
+        assertThat(store.validate("token-3", null, null)).isTrue();
+        assertThat(persister.rows).containsOnlyKeys("token-3");
+    }
+
+    @Test
+    void aSaveRemovedInTheSameBatchNeverReachesThePersister() {
+        store.save("token-1", "user-1", null, null, inOneHour());
+        store.remove("token-1");
+
+        assertThat(persister.saved).isZero();
+        assertThat(persister.rows).isEmpty();
+    }
+
+    @Test
+    void keepsQueuedWritesThroughAnOutage() {
+        store.save("token-1", "user-1", null, null, inOneHour());
+        persister.failing.set(true);
+        store.flush();
+        assertThat(persister.rows).isEmpty();
+
+        persister.failing.set(false);
+        store.flush();
+
+        assertThat(persister.rows).containsOnlyKeys("token-1");
+    }
+
+    @Test
+    void bindsTokensToTheClientWhenConfigured() {
+        JwtProperties.RefreshStore settings = new JwtProperties.RefreshStore();
+        settings.setBindClientIp(true);
+        StripedRefreshTokenStore bound = new StripedRefreshTokenStore(null, settings);
+        bound.save("token-1", "user-1", "10.0.0.1", "agent", inOneHour());
+
+        assertThat(bound.validate("token-1", "10.0.0.2", "agent")).isFalse();
+        assertThat(bound.consume("token-1", "10.0.0.2", "agent")).isEmpty();
+        assertThat(bound.consume("token-1", "10.0.0.1", "agent")).contains("user-1");
+    }
+
+    @Test
+    void ignoresTokensThatHaveAlreadyExpired() {
+        store.save("token-1", "user-1", null, null, Instant.now().minusSeconds(1));
+
+        assertThat(store.validate("token-1", null, null)).isFalse();
+        assertThat(store.size()).isZero();
+    }
+
+    private static Instant inOneHour() {
+        return Instant.now().plusSeconds(3_600);
+    }
+
+    private static final class InMemoryPersister implements RefreshTokenPersister {
+
+        final Map<String, PersistedRefreshToken> rows = new ConcurrentHashMap<>();
+        final AtomicBoolean failing = new AtomicBoolean();
+        int saved;
+
+        @Override
+        public void saveAll(Collection<PersistedRefreshToken> tokens) {
+            check();
+            tokens.forEach(token -> rows.put(token.token(), token));
+            saved += tokens.size();
+        }
+
+        @Override
+        public void deleteAll(Collection<String> tokens) {
+            check();
+            tokens.forEach(rows::remove);
+        }
+
+        @Override
+        public boolean delete(String token) {
+            check();
+            return rows.remove(token) != null;
+        }
+
+        @Override
+        public void deleteByUserRef(String userRef) {
+            check();
+            rows.values().removeIf(token -> token.userRef().equals(userRef));
+        }
+
+        @Override
+        public void deleteExpiredBefore(Instant time) {
+            check();
+            rows.values().removeIf(token -> token.expiry().isBefore(time));
+        }
+
+        @Override
+        public Optional<PersistedRefreshToken> findByToken(String token) {
+            check();
+            return Optional.ofNullable(rows.get(token));
+        }
+
+        private void check() {
+            if (failing.get()) {
+                throw new IllegalStateException("database unavailable");
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.hashjosh.kafkacommon;
+
+import lombok.*;
+
+/**
+ * Published by a service after a write that changes responses the gateway may have cached.
+ * The gateway drops every cached response whose path matches {@code pathPattern} (Ant-style).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EdgeCacheInvalidationEvent {
+    public static final String TOPIC = "edge-cache-invalidations";
+
+    private String pathPattern;
+}
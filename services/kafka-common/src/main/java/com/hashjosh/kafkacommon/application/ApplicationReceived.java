@@ -1,5 +1,6 @@
 package com.hashjosh.kafkacommon.application;
 
+import com.hashjosh.kafkacommon.ApplicationDomainEvent;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -10,7 +11,7 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-public class ApplicationReceived {
+public class ApplicationReceived implements ApplicationDomainEvent {
     private UUID submissionId;
     private UUID userId;
     private String provider; // e.g., "PCIC", "AGRICULTURE"
@@ -14,7 +14,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @Data
 @AllArgsConstructor
-public class ApplicationSubmittedEvent  {
+public class ApplicationSubmittedEvent implements ApplicationDomainEvent {
     @JsonProperty("submissionId")
     private UUID submissionId;
 
@@ -1,5 +1,6 @@
 package com.hashjosh.kafkacommon.application;
 
+import com.hashjosh.kafkacommon.ApplicationDomainEvent;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -10,7 +11,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @Builder
 @AllArgsConstructor
-public class ApplicationUnderReviewEvent {
+public class ApplicationUnderReviewEvent implements ApplicationDomainEvent {
     private UUID submissionId;
     private UUID userId;
     private LocalDateTime reviewStartedAt;
@@ -13,7 +13,7 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class ClaimProcessedEvent{
+public class ClaimProcessedEvent implements ApplicationDomainEvent {
     @JsonProperty("submissionId")
     private UUID submissionId;
 
@@ -1,5 +1,6 @@
 package com.hashjosh.kafkacommon.application;
 
+import com.hashjosh.kafkacommon.ApplicationDomainEvent;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -8,7 +9,7 @@ import java.util.UUID;
 
 @Getter
 @AllArgsConstructor
-public class InspectionScheduledEvent {
+public class InspectionScheduledEvent implements ApplicationDomainEvent {
     private UUID submissionId;
     private UUID userId;
     private UUID scheduleId;
@@ -0,0 +1,22 @@
+package com.hashjosh.kafkacommon.document;
+
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Published by the document service when a new stored object is referenced by a document, so derivatives
+ * such as thumbnails can be built from it off the upload path.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentUploadedEvent {
+    public static final String TOPIC = "document-uploaded";
+
+    private UUID documentId;
+    private String objectKey;
+    private String contentType;
+}
@@ -0,0 +1,96 @@
+package com.hashjosh.kafkacommon.outbox;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registers the transactional outbox in services that set {@code outbox.enabled}.
+ */
+@AutoConfiguration(after = {KafkaAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+@ConditionalOnClass(name = {
+        "org.springframework.kafka.core.KafkaTemplate",
+        "org.springframework.jdbc.core.JdbcTemplate"
+})
+@ConditionalOnProperty(prefix = "outbox", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxAutoConfiguration {
+
+    /**
+     * Has its own producer, built from the service's producer settings: keys are strings, values arrive
+     * already serialized. Idempotence keeps records of one key in order across retries.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxRelay outboxRelay(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ProducerFactory<?, ?> producerFactory,
+                                   OutboxProperties properties) {
+        Map<String, Object> configs = new HashMap<>(producerFactory.getConfigurationProperties());
+        configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configs.put(ProducerConfig.ACKS_CONFIG, "all");
+        DefaultKafkaProducerFactory<String, byte[]> relayProducerFactory =
+                new DefaultKafkaProducerFactory<>(configs, new StringSerializer(), new ByteArraySerializer());
+        relayProducerFactory.setBeanName("outboxRelayProducerFactory");
+
+        OutboxRelay relay = new OutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager),
+                new KafkaTemplate<>(relayProducerFactory), properties);
+        if (properties.isInitializeSchema()) {
+            relay.initializeSchema();
+        }
+        return relay;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxPublisher outboxPublisher(JdbcTemplate jdbcTemplate,
+                                           ProducerFactory<?, ?> producerFactory,
+                                           OutboxRelay relay,
+                                           OutboxProperties properties) {
+        return new OutboxPublisher(jdbcTemplate, valueSerializer(producerFactory), relay, properties);
+    }
+
+    /**
+     * The serializer the service's own KafkaTemplate would use, configured the same way.
+     */
+    @SuppressWarnings("unchecked")
+    private static Serializer<Object> valueSerializer(ProducerFactory<?, ?> producerFactory) {
+        Serializer<Object> serializer = producerFactory.getValueSerializerSupplier() != null
+                ? (Serializer<Object>) producerFactory.getValueSerializerSupplier().get()
+                : null;
+        Map<String, Object> configs = producerFactory.getConfigurationProperties();
+        if (serializer == null) {
+            Object type = configs.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG);
+            try {
+                serializer = type instanceof Class<?> cls
+                        ? Utils.newInstance(cls.asSubclass(Serializer.class))
+                        : Utils.newInstance(String.valueOf(type), Serializer.class);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Kafka value serializer not found: " + type, e);
+            }
+            serializer.configure(configs, false);
+        }
+        return serializer;
+    }
+}
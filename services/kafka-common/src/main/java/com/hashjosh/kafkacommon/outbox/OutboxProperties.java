@@ -0,0 +1,30 @@
+package com.hashjosh.kafkacommon.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "outbox")
+@Data
+public class OutboxProperties {
+    private boolean enabled = false;
+    private String table = "event_outbox";
+    /**
+     * Creates the outbox table and its {@code _dead} table on startup when they do not exist yet.
+     */
+    private boolean initializeSchema = true;
+    /**
+     * Rows relayed per database transaction.
+     */
+    private int batchSize = 200;
+    /**
+     * How long the relay waits after a commit for more events to join the batch.
+     */
+    private Duration linger = Duration.ofMillis(20);
+    /**
+     * Fallback poll for rows committed by other instances, or left behind by a failed relay.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private Duration sendTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,110 @@
+package com.hashjosh.kafkacommon.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.kafkacommon.ApplicationDomainEvent;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes events to the outbox table instead of sending them. Called inside a transaction, the row commits
+ * or rolls back with the caller's own writes, and {@link OutboxRelay} sends it once it is committed.
+ * <p>
+ * The event is serialized here, with the service's configured Kafka value serializer, so the record the
+ * relay sends later carries exactly the bytes and type headers a direct send would have.
+ */
+public class OutboxPublisher {
+
+    private static final ObjectMapper HEADER_MAPPER = new ObjectMapper();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Serializer<Object> valueSerializer;
+    private final OutboxRelay relay;
+    private final String insertSql;
+
+    public OutboxPublisher(JdbcTemplate jdbcTemplate, Serializer<Object> valueSerializer, OutboxRelay relay,
+                           OutboxProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.valueSerializer = valueSerializer;
+        this.relay = relay;
+        this.insertSql = "INSERT INTO " + properties.getTable()
+                + " (topic, message_key, headers, payload) VALUES (?, ?, ?, ?)";
+    }
+
+    /**
+     * Application events are keyed by their submission, so every event of one application lands on the
+     * same partition and is consumed in the order it was written.
+     */
+    public void publish(String topic, Object event) {
+        publish(topic, keyOf(event), event);
+    }
+
+    public void publish(String topic, String key, Object event) {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] payload = valueSerializer.serialize(topic, headers, event);
+        jdbcTemplate.update(insertSql, topic, key, encodeHeaders(headers), payload);
+        signalRelay();
+    }
+
+    /**
+     * Writes all events in one JDBC batch, keyed like {@link #publish(String, Object)}.
+     */
+    public void publishAll(String topic, Collection<?> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (Object event : events) {
+            RecordHeaders headers = new RecordHeaders();
+            byte[] payload = valueSerializer.serialize(topic, headers, event);
+            rows.add(new Object[]{topic, keyOf(event), encodeHeaders(headers), payload});
+        }
+        jdbcTemplate.batchUpdate(insertSql, rows);
+        signalRelay();
+    }
+
+    private static String keyOf(Object event) {
+        return event instanceof ApplicationDomainEvent domainEvent && domainEvent.getSubmissionId() != null
+                ? domainEvent.getSubmissionId().toString()
+                : null;
+    }
+
+    private void signalRelay() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    relay.signal();
+                }
+            });
+        } else {
+            relay.signal();
+        }
+    }
+
+    private static String encodeHeaders(RecordHeaders headers) {
+        Header[] array = headers.toArray();
+        if (array.length == 0) {
+            return null;
+        }
+        Map<String, byte[]> values = new LinkedHashMap<>();
+        for (Header header : array) {
+            values.put(header.key(), header.value());
+        }
+        try {
+            return HEADER_MAPPER.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode outbox headers", e);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.hashjosh.kafkacommon.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves committed outbox rows to Kafka.
+ * <p>
+ * One relay per outbox table drains it at a time, guarded by a transaction-scoped advisory lock, and takes
+ * rows in insertion order. All rows of a batch are handed to the producer before any acknowledgement is
+ * awaited, so they share producer batches, and records with the same key keep their order on their
+ * partition through the idempotent producer. Rows are deleted in the same transaction once Kafka has
+ * acknowledged them; a failed row stays and is sent again on a later pass, so delivery is at least once.
+ * A row that cannot be turned into a Kafka record at all is moved to the {@code <table>_dead} table instead,
+ * so it cannot hold up the rows behind it.
+ * <p>
+ * The relay wakes when a publishing transaction commits, then lingers briefly so that events committed
+ * right behind it are sent in the same batch. It also polls, for rows committed by other instances.
+ */
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final ObjectMapper HEADER_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, byte[]>> HEADERS_TYPE = new TypeReference<>() { };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final OutboxProperties properties;
+    private final String selectSql;
+    private final String deleteSql;
+    private final String deadLetterSql;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition wakeup = lock.newCondition();
+    private int signals;
+    private volatile boolean running;
+    private Thread thread;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                       KafkaTemplate<String, byte[]> kafkaTemplate, OutboxProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.properties = properties;
+        this.selectSql = "SELECT id, topic, message_key, headers, payload FROM " + properties.getTable()
+                + " ORDER BY id LIMIT ?";
+        this.deleteSql = "DELETE FROM " + properties.getTable() + " WHERE id = ?";
+        this.deadLetterSql = "INSERT INTO " + deadLetterTable() + " (id, topic, message_key, headers, payload, created_at, error) "
+                + "SELECT id, topic, message_key, headers, payload, created_at, ? FROM " + properties.getTable()
+                + " WHERE id = ? ON CONFLICT (id) DO NOTHING";
+    }
+
+    public void initializeSchema() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + properties.getTable() + " ("
+                + "id BIGSERIAL PRIMARY KEY, "
+                + "topic VARCHAR(255) NOT NULL, "
+                + "message_key VARCHAR(255), "
+                + "headers TEXT, "
+                + "payload BYTEA NOT NULL, "
+                + "created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now())");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + deadLetterTable() + " ("
+                + "id BIGINT PRIMARY KEY, "
+                + "topic VARCHAR(255) NOT NULL, "
+                + "message_key VARCHAR(255), "
+                + "headers TEXT, "
+                + "payload BYTEA NOT NULL, "
+                + "created_at TIMESTAMP WITH TIME ZONE NOT NULL, "
+                + "failed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(), "
+                + "error TEXT)");
+    }
+
+    private String deadLetterTable() {
+        return properties.getTable() + "_dead";
+    }
+
+    /**
+     * Called after a transaction that wrote outbox rows committed.
+     */
+    public void signal() {
+        lock.lock();
+        try {
+            signals++;
+            wakeup.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = Thread.ofPlatform().daemon().name("outbox-relay").start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(properties.getSendTimeout().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+        if (kafkaTemplate.getProducerFactory() instanceof DisposableBean producerFactory) {
+            try {
+                producerFactory.destroy();
+            } catch (Exception e) {
+                log.warn("Failed to close outbox relay producer", e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        // Rows left behind by a previous run go out first
+        boolean work = true;
+        while (running) {
+            try {
+                if (work) {
+                    drain();
+                }
+                work = awaitWork();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("Outbox relay pass failed", e);
+                work = sleep(properties.getPollInterval().toNanos());
+            }
+        }
+    }
+
+    /**
+     * Waits for a commit signal or the poll interval. After a signal, lingers until the batch would be
+     * full or the linger time is up.
+     */
+    private boolean awaitWork() throws InterruptedException {
+        lock.lock();
+        try {
+            if (signals == 0) {
+                wakeup.awaitNanos(properties.getPollInterval().toNanos());
+            }
+            if (signals > 0) {
+                long remaining = properties.getLinger().toNanos();
+                while (signals < properties.getBatchSize() && remaining > 0 && running) {
+                    remaining = wakeup.awaitNanos(remaining);
+                }
+            }
+            signals = 0;
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return running;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    private void drain() {
+        while (running) {
+            Batch batch = transactionTemplate.execute(status -> relayBatch());
+            if (batch == null || batch.failed() > 0) {
+                // Back off instead of spinning on a broker that is not accepting records
+                sleep(properties.getPollInterval().toNanos());
+                return;
+            }
+            if (batch.fetched() < properties.getBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    private Batch relayBatch() {
+        Boolean locked = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, properties.getTable());
+        if (!Boolean.TRUE.equals(locked)) {
+            // Another instance is draining this table
+            return new Batch(0, 0);
+        }
+
+        List<OutboxRecord> records = jdbcTemplate.query(selectSql, RECORD_MAPPER, properties.getBatchSize());
+        if (records.isEmpty()) {
+            return new Batch(0, 0);
+        }
+
+        List<CompletableFuture<SendResult<String, byte[]>>> futures = new ArrayList<>(records.size());
+        List<Object[]> deadLetters = new ArrayList<>();
+        for (OutboxRecord record : records) {
+            ProducerRecord<String, byte[]> producerRecord;
+            try {
+                producerRecord = record.toProducerRecord();
+            } catch (IllegalStateException e) {
+                log.error("Moving outbox record {} to {}: {}", record.id(), deadLetterTable(), e.getMessage());
+                deadLetters.add(new Object[]{e.getMessage(), record.id()});
+                futures.add(null);
+                continue;
+            }
+            futures.add(kafkaTemplate.send(producerRecord));
+        }
+        kafkaTemplate.flush();
+        if (!deadLetters.isEmpty()) {
+            jdbcTemplate.batchUpdate(deadLetterSql, deadLetters);
+        }
+
+        long deadline = System.nanoTime() + properties.getSendTimeout().toNanos();
+        List<Object[]> sent = new ArrayList<>(records.size());
+        int failed = 0;
+        for (int i = 0; i < records.size(); i++) {
+            OutboxRecord record = records.get(i);
+            if (futures.get(i) == null) {
+                // Dead-lettered above, deleted with the sent rows
+                sent.add(new Object[]{record.id()});
+                continue;
+            }
+            try {
+                futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                sent.add(new Object[]{record.id()});
+            } catch (ExecutionException | TimeoutException e) {
+                failed++;
+                log.warn("Failed to relay outbox record {} to {}: {}", record.id(), record.topic(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed += records.size() - i;
+                break;
+            }
+        }
+        if (!sent.isEmpty()) {
+            jdbcTemplate.batchUpdate(deleteSql, sent);
+        }
+        log.debug("Relayed {} of {} outbox records", sent.size() - deadLetters.size(), records.size());
+        return new Batch(records.size(), failed);
+    }
+
+    private record Batch(int fetched, int failed) {
+    }
+
+    private static final RowMapper<OutboxRecord> RECORD_MAPPER = (rs, rowNum) -> new OutboxRecord(
+            rs.getLong("id"),
+            rs.getString("topic"),
+            rs.getString("message_key"),
+            rs.getString("headers"),
+            rs.getBytes("payload"));
+
+    private record OutboxRecord(long id, String topic, String key, String headers, byte[] payload) {
+
+        ProducerRecord<String, byte[]> toProducerRecord() {
+            RecordHeaders recordHeaders = new RecordHeaders();
+            if (headers != null) {
+                try {
+                    HEADER_MAPPER.readValue(headers, HEADERS_TYPE).forEach(recordHeaders::add);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Corrupt headers on outbox record " + id, e);
+                }
+            }
+            return new ProducerRecord<>(topic, null, key, payload, recordHeaders);
+        }
+    }
+}
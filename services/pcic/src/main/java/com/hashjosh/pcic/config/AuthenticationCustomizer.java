@@ -0,0 +1,85 @@
+package com.hashjosh.pcic.config;
+
+import com.hashjosh.pcic.entity.Pcic;
+import com.hashjosh.pcic.repository.PcicRepository;
+import com.hashjosh.pcic.service.TokenRenewalService;
+import com.hashjosh.jwtshareable.security.JwtAuthenticationCustomizer;
+import com.hashjosh.jwtshareable.security.JwtPrincipal;
+import com.hashjosh.jwtshareable.security.RenewedTokens;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * PCIC service rules for the shared jwtshareable {@code JwtAuthenticationFilter}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthenticationCustomizer implements JwtAuthenticationCustomizer {
+
+    private final TokenRenewalService tokenRenewalService;
+    private final TrustedConfig trustedConfig;
+    private final PcicRepository pcicRepository;
+
+    @Override
+    public Collection<String> publicEndpoints() {
+        return List.of(
+                "/api/v1/pcic/auth/login",
+                "/api/v1/pcic/auth/registration"
+        );
+    }
+
+    @Override
+    public boolean isTrustedService(String serviceId) {
+        List<String> ids = trustedConfig.getInternalServiceIds();
+        return ids != null && ids.contains(serviceId);
+    }
+
+    @Override
+    public Object internalServicePrincipal(String serviceId, String userId, Set<SimpleGrantedAuthority> authorities) {
+        UUID userUuid = userId != null && !userId.isEmpty() ? UUID.fromString(userId) : null;
+        return new CustomUserDetails(
+                serviceId + UUID.randomUUID().toString().substring(0, 8),
+                userUuid,
+                authorities
+        );
+    }
+
+    @Override
+    public Object userPrincipal(JwtPrincipal principal) {
+        Pcic pcic = null;
+        if (principal.getUserId() != null) {
+            try {
+                pcic = pcicRepository.findByIdWithRolesAndPermissions(UUID.fromString(principal.getUserId())).orElse(null);
+            } catch (Exception e) {
+                log.warn("Failed to fetch user from repository: {}", e.getMessage());
+            }
+        }
+        return pcic != null
+                ? new CustomUserDetails(pcic, principal.getAuthorities())
+                : new CustomUserDetails(principal.getClaims(), principal.getAuthorities());
+    }
+
+    @Override
+    public RenewedTokens renewTokens(Claims expiredClaims, String refreshToken, HttpServletRequest request) {
+        String userId = expiredClaims.get("userId", String.class);
+        Map<String, Object> claimsMap = new HashMap<>();
+        claimsMap.put("userId", userId);
+
+        Map<String, String> newTokens = tokenRenewalService.refreshTokens(
+                UUID.fromString(userId), refreshToken, expiredClaims.getSubject(),
+                claimsMap, request.getRemoteAddr(), request.getHeader("User-Agent"), false);
+        return new RenewedTokens(newTokens.get("accessToken"), newTokens.get("refreshToken"));
+    }
+}
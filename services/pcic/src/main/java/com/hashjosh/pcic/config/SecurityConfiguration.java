@@ -1,5 +1,6 @@
 package com.hashjosh.pcic.config;
 
+import com.hashjosh.jwtshareable.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
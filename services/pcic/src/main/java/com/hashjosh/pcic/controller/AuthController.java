@@ -1,6 +1,7 @@
 package com.hashjosh.pcic.controller;
 
 
+import com.hashjosh.jwtshareable.revocation.TokenRevocationService;
 import com.hashjosh.jwtshareable.service.JwtService;
 import com.hashjosh.pcic.config.CustomUserDetails;
 import com.hashjosh.pcic.dto.auth.*;
@@ -15,6 +16,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -33,6 +35,8 @@ public class AuthController {
     private final AuthService authService;
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
+    // Absent when token.revocation.enabled is false
+    private final ObjectProvider<TokenRevocationService> tokenRevocationService;
 
     @PostMapping("/registration")
     public ResponseEntity<RegistrationResponse> register(
@@ -93,6 +97,7 @@ public class AuthController {
 
         // 🔑 Extract access token & tenantId
         String accessToken = authorization.substring(7);
+        tokenRevocationService.ifAvailable(revocations -> revocations.revokeAccessToken(accessToken));
 
         // ❌ Delete refresh token from DB (always do this)
         if (refreshToken != null && !refreshToken.isEmpty()) {
@@ -6,6 +6,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 
@@ -17,7 +18,7 @@ import java.time.Instant;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class RefreshToken {
+public class RefreshToken implements Persistable<String> {
 
     @Id
     @Column(columnDefinition = "TEXT", name = "token")
@@ -38,4 +39,18 @@ public class RefreshToken {
     @CreationTimestamp
     @Column(name = "created_at")
     private Instant createdAt;
+
+    @Override
+    public String getId() {
+        return token;
+    }
+
+    /**
+     * Tokens are never updated in place, so a row without a creation timestamp is always an insert.
+     * Saves can then be batched without Hibernate selecting each id first.
+     */
+    @Override
+    public boolean isNew() {
+        return createdAt == null;
+    }
 }
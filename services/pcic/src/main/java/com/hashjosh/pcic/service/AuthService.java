@@ -2,6 +2,7 @@ package com.hashjosh.pcic.service;
 
 
 import com.hashjosh.jwtshareable.service.JwtService;
+import com.hashjosh.jwtshareable.service.RefreshTokenStore;
 import com.hashjosh.kafkacommon.pcic.PcicRegistrationContract;
 import com.hashjosh.pcic.config.CustomUserDetails;
 import com.hashjosh.pcic.dto.auth.AuthenticatedUser;
@@ -24,6 +25,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -40,6 +42,7 @@ public class AuthService {
     private final KafkaProducer pcicProducer;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenStore refreshTokenStore;
 
     public Pcic register(RegistrationRequest request) {
         if (pcicRepository.existsByEmail(request.getEmail())) {
@@ -100,6 +103,8 @@ public class AuthService {
                 pcic.getUsername(), clientIp, userAgent,
                 jwtService.getRefreshTokenExpiry(request.isRememberMe())
         );
+        refreshTokenStore.save(refreshToken, String.valueOf(pcic.getId()), clientIp, userAgent,
+                Instant.now().plusMillis(jwtService.getRefreshTokenExpiry(request.isRememberMe())));
 
         String webSocketToken = jwtService.generateWebSocketToken(
                 pcic.getUsername(),
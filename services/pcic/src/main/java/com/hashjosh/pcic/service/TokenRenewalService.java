@@ -1,9 +1,8 @@
 package com.hashjosh.pcic.service;
 
 import com.hashjosh.jwtshareable.service.JwtService;
-import com.hashjosh.pcic.entity.RefreshToken;
+import com.hashjosh.jwtshareable.service.RefreshTokenStore;
 import com.hashjosh.pcic.exception.ApiException;
-import com.hashjosh.pcic.repository.RefreshTokenRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -16,14 +15,16 @@ import java.util.UUID;
 public class TokenRenewalService {
 
     private final JwtService jwtService;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
 
     public Map<String, String> refreshTokens(
             UUID userId, String oldRefreshToken, String username,
             Map<String,Object> claims, String clientIp, String userAgent,
             boolean rememberMe) {
 
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(oldRefreshToken)
+        // 1️⃣ Validate and retire the old refresh token in one step, so it can only be rotated once
+        String userRef = String.valueOf(userId);
+        refreshTokenStore.consume(oldRefreshToken, clientIp, userAgent)
                 .orElseThrow(() -> ApiException.unauthorized("Invalid refresh token"));
 
         // 2️⃣ Generate new tokens
@@ -38,15 +39,9 @@ public class TokenRenewalService {
                 jwtService.getRefreshTokenExpiry(rememberMe)
         );
 
-        refreshTokenRepository.delete(refreshToken);
-        RefreshToken newRefreshTokenEntity = RefreshToken.builder()
-                .token(newRefreshToken)
-                .userRef(String.valueOf(userId))
-                .userAgent(userAgent)
-                .clientIp(clientIp)
-                .expiry(Instant.now().plusSeconds(jwtService.getRefreshTokenExpiry(rememberMe)))
-                .build();
-        refreshTokenRepository.save(newRefreshTokenEntity);
+        // 3️⃣ Save new refresh token
+        refreshTokenStore.save(newRefreshToken, userRef, clientIp, userAgent,
+                Instant.now().plusMillis(jwtService.getRefreshTokenExpiry(rememberMe)));
 
         return Map.of(
                 "accessToken", newAccessToken,
@@ -54,4 +49,3 @@ public class TokenRenewalService {
         );
     }
 }
-
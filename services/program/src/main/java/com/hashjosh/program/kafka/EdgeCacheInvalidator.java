@@ -0,0 +1,34 @@
+package com.hashjosh.program.kafka;
+
+import com.hashjosh.kafkacommon.EdgeCacheInvalidationEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the gateway to drop cached program responses after a write.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EdgeCacheInvalidator {
+
+    public static final String PROGRAMS = "/api/v1/programs/**";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    public void invalidate(String pathPattern) {
+        kafkaTemplate.send(MessageBuilder
+                        .withPayload(new EdgeCacheInvalidationEvent(pathPattern))
+                        .setHeader(KafkaHeaders.TOPIC, EdgeCacheInvalidationEvent.TOPIC)
+                        .build())
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("Failed to publish edge cache invalidation for {}: {}", pathPattern, ex.getMessage());
+                    }
+                });
+    }
+}
@@ -3,6 +3,7 @@ package com.hashjosh.program.service;
 import com.hashjosh.constant.program.dto.ProgramCreateRequestDto;
 import com.hashjosh.constant.program.dto.ProgramResponseDto;
 import com.hashjosh.constant.program.dto.ProgramUpdateRequestDto;
+import com.hashjosh.program.kafka.EdgeCacheInvalidator;
 import com.hashjosh.program.mapper.ProgramMapper;
 import com.hashjosh.program.repository.ProgramRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ public class ProgramService {
 
     private final ProgramRepository repository;
     private final ProgramMapper mapper;
+    private final EdgeCacheInvalidator edgeCacheInvalidator;
 
 
     public List<ProgramResponseDto> getAll() {
@@ -31,7 +33,9 @@ public class ProgramService {
     }
 
     public ProgramResponseDto create(ProgramCreateRequestDto dto) {
-        return mapper.toDto(repository.save(mapper.toEntity(dto)));
+        ProgramResponseDto created = mapper.toDto(repository.save(mapper.toEntity(dto)));
+        edgeCacheInvalidator.invalidate(EdgeCacheInvalidator.PROGRAMS);
+        return created;
     }
 
     public ProgramResponseDto update(UUID id, ProgramUpdateRequestDto dto) {
@@ -42,10 +46,13 @@ public class ProgramService {
         existing.setStatus(dto.getStatus());
         existing.setCompletion(dto.getCompletion());
         existing.setExtraFields(dto.getExtraFields());
-        return mapper.toDto(repository.save(existing));
+        ProgramResponseDto updated = mapper.toDto(repository.save(existing));
+        edgeCacheInvalidator.invalidate(EdgeCacheInvalidator.PROGRAMS);
+        return updated;
     }
 
     public void delete(UUID id) {
         repository.deleteById(id);
+        edgeCacheInvalidator.invalidate(EdgeCacheInvalidator.PROGRAMS);
     }
 }
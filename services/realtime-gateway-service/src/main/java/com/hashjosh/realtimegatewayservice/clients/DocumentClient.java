@@ -3,13 +3,8 @@ package com.hashjosh.realtimegatewayservice.clients;
 import com.hashjosh.constant.document.dto.DocumentResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.http.MediaType;
-import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.util.UUID;
 
@@ -78,37 +73,4 @@ public class DocumentClient {
         }
     }
 
-    public DocumentResponse uploadDocument(MultipartFile file, String userId) {
-        try {
-            MultipartBodyBuilder builder = new MultipartBodyBuilder();
-            builder.part("file", new ByteArrayResource(file.getBytes()) {
-                        @Override
-                        public String getFilename() {
-                            return file.getOriginalFilename();
-                        }
-                    })
-                    .header("Content-Type", file.getContentType());
-
-            return restClient.post()
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(builder.build())
-                    .header("X-Internal-Service", applicationName)
-                    .header("X-User-Id",userId)
-                    .retrieve()
-                    .onStatus(
-                            status -> status.is4xxClientError() || status.is5xxServerError(),
-                            (request, response) -> {
-                                throw new RuntimeException(
-                                        "Failed to upload document. Status: " + response.getStatusCode() +
-                                                " Body: " + response.getBody()
-                                );
-                            }
-                    )
-                    .body(DocumentResponse.class);
-        } catch (RestClientException | java.io.IOException e) {
-            log.error("Error uploading document: {}", file.getOriginalFilename(), e);
-            throw new RuntimeException("Error uploading document: " + e.getMessage());
-        }
-    }
-
 }
@@ -1,5 +1,6 @@
 package com.hashjosh.verification.config;
 
+import com.hashjosh.jwtshareable.security.JwtAuthenticationFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -24,6 +25,7 @@ public class ApplicationConsumer {
     private final VerificationProducer publisher;
     private final BatchRepository batchRepository;
 
+    @Transactional
     @KafkaListener(topics = "application-submitted", groupId = "verification-group")
     public void listen(@Payload ApplicationSubmittedEvent event) {
         handleApplicationSubmittedEvent(event);
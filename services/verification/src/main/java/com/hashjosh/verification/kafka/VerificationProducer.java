@@ -1,23 +1,16 @@
 package com.hashjosh.verification.kafka;
 
+import com.hashjosh.kafkacommon.outbox.OutboxPublisher;
 import lombok.RequiredArgsConstructor;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.Message;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class VerificationProducer {
-    private final KafkaTemplate<String, Object> template;
 
-    public <T> void publishEvent(String topic, T event){
-        Message<T> contract = MessageBuilder
-                .withPayload(event)
-                .setHeader(KafkaHeaders.TOPIC, topic)
-                .build();
+    private final OutboxPublisher outboxPublisher;
 
-        template.send(contract);
+    public <T> void publishEvent(String topic, T event) {
+        outboxPublisher.publish(topic, event);
     }
 }
@@ -17,6 +17,7 @@ import com.hashjosh.verification.repository.VerificationRecordRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -33,6 +34,7 @@ public class VerificationService {
     private final VerificationRecordMapper verificationRecordMapper;
     private final BatchRepository batchRepository;
 
+    @Transactional
     public void applicationReview(UUID submissionId, VerificationRequestDto status) {
 
         VerificationRecord record = verificationRecordRepository.findBySubmissionId(submissionId)
@@ -54,6 +56,7 @@ public class VerificationService {
         log.info("Application {} marked as under review", submissionId);
     }
 
+    @Transactional
     public void forwardToPcic(List<UUID> submissionIds) {
         for (UUID submissionId : submissionIds) {
             forwardApplication(submissionId);